@@ -0,0 +1,33 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * BulkResultDTO es una clase que se utiliza para devolver el resumen de un envío de resultados por lotes,
+ * con el resultado de cada elemento en el mismo orden en el que se enviaron.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resumen de un envío de resultados por lotes")
+public class BulkResultDTO {
+    @Schema(description = "Número de resultados aplicados", example = "510")
+    private Integer applied;
+
+    @Schema(description = "Número de resultados rechazados", example = "2")
+    private Integer rejected;
+
+    @Schema(description = "Resultado de cada elemento, en el orden del envío")
+    private List<ResultOutcomeDTO> outcomes;
+}
@@ -0,0 +1,49 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.List;
+import com.equipo2.bytestournament.enums.JobStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GenerationJobDTO es una clase que se utiliza para informar del estado de la generación
+ * de una ronda en segundo plano.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el estado de la generación de una ronda en segundo plano")
+public class GenerationJobDTO {
+    @Schema(description = "Identificador del trabajo", example = "5f0c7a1e-4b9d-4c8e-9a57-0d2f1b3c4e5f")
+    private String id;
+
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Estado del trabajo", example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(description = "Ronda generada, nula hasta que termina el emparejamiento", example = "3")
+    private Integer round;
+
+    @Schema(description = "Número de matches de la ronda", example = "5000")
+    private Integer totalMatches;
+
+    @Schema(description = "Número de matches guardados hasta el momento", example = "2500")
+    private Integer persistedMatches;
+
+    @Schema(description = "IDs de los matches de la ronda, disponibles al terminar")
+    private List<Long> matchIds;
+
+    @Schema(description = "Motivo del error si el trabajo ha fallado")
+    private String error;
+}
@@ -0,0 +1,65 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Rank;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * GlobalPositionDTO es una clase que se utiliza para devolver la posición de un jugador en la clasificación global,
+ * su percentil y cuántos jugadores hay en su rango y en los superiores.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con la posición de un jugador en la clasificación global")
+public class GlobalPositionDTO {
+    @Schema(description = "Nombre del jugador", example = "player1")
+    private String playerName;
+
+    @Schema(description = "Rango del jugador", example = "GOLD")
+    private Rank rank;
+
+    @Schema(description = "Puntos del jugador en todos sus torneos", example = "1200")
+    private Integer points;
+
+    @Schema(description = "Posición en la clasificación global, empezando en 1", example = "42")
+    private Integer position;
+
+    @Schema(description = "Número total de jugadores de la clasificación global", example = "50000")
+    private Integer total;
+
+    @Schema(description = "Porcentaje de jugadores que van por detrás del jugador", example = "99.9")
+    private Double percentile;
+
+    @Schema(description = "Número de jugadores del mismo rango", example = "3200")
+    private Long rankPlayers;
+
+    @Schema(description = "Número de jugadores de los rangos superiores", example = "800")
+    private Long higherRankPlayers;
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n┌────────────────────────────┐\n");
+        sb.append("│   Clasificación global     │\n");
+        sb.append("├─────────────┬──────────────┤\n");
+        sb.append(String.format("│ %-11s │ %12s │\n", "Player", playerName));
+        sb.append(String.format("│ %-11s │ %12s │\n", "Rango", rank));
+        sb.append(String.format("│ %-11s │ %12d │\n", "Puntos", points));
+        sb.append(String.format("│ %-11s │ %12s │\n", "Posición", position + "/" + total));
+        sb.append(String.format("│ %-11s │ %11.1f%% │\n", "Percentil", percentile));
+        sb.append(String.format("│ %-11s │ %12d │\n", "En su rango", rankPlayers));
+        sb.append(String.format("│ %-11s │ %12d │\n", "Por encima", higherRankPlayers));
+        sb.append("└─────────────┴──────────────┘\n");
+        return sb.toString();
+    }
+}
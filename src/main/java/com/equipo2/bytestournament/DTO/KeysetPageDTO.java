@@ -0,0 +1,57 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Builder.Default;
+
+/**
+ * KeysetPageDTO es una clase que se utiliza para devolver un tramo de un listado ordenado por ID.
+ * El siguiente tramo se pide con el ID de next como parámetro after, en lugar de con un desplazamiento,
+ * así que pedir un tramo cuesta lo mismo esté al principio o al final del listado.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ * {@link Default} Anotación de Lombok que inicializa la lista de elementos como una lista vacía por defecto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con un tramo de un listado ordenado por ID")
+public class KeysetPageDTO<T> {
+    /**
+     * MAX_LIMIT Número máximo de elementos que se pueden pedir en un tramo de cualquier listado.
+     */
+    public static final int MAX_LIMIT = 500;
+
+    @Default
+    @Schema(description = "Elementos del tramo, ordenados por ID")
+    private List<T> items = new ArrayList<>();
+
+    @Schema(description = "ID a pasar como after para pedir el siguiente tramo, vacío si es el último", example = "250")
+    private Long next;
+
+    /**
+     * Construye un tramo a partir de una consulta que ha leído un elemento más de los pedidos:
+     * si ese elemento existe, hay un tramo siguiente y se descarta.
+     *
+     * @param rows elementos leídos, como mucho limit + 1.
+     * @param limit número de elementos del tramo.
+     * @param idOf ID de cada elemento.
+     * @return el tramo con, como mucho, limit elementos.
+     */
+    public static <T> KeysetPageDTO<T> of(List<T> rows, int limit, Function<T, Long> idOf) {
+        if (rows.size() <= limit)
+            return new KeysetPageDTO<>(new ArrayList<>(rows), null);
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new KeysetPageDTO<>(items, idOf.apply(items.get(limit - 1)));
+    }
+}
@@ -52,4 +52,7 @@ public class MatchDTO {
     @Min(value = 0, message = "El número de ronda debe ser al menos 0")
     @Schema(description = "Número de ronda", example = "1")
     private Integer round;
+
+    @Schema(description = "Posición en el cuadro de eliminatoria, 1 es la final", example = "4")
+    private Integer bracketPosition;
 }
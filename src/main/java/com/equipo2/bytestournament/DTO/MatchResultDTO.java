@@ -0,0 +1,29 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Result;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MatchResultDTO es una clase que se utiliza para informar solo el resultado de un partido,
+ * sin reenviar el torneo, los jugadores ni la ronda.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resultado de un partido")
+public class MatchResultDTO {
+    @NotNull
+    @Schema(description = "Resultado del partido", example = "PLAYER1_WIN", required = true)
+    private Result result;
+}
@@ -0,0 +1,45 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Result;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * MatchSummaryDTO es una clase que se utiliza para devolver una partida en el listado de partidas,
+ * con los nombres de los jugadores leídos en la misma consulta.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resumen de una partida para el listado")
+public class MatchSummaryDTO {
+    @Schema(description = "Identificador único del partido", example = "100")
+    private Long id;
+
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Número de ronda", example = "1")
+    private Integer round;
+
+    @Schema(description = "Posición en el cuadro de eliminatoria, 1 es la final", example = "4")
+    private Integer bracketPosition;
+
+    @Schema(description = "Nombre del jugador 1", example = "alice")
+    private String player1;
+
+    @Schema(description = "Nombre del jugador 2, vacío si es un bye", example = "bob")
+    private String player2;
+
+    @Schema(description = "Resultado del partido")
+    private Result result;
+}
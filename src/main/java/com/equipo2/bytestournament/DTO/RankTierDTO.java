@@ -0,0 +1,32 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Rank;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RankTierDTO es una clase que se utiliza para devolver cuántos jugadores hay en un rango.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el número de jugadores de un rango")
+public class RankTierDTO {
+    @Schema(description = "Rango", example = "GOLD")
+    private Rank rank;
+
+    @Schema(description = "Número de jugadores del rango", example = "3200")
+    private Long players;
+
+    @Schema(description = "Porcentaje de jugadores del rango sobre el total", example = "6.4")
+    private Double percentage;
+}
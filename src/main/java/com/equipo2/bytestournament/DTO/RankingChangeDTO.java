@@ -0,0 +1,39 @@
+package com.equipo2.bytestournament.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RankingChangeDTO es una clase que se utiliza para enviar el cambio de posición o de puntos de un jugador
+ * en la clasificación de un torneo. La posición y los puntos son los actuales, no la diferencia,
+ * así que aplicar dos veces el mismo cambio deja la clasificación igual.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el cambio de un jugador en la clasificación de un torneo")
+public class RankingChangeDTO {
+    @Schema(description = "Nombre del jugador", example = "player1")
+    private String username;
+
+    @Schema(description = "Posición actual, empezando en 1", example = "3")
+    private Integer position;
+
+    @Schema(description = "Posición en el cambio anterior; vacía si el jugador es nuevo en la clasificación", example = "5")
+    private Integer previousPosition;
+
+    @Schema(description = "Puntos actuales", example = "30")
+    private Integer points;
+
+    @Schema(description = "Puntos ganados o perdidos desde el cambio anterior", example = "3")
+    private Integer pointsChange;
+}
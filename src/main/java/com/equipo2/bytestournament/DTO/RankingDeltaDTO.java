@@ -0,0 +1,44 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Builder.Default;
+
+/**
+ * RankingDeltaDTO es una clase que se utiliza para enviar los cambios de la clasificación de un torneo
+ * desde el último envío: solo los jugadores que cambian de posición o de puntos y los que ya no están.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ * {@link Default} Anotación de Lombok que inicializa las listas como listas vacías por defecto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con los cambios de la clasificación de un torneo desde el último envío")
+public class RankingDeltaDTO {
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Versión de la clasificación; sube con cada cambio", example = "42")
+    private Long version;
+
+    @Schema(description = "Número de jugadores de la clasificación", example = "128")
+    private Integer players;
+
+    @Default
+    @Schema(description = "Jugadores que cambian de posición o de puntos, ordenados por su posición actual")
+    private List<RankingChangeDTO> changes = new ArrayList<>();
+
+    @Default
+    @Schema(description = "Nombres de los jugadores que ya no están en la clasificación")
+    private List<String> removed = new ArrayList<>();
+}
@@ -0,0 +1,58 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Builder.Default;
+
+/**
+ * RankingPageDTO es una clase que se utiliza para devolver un tramo de la clasificación de un torneo
+ * o de la clasificación global, ya sea una página, los primeros puestos o los jugadores alrededor de un jugador concreto.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ * {@link Default} Anotación de Lombok que inicializa la lista de jugadores como una lista vacía por defecto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con un tramo de la clasificación de un torneo")
+public class RankingPageDTO {
+    @Schema(description = "ID del torneo, vacío en la clasificación global", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Número total de jugadores de la clasificación", example = "50000")
+    private Integer total;
+
+    @Schema(description = "Posición del primer jugador del tramo, empezando en 0", example = "0")
+    private Integer offset;
+
+    @Schema(description = "Posición del jugador buscado, solo cuando se consulta un jugador concreto", example = "1234")
+    private Integer position;
+
+    @Default
+    @Schema(description = "Jugadores del tramo, ordenados por puntos")
+    private List<RankingPositionDTO> players = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n┌────────┬────────────────────┬────────────┬──────────┐\n");
+        sb.append("│        │ Jugador/a          │ Rango      │ Puntos   │\n");
+        sb.append("├────────┼────────────────────┼────────────┼──────────┤\n");
+        for (RankingPositionDTO player : players) {
+            sb.append(String.format("│ %-6d │ %-18s │ %-10s │ %-8d │\n",
+                    player.getPosition(), player.getPlayerName(), player.getRank(), player.getPoints()));
+        }
+        sb.append("└────────┴────────────────────┴────────────┴──────────┘\n");
+        sb.append(String.format("Jugadores %d-%d de %d", offset + 1, offset + players.size(), total));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,36 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Rank;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RankingPositionDTO es una clase que se utiliza para transportar un jugador de la clasificación
+ * junto con su posición en ella.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con un jugador de la clasificación y su posición")
+public class RankingPositionDTO {
+    @Schema(description = "Posición en la clasificación, empezando en 1", example = "1")
+    private Integer position;
+
+    @Schema(description = "Nombre del jugador", example = "player1")
+    private String playerName;
+
+    @Schema(description = "Rango del jugador", example = "GOLD")
+    private Rank rank;
+
+    @Schema(description = "Puntos del jugador", example = "120")
+    private Integer points;
+}
@@ -0,0 +1,31 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Result;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ResultItemDTO es una clase que se utiliza para informar el resultado de un partido dentro de un envío por lotes.
+ * Los elementos no se validan con anotaciones: cada uno se valida en el servicio y su error se devuelve en su resultado,
+ * sin rechazar el resto del lote.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resultado de un partido dentro de un lote")
+public class ResultItemDTO {
+    @Schema(description = "ID del partido", example = "100", required = true)
+    private Long matchId;
+
+    @Schema(description = "Resultado del partido", example = "PLAYER1_WIN", required = true)
+    private Result result;
+}
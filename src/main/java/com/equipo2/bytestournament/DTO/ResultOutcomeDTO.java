@@ -0,0 +1,43 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Result;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ResultOutcomeDTO es una clase que se utiliza para devolver qué ha pasado con cada resultado de un envío por lotes.
+ * El estado y los textos son los de {@link com.equipo2.bytestournament.enums.ApiResponse} que se habría devuelto
+ * si el resultado se hubiera informado por separado.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resultado de aplicar un resultado de un lote")
+public class ResultOutcomeDTO {
+    @Schema(description = "ID del partido", example = "100")
+    private Long matchId;
+
+    @Schema(description = "Resultado informado", example = "PLAYER1_WIN")
+    private Result result;
+
+    @Schema(description = "Indica si el resultado se ha aplicado", example = "true")
+    private Boolean applied;
+
+    @Schema(description = "Código de estado HTTP equivalente", example = "200")
+    private Integer status;
+
+    @Schema(description = "Título del estado", example = "Operación Exitosa")
+    private String title;
+
+    @Schema(description = "Detalle del estado", example = "El match con id 100 ya tiene resultado")
+    private String detail;
+}
@@ -0,0 +1,52 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * RoundReplayDTO es una clase que se utiliza para devolver la comparación entre una ronda guardada
+ * y la misma ronda generada de nuevo en memoria con su semilla.
+ * Cada emparejamiento se representa como la lista de IDs de sus jugadores ordenados, con un solo ID en los byes.
+ *
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con la comparación entre una ronda guardada y su reproducción")
+public class RoundReplayDTO {
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Número de la ronda reproducida", example = "3")
+    private Integer round;
+
+    @Schema(description = "Semilla con la que se generó la ronda", example = "-4962768465676381896")
+    private Long seed;
+
+    @Schema(description = "Número de matches guardados en la ronda", example = "512")
+    private Integer recordedMatches;
+
+    @Schema(description = "Número de matches de la reproducción", example = "512")
+    private Integer replayedMatches;
+
+    @Schema(description = "Indica si la reproducción coincide exactamente con la ronda guardada", example = "true")
+    private Boolean identical;
+
+    @Schema(description = "Emparejamientos guardados que no aparecen en la reproducción")
+    private List<List<Long>> onlyRecorded;
+
+    @Schema(description = "Emparejamientos de la reproducción que no aparecen en la ronda guardada")
+    private List<List<Long>> onlyReplayed;
+
+    @Schema(description = "Tiempo que tardó el emparejamiento de la reproducción, en microsegundos", example = "1850")
+    private Long pairingMicros;
+}
@@ -0,0 +1,54 @@
+package com.equipo2.bytestournament.DTO;
+
+import java.util.ArrayList;
+import java.util.List;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Builder.Default;
+
+/**
+ * RoundStandingsDTO es una clase que se utiliza para devolver la clasificación de un torneo
+ * tal y como estaba al terminar una ronda.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ * {@link Default} Anotación de Lombok que inicializa la lista de jugadores como una lista vacía por defecto.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con la clasificación de un torneo al terminar una ronda")
+public class RoundStandingsDTO {
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Número de la ronda", example = "3")
+    private Integer round;
+
+    @Default
+    @Schema(description = "Jugadores ordenados por puntos y victorias, con sus resultados hasta esa ronda")
+    private List<RankingDetailsDTO> players = new ArrayList<>();
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n┌─────────────────────────────────────────────────────────────┐\n");
+        sb.append(String.format("│ %-59s │\n", "Clasificación tras la ronda " + round));
+        sb.append("├────────┬────────────────────┬──────┬──────┬──────┬──────────┤\n");
+        sb.append("│        │ Jugador/a          │ V    │ D    │ E    │ Puntos   │\n");
+        sb.append("├────────┼────────────────────┼──────┼──────┼──────┼──────────┤\n");
+        int pos = 1;
+        for (RankingDetailsDTO player : players) {
+            sb.append(String.format("│ %-6d │ %-18s │ %-4d │ %-4d │ %-4d │ %-8d │\n",
+                    pos++, player.getUsername(), player.getWins(), player.getLosses(), player.getDraws(), player.getPoints()));
+        }
+        sb.append("└────────┴────────────────────┴──────┴──────┴──────┴──────────┘");
+        return sb.toString();
+    }
+}
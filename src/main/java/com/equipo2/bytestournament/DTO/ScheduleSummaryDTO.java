@@ -0,0 +1,35 @@
+package com.equipo2.bytestournament.DTO;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * ScheduleSummaryDTO es una clase que se utiliza para devolver el resumen de un calendario generado,
+ * sin enviar la lista completa de matches, que en una liga grande puede tener millones de filas.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resumen de un calendario generado")
+public class ScheduleSummaryDTO {
+    @Schema(description = "ID del torneo", example = "1")
+    private Long tournament;
+
+    @Schema(description = "Número de jugadores del calendario", example = "2000")
+    private Integer players;
+
+    @Schema(description = "Número de rondas generadas", example = "1999")
+    private Integer rounds;
+
+    @Schema(description = "Número de matches generados", example = "1999000")
+    private Long matches;
+}
@@ -0,0 +1,65 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Rank;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * TiebreakStandingDTO es una clase que se utiliza para devolver un jugador de la clasificación de un torneo
+ * junto a los desempates con los que se ha ordenado.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con un jugador de la clasificación y sus desempates")
+public class TiebreakStandingDTO {
+    @Schema(description = "Posición en la clasificación, empezando en 1", example = "1")
+    private Integer position;
+
+    @Schema(description = "Nombre del jugador", example = "player1")
+    private String playerName;
+
+    @Schema(description = "Rango del jugador", example = "GOLD")
+    private Rank rank;
+
+    @Schema(description = "Puntos del jugador en el torneo", example = "120")
+    private Integer points;
+
+    @Schema(description = "Suma de los puntos de los rivales", example = "480")
+    private Long buchholz;
+
+    @Schema(description = "Buchholz sin el rival con más puntos ni el de menos", example = "300")
+    private Long medianBuchholz;
+
+    @Schema(description = "Puntos de los rivales ganados más la mitad de los de los empatados", example = "255.5")
+    private Double sonnebornBerger;
+
+    @Schema(description = "Resultado contra los jugadores con los que sigue empatado tras los demás desempates", example = "1.0")
+    private Double directEncounter;
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n┌────────────────────────────┐\n");
+        sb.append(String.format("│ %-26s │\n", "Posición " + position));
+        sb.append("├─────────────┬──────────────┤\n");
+        sb.append(String.format("│ %-11s │ %12s │\n", "Player", playerName));
+        sb.append(String.format("│ %-11s │ %12s │\n", "Rango", rank));
+        sb.append(String.format("│ %-11s │ %12d │\n", "Puntos", points));
+        sb.append(String.format("│ %-11s │ %12d │\n", "Buchholz", buchholz));
+        sb.append(String.format("│ %-11s │ %12d │\n", "B. mediano", medianBuchholz));
+        sb.append(String.format("│ %-11s │ %12.1f │\n", "S-B", sonnebornBerger));
+        sb.append(String.format("│ %-11s │ %12.1f │\n", "Directo", directEncounter));
+        sb.append("└─────────────┴──────────────┘\n");
+        return sb.toString();
+    }
+}
@@ -1,7 +1,7 @@
 package com.equipo2.bytestournament.DTO;
 
 import com.equipo2.bytestournament.enums.Status;
-import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.enums.TournamentFormat;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
@@ -60,10 +60,14 @@ public class TournamentDTO {
     @Schema(description = "Número máximo de rondas del torneo", example = "5")
     private Integer maxRounds = 1;
 
+    @NotNull
+    @Default
+    @Schema(description = "Sistema de emparejamiento del torneo", example = "SWISS")
+    private TournamentFormat format = TournamentFormat.OPEN;
+
     @Default
-    @Schema(description = "Lista de partidos asociados al torneo")
-    private List<Match> matches = new ArrayList<>();
-    //private List<MatchDTO> matches = new ArrayList<>();
+    @Schema(description = "Lista de IDs de los partidos asociados al torneo")
+    private List<Long> matches = new ArrayList<>();
     @Schema(description = "Lista de jugadores que participan en el torneo")
     @Default
     private List<Long> players = new ArrayList<>();
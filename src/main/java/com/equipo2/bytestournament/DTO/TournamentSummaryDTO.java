@@ -0,0 +1,49 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * TournamentSummaryDTO es una clase que se utiliza para devolver un torneo en el listado de torneos,
+ * con el número de jugadores en lugar de las listas de jugadores y partidos.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resumen de un torneo para el listado")
+public class TournamentSummaryDTO {
+    @Schema(description = "Identificador único del torneo", example = "1")
+    private Long id;
+
+    @Schema(description = "Nombre del torneo", example = "Torneo de Primavera")
+    private String name;
+
+    @Schema(description = "Estado del torneo", example = "IN_PROGRESS")
+    private Status status;
+
+    @Schema(description = "Sistema de emparejamiento del torneo", example = "SWISS")
+    private TournamentFormat format;
+
+    @Schema(description = "Número de rondas del torneo", example = "3")
+    private Integer rounds;
+
+    @Schema(description = "Número máximo de rondas del torneo", example = "5")
+    private Integer maxRounds;
+
+    @Schema(description = "Cantidad máxima de participantes", example = "64")
+    private Integer maxPlayers;
+
+    @Schema(description = "Número de jugadores inscritos", example = "48")
+    private Integer players;
+}
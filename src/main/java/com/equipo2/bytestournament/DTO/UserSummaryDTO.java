@@ -0,0 +1,43 @@
+package com.equipo2.bytestournament.DTO;
+
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * UserSummaryDTO es una clase que se utiliza para devolver un usuario en el listado y en la exportación de usuarios,
+ * sin las listas de partidas, torneos y privilegios de UserDTO.
+ * 
+ * {@link Data} Anotación de Lombok que genera automáticamente los métodos getter, setter, toString, equals y hashCode.}
+ * {@link AllArgsConstructor} Anotación de Lombok que genera un constructor con todos los campos como parámetros.
+ * {@link NoArgsConstructor} Anotación de Lombok que genera un constructor sin parámetros
+ * {@link Builder} Anotación de Lombok que permite crear instancias de la clase utilizando el patrón Builder.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Schema(description = "DTO con el resumen de un usuario para el listado")
+public class UserSummaryDTO {
+    @Schema(description = "Identificador único del usuario", example = "1")
+    private Long id;
+
+    @Schema(description = "Nombre de usuario", example = "usuario123")
+    private String username;
+
+    @Schema(description = "Correo electrónico", example = "usuario@gmail.com")
+    private String email;
+
+    @Schema(description = "Rol del usuario", example = "PLAYER")
+    private Role role;
+
+    @Schema(description = "Rango del usuario", example = "GOLD")
+    private Rank rank;
+
+    @Schema(description = "Puntos del usuario", example = "1500")
+    private Integer points;
+}
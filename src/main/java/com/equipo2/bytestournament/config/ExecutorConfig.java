@@ -0,0 +1,71 @@
+package com.equipo2.bytestournament.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * Clase de configuración de los ejecutores de tareas en segundo plano.
+ * Los hilos y la cola son acotados para que una avalancha de peticiones no agote la memoria
+ * ni deje sin conexiones al resto de la aplicación: si la cola está llena la tarea se rechaza.
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Ejecutor de la generación de rondas en segundo plano.
+     *
+     * @param poolSize Número de rondas que se generan a la vez.
+     * @param queueCapacity Número de rondas que pueden esperar en cola.
+     * @return una instancia de {@link ThreadPoolTaskExecutor} con hilos y cola acotados.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor roundGenerationExecutor(
+            @Value("${tournament.generation.pool-size:2}") int poolSize,
+            @Value("${tournament.generation.queue-capacity:16}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("round-generation-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Ejecutor que escribe los cambios del ranking a los suscriptores, para que un cliente lento
+     * no retrase el cálculo de los cambios ni el envío al resto. Cada suscriptor ocupa como mucho una tarea a la vez.
+     *
+     * @param poolSize Número de suscriptores a los que se escribe a la vez.
+     * @param queueCapacity Número de suscriptores que pueden esperar en cola.
+     * @return una instancia de {@link ThreadPoolTaskExecutor} con hilos y cola acotados.
+     */
+    @Bean
+    public ThreadPoolTaskExecutor rankingStreamSender(
+            @Value("${tournament.ranking.stream.sender-pool-size:4}") int poolSize,
+            @Value("${tournament.ranking.stream.sender-queue-capacity:10000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ranking-sender-");
+        return executor;
+    }
+
+    /**
+     * Planificador del envío de los cambios del ranking. Un solo hilo calcula los cambios de todos los torneos,
+     * así que cada torneo se calcula una vez por vuelta sin importar cuántos clientes estén suscritos;
+     * las escrituras a los clientes las hace {@link #rankingStreamSender(int, int)}.
+     *
+     * @return una instancia de {@link ThreadPoolTaskScheduler} con un hilo.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler rankingStreamScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("ranking-stream-");
+        return scheduler;
+    }
+}
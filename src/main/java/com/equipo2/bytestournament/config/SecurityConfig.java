@@ -1,6 +1,7 @@
 package com.equipo2.bytestournament.config;
 
 import java.util.Optional;
+import jakarta.servlet.DispatcherType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -82,6 +83,8 @@ public class SecurityConfig {
         .csrf(csrf -> csrf.disable())
         .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
         .authorizeHttpRequests(authorize -> authorize
+            // Los envíos de un SseEmitter vuelven a pasar por los filtros; la petición original ya se autorizó
+            .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
             .requestMatchers("/api/admin/**").hasAuthority("ADMIN")
             .requestMatchers("/api/user/auth/**",
                             "/swagger-ui.html",
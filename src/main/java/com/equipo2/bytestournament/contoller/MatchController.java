@@ -1,18 +1,31 @@
 package com.equipo2.bytestournament.contoller;
 
+import com.equipo2.bytestournament.DTO.BulkResultDTO;
+import com.equipo2.bytestournament.DTO.GenerationJobDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.MatchResultDTO;
+import com.equipo2.bytestournament.DTO.MatchSummaryDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.DTO.RoundReplayDTO;
+import com.equipo2.bytestournament.DTO.ScheduleSummaryDTO;
 import com.equipo2.bytestournament.annotations.SwaggerApiResponses;
 import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.PairingGroup;
 import com.equipo2.bytestournament.service.MatchService;
+import com.equipo2.bytestournament.service.RoundGenerationJobService;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import java.util.List;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -34,6 +47,7 @@ import org.springframework.web.bind.annotation.PostMapping;
  * {@link PostMapping} Bean de Spring que define un método que maneja las solicitudes POST
  * {@link DeleteMapping} Bean de Spring que define un método que maneja las solicitudes DELETE
  * {@link PutMapping} Bean de Spring que define un método que maneja las solicitudes PUT
+ * {@link PatchMapping} Bean de Spring que define un método que maneja las solicitudes PATCH
  */
 @Tag(name = "Match", description = "Controlador para la gestión de partidos en torneos")
 @RestController
@@ -42,26 +56,89 @@ public class MatchController {
     
     /**
      * MatchService es un servicio que maneja la lógica de negocio relacionada con los partidos.
+     * RoundGenerationJobService es un servicio que genera rondas en segundo plano.
      */
     private final MatchService matchService;
+    private final RoundGenerationJobService roundGenerationJobService;
 
-    public MatchController(MatchService matchService){
+    public MatchController(MatchService matchService, RoundGenerationJobService roundGenerationJobService){
         this.matchService = matchService;
+        this.roundGenerationJobService = roundGenerationJobService;
     }
 
     /**
      * Genera partidos para un torneo específico.
      * Este método es accesible solo para usuarios con el rol de ADMIN.
+     * Con async=true la ronda se genera en segundo plano y se devuelve el trabajo con un estado HTTP 202 Accepted;
+     * el progreso se consulta en /api/matches/generate/jobs/{jobId}.
+     * Con parallel=true los grupos de jugadores se emparejan en paralelo, y con seed el emparejamiento es reproducible.
      * 
      * @param tournamentId ID del torneo para el cual se generarán los partidos.
-     * @return ResponseEntity<List<MatchDTO>> que contiene una lista de partidos generados y un estado HTTP 201 Created.
+     * @param async Si es true la ronda se genera en segundo plano.
+     * @param parallel Si es true los grupos de jugadores se emparejan en paralelo.
+     * @param groupBy Criterio de agrupación del modo paralelo, por Rank o por franja de puntos.
+     * @param seed Semilla opcional del generador aleatorio.
+     * @return ResponseEntity con los partidos de la nueva ronda y un estado HTTP 201 Created, o con el trabajo y un estado HTTP 202 Accepted.
      */
     @SwaggerApiResponses
     @PreAuthorize("hasRole('ADMIN')")
     @PostMapping("/generate/{tournamentId}")
-    @Operation(summary = "Generar partidos para un torneo", description = "Este endpoint permite a los administradores generar partidos para un torneo específico.")
-    public ResponseEntity<List<MatchDTO>> generateMatches(@PathVariable Long tournamentId) {
-        return ResponseEntity.status(ApiResponse.CREATED.getStatus()).body(matchService.generateMatches(tournamentId));
+    @Operation(summary = "Generar partidos para un torneo", description = "Este endpoint permite a los administradores generar partidos para un torneo específico, de forma síncrona o en segundo plano.")
+    public ResponseEntity<?> generateMatches(@PathVariable Long tournamentId,
+            @RequestParam(defaultValue = "false") boolean async,
+            @RequestParam(defaultValue = "false") boolean parallel,
+            @RequestParam(defaultValue = "RANK") PairingGroup groupBy,
+            @RequestParam(required = false) Long seed) {
+        PairingOptions options = new PairingOptions(parallel, groupBy, seed);
+        if (async)
+            return ResponseEntity.status(ApiResponse.ACCEPTED.getStatus()).body(roundGenerationJobService.submit(tournamentId, options));
+        return ResponseEntity.status(ApiResponse.CREATED.getStatus()).body(matchService.generateMatches(tournamentId, options));
+    }
+
+    /**
+     * Consulta el estado de la generación de una ronda en segundo plano.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     * 
+     * @param jobId ID del trabajo devuelto al encolar la generación.
+     * @return GenerationJobDTO con el estado, el progreso y, al terminar, los IDs de los partidos de la ronda.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/generate/jobs/{jobId}")
+    @Operation(summary = "Consultar la generación de una ronda", description = "Este endpoint permite a los administradores consultar el progreso de una ronda que se genera en segundo plano.")
+    public GenerationJobDTO getGenerationJob(@PathVariable String jobId) {
+        return roundGenerationJobService.getJob(jobId);
+    }
+
+    /**
+     * Vuelve a generar en memoria una ronda ya guardada con su semilla y devuelve las diferencias con la original.
+     * Este método es accesible solo para usuarios con el rol de ADMIN y no modifica la base de datos.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda a reproducir.
+     * @return RoundReplayDTO con la comparación y el tiempo de emparejamiento de la reproducción.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/replay/{tournamentId}/{round}")
+    @Operation(summary = "Reproducir una ronda", description = "Este endpoint permite a los administradores volver a generar una ronda con su semilla y compararla con la guardada.")
+    public RoundReplayDTO replayRound(@PathVariable Long tournamentId, @PathVariable int round) {
+        return matchService.replayRound(tournamentId, round);
+    }
+
+    /**
+     * Genera el calendario completo de una liga todos contra todos.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     * 
+     * @param tournamentId ID del torneo de formato ROUND_ROBIN.
+     * @return ResponseEntity<ScheduleSummaryDTO> con el resumen del calendario y un estado HTTP 201 Created.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/generate/{tournamentId}/round-robin")
+    @Operation(summary = "Generar el calendario de una liga", description = "Este endpoint permite a los administradores generar todas las rondas de un torneo todos contra todos.")
+    public ResponseEntity<ScheduleSummaryDTO> generateRoundRobin(@PathVariable Long tournamentId) {
+        return ResponseEntity.status(ApiResponse.CREATED.getStatus()).body(matchService.generateRoundRobin(tournamentId));
     }
     
     /**
@@ -94,6 +171,39 @@ public class MatchController {
         return matchService.updateMatchResult(matchId, macthDTO);
     }
 
+    /**
+     * Informa solo el resultado de un partido pendiente.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     * A diferencia de PUT no reconstruye el partido completo: solo actualiza el resultado y suma los puntos de los jugadores.
+     * 
+     * @param matchId ID del partido que se desea actualizar.
+     * @param matchResultDTO DTO con el resultado del partido.
+     * @return MatchDTO que contiene la información actualizada del partido.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/{matchId}/result")
+    @Operation(summary = "Informar el resultado de un partido", description = "Este endpoint permite a los administradores informar el resultado de un partido pendiente enviando solo el resultado.")
+    public MatchDTO reportResult(@PathVariable Long matchId, @RequestBody @Valid MatchResultDTO matchResultDTO) {
+        return matchService.reportResult(matchId, matchResultDTO.getResult());
+    }
+
+    /**
+     * Informa los resultados de muchos partidos a la vez, normalmente una ronda completa.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     * Cada resultado se valida por separado y los rechazados no impiden aplicar los demás.
+     * 
+     * @param results Lista de pares (matchId, resultado).
+     * @return BulkResultDTO con el resultado de cada elemento en el orden del envío.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @PatchMapping("/results")
+    @Operation(summary = "Informar resultados por lotes", description = "Este endpoint permite a los administradores informar los resultados de una ronda completa en una sola petición.")
+    public BulkResultDTO reportResults(@RequestBody List<ResultItemDTO> results) {
+        return matchService.reportResults(results);
+    }
+
     /**
      * Obtiene una lista de todos los partidos.
      * Este método es accesible solo para usuarios con el rol de ADMIN.
@@ -107,6 +217,24 @@ public class MatchController {
     public List<MatchDTO> getAllMatch() {
         return matchService.getAllMatches();
     }
+
+    /**
+     * Obtiene las partidas por tramos, con los nombres de los jugadores en lugar de sus IDs.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     *
+     * @param after ID de la última partida del tramo anterior; el siguiente tramo se pide con el campo next de la respuesta.
+     * @param limit Número máximo de partidas del tramo.
+     * @return KeysetPageDTO con las partidas del tramo, ordenadas por ID.
+     */
+    @SwaggerApiResponses
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/summary")
+    @Operation(summary = "Obtener resumen de partidos", description = "Este endpoint permite a los administradores obtener los partidos por tramos, con los nombres de los jugadores.")
+    public KeysetPageDTO<MatchSummaryDTO> getMatchSummaries(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return matchService.getMatchSummaries(after, limit);
+    }
     
 
     /**
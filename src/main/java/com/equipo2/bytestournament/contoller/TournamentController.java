@@ -1,15 +1,20 @@
 package com.equipo2.bytestournament.contoller;
 
 import org.springframework.web.bind.annotation.RestController;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.TournamentDTO;
+import com.equipo2.bytestournament.DTO.TournamentSummaryDTO;
 import com.equipo2.bytestournament.annotations.SwaggerApiResponses;
 import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.service.RankingStreamService;
 import com.equipo2.bytestournament.service.TournamentService;
 import com.equipo2.bytestournament.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
@@ -21,6 +26,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * TournamentController es un controlador REST que maneja las solicitudes
@@ -63,13 +69,21 @@ public class TournamentController {
      * con los torneos.
      * UserService es un servicio que maneja la lógica de negocio relacionada con
      * los usuarios.
+     * RankingStreamService es un servicio que envía los cambios del ranking de cada torneo.
      */
     private final TournamentService tournamentService;
     private final UserService userService;
+    private final RankingStreamService rankingStreamService;
 
-    public TournamentController(TournamentService tournamentService, UserService userService) {
+    /**
+     * PRETTY_TEXT Tipo de las tablas de texto de la clasificación, que se escriben ya codificadas en UTF-8.
+     */
+    private static final MediaType PRETTY_TEXT = new MediaType("text", "plain", StandardCharsets.UTF_8);
+
+    public TournamentController(TournamentService tournamentService, UserService userService, RankingStreamService rankingStreamService) {
         this.tournamentService = tournamentService;
         this.userService = userService;
+        this.rankingStreamService = rankingStreamService;
     }
 
     /**
@@ -145,7 +159,134 @@ public class TournamentController {
     @Operation(summary = "Obtener la clasificación de un torneo", description = "Este endpoint permite obtener la clasificación de un torneo específico.")
     public ResponseEntity<?> getClassification(@PathVariable Long tournamentId,
             @RequestParam(value = "pretty", required = false) boolean pretty) {
-        var ranking = tournamentService.getClassification(tournamentId);
+        if (pretty)
+            return ResponseEntity.ok().contentType(PRETTY_TEXT).body(tournamentService.getClassificationPretty(tournamentId));
+        return ResponseEntity.ok(tournamentService.getClassification(tournamentId));
+    }
+
+    /**
+     * Obtiene una página de la clasificación de un torneo específico.
+     * Este método es accesible para todos los usuarios.
+     * Pensado para torneos grandes, en los que devolver la clasificación completa no es viable.
+     * 
+     * @param tournamentId ID del torneo del cual se desea obtener la clasificación.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores de la página.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la página de la clasificación y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/page")
+    @Operation(summary = "Obtener una página de la clasificación", description = "Este endpoint permite obtener la clasificación de un torneo por páginas.")
+    public ResponseEntity<?> getClassificationPage(@PathVariable Long tournamentId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getClassificationPage(tournamentId, offset, limit);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Obtiene los primeros puestos de la clasificación de un torneo específico.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo del cual se desea obtener la clasificación.
+     * @param n Número de jugadores.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene los primeros jugadores y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/top")
+    @Operation(summary = "Obtener los primeros puestos de la clasificación", description = "Este endpoint permite obtener los N primeros jugadores de un torneo.")
+    public ResponseEntity<?> getTopClassification(@PathVariable Long tournamentId,
+            @RequestParam(defaultValue = "10") int n,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getTopClassification(tournamentId, n);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Obtiene la posición de un jugador en la clasificación de un torneo y los jugadores que tiene alrededor.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param username Nombre del jugador.
+     * @param neighbours Número de jugadores por delante y por detrás.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la posición del jugador y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/player/{username}")
+    @Operation(summary = "Obtener la posición de un jugador", description = "Este endpoint permite obtener la posición de un jugador en la clasificación de un torneo y los jugadores que tiene alrededor.")
+    public ResponseEntity<?> getPlayerPosition(@PathVariable Long tournamentId, @PathVariable String username,
+            @RequestParam(defaultValue = "2") int neighbours,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getPlayerPosition(tournamentId, username, neighbours);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Se suscribe a los cambios de la clasificación de un torneo por Server-Sent Events.
+     * Cada evento "ranking" contiene los jugadores que han cambiado de posición o de puntos desde el anterior,
+     * agrupando todos los resultados confirmados en ese intervalo.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return SseEmitter por el que se envían los cambios.
+     */
+    @SwaggerApiResponses
+    @GetMapping(value = "/ranking/{tournamentId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Recibir los cambios del ranking", description = "Este endpoint envía por Server-Sent Events los cambios de posición y de puntos de la clasificación de un torneo.")
+    public SseEmitter streamRanking(@PathVariable Long tournamentId) {
+        return rankingStreamService.subscribe(tournamentId);
+    }
+
+    /**
+     * Obtiene la clasificación de un torneo con los desempates de cada jugador.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo del cual se desea obtener la clasificación.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la clasificación con desempates y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/tiebreaks")
+    @Operation(summary = "Obtener los desempates de la clasificación", description = "Este endpoint permite obtener la clasificación de un torneo con el Buchholz, el Buchholz mediano, el Sonneborn-Berger y el encuentro directo de cada jugador.")
+    public ResponseEntity<?> getTiebreaks(@PathVariable Long tournamentId,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getTiebreaks(tournamentId);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Obtiene las rondas terminadas de un torneo, de las que se puede consultar la clasificación.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return List<Integer> con los números de ronda en orden.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/history")
+    @Operation(summary = "Obtener las rondas con clasificación guardada", description = "Este endpoint permite obtener las rondas terminadas de un torneo, de las que se puede consultar la clasificación histórica.")
+    public List<Integer> getStandingsHistory(@PathVariable Long tournamentId) {
+        return tournamentService.getStandingsHistory(tournamentId);
+    }
+
+    /**
+     * Obtiene la clasificación de un torneo tal y como estaba al terminar una ronda.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la clasificación de la ronda y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/{tournamentId}/history/{round}")
+    @Operation(summary = "Obtener la clasificación tras una ronda", description = "Este endpoint permite obtener la clasificación de un torneo tal y como estaba al terminar una ronda.")
+    public ResponseEntity<?> getRoundStandings(@PathVariable Long tournamentId, @PathVariable Integer round,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getRoundStandings(tournamentId, round);
         return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
     }
 
@@ -166,13 +307,35 @@ public class TournamentController {
     @Operation(summary = "Obtener detalles del ranking de un torneo", description = "Este endpoint permite obtener los detalles del ranking de un torneo específico.")
     public ResponseEntity<?> getRankingDetails(@PathVariable Long tournamentId,
             @RequestParam(value = "pretty", required = false) boolean pretty) {
-        var ranking = tournamentService.getRankingDetails(tournamentId);
-        return ResponseEntity.ok((pretty) ? ranking.toString() : ranking);
+        if (pretty)
+            return ResponseEntity.ok().contentType(PRETTY_TEXT).body(tournamentService.getRankingDetailsPretty(tournamentId));
+        return ResponseEntity.ok(tournamentService.getRankingDetails(tournamentId));
     }
 
      
     
 
+    /**
+     * Obtiene los detalles del ranking de una página de la clasificación de un torneo específico.
+     * Este método es accesible para todos los usuarios.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores de la página.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene los detalles de la página y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/details/{tournamentId}/page")
+    @Operation(summary = "Obtener detalles del ranking por páginas", description = "Este endpoint permite obtener los detalles del ranking de un torneo por páginas, en el orden de la clasificación.")
+    public ResponseEntity<?> getRankingDetailsPage(@PathVariable Long tournamentId,
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = tournamentService.getRankingDetailsPage(tournamentId, offset, limit);
+        return ResponseEntity.ok((pretty) ? ranking.toString() : ranking);
+    }
+
     /**
      * Lista todos los torneos disponibles.
      * Este método es accesible para todos los usuarios.
@@ -186,6 +349,23 @@ public class TournamentController {
         return tournamentService.getAllTournament();
     }
 
+    /**
+     * Lista los torneos por tramos, con el número de jugadores de cada uno en lugar de sus jugadores y partidos.
+     * Este método es accesible para todos los usuarios.
+     *
+     * @param after ID del último torneo del tramo anterior; el siguiente tramo se pide con el campo next de la respuesta.
+     * @param limit Número máximo de torneos del tramo.
+     * @return KeysetPageDTO con los torneos del tramo, ordenados por ID.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/summary")
+    @Operation(summary = "Listar resumen de torneos", description = "Este endpoint permite listar los torneos por tramos, con el número de jugadores de cada uno.")
+    public KeysetPageDTO<TournamentSummaryDTO> getTournamentSummaries(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int limit) {
+        return tournamentService.getTournamentSummaries(after, limit);
+    }
+
     /**
      * Obtiene los detalles de un torneo específico por su ID.
      * Este método es accesible para todos los usuarios.
@@ -2,7 +2,10 @@ package com.equipo2.bytestournament.contoller;
 
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
+import com.equipo2.bytestournament.DTO.RankTierDTO;
 import com.equipo2.bytestournament.DTO.UserDTO;
+import com.equipo2.bytestournament.DTO.UserSummaryDTO;
 import com.equipo2.bytestournament.annotations.SwaggerApiResponses;
 import com.equipo2.bytestournament.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -14,11 +17,16 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import java.util.List;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
 import com.equipo2.bytestournament.config.SecurityConfig;
 
 /**
@@ -115,18 +123,110 @@ public class UserController {
         return userService.profileUser(userId);
     }
 
-     /**
-     * Obtiene la lista de todos los usuarios registrados.
-     * Este método es accesible solo para usuarios con el rol de ADMIN.
+    /**
+     * Obtiene una página de la clasificación global de todos los usuarios por sus puntos.
+     * Este método es accesible para todos los usuarios autenticados.
      * 
-     * @return List<UserDTO> que contiene la lista de todos los usuarios encontrados.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores de la página.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la página de la clasificación y un estado HTTP 200 OK.
      */
-    @Operation(summary = "Listar usuarios", description = "Este endpoint permite listar todos los usuarios.")
+    @SwaggerApiResponses
+    @GetMapping("/ranking")
+    @Operation(summary = "Obtener una página de la clasificación global", description = "Este endpoint permite obtener la clasificación global de los usuarios por sus puntos, por páginas.")
+    public ResponseEntity<?> getGlobalRanking(@RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = userService.getGlobalRanking(offset, limit);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Obtiene los primeros puestos de la clasificación global.
+     * Este método es accesible para todos los usuarios autenticados.
+     * 
+     * @param n Número de jugadores.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene los primeros jugadores y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/top")
+    @Operation(summary = "Obtener los primeros puestos de la clasificación global", description = "Este endpoint permite obtener los N primeros usuarios de la clasificación global.")
+    public ResponseEntity<?> getGlobalTop(@RequestParam(defaultValue = "10") int n,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var ranking = userService.getGlobalRanking(0, n);
+        return ResponseEntity.ok(pretty ? ranking.toString() : ranking);
+    }
+
+    /**
+     * Obtiene la posición y el percentil de un usuario en la clasificación global.
+     * Este método es accesible para todos los usuarios autenticados.
+     * 
+     * @param username Nombre del usuario.
+     * @param pretty Indica si la respuesta debe ser formateada de manera amigable (pretty) o no.
+     * @return ResponseEntity<?> que contiene la posición del usuario y un estado HTTP 200 OK.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/player/{username}")
+    @Operation(summary = "Obtener la posición global de un usuario", description = "Este endpoint permite obtener la posición de un usuario en la clasificación global, su percentil y cuántos usuarios hay en su rango y en los superiores.")
+    public ResponseEntity<?> getGlobalPosition(@PathVariable String username,
+            @RequestParam(value = "pretty", required = false) boolean pretty) {
+        var position = userService.getGlobalPosition(username);
+        return ResponseEntity.ok(pretty ? position.toString() : position);
+    }
+
+    /**
+     * Obtiene cuántos usuarios hay en cada rango.
+     * Este método es accesible para todos los usuarios autenticados.
+     * 
+     * @return List<RankTierDTO> con el número de usuarios de cada rango, de menor a mayor.
+     */
+    @SwaggerApiResponses
+    @GetMapping("/ranking/tiers")
+    @Operation(summary = "Obtener los usuarios de cada rango", description = "Este endpoint permite obtener cuántos usuarios hay en cada rango.")
+    public List<RankTierDTO> getRankTiers() {
+        return userService.getRankTiers();
+    }
+
+    /**
+     * Obtiene un tramo de la lista de usuarios registrados, ordenada por ID y filtrada opcionalmente por rango y rol.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     *
+     * @param after ID del último usuario del tramo anterior; el siguiente tramo se pide con el campo next de la respuesta.
+     * @param limit Número máximo de usuarios del tramo.
+     * @param rank Rango de los usuarios, todos si no se indica.
+     * @param role Rol de los usuarios, todos si no se indica.
+     * @return KeysetPageDTO con los usuarios del tramo.
+     */
+    @Operation(summary = "Listar usuarios", description = "Este endpoint permite listar los usuarios por tramos, filtrando opcionalmente por rango y rol.")
     @SwaggerApiResponses
     @GetMapping("/list")
     @PreAuthorize("hasRole('ADMIN')")
-    public List<UserDTO> listAllUsers() {
-        return userService.listAllUsers();
+    public KeysetPageDTO<UserSummaryDTO> listUsers(@RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(required = false) Rank rank,
+            @RequestParam(required = false) Role role) {
+        return userService.listUsers(after, limit, rank, role);
+    }
+
+    /**
+     * Exporta todos los usuarios registrados como JSON delimitado por líneas (NDJSON), un usuario por línea.
+     * La respuesta se escribe según se leen los usuarios de la base de datos, sin cargarlos todos en memoria.
+     * Este método es accesible solo para usuarios con el rol de ADMIN.
+     *
+     * @param rank Rango de los usuarios, todos si no se indica.
+     * @param role Rol de los usuarios, todos si no se indica.
+     * @return ResponseEntity que escribe los usuarios en el cuerpo de la respuesta.
+     */
+    @Operation(summary = "Exportar usuarios", description = "Este endpoint permite exportar todos los usuarios como NDJSON, filtrando opcionalmente por rango y rol.")
+    @SwaggerApiResponses
+    @GetMapping(value = "/list/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) Rank rank,
+            @RequestParam(required = false) Role role) {
+        StreamingResponseBody body = output -> userService.exportUsers(rank, role, output);
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     /**
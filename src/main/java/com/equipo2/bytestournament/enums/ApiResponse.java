@@ -11,6 +11,10 @@ public enum ApiResponse {
             HttpStatus.CREATED,
             "Recurso Creado",
            "El recurso se ha creado correctamente."),
+    ACCEPTED(
+            HttpStatus.ACCEPTED,
+            "Solicitud Aceptada",
+            "La solicitud se ha aceptado y se procesará en segundo plano."),
     SUCCESS(
         HttpStatus.OK,
             "Operación Exitosa",
@@ -71,6 +75,10 @@ public enum ApiResponse {
             HttpStatus.SERVICE_UNAVAILABLE,
             "Servicio No Disponible",
             "El servicio externo requerido no está disponible temporalmente."),
+    SERVICE_BUSY(
+            HttpStatus.SERVICE_UNAVAILABLE,
+            "Servicio Ocupado",
+            "El servidor está procesando demasiadas solicitudes, vuelve a intentarlo más tarde."),
     ENDPOINT_NOT_FOUND(
             HttpStatus.NOT_FOUND,
             "Endpoint No Encontrado",
@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.enums;
+/**
+ * Enum JobStatus que muestra los estados de un trabajo en segundo plano
+ *
+ * Los valores que puede tomar son:
+ * QUEUED: El trabajo está en cola esperando un hilo libre.
+ * RUNNING: El trabajo se está ejecutando.
+ * COMPLETED: El trabajo ha terminado correctamente.
+ * FAILED: El trabajo ha terminado con un error.
+ */
+
+public enum JobStatus {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
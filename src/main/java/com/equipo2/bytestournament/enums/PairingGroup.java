@@ -0,0 +1,13 @@
+package com.equipo2.bytestournament.enums;
+/**
+ * Enum PairingGroup que muestra cómo se reparten los jugadores en el emparejamiento paralelo
+ *
+ * Los valores que puede tomar son:
+ * RANK: Un grupo por cada Rank.
+ * POINTS_BAND: Un grupo por cada franja de puntos del tamaño del umbral (Match.UMBRAL).
+ */
+
+public enum PairingGroup {
+    RANK,
+    POINTS_BAND
+}
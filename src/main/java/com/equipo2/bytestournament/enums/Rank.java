@@ -1,5 +1,7 @@
 package com.equipo2.bytestournament.enums;
 
+import java.util.Arrays;
+
 /**
  * Enum Rank representa los diferentes rangos que un usuario puede alcanzar en la aplicación.
  * Cada rango indica el nivel de habilidad o logro del usuario en la plataforma.
@@ -25,6 +27,18 @@ public enum Rank {
     private final Integer minPoints;
     private final Integer maxPoints;
 
+    /**
+     * Rango de cada valor de puntos entre 0 y el máximo del último rango, para obtenerlo sin recorrer los rangos.
+     */
+    private static final Rank[] BY_POINTS;
+
+    static {
+        Rank[] ranks = values();
+        BY_POINTS = new Rank[ranks[ranks.length - 1].maxPoints + 1];
+        for (Rank rank : ranks)
+            Arrays.fill(BY_POINTS, rank.minPoints, rank.maxPoints + 1, rank);
+    }
+
     Rank(Integer minPoints, Integer maxPoints) {
         this.minPoints = minPoints;
         this.maxPoints = maxPoints;
@@ -38,11 +52,28 @@ public enum Rank {
         return maxPoints;
     }
 
-    // Método para obtener el Rank según los puntos
+    /**
+     * Rango según los puntos, con una lectura de una tabla precalculada.
+     * Por debajo de 0 es BRONZE y por encima del máximo del último rango es GRANDMASTER.
+     *
+     * @param points puntos del usuario.
+     * @return el rango correspondiente.
+     */
     public static Rank fromPoints(Integer points) {
-        for (Rank rank : Rank.values()) 
-            if (points >= rank.minPoints && points <= rank.maxPoints) 
-                return rank;
-        return BRONZE;
+        if (points < 0)
+            return BRONZE;
+        return points < BY_POINTS.length ? BY_POINTS[points] : GRANDMASTER;
+    }
+
+    /**
+     * Rango según el rating Glicko-2 de un usuario. Se usa la estimación conservadora, rating menos dos desviaciones,
+     * para que un jugador con pocas partidas no suba de rango por unos pocos resultados.
+     *
+     * @param rating rating del usuario.
+     * @param deviation desviación del rating.
+     * @return el rango correspondiente.
+     */
+    public static Rank fromRating(double rating, double deviation) {
+        return fromPoints((int) Math.max(0, Math.round(rating - 2 * deviation)));
     }
 }
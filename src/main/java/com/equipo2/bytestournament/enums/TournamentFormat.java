@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.enums;
+/**
+ * Enum TournamentFormat que muestra los sistemas de emparejamiento que puede usar un torneo
+ *
+ * Los valores que puede tomar son:
+ * OPEN: Emparejamiento aleatorio entre jugadores cuya diferencia de puntos no supera el umbral.
+ * SWISS: Sistema suizo, se empareja por grupos de puntuación evitando repetir rivales y asignando byes.
+ * SINGLE_ELIMINATION: Eliminatoria directa, el cuadro se calcula al empezar el torneo y cada ronda se genera al conocerse los ganadores.
+ * ROUND_ROBIN: Liga todos contra todos, el calendario completo se genera de una vez con el método del círculo.
+ */
+
+public enum TournamentFormat {
+    OPEN,
+    SWISS,
+    SINGLE_ELIMINATION,
+    ROUND_ROBIN
+}
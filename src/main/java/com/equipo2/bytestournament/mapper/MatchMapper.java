@@ -3,6 +3,8 @@ package com.equipo2.bytestournament.mapper;
 import com.equipo2.bytestournament.DTO.MatchDTO;
 import com.equipo2.bytestournament.mapper.helper.MatchMapperHelper;
 import com.equipo2.bytestournament.model.Match;
+import org.mapstruct.BeanMapping;
+import org.mapstruct.Builder;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import java.util.List;
@@ -22,10 +24,16 @@ import java.util.List;
 
 @Mapper(componentModel = "spring", uses = {MatchMapperHelper.class})
 public interface MatchMapper {
-    // MatchDTO -> Match
+    // MatchDTO -> Match, sin builder para que MatchMapperHelper compruebe las referencias del Match ya creado
+    @BeanMapping(builder = @Builder(disableBuilder = true))
     @Mapping(source = "tournament", target = "tournament")
     @Mapping(source = "player1", target = "player1")
     @Mapping(source = "player2", target = "player2")
+    @Mapping(target = "player1Points", ignore = true)
+    @Mapping(target = "player2Points", ignore = true)
+    @Mapping(target = "player1Rank", ignore = true)
+    @Mapping(target = "player2Rank", ignore = true)
+    @Mapping(target = "awardedPoints", ignore = true)
     Match matchDtoToMatch(MatchDTO matchDTO);
 
     // Match -> MatchDTO
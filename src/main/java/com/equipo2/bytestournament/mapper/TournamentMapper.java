@@ -6,6 +6,7 @@ import com.equipo2.bytestournament.model.Tournament;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
+import org.mapstruct.Named;
 
 /**
  * Mapper que convierte la entidad Tournament a DTO y la DTO a entidad
@@ -30,8 +31,16 @@ public interface TournamentMapper {
     // TournamentDTO -> Tournament
     @Mapping(target = "matches", source = "matches")
     @Mapping(target = "players", source = "players")
+    @Mapping(target = "roundSeeds", ignore = true)
     Tournament tournamentDtoToTournament(TournamentDTO tournamentDTO);
 
+    // TournamentDTO -> Tournament para guardarlo, con referencias a los jugadores sin cargarlos
+    @Mapping(target = "matches", source = "matches")
+    @Named("tournamentDtoToTournamentReferences")
+    @Mapping(target = "players", source = "players", qualifiedByName = "idsToPlayerReferences")
+    @Mapping(target = "roundSeeds", ignore = true)
+    Tournament tournamentDtoToTournamentReferences(TournamentDTO tournamentDTO);
+
     // List<TournamentDTO> -> List<Tournament>
     @Mapping(target = "matches", source = "matches")
     @Mapping(target = "players", source = "players")
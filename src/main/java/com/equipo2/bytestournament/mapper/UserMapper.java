@@ -40,6 +40,9 @@ public interface UserMapper {
     @Mapping(target = "matchesAsPlayer2", ignore = true)
     @Mapping(target = "tournaments", source = "tournaments")
     @Mapping(target = "authorityPrivilegies", source = "authorityPrivilegies")
+    @Mapping(target = "rating", ignore = true) // El rating solo lo cambia RatingService al terminar una ronda
+    @Mapping(target = "ratingDeviation", ignore = true)
+    @Mapping(target = "volatility", ignore = true)
     User userDTOToUser(UserDTO userDTO);
 
     // List<User> -> List<UserDTO>
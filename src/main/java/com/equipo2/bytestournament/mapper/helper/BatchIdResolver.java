@@ -0,0 +1,112 @@
+package com.equipo2.bytestournament.mapper.helper;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Convierte listas de IDs en entidades, o en referencias sin cargar, con consultas IN agrupadas
+ * en lugar de una consulta por ID.
+ *
+ * Las entidades se devuelven en el orden de los IDs, repitiendo las que se repiten y sin las que no existen.
+ * Dentro de una petición HTTP las entidades ya leídas, y los IDs que no existen, se guardan en un atributo
+ * de la petición, así que un ID que aparece varias veces mientras se mapea una petición se consulta una sola vez.
+ * Fuera de una petición, como en los trabajos en segundo plano, solo se agrupan los IDs de cada llamada.
+ */
+public final class BatchIdResolver {
+
+    /**
+     * CHUNK_SIZE Número máximo de IDs de cada consulta IN.
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String CACHE_ATTRIBUTE = BatchIdResolver.class.getName() + ".";
+
+    private BatchIdResolver() {
+    }
+
+    /**
+     * Busca las entidades de una lista de IDs.
+     *
+     * @param ids IDs a buscar, en cualquier orden y con repeticiones; los null se ignoran.
+     * @param type tipo de las entidades, que separa las entidades guardadas en la petición.
+     * @param finder consulta de un grupo de IDs, como findAllById del repositorio.
+     * @param idOf ID de cada entidad.
+     * @return las entidades en el orden de los IDs, sin las que no existen.
+     */
+    public static <T> List<T> findAllInOrder(List<Long> ids, Class<T> type, Function<List<Long>, List<T>> finder, Function<T, Long> idOf) {
+        return resolve(ids, CACHE_ATTRIBUTE + type.getName(), chunk -> {
+            Map<Long, T> found = new HashMap<>(chunk.size() * 2);
+            for (T entity : finder.apply(chunk))
+                found.put(idOf.apply(entity), entity);
+            return found;
+        });
+    }
+
+    /**
+     * Obtiene referencias a las entidades de una lista de IDs sin cargarlas, comprobando antes que existen
+     * con una consulta que solo lee los IDs. Sirve para asignar relaciones al guardar, que solo necesitan la clave.
+     *
+     * @param ids IDs a buscar, en cualquier orden y con repeticiones; los null se ignoran.
+     * @param type tipo de las entidades, que separa las referencias guardadas en la petición.
+     * @param existing consulta de los IDs que existen de un grupo de IDs.
+     * @param reference referencia a la entidad de un ID, como EntityManager.getReference.
+     * @return las referencias en el orden de los IDs, sin las de los IDs que no existen.
+     */
+    public static <T> List<T> referencesInOrder(List<Long> ids, Class<T> type, Function<List<Long>, List<Long>> existing, Function<Long, T> reference) {
+        return resolve(ids, CACHE_ATTRIBUTE + "reference." + type.getName(), chunk -> {
+            Map<Long, T> found = new HashMap<>(chunk.size() * 2);
+            for (Long id : existing.apply(chunk))
+                found.put(id, reference.apply(id));
+            return found;
+        });
+    }
+
+    private static <T> List<T> resolve(List<Long> ids, String cacheName, Function<List<Long>, Map<Long, T>> finder) {
+        Map<Long, T> found = cache(cacheName);
+
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids)
+            if (id != null && !found.containsKey(id))
+                missing.add(id);
+
+        List<Long> pending = new ArrayList<>(missing);
+        for (int start = 0; start < pending.size(); start += CHUNK_SIZE) {
+            List<Long> chunk = pending.subList(start, Math.min(start + CHUNK_SIZE, pending.size()));
+            found.putAll(finder.apply(chunk));
+            // Los IDs que no existen también se guardan, para no volver a buscarlos
+            for (Long id : chunk)
+                found.putIfAbsent(id, null);
+        }
+
+        List<T> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T entity = id == null ? null : found.get(id);
+            if (entity != null)
+                result.add(entity);
+        }
+        return result;
+    }
+
+    /**
+     * Entidades ya leídas con un nombre en la petición en curso, o un mapa nuevo fuera de una petición.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Map<Long, T> cache(String name) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null)
+            return new HashMap<>();
+        Map<Long, T> cache = (Map<Long, T>) request.getAttribute(name, RequestAttributes.SCOPE_REQUEST);
+        if (cache == null) {
+            cache = new HashMap<>();
+            request.setAttribute(name, cache, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cache;
+    }
+}
@@ -2,10 +2,19 @@ package com.equipo2.bytestournament.mapper.helper;
 
 import com.equipo2.bytestournament.enums.ApiResponse;
 import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.Match;
 import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.UserRepository;
 import com.equipo2.bytestournament.repository.TournamentRepository;
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.hibernate.Hibernate;
+import org.mapstruct.AfterMapping;
+import org.mapstruct.MappingTarget;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -16,6 +25,10 @@ import org.springframework.stereotype.Component;
  * Este helper proporciona métodos para convertir entre IDs y entidades
  * de tipo Tournament y User, manejando excepciones y errores de manera adecuada.
  * 
+ * Un MatchDTO solo se convierte en Match para guardarlo, así que los IDs se convierten en referencias
+ * sin cargar el torneo ni los usuarios, que solo hacen falta para las claves ajenas. Al terminar el mapeo
+ * se comprueba con una consulta por tipo qué referencias existen, y las que no existen se quedan a null.
+ * 
  * @Component Anotación de Spring que indica que esta clase es un componente
  * que puede ser inyectado en otros componentes de la aplicación.
  */
@@ -25,26 +38,30 @@ public class MatchMapperHelper {
     /**
      * userRepository Repositorio para acceder a los usuarios.
      * tournamentRepository Repositorio para acceder a los torneos.
+     * entityManager Crea las referencias a los torneos y usuarios sin cargarlos.
      * Logger  para registrar mensajes de error y depuración.
      */
     private final UserRepository userRepository;
     private final TournamentRepository tournamentRepository;
+    private final EntityManager entityManager;
     private final Logger logger = LoggerFactory.getLogger(MatchMapperHelper.class.getName());
 
-    public MatchMapperHelper(UserRepository userRepository, TournamentRepository tournamentRepository) {
+    public MatchMapperHelper(UserRepository userRepository, TournamentRepository tournamentRepository, EntityManager entityManager) {
         this.userRepository = userRepository;
         this.tournamentRepository = tournamentRepository;
+        this.entityManager = entityManager;
     }
 
     /**
-     * Convierte un Long ID de torneo a una entidad Tournament.
+     * Convierte un Long ID de torneo a una referencia a la entidad Tournament, sin cargarla.
+     * Si el torneo no existe, {@link #checkReferences} la deja a null.
      * 
      * @param tournamentId ID del torneo a convertir.
-     * @return Entidad Tournament correspondiente al ID, o null si el ID es null
+     * @return Referencia al Tournament correspondiente al ID, o null si el ID es null
      */
     public Tournament fromTournamentId(Long tournamentId) {
         try {
-            return tournamentId == null ? null : tournamentRepository.findById(tournamentId).orElse(null);
+            return tournamentId == null ? null : entityManager.getReference(Tournament.class, tournamentId);
         } catch (Exception e) {
             logger.error("Error al buscar el torneo con ID: " + tournamentId, e);
             throw new RequestException(ApiResponse.NOT_FOUND, "Torneo no encontrado",  "No se pudo establecer la relación con el torneo con ID: " + tournamentId);
@@ -67,14 +84,15 @@ public class MatchMapperHelper {
     }
 
     /**
-     * Convierte un Long ID de usuario a una entidad User.
+     * Convierte un Long ID de usuario a una referencia a la entidad User, sin cargarla.
+     * Si el usuario no existe, {@link #checkReferences} la deja a null.
      * 
      * @param matchId ID del usuario a convertir.
-     * @return Entidad User correspondiente al ID, o null si el ID es null
+     * @return Referencia al User correspondiente al ID, o null si el ID es null
      */
     public User fromId(Long id) {
         try {
-            return id == null ? null : userRepository.findById(id).orElse(null);
+            return id == null ? null : entityManager.getReference(User.class, id);
         } catch (Exception e) {
             logger.error("Error al buscar el usuario con ID: " + id, e);
             throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se pudo establecer la relación con el usuario");
@@ -95,4 +113,38 @@ public class MatchMapperHelper {
             throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se pudo establecer la relación con el usuario");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Comprueba que existen el torneo y los jugadores de un Match recién mapeado, con una consulta por tipo
+     * que solo lee los IDs, y deja a null las referencias que no existen.
+     * Las entidades que ya estaban cargadas en la sesión existen y no se consultan.
+     * 
+     * @param match Match mapeado desde un MatchDTO.
+     */
+    @AfterMapping
+    public void checkReferences(@MappingTarget Match match) {
+        try {
+            List<Long> userIds = new ArrayList<>(2);
+            for (User player : new User[] { match.getPlayer1(), match.getPlayer2() })
+                if (player != null && !Hibernate.isInitialized(player))
+                    userIds.add(player.getId());
+            Set<Long> existing = userIds.isEmpty() ? Set.of() : new HashSet<>(userRepository.findExistingIds(userIds));
+            if (isMissing(match.getPlayer1(), existing))
+                match.setPlayer1(null);
+            if (isMissing(match.getPlayer2(), existing))
+                match.setPlayer2(null);
+
+            Tournament tournament = match.getTournament();
+            if (tournament != null && !Hibernate.isInitialized(tournament)
+                    && tournamentRepository.findExistingIds(List.of(tournament.getId())).isEmpty())
+                match.setTournament(null);
+        } catch (Exception e) {
+            logger.error("Error al comprobar las relaciones del match: " + match.getId(), e);
+            throw new RequestException(ApiResponse.NOT_FOUND, "Match no encontrado", "No se pudo establecer la relación con el torneo o los jugadores");
+        }
+    }
+
+    private static boolean isMissing(User player, Set<Long> existing) {
+        return player != null && !Hibernate.isInitialized(player) && !existing.contains(player.getId());
+    }
+}
@@ -6,6 +6,8 @@ import com.equipo2.bytestournament.model.Match;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.MatchRepository;
 import com.equipo2.bytestournament.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.mapstruct.Named;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
@@ -28,15 +30,18 @@ public class TournamentMapperHelper {
     /**
      * userRepository Repositorio para acceder a los usuarios.
      * matchRepository Repositorio para acceder a las partidas.
+     * entityManager Crea las referencias a los usuarios sin cargarlos.
      * Logger  para registrar mensajes de error y depuración.
      */
     private final UserRepository userRepository;
     private final MatchRepository matchRepository;
+    private final EntityManager entityManager;
     private final Logger logger = LoggerFactory.getLogger(TournamentMapperHelper.class);
 
-    public TournamentMapperHelper(UserRepository userRepository, MatchRepository matchRepository) {
+    public TournamentMapperHelper(UserRepository userRepository, MatchRepository matchRepository, EntityManager entityManager) {
         this.userRepository = userRepository;
         this.matchRepository = matchRepository;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -61,6 +66,7 @@ public class TournamentMapperHelper {
 
     /**
      * Convierte una lista de IDs de partidas a una lista de Match.
+     * Las partidas se buscan con consultas agrupadas con {@link BatchIdResolver}, en el orden de los IDs.
      * 
      * @param matchIds Lista de IDs de partidas
      * @return Lista de partidas (Match)
@@ -70,10 +76,7 @@ public class TournamentMapperHelper {
             if (matchIds == null)
                 throw new Exception();
             
-            return matchIds.stream()
-                    .map(id -> matchRepository.findById(id).orElse(null))
-                    .filter(match -> match != null)
-                    .collect(Collectors.toList());
+            return BatchIdResolver.findAllInOrder(matchIds, Match.class, matchRepository::findAllById, Match::getId);
         } catch (Exception e) {
             logger.error("Error al convertir la lista de IDs de partidas a objetos Match", e);
             throw new RequestException(ApiResponse.NOT_FOUND, "Match no encontrado", "No se pudo convertir la lista de IDs de partidas a objetos Match");
@@ -102,6 +105,7 @@ public class TournamentMapperHelper {
 
     /**
      * Convierte una lista de IDs de usuarios a una lista de jugadores (usuarios).
+     * Los usuarios se buscan con consultas agrupadas con {@link BatchIdResolver}, en el orden de los IDs.
      * 
      * @param playerIds Lista de IDs de usuarios
      * @return Lista de jugadores (usuarios)
@@ -111,13 +115,32 @@ public class TournamentMapperHelper {
             if (playerIds == null) 
                 throw new Exception();
             
-            return playerIds.stream()
-                    .map(id -> userRepository.findById(id).orElse(null))
-                    .filter(user -> user != null)
-                    .collect(Collectors.toList());
+            return BatchIdResolver.findAllInOrder(playerIds, User.class, userRepository::findAllById, User::getId);
         } catch (Exception e) {
             logger.error("Error al convertir la lista de IDs de usuarios a objetos User", e);
             throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se pudo convertir la lista de IDs de usuarios a objetos User");
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Convierte una lista de IDs de usuarios a referencias a los jugadores, sin cargarlos.
+     * Se usa al crear un torneo, que solo necesita los IDs para la tabla tournament_players:
+     * los IDs que existen se comprueban con consultas agrupadas que solo leen los IDs, con {@link BatchIdResolver}.
+     * 
+     * @param playerIds Lista de IDs de usuarios
+     * @return Lista de referencias a los jugadores que existen, en el orden de los IDs
+     */
+    @Named("idsToPlayerReferences")
+    public List<User> idsToPlayerReferences(List<Long> playerIds) {
+        try {
+            if (playerIds == null) 
+                throw new Exception();
+            
+            return BatchIdResolver.referencesInOrder(playerIds, User.class, userRepository::findExistingIds,
+                    id -> entityManager.getReference(User.class, id));
+        } catch (Exception e) {
+            logger.error("Error al convertir la lista de IDs de usuarios a referencias", e);
+            throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se pudo convertir la lista de IDs de usuarios a objetos User");
+        }
+    }
+}
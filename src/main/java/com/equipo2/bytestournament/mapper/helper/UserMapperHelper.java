@@ -91,6 +91,7 @@ public class UserMapperHelper {
 
     /**
      * Convierte una lista de IDs de torneos en una lista de Tournaments.
+     * Los torneos se buscan con consultas agrupadas con {@link BatchIdResolver}, en el orden de los IDs.
      * 
      * @param tournamentIds Lista de IDs de torneos
      * @return Lista de torneos (Tournament)
@@ -100,10 +101,7 @@ public class UserMapperHelper {
             if (tournamentIds == null) 
                 throw new Exception();
         
-        return tournamentIds.stream()
-                .map(id -> tournamentRepository.findById(id).orElse(null))
-                .filter(tournament -> tournament != null)
-                .collect(Collectors.toList());
+        return BatchIdResolver.findAllInOrder(tournamentIds, Tournament.class, tournamentRepository::findAllById, Tournament::getId);
         } catch (Exception e) {
             logger.error("Error al convertir la lista de IDs de torneos a objetos Tournament", e);
             throw new RequestException(ApiResponse.NOT_FOUND, "Torneo no encontrado", "No se pudo convertir la lista de IDs de torneos a objetos Tournament");
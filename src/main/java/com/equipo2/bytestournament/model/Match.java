@@ -4,50 +4,79 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Result;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 
 @Entity
+@NamedEntityGraph(name = Match.PLAYERS_GRAPH, attributeNodes = { @NamedAttributeNode("player1"), @NamedAttributeNode("player2") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+        @Index(name = "matches_tournament_bracket_idx", columnList = "tournament_id, bracket_position", unique = true),
+        @Index(name = "matches_tournament_round_idx", columnList = "tournament_id, round, result")
+})
 public class Match {
     public static final Long UMBRAL = 1000L;
+    public static final String PLAYERS_GRAPH = "Match.players";
 
     /**
      * id: Identificador único de la partida que se genera automáticamente.
      * tournamentId: Identificador único del torneo al que pertenece la partida. No debe ser nulo.
      * player1: Jugador 1 que participa en la partida. No debe ser nulo.
-     * player2: Jugador 2 que participa en la partida. No debe ser nulo.
+     * player2: Jugador 2 que participa en la partida. Es nulo únicamente en los byes del sistema suizo.
      * result: Resultado de la partida. No debe ser nulo ni vacío.
      * round: Ronda actual de la partida. No debe ser nulo.
+     * bracketPosition: Posición del match en el cuadro de eliminatoria, numerado como un heap (1 es la final,
+     * los hijos del nodo i son 2i y 2i+1). Es nulo en los torneos que no son de eliminatoria.
+     * player1Points, player2Points: Puntos de cada jugador en el momento de emparejarlos, para poder
+     * reproducir la ronda aunque los puntos hayan cambiado después. Son nulos en los matches anteriores.
+     * player1Rank, player2Rank: Rango de cada jugador en el momento de emparejarlos, con el que se agrupan las rondas
+     * emparejadas en paralelo por rango. El rango sale del rating y no de los puntos, así que también hay que guardarlo.
+     * Son nulos en los matches anteriores.
+     * awardedPoints: Puntos que repartió el resultado, todos para el ganador o la mitad para cada jugador en un empate,
+     * para poder recalcular la clasificación a partir de las partidas. Es 0 en los byes y nulo mientras la partida está pendiente.
+     *
+     * El id se obtiene de una secuencia con reserva de bloques (allocationSize) en lugar de IDENTITY,
+     * para que Hibernate pueda agrupar los INSERT de una ronda en lotes JDBC. El tamaño del bloque
+     * coincide con hibernate.jdbc.batch_size y con el INCREMENT BY de matches_id_seq.
+     *
+     * El torneo y los jugadores se cargan cuando se usan y no con cada partida, que es lo que haría JPA por defecto:
+     * leer una lista de partidas no lanza una consulta por cada torneo y jugador distintos, y para leer su ID
+     * no hace falta cargarlos. Las consultas que necesitan los jugadores los traen con el plan {@value #PLAYERS_GRAPH}.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "matches_seq")
+    @SequenceGenerator(name = "matches_seq", sequenceName = "matches_id_seq", allocationSize = 50)
     @Column(name = "id", updatable = false, nullable = false)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "tournament_id", updatable = false, nullable = false)
     private Tournament tournament;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "player1_id", nullable = false)
     private User player1;
 
-    @ManyToOne
-    @JoinColumn(name = "player2_id", nullable = false)
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player2_id")
     private User player2;
 
     @Enumerated(EnumType.STRING)
@@ -56,4 +85,24 @@ public class Match {
 
     @Column(name = "round", updatable = true, nullable = false)
     private Integer round;
+
+    @Column(name = "bracket_position", updatable = false)
+    private Integer bracketPosition;
+
+    @Column(name = "player1_points", updatable = false)
+    private Integer player1Points;
+
+    @Column(name = "player2_points", updatable = false)
+    private Integer player2Points;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "player1_rank", updatable = false)
+    private Rank player1Rank;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "player2_rank", updatable = false)
+    private Rank player2Rank;
+
+    @Column(name = "awarded_points")
+    private Integer awardedPoints;
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.equipo2.bytestournament.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA que marca una ronda de un torneo cuyo periodo de rating ya se ha calculado.
+ * La fila se crea con un INSERT condicionado en la misma transacción que el cálculo, así que una ronda
+ * solo actualiza los ratings una vez aunque se informen a la vez sus últimos resultados.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(RatedRoundId.class)
+@Table(name = "rated_rounds")
+public class RatedRound {
+    /**
+     * tournamentId: Identificador del torneo. Forma parte de la clave.
+     * round: Número de la ronda. Forma parte de la clave.
+     */
+    @Id
+    @Column(name = "tournament_id", updatable = false, nullable = false)
+    private Long tournamentId;
+
+    @Id
+    @Column(name = "round", updatable = false, nullable = false)
+    private Integer round;
+}
@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.model;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clave compuesta de {@link RatedRound}: una ronda dentro de un torneo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RatedRoundId implements Serializable {
+    private Long tournamentId;
+    private Integer round;
+}
@@ -0,0 +1,33 @@
+package com.equipo2.bytestournament.model;
+
+import com.equipo2.bytestournament.enums.PairingGroup;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Valor embebido con la semilla con la que se generó una ronda de un torneo.
+ * Junto a los puntos y el rango guardados en cada match permite volver a generar la ronda en memoria.
+ */
+@Data
+@Builder
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class RoundSeed {
+    /**
+     * seed: Semilla del generador aleatorio del emparejamiento y de la puntuación de la ronda.
+     * groupBy: Agrupación usada si la ronda se emparejó en paralelo. Es nulo si se emparejó de forma secuencial.
+     */
+    @Column(name = "seed", nullable = false)
+    private Long seed;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "group_by")
+    private PairingGroup groupBy;
+}
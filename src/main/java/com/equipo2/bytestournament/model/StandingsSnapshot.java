@@ -0,0 +1,56 @@
+package com.equipo2.bytestournament.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA con la clasificación de un torneo tal y como estaba al terminar una ronda.
+ *
+ * Para no repetir a todos los jugadores en cada ronda, la mayoría de instantáneas solo guardan la diferencia
+ * con otra instantánea anterior del mismo torneo, su base, codificada con
+ * {@link com.equipo2.bytestournament.service.standings.SnapshotCodec}. Cada cierto número de diferencias encadenadas
+ * se guarda una instantánea completa, sin base, así que leer cualquier ronda aplica como mucho ese número de diferencias.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(StandingsSnapshotId.class)
+@Table(name = "standings_snapshots")
+public class StandingsSnapshot {
+    /**
+     * tournamentId: Identificador del torneo. Forma parte de la clave.
+     * round: Número de la ronda terminada. Forma parte de la clave.
+     * baseRound: Ronda de la instantánea sobre la que se aplica la diferencia, o null si la instantánea es completa.
+     * depth: Número de diferencias que hay que aplicar desde la instantánea completa más cercana, 0 si es completa.
+     * players: Número de jugadores de la clasificación en esa ronda.
+     * data: Diferencia codificada, o la clasificación completa si no hay base.
+     */
+    @Id
+    @Column(name = "tournament_id", updatable = false, nullable = false)
+    private Long tournamentId;
+
+    @Id
+    @Column(name = "round", updatable = false, nullable = false)
+    private Integer round;
+
+    @Column(name = "base_round", updatable = false)
+    private Integer baseRound;
+
+    @Column(name = "depth", updatable = false, nullable = false)
+    private Integer depth;
+
+    @Column(name = "players", updatable = false, nullable = false)
+    private Integer players;
+
+    @Column(name = "data", updatable = false, nullable = false, length = 16_777_216)
+    private byte[] data;
+}
@@ -1,8 +1,11 @@
 package com.equipo2.bytestournament.model;
 
 import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -12,6 +15,9 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.MapKeyColumn;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -20,12 +26,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.Builder.Default;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Entidad JPA que representa un torneo de la aplicación de torneos.
  * Contiene el nombre del torneo, los jugadores máximos que participan y el estado.
+ *
+ * El plan de carga {@value #PLAYERS_GRAPH} trae los jugadores en la misma consulta que el torneo; lo usan
+ * los repositorios en las consultas que necesitan los jugadores, en lugar de cargarlos uno a uno al recorrerlos.
  */
+@NamedEntityGraph(name = Tournament.PLAYERS_GRAPH, attributeNodes = @NamedAttributeNode("players"))
 @Data
 @Entity
 @Builder
@@ -33,6 +45,8 @@ import java.util.List;
 @AllArgsConstructor
 @Table(name = "tournaments")
 public class Tournament {
+    public static final String PLAYERS_GRAPH = "Tournament.players";
+
     /**
      * id: Identificador único del torneo que se genera automaticamente
      * name: Nombre del torneo. Debe ser único y no nulo.
@@ -40,9 +54,11 @@ public class Tournament {
      * status: Estado asignado al usuario. No debe ser nulo ni vacío.
      * rounds: Número de ronda actual del torneo.
      * maxRounds: Número máximo de rondas del torneo.
+     * format: Sistema de emparejamiento con el que se generan las rondas del torneo.
      * matchesList: Lista de partidos asociados al torneo.
      * players: Lista de jugadores que participan en el torneo.
      * un torneo puede tener múltiples jugadores y un jugador puede participar en múltiples torneos.
+     * roundSeeds: Semilla con la que se generó cada ronda, indexada por número de ronda.
      */
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -65,6 +81,11 @@ public class Tournament {
     @Column(name = "max_rounds", updatable = true, nullable = false)
     private Integer maxRounds;
 
+    @Default
+    @Enumerated(EnumType.STRING)
+    @Column(name = "format", updatable = true, nullable = false)
+    private TournamentFormat format = TournamentFormat.OPEN;
+
     @Default
     @OneToMany(mappedBy = "tournament", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Match> matches = new ArrayList<>();
@@ -75,4 +96,10 @@ public class Tournament {
             joinColumns = @JoinColumn(name = "tournament_id"),
             inverseJoinColumns = @JoinColumn(name = "user_id"))
     private List<User> players = new ArrayList<>();
+
+    @Default
+    @ElementCollection
+    @CollectionTable(name = "tournament_round_seeds", joinColumns = @JoinColumn(name = "tournament_id"))
+    @MapKeyColumn(name = "round")
+    private Map<Integer, RoundSeed> roundSeeds = new HashMap<>();
 }
\ No newline at end of file
@@ -0,0 +1,87 @@
+package com.equipo2.bytestournament.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.Builder.Default;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Entidad JPA con la clasificación de un jugador dentro de un torneo: victorias, derrotas, empates y puntos
+ * conseguidos solo en ese torneo, a diferencia de los puntos del usuario, que son globales.
+ *
+ * Es un modelo de lectura: se crea una fila al inscribir al jugador y se actualiza con un UPDATE incremental
+ * en la misma transacción en la que se informa cada resultado, así que las clasificaciones se leen sin recorrer los matches.
+ * Guarda también los desempates del jugador, que se recalculan antes de confirmar esa transacción solo para los grupos
+ * de puntos en los que ha cambiado algo. El índice de clasificación sigue el orden del ranking (puntos, desempates,
+ * id de usuario), por lo que leer una página cuesta lo que ocupa la página y no lo que ocupa el torneo.
+ */
+@Data
+@Entity
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(TournamentStandingId.class)
+@Table(name = "tournament_standings", indexes = {
+        @Index(name = "tournament_standings_ranking_idx", columnList = "tournament_id, points DESC, buchholz DESC, median_buchholz DESC, sonneborn_berger DESC, direct_encounter DESC, user_id"),
+        @Index(name = "tournament_standings_user_idx", columnList = "user_id")
+})
+public class TournamentStanding {
+    /**
+     * tournamentId: Identificador del torneo. Forma parte de la clave.
+     * userId: Identificador del jugador. Forma parte de la clave.
+     * wins: Matches ganados en el torneo, contando los byes.
+     * losses: Matches perdidos en el torneo.
+     * draws: Matches empatados en el torneo.
+     * points: Puntos conseguidos en el torneo. También es el primer criterio de la clasificación.
+     * buchholz: Suma de los puntos en el torneo de sus rivales. Primer desempate.
+     * medianBuchholz: Buchholz sin el mejor ni el peor rival. Segundo desempate.
+     * sonnebornBerger: Puntos de los rivales ganados más la mitad de los de los rivales empatados. Tercer desempate.
+     * directEncounter: Resultado contra los jugadores con sus mismos puntos y desempates, 0 si no hay empate. Último desempate.
+     */
+    @Id
+    @Column(name = "tournament_id", updatable = false, nullable = false)
+    private Long tournamentId;
+
+    @Id
+    @Column(name = "user_id", updatable = false, nullable = false)
+    private Long userId;
+
+    @Default
+    @Column(name = "wins", nullable = false)
+    private Integer wins = 0;
+
+    @Default
+    @Column(name = "losses", nullable = false)
+    private Integer losses = 0;
+
+    @Default
+    @Column(name = "draws", nullable = false)
+    private Integer draws = 0;
+
+    @Default
+    @Column(name = "points", nullable = false)
+    private Integer points = 0;
+
+    @Default
+    @Column(name = "buchholz", nullable = false)
+    private Long buchholz = 0L;
+
+    @Default
+    @Column(name = "median_buchholz", nullable = false)
+    private Long medianBuchholz = 0L;
+
+    @Default
+    @Column(name = "sonneborn_berger", nullable = false)
+    private Double sonnebornBerger = 0.0;
+
+    @Default
+    @Column(name = "direct_encounter", nullable = false)
+    private Double directEncounter = 0.0;
+}
@@ -3,6 +3,7 @@ package com.equipo2.bytestournament.model;
 import com.equipo2.bytestournament.enums.AuthorityPrivilegies;
 import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.service.rating.Glicko2;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
@@ -13,6 +14,8 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToMany;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -31,7 +34,11 @@ import jakarta.persistence.JoinColumn;
 /**
  * Entidad JPA que representa un usuario de la aplicación de torneos.
  * Contiene el nombre de usuario, el email, la contraseña, el rol, el ranking y los puntos de cada usuario.
+ *
+ * El plan de carga {@value #PROFILE_GRAPH} trae los privilegios en la misma consulta que el usuario,
+ * para mostrar su perfil sin una consulta más por los privilegios.
  */
+@NamedEntityGraph(name = User.PROFILE_GRAPH, attributeNodes = @NamedAttributeNode("authorityPrivilegies"))
 @Data
 @Entity
 @AllArgsConstructor
@@ -39,6 +46,8 @@ import jakarta.persistence.JoinColumn;
 @Builder
 @Table(name = "users")
 public class User implements UserDetails{
+    public static final String PROFILE_GRAPH = "User.profile";
+
 
     /**
      * id: Identificador único del usuario que se genera automaticamenteç
@@ -48,6 +57,9 @@ public class User implements UserDetails{
      * role: Rol asignado al usuario. No debe ser nulo ni vacío.
      * rank: Categoría del usuario. No puede ser nula
      * points: Puntos del usuario. Valor no negativo.
+     * rating: Rating Glicko-2 del usuario, en la escala de Glicko (1500 al empezar).
+     * ratingDeviation: Desviación del rating; cuanto menor, más fiable es el rating.
+     * volatility: Volatilidad Glicko-2, cuánto se espera que cambie el rating entre periodos.
      * matchesAsPlayer1: Lista de partidas en las que el usuario ha participado como jugador 1.
      * matchesAsPlayer2: Lista de partidas en las que el usuario ha participado como jugador 2.
      * tournaments: Lista de torneos en los que participa el usuario, un usuario puede participar 
@@ -82,6 +94,18 @@ public class User implements UserDetails{
     @Column(name = "points", updatable = true, nullable = false)
     private Integer points;
 
+    @Default
+    @Column(name = "rating", nullable = false)
+    private Double rating = Glicko2.DEFAULT_RATING;
+
+    @Default
+    @Column(name = "rating_deviation", nullable = false)
+    private Double ratingDeviation = Glicko2.DEFAULT_DEVIATION;
+
+    @Default
+    @Column(name = "volatility", nullable = false)
+    private Double volatility = Glicko2.DEFAULT_VOLATILITY;
+
     @OneToMany(mappedBy = "player1")
     @Default
     private List<Match> matchesAsPlayer1 = new ArrayList<>();
@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Proyección de Spring Data con un usuario y los datos que muestra la clasificación global,
+ * con los puntos conseguidos en todos sus torneos.
+ */
+public interface GlobalPlayerView {
+    Long getUserId();
+
+    String getUsername();
+
+    Rank getRank();
+
+    Integer getPoints();
+}
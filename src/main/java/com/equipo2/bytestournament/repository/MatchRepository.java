@@ -1,9 +1,16 @@
 package com.equipo2.bytestournament.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.enums.Result;
 import com.equipo2.bytestournament.model.Match;
  
 /**
@@ -30,11 +37,151 @@ public interface MatchRepository extends JpaRepository <Match, Long>{
     Optional<List<Match>> findByTournamentId(Long tournamentId);
 
     /**
-     * Recupera la lista de partidas de un torneo en una ronda específica.
+     * Comprueba si un torneo tiene alguna partida generada, sin cargarlas.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return true si el torneo tiene al menos una partida
+     */
+    boolean existsByTournamentId(Long tournamentId);
+
+    /**
+     * Recupera la lista de partidas de un torneo en una ronda específica, con sus jugadores en la misma consulta.
      *
      * @param tournamentId el identificador del torneo
      * @param round el número de ronda
      * @return una lista de partidas del torneo y ronda indicados
      */
+    @EntityGraph(Match.PLAYERS_GRAPH)
     Optional<List<Match>> findByTournamentIdAndRound(Long tournamentId, int round);
+
+    /**
+     * Recupera las partidas de un torneo jugadas antes de una ronda, para reconstruir el historial de esa ronda.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round el número de ronda
+     * @return una lista de partidas del torneo de rondas anteriores a la indicada
+     */
+    List<Match> findByTournamentIdAndRoundLessThan(Long tournamentId, int round);
+
+    /**
+     * Recupera la partida que ocupa una posición del cuadro de eliminatoria de un torneo.
+     * La búsqueda usa el índice único (tournament_id, bracket_position).
+     *
+     * @param tournamentId el identificador del torneo
+     * @param bracketPosition la posición en el cuadro
+     * @return la partida de esa posición, si ya se ha generado
+     */
+    Optional<Match> findByTournamentIdAndBracketPosition(Long tournamentId, Integer bracketPosition);
+
+    /**
+     * Recupera los campos de una partida necesarios para informar su resultado, sin cargar el torneo ni los jugadores.
+     *
+     * @param id el identificador de la partida
+     * @return la proyección de la partida, si existe
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, p2.id AS player2Id, "
+            + "m.result AS result, m.round AS round, m.bracketPosition AS bracketPosition "
+            + "FROM Match m LEFT JOIN m.player2 p2 WHERE m.id = :id")
+    Optional<MatchResultView> findResultViewById(@Param("id") Long id);
+
+    /**
+     * Recupera con una sola consulta los campos necesarios para informar el resultado de varias partidas.
+     *
+     * @param ids los identificadores de las partidas
+     * @return las proyecciones de las partidas que existen
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, p2.id AS player2Id, "
+            + "m.result AS result, m.round AS round, m.bracketPosition AS bracketPosition "
+            + "FROM Match m LEFT JOIN m.player2 p2 WHERE m.id IN :ids")
+    List<MatchResultView> findResultViewsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recupera los campos de resultado de todas las partidas de una ronda, sin cargar el torneo ni los jugadores.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round el número de ronda
+     * @return las proyecciones de las partidas de la ronda
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, p2.id AS player2Id, "
+            + "m.result AS result, m.round AS round, m.bracketPosition AS bracketPosition "
+            + "FROM Match m LEFT JOIN m.player2 p2 WHERE m.tournament.id = :tournamentId AND m.round = :round")
+    List<MatchResultView> findResultViewsByRound(@Param("tournamentId") Long tournamentId, @Param("round") Integer round);
+
+    /**
+     * Recupera los campos de resultado de las partidas terminadas de un torneo entre dos jugadores, sin los byes.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return las proyecciones de las partidas con resultado
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, m.player2.id AS player2Id, "
+            + "m.result AS result, m.round AS round, m.bracketPosition AS bracketPosition "
+            + "FROM Match m WHERE m.tournament.id = :tournamentId AND m.player2 IS NOT NULL "
+            + "AND m.result <> com.equipo2.bytestournament.enums.Result.PENDING")
+    List<MatchResultView> findFinishedResultViews(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Recupera los campos de resultado de las partidas terminadas de un torneo en las que juega alguno de los jugadores,
+     * sin los byes. Una partida entre dos de los jugadores se devuelve una sola vez.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param userIds los identificadores de los jugadores
+     * @return las proyecciones de las partidas con resultado de esos jugadores
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.player1.id AS player1Id, m.player2.id AS player2Id, "
+            + "m.result AS result, m.round AS round, m.bracketPosition AS bracketPosition "
+            + "FROM Match m WHERE m.tournament.id = :tournamentId AND m.player2 IS NOT NULL "
+            + "AND m.result <> com.equipo2.bytestournament.enums.Result.PENDING "
+            + "AND (m.player1.id IN :userIds OR m.player2.id IN :userIds)")
+    List<MatchResultView> findFinishedResultViewsOfPlayers(@Param("tournamentId") Long tournamentId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Cuenta las partidas de una ronda con un resultado, sin cargarlas.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round el número de ronda
+     * @param result el resultado
+     * @return el número de partidas de la ronda con ese resultado
+     */
+    long countByTournamentIdAndRoundAndResult(Long tournamentId, Integer round, Result result);
+
+    /**
+     * Recupera los jugadores, el resultado y los puntos repartidos de las partidas terminadas de un torneo
+     * hasta una ronda, incluidos los byes, para calcular la clasificación al terminar esa ronda.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round la última ronda incluida
+     * @return una proyección por partida con resultado
+     */
+    @Query("SELECT m.player1.id AS player1Id, m.player2.id AS player2Id, m.result AS result, m.awardedPoints AS awardedPoints "
+            + "FROM Match m WHERE m.tournament.id = :tournamentId AND m.round <= :round "
+            + "AND m.result <> com.equipo2.bytestournament.enums.Result.PENDING")
+    List<MatchScoreView> findScoresUpToRound(@Param("tournamentId") Long tournamentId, @Param("round") Integer round);
+
+    /**
+     * Guarda el resultado de una partida y los puntos que reparte solo si sigue pendiente, con un único UPDATE.
+     * Si dos peticiones informan a la vez la misma partida, solo una de ellas actualiza la fila.
+     *
+     * @param id el identificador de la partida
+     * @param result el resultado a guardar
+     * @param awardedPoints los puntos que reparte el resultado
+     * @return el número de filas actualizadas, 0 si la partida ya tenía resultado
+     */
+    @Modifying
+    @Query("UPDATE Match m SET m.result = :result, m.awardedPoints = :awardedPoints "
+            + "WHERE m.id = :id AND m.result = com.equipo2.bytestournament.enums.Result.PENDING")
+    int updateResultIfPending(@Param("id") Long id, @Param("result") Result result, @Param("awardedPoints") Integer awardedPoints);
+
+    /**
+     * Recupera un tramo del listado de partidas ordenado por ID, empezando después de un ID.
+     * La consulta usa la clave primaria en lugar de un desplazamiento y lee los nombres de los jugadores
+     * en la misma consulta, sin cargar el torneo ni los jugadores.
+     *
+     * @param after el ID de la última partida del tramo anterior, 0 para empezar desde el principio
+     * @param limit el número máximo de partidas
+     * @return las partidas del tramo, ordenadas por ID
+     */
+    @Query("SELECT m.id AS id, m.tournament.id AS tournamentId, m.round AS round, m.bracketPosition AS bracketPosition, "
+            + "p1.username AS player1, p2.username AS player2, m.result AS result "
+            + "FROM Match m JOIN m.player1 p1 LEFT JOIN m.player2 p2 WHERE m.id > :after ORDER BY m.id")
+    List<MatchSummaryView> findSummaries(@Param("after") Long after, Limit limit);
 }
@@ -0,0 +1,23 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Result;
+
+/**
+ * Proyección de Spring Data con los campos de una partida necesarios para informar su resultado.
+ * Se obtiene con una sola consulta sin cargar el torneo ni los jugadores.
+ */
+public interface MatchResultView {
+    Long getId();
+
+    Long getTournamentId();
+
+    Long getPlayer1Id();
+
+    Long getPlayer2Id();
+
+    Result getResult();
+
+    Integer getRound();
+
+    Integer getBracketPosition();
+}
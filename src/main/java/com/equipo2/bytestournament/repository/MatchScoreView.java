@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Result;
+
+/**
+ * Proyección de Spring Data con el resultado de una partida y los puntos que repartió,
+ * para recalcular la clasificación de un torneo sin cargar las partidas.
+ */
+public interface MatchScoreView {
+    Long getPlayer1Id();
+
+    Long getPlayer2Id();
+
+    Result getResult();
+
+    Integer getAwardedPoints();
+}
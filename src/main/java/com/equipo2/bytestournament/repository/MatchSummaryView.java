@@ -0,0 +1,23 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Result;
+
+/**
+ * Proyección de Spring Data con los campos de una partida que se muestran en el listado.
+ * Los nombres de los jugadores se leen en la misma consulta, sin cargar el torneo ni los jugadores.
+ */
+public interface MatchSummaryView {
+    Long getId();
+
+    Long getTournamentId();
+
+    Integer getRound();
+
+    Integer getBracketPosition();
+
+    String getPlayer1();
+
+    String getPlayer2();
+
+    Result getResult();
+}
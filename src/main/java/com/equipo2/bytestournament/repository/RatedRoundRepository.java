@@ -0,0 +1,33 @@
+package com.equipo2.bytestournament.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.model.RatedRound;
+import com.equipo2.bytestournament.model.RatedRoundId;
+
+/**
+ * Interfaz que define el repositorio para la entidad RatedRound.
+ * 
+ * {@link Repository} es una anotación de Spring que indica que esta interfaz es un repositorio
+ * y será utilizada para acceder a la base de datos.
+ * {@link JpaRepository} es una interfaz de Spring Data JPA que proporciona métodos
+ * para realizar operaciones CRUD y consultas en la entidad RatedRound.
+ */
+@Repository
+public interface RatedRoundRepository extends JpaRepository<RatedRound, RatedRoundId> {
+
+    /**
+     * Marca una ronda como calculada si aún no lo estaba, con un único INSERT condicionado.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round el número de ronda
+     * @return 1 si se ha marcado la ronda, 0 si ya estaba calculada o el torneo no existe
+     */
+    @Modifying
+    @Query("INSERT INTO RatedRound (tournamentId, round) SELECT t.id, :round FROM Tournament t WHERE t.id = :tournamentId "
+            + "AND NOT EXISTS (SELECT 1 FROM RatedRound r WHERE r.tournamentId = t.id AND r.round = :round)")
+    int claim(@Param("tournamentId") Long tournamentId, @Param("round") Integer round);
+}
@@ -0,0 +1,18 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Proyección de Spring Data con el rating de un usuario y su rango actual.
+ */
+public interface RatingView {
+    Long getId();
+
+    Double getRating();
+
+    Double getRatingDeviation();
+
+    Double getVolatility();
+
+    Rank getRank();
+}
@@ -0,0 +1,151 @@
+package com.equipo2.bytestournament.repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+
+/**
+ * Repositorio JDBC para informar los resultados de una ronda completa con UPDATE por lotes.
+ * Participa en la transacción JPA en curso, así que los cambios se confirman o se deshacen junto al resto.
+ * Las sentencias no pasan por el contexto de persistencia: las entidades cargadas antes no ven los cambios.
+ *
+ * {@link Repository} es una anotación de Spring que indica que esta clase es un repositorio
+ * y será utilizada para acceder a la base de datos.
+ * {@link JdbcTemplate} envía cada lista de parámetros como un único lote JDBC.
+ */
+@Repository
+public class ResultBatchRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ResultBatchRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Guarda el resultado de varias partidas y los puntos que reparte cada uno, cada una solo si sigue pendiente.
+     *
+     * @param matchIds los identificadores de las partidas
+     * @param results los resultados, en el mismo orden que los identificadores
+     * @param awardedPoints los puntos que reparte cada resultado, en el mismo orden
+     * @return las filas actualizadas por cada partida; 0 si ya tenía resultado. Algunos drivers devuelven
+     * {@link java.sql.Statement#SUCCESS_NO_INFO} en lugar del número de filas
+     */
+    public int[] updateResultsIfPending(List<Long> matchIds, List<Result> results, List<Integer> awardedPoints) {
+        return jdbcTemplate.batchUpdate("UPDATE matches SET result = ?, awarded_points = ? WHERE id = ? AND result = 'PENDING'",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setString(1, results.get(i).name());
+                        statement.setInt(2, awardedPoints.get(i));
+                        statement.setLong(3, matchIds.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return matchIds.size();
+                    }
+                });
+    }
+
+    /**
+     * Suma puntos a varios usuarios, con un UPDATE por usuario enviado en un único lote.
+     *
+     * @param deltas los puntos a sumar por identificador de usuario
+     */
+    public void addPoints(Map<Long, Integer> deltas) {
+        List<Object[]> arguments = new ArrayList<>(deltas.size());
+        deltas.forEach((userId, delta) -> arguments.add(new Object[] { delta, userId }));
+        jdbcTemplate.batchUpdate("UPDATE users SET points = points + ? WHERE id = ?", arguments);
+    }
+
+    /**
+     * Guarda el rating, la desviación y la volatilidad de varios usuarios, con un UPDATE por usuario enviado en un único lote.
+     *
+     * @param userIds los identificadores de los usuarios
+     * @param rating el rating de cada usuario, en el mismo orden que los identificadores
+     * @param deviation la desviación de cada usuario
+     * @param volatility la volatilidad de cada usuario
+     * @param count el número de usuarios, las primeras posiciones de los arrays
+     */
+    public void updateRatings(long[] userIds, double[] rating, double[] deviation, double[] volatility, int count) {
+        jdbcTemplate.batchUpdate("UPDATE users SET rating = ?, rating_deviation = ?, volatility = ? WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        statement.setDouble(1, rating[i]);
+                        statement.setDouble(2, deviation[i]);
+                        statement.setDouble(3, volatility[i]);
+                        statement.setLong(4, userIds[i]);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return count;
+                    }
+                });
+    }
+
+    /**
+     * Cambia el rango de varios usuarios, con un UPDATE por usuario enviado en un único lote.
+     *
+     * @param ranks el nuevo rango por identificador de usuario
+     */
+    public void updateRanks(Map<Long, Rank> ranks) {
+        List<Object[]> arguments = new ArrayList<>(ranks.size());
+        ranks.forEach((userId, rank) -> arguments.add(new Object[] { rank.name(), userId }));
+        jdbcTemplate.batchUpdate("UPDATE users SET rank = ? WHERE id = ?", arguments);
+    }
+
+    /**
+     * Suma victorias, derrotas, empates y puntos a varias filas de clasificación, con un UPDATE por fila
+     * enviado en un único lote. Las filas de jugadores que ya no están inscritos no se crean de nuevo.
+     *
+     * @param deltas los cambios de cada fila
+     */
+    public void applyStandings(Collection<StandingDelta> deltas) {
+        List<Object[]> arguments = new ArrayList<>(deltas.size());
+        for (StandingDelta delta : deltas)
+            arguments.add(new Object[] { delta.wins(), delta.losses(), delta.draws(), delta.points(), delta.tournamentId(), delta.userId() });
+        jdbcTemplate.batchUpdate("UPDATE tournament_standings SET wins = wins + ?, losses = losses + ?, draws = draws + ?, points = points + ? "
+                + "WHERE tournament_id = ? AND user_id = ?", arguments);
+    }
+
+    /**
+     * Guarda los desempates de varios jugadores de un torneo, con un UPDATE por fila enviado en un único lote.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param standings los desempates de cada jugador
+     */
+    public void updateTiebreaks(Long tournamentId, List<TiebreakStanding> standings) {
+        jdbcTemplate.batchUpdate("UPDATE tournament_standings SET buchholz = ?, median_buchholz = ?, sonneborn_berger = ?, direct_encounter = ? "
+                + "WHERE tournament_id = ? AND user_id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement statement, int i) throws SQLException {
+                        TiebreakStanding standing = standings.get(i);
+                        statement.setLong(1, standing.buchholz());
+                        statement.setLong(2, standing.medianBuchholz());
+                        statement.setDouble(3, standing.sonnebornBerger());
+                        statement.setDouble(4, standing.directEncounter());
+                        statement.setLong(5, tournamentId);
+                        statement.setLong(6, standing.userId());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return standings.size();
+                    }
+                });
+    }
+}
@@ -0,0 +1,12 @@
+package com.equipo2.bytestournament.repository;
+
+/**
+ * Proyección de Spring Data con la semilla de una ronda de un torneo.
+ */
+public interface RoundSeedView {
+    Long getTournamentId();
+
+    Integer getRound();
+
+    Long getSeed();
+}
@@ -0,0 +1,18 @@
+package com.equipo2.bytestournament.repository;
+
+/**
+ * Proyección de Spring Data con los puntos y los desempates guardados de un jugador en un torneo.
+ */
+public interface StandingTiebreakView {
+    Long getUserId();
+
+    Integer getPoints();
+
+    Long getBuchholz();
+
+    Long getMedianBuchholz();
+
+    Double getSonnebornBerger();
+
+    Double getDirectEncounter();
+}
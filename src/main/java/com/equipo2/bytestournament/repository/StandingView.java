@@ -0,0 +1,18 @@
+package com.equipo2.bytestournament.repository;
+
+/**
+ * Proyección de Spring Data con la fila de clasificación de un jugador en un torneo y su nombre.
+ */
+public interface StandingView {
+    Long getUserId();
+
+    String getUsername();
+
+    Integer getWins();
+
+    Integer getLosses();
+
+    Integer getDraws();
+
+    Integer getPoints();
+}
@@ -0,0 +1,51 @@
+package com.equipo2.bytestournament.repository;
+
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.model.StandingsSnapshot;
+import com.equipo2.bytestournament.model.StandingsSnapshotId;
+
+/**
+ * Interfaz que define el repositorio para la entidad StandingsSnapshot.
+ * 
+ * {@link Repository} es una anotación de Spring que indica que esta interfaz es un repositorio
+ * y será utilizada para acceder a la base de datos.
+ * {@link JpaRepository} es una interfaz de Spring Data JPA que proporciona métodos
+ * para realizar operaciones CRUD y consultas en la entidad StandingsSnapshot.
+ */
+@Repository
+public interface StandingsSnapshotRepository extends JpaRepository<StandingsSnapshot, StandingsSnapshotId> {
+
+    /**
+     * Busca la instantánea de la ronda anterior más cercana a una ronda, que sirve de base para guardarla.
+     * Las rondas pueden terminar en cualquier orden, así que no tiene por qué ser la última guardada.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round la ronda que se va a guardar
+     * @return la instantánea de mayor ronda por debajo de round, o vacío si no hay ninguna
+     */
+    Optional<StandingsSnapshot> findFirstByTournamentIdAndRoundLessThanOrderByRoundDesc(Long tournamentId, Integer round);
+
+    /**
+     * Recupera las rondas de un torneo que tienen instantánea, sin leer sus datos.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return los números de ronda en orden
+     */
+    @Query("SELECT s.round FROM StandingsSnapshot s WHERE s.tournamentId = :tournamentId ORDER BY s.round")
+    List<Integer> findRounds(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Borra las instantáneas de un torneo que se va a eliminar.
+     *
+     * @param tournamentId el identificador del torneo
+     */
+    @Modifying
+    @Query("DELETE FROM StandingsSnapshot s WHERE s.tournamentId = :tournamentId")
+    void deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+}
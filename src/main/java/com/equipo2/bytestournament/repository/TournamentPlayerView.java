@@ -0,0 +1,21 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Proyección de Spring Data con un jugador inscrito en un torneo y los datos que muestra la clasificación,
+ * con los puntos y las victorias conseguidos en ese torneo.
+ */
+public interface TournamentPlayerView {
+    Long getTournamentId();
+
+    Long getUserId();
+
+    String getUsername();
+
+    Rank getRank();
+
+    Integer getPoints();
+
+    Integer getWins();
+}
@@ -1,8 +1,17 @@
 package com.equipo2.bytestournament.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.equipo2.bytestournament.model.Tournament;
+import jakarta.persistence.LockModeType;
 
 /**
  * Interfaz que define el repositorio para la entidad Tournament.
@@ -14,4 +23,67 @@ import com.equipo2.bytestournament.model.Tournament;
  */
 @Repository
 public interface TournamentRepository extends JpaRepository  <Tournament, Long>{
+
+    /**
+     * Busca un torneo con sus jugadores en la misma consulta, para mostrar su detalle.
+     * Las partidas no se incluyen porque JPA no puede traer dos listas en una consulta; se leen con otra.
+     *
+     * @param id el identificador del torneo
+     * @return el torneo con sus jugadores, si existe
+     */
+    @EntityGraph(Tournament.PLAYERS_GRAPH)
+    Optional<Tournament> findDetailById(Long id);
+
+    /**
+     * Bloquea la fila de un torneo hasta que termine la transacción en curso (SELECT ... FOR UPDATE),
+     * para que dos transacciones que cambian el mismo torneo se ejecuten una detrás de otra.
+     *
+     * @param id el identificador del torneo
+     * @return el torneo bloqueado, si existe
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Tournament t WHERE t.id = :id")
+    Optional<Tournament> lockById(@Param("id") Long id);
+
+    /**
+     * Recupera la semilla con la que se generó una ronda de un torneo, sin cargar el torneo.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param round el número de ronda
+     * @return la semilla de la ronda, si se registró
+     */
+    @Query("SELECT s.seed FROM Tournament t JOIN t.roundSeeds s WHERE t.id = :tournamentId AND KEY(s) = :round")
+    Optional<Long> findRoundSeed(@Param("tournamentId") Long tournamentId, @Param("round") Integer round);
+
+    /**
+     * Recupera con una sola consulta las semillas de todas las rondas de varios torneos.
+     *
+     * @param tournamentIds los identificadores de los torneos
+     * @return las semillas registradas de esos torneos
+     */
+    @Query("SELECT t.id AS tournamentId, KEY(s) AS round, s.seed AS seed FROM Tournament t JOIN t.roundSeeds s WHERE t.id IN :tournamentIds")
+    List<RoundSeedView> findRoundSeeds(@Param("tournamentIds") Collection<Long> tournamentIds);
+
+    /**
+     * Comprueba con una sola consulta qué torneos existen, leyendo solo su identificador.
+     *
+     * @param ids los identificadores de los torneos
+     * @return los identificadores de los torneos que existen
+     */
+    @Query("SELECT t.id FROM Tournament t WHERE t.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recupera un tramo del listado de torneos ordenado por ID, empezando después de un ID.
+     * La consulta usa la clave primaria en lugar de un desplazamiento, así que cada tramo cuesta lo mismo
+     * aunque haya muchos torneos antes, y el número de jugadores se cuenta sin cargarlos.
+     *
+     * @param after el ID del último torneo del tramo anterior, 0 para empezar desde el principio
+     * @param limit el número máximo de torneos
+     * @return los torneos del tramo, ordenados por ID
+     */
+    @Query("SELECT t.id AS id, t.name AS name, t.status AS status, t.format AS format, t.rounds AS rounds, "
+            + "t.maxRounds AS maxRounds, t.maxPlayers AS maxPlayers, SIZE(t.players) AS players "
+            + "FROM Tournament t WHERE t.id > :after ORDER BY t.id")
+    List<TournamentSummaryView> findSummaries(@Param("after") Long after, Limit limit);
 }
@@ -0,0 +1,187 @@
+package com.equipo2.bytestournament.repository;
+
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.model.TournamentStanding;
+import com.equipo2.bytestournament.model.TournamentStandingId;
+
+/**
+ * Interfaz que define el repositorio para la entidad TournamentStanding.
+ * Las consultas de clasificación ordenan como el índice tournament_standings_ranking_idx: puntos, desempates e id de usuario.
+ * 
+ * {@link Repository} es una anotación de Spring que indica que esta interfaz es un repositorio
+ * y será utilizada para acceder a la base de datos.
+ * {@link JpaRepository} es una interfaz de Spring Data JPA que proporciona métodos
+ * para realizar operaciones CRUD y consultas en la entidad TournamentStanding.
+ */
+@Repository
+public interface TournamentStandingRepository extends JpaRepository<TournamentStanding, TournamentStandingId> {
+
+    /**
+     * Crea la fila de clasificación de los jugadores inscritos en un torneo que aún no la tienen, con las victorias,
+     * derrotas, empates y puntos de sus partidas ya terminadas en el torneo: a cero para un jugador recién inscrito,
+     * y con sus resultados para los torneos que ya existían antes que la tabla. Los desempates empiezan a cero
+     * y los recalcula {@link com.equipo2.bytestournament.service.StandingsService}.
+     * Vacía antes el contexto de persistencia para ver las inscripciones y los resultados pendientes de guardar.
+     *
+     * @param tournamentId el identificador del torneo, o null para todos los torneos
+     * @return el número de filas creadas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO TournamentStanding (tournamentId, userId, wins, losses, draws, points, buchholz, medianBuchholz, sonnebornBerger, directEncounter) "
+            + "SELECT t.id, u.id, "
+            + "CAST(SUM(CASE WHEN (m.result = com.equipo2.bytestournament.enums.Result.PLAYER1_WIN AND m.player1.id = u.id) "
+            + "OR (m.result = com.equipo2.bytestournament.enums.Result.PLAYER2_WIN AND m.player2.id = u.id) THEN 1 ELSE 0 END) AS Integer), "
+            + "CAST(SUM(CASE WHEN (m.result = com.equipo2.bytestournament.enums.Result.PLAYER2_WIN AND m.player1.id = u.id) "
+            + "OR (m.result = com.equipo2.bytestournament.enums.Result.PLAYER1_WIN AND m.player2.id = u.id) THEN 1 ELSE 0 END) AS Integer), "
+            + "CAST(SUM(CASE WHEN m.result = com.equipo2.bytestournament.enums.Result.DRAW THEN 1 ELSE 0 END) AS Integer), "
+            + "CAST(SUM(CASE WHEN (m.result = com.equipo2.bytestournament.enums.Result.PLAYER1_WIN AND m.player1.id = u.id) "
+            + "OR (m.result = com.equipo2.bytestournament.enums.Result.PLAYER2_WIN AND m.player2.id = u.id) THEN COALESCE(m.awardedPoints, 0) "
+            + "WHEN m.result = com.equipo2.bytestournament.enums.Result.DRAW THEN COALESCE(m.awardedPoints, 0) / 2 ELSE 0 END) AS Integer), "
+            + "0L, 0L, 0.0D, 0.0D "
+            + "FROM Tournament t JOIN t.players u "
+            + "LEFT JOIN Match m ON m.tournament.id = t.id AND (m.player1.id = u.id OR m.player2.id = u.id) "
+            + "WHERE (:tournamentId IS NULL OR t.id = :tournamentId) "
+            + "AND NOT EXISTS (SELECT 1 FROM TournamentStanding s WHERE s.tournamentId = t.id AND s.userId = u.id) "
+            + "GROUP BY t.id, u.id")
+    int insertMissing(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Borra la fila de clasificación de los jugadores que ya no están inscritos en un torneo.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return el número de filas borradas
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM TournamentStanding s WHERE s.tournamentId = :tournamentId "
+            + "AND s.userId NOT IN (SELECT u.id FROM Tournament t JOIN t.players u WHERE t.id = :tournamentId)")
+    int deleteRemoved(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Borra la clasificación de un torneo.
+     *
+     * @param tournamentId el identificador del torneo
+     */
+    @Modifying
+    @Query("DELETE FROM TournamentStanding s WHERE s.tournamentId = :tournamentId")
+    void deleteByTournamentId(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Borra las filas de clasificación de un usuario en todos sus torneos.
+     *
+     * @param userId el identificador del usuario
+     */
+    @Modifying
+    @Query("DELETE FROM TournamentStanding s WHERE s.userId = :userId")
+    void deleteByUserId(@Param("userId") Long userId);
+
+    /**
+     * Recupera con una sola consulta la clasificación de todos los torneos, para construir las clasificaciones en memoria.
+     *
+     * @return un elemento por cada jugador de cada torneo
+     */
+    @Query("SELECT s.tournamentId AS tournamentId, u.id AS userId, u.username AS username, u.rank AS rank, s.points AS points, s.wins AS wins "
+            + "FROM TournamentStanding s JOIN User u ON u.id = s.userId")
+    List<TournamentPlayerView> findAllPlayerViews();
+
+    /**
+     * Recupera la clasificación de un torneo con los datos que muestra el ranking.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return los jugadores del torneo
+     */
+    @Query("SELECT s.tournamentId AS tournamentId, u.id AS userId, u.username AS username, u.rank AS rank, s.points AS points, s.wins AS wins "
+            + "FROM TournamentStanding s JOIN User u ON u.id = s.userId WHERE s.tournamentId = :tournamentId")
+    List<TournamentPlayerView> findPlayerViews(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Recupera los detalles del ranking de todos los jugadores de un torneo, en el orden de la clasificación.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return una fila de detalles por jugador, vacía si el torneo no existe o no tiene jugadores
+     */
+    @Query("SELECT new com.equipo2.bytestournament.DTO.RankingDetailsDTO(u.username, s.wins, s.losses, s.draws, s.points) "
+            + "FROM TournamentStanding s JOIN User u ON u.id = s.userId WHERE s.tournamentId = :tournamentId "
+            + "ORDER BY s.points DESC, s.buchholz DESC, s.medianBuchholz DESC, s.sonnebornBerger DESC, s.directEncounter DESC, s.userId")
+    List<RankingDetailsDTO> findRankingDetails(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Recupera por clave los detalles del ranking de algunos jugadores de un torneo, sin orden.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param userIds los identificadores de los jugadores
+     * @return una fila de detalles por cada jugador encontrado
+     */
+    @Query("SELECT s.userId AS userId, u.username AS username, s.wins AS wins, s.losses AS losses, s.draws AS draws, s.points AS points "
+            + "FROM TournamentStanding s JOIN User u ON u.id = s.userId WHERE s.tournamentId = :tournamentId AND s.userId IN :userIds")
+    List<StandingView> findStandingViews(@Param("tournamentId") Long tournamentId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Recupera los jugadores con fila de clasificación en un torneo, en orden de id,
+     * para guardar una instantánea al terminar una ronda.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return los identificadores de los jugadores
+     */
+    @Query("SELECT s.userId FROM TournamentStanding s WHERE s.tournamentId = :tournamentId ORDER BY s.userId")
+    List<Long> findUserIds(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Recupera los torneos en los que un usuario tiene fila de clasificación.
+     *
+     * @param userId el identificador del usuario
+     * @return los identificadores de los torneos
+     */
+    @Query("SELECT s.tournamentId FROM TournamentStanding s WHERE s.userId = :userId")
+    List<Long> findTournamentIds(@Param("userId") Long userId);
+
+    /**
+     * Recupera los torneos con alguna fila de clasificación.
+     *
+     * @return los identificadores de los torneos
+     */
+    @Query("SELECT DISTINCT s.tournamentId FROM TournamentStanding s")
+    List<Long> findAllTournamentIds();
+
+    /**
+     * Recupera los puntos y los desempates guardados de todos los jugadores de un torneo, sin orden.
+     *
+     * @param tournamentId el identificador del torneo
+     * @return una fila por jugador
+     */
+    @Query("SELECT s.userId AS userId, s.points AS points, s.buchholz AS buchholz, s.medianBuchholz AS medianBuchholz, "
+            + "s.sonnebornBerger AS sonnebornBerger, s.directEncounter AS directEncounter "
+            + "FROM TournamentStanding s WHERE s.tournamentId = :tournamentId")
+    List<StandingTiebreakView> findTiebreakViews(@Param("tournamentId") Long tournamentId);
+
+    /**
+     * Recupera por clave los puntos y los desempates guardados de algunos jugadores de un torneo, sin orden.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param userIds los identificadores de los jugadores
+     * @return una fila por cada jugador encontrado
+     */
+    @Query("SELECT s.userId AS userId, s.points AS points, s.buchholz AS buchholz, s.medianBuchholz AS medianBuchholz, "
+            + "s.sonnebornBerger AS sonnebornBerger, s.directEncounter AS directEncounter "
+            + "FROM TournamentStanding s WHERE s.tournamentId = :tournamentId AND s.userId IN :userIds")
+    List<StandingTiebreakView> findTiebreakViewsOf(@Param("tournamentId") Long tournamentId, @Param("userIds") Collection<Long> userIds);
+
+    /**
+     * Recupera los puntos y los desempates guardados de los jugadores de un torneo con alguno de los puntos dados,
+     * es decir, grupos de puntos completos, con el índice de clasificación.
+     *
+     * @param tournamentId el identificador del torneo
+     * @param points los puntos de los grupos
+     * @return una fila por jugador de los grupos
+     */
+    @Query("SELECT s.userId AS userId, s.points AS points, s.buchholz AS buchholz, s.medianBuchholz AS medianBuchholz, "
+            + "s.sonnebornBerger AS sonnebornBerger, s.directEncounter AS directEncounter "
+            + "FROM TournamentStanding s WHERE s.tournamentId = :tournamentId AND s.points IN :points")
+    List<StandingTiebreakView> findTiebreakViewsByPoints(@Param("tournamentId") Long tournamentId, @Param("points") Collection<Integer> points);
+}
@@ -0,0 +1,26 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+
+/**
+ * Proyección de Spring Data con los campos de un torneo que se muestran en el listado.
+ * El número de jugadores se cuenta en la consulta, sin cargar los jugadores ni los partidos.
+ */
+public interface TournamentSummaryView {
+    Long getId();
+
+    String getName();
+
+    Status getStatus();
+
+    TournamentFormat getFormat();
+
+    Integer getRounds();
+
+    Integer getMaxRounds();
+
+    Integer getMaxPlayers();
+
+    Integer getPlayers();
+}
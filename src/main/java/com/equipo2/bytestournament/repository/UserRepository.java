@@ -1,8 +1,21 @@
 package com.equipo2.bytestournament.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
 import com.equipo2.bytestournament.model.User;
  
 /**
@@ -34,4 +47,101 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return un Optional con el usuario si existe, o vacío si no
      */
     Optional<User> findByEmail(String email);
+
+    /**
+     * Busca un usuario por su identificador con sus privilegios en la misma consulta, para mostrar su perfil.
+     *
+     * @param id el identificador del usuario
+     * @return un Optional con el usuario si existe, o vacío si no
+     */
+    @EntityGraph(User.PROFILE_GRAPH)
+    Optional<User> findProfileById(Long id);
+
+    /**
+     * Busca un usuario por su nombre de usuario con sus privilegios en la misma consulta, para mostrar su perfil.
+     *
+     * @param username el nombre de usuario a buscar
+     * @return un Optional con el usuario si existe, o vacío si no
+     */
+    @EntityGraph(User.PROFILE_GRAPH)
+    Optional<User> findProfileByUsername(String username);
+
+    /**
+     * Suma puntos a un usuario con un único UPDATE, sin cargar la entidad.
+     * El incremento se calcula en la base de datos, así que dos resultados simultáneos no se pisan.
+     *
+     * @param id el identificador del usuario
+     * @param delta los puntos a sumar
+     * @return el número de filas actualizadas
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.points = u.points + :delta WHERE u.id = :id")
+    int addPoints(@Param("id") Long id, @Param("delta") int delta);
+
+    /**
+     * Recupera con una sola consulta el rating y el rango de varios usuarios, sin cargar las entidades.
+     *
+     * @param ids los identificadores de los usuarios
+     * @return las proyecciones de los usuarios que existen
+     */
+    @Query("SELECT u.id AS id, u.rating AS rating, u.ratingDeviation AS ratingDeviation, u.volatility AS volatility, u.rank AS rank "
+            + "FROM User u WHERE u.id IN :ids")
+    List<RatingView> findRatingViews(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recupera con una sola consulta el nombre de varios usuarios, sin cargar las entidades.
+     *
+     * @param ids los identificadores de los usuarios
+     * @return las proyecciones de los usuarios que existen
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UsernameView> findUsernames(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Comprueba con una sola consulta qué usuarios existen, leyendo solo su identificador.
+     *
+     * @param ids los identificadores de los usuarios
+     * @return los identificadores de los usuarios que existen
+     */
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recorre todos los usuarios con los datos de la clasificación global, leyéndolos de la base de datos
+     * por bloques en lugar de cargarlos todos en memoria. Hay que usarlo dentro de una transacción y cerrar el stream.
+     *
+     * @return las proyecciones de todos los usuarios
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS userId, u.username AS username, u.rank AS rank, u.points AS points FROM User u")
+    Stream<GlobalPlayerView> streamGlobalPlayers();
+
+    /**
+     * Recupera un tramo del listado de usuarios ordenado por ID, empezando después de un ID,
+     * filtrado opcionalmente por rango y rol. La consulta usa la clave primaria en lugar de un desplazamiento,
+     * así que cada tramo cuesta lo mismo aunque haya muchos usuarios antes.
+     *
+     * @param after el ID del último usuario del tramo anterior, 0 para empezar desde el principio
+     * @param rank el rango de los usuarios, o null para todos
+     * @param role el rol de los usuarios, o null para todos
+     * @param limit el número máximo de usuarios
+     * @return los usuarios del tramo, ordenados por ID
+     */
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.rank AS rank, u.points AS points "
+            + "FROM User u WHERE u.id > :after AND (:rank IS NULL OR u.rank = :rank) AND (:role IS NULL OR u.role = :role) "
+            + "ORDER BY u.id")
+    List<UserSummaryView> findSummaries(@Param("after") Long after, @Param("rank") Rank rank, @Param("role") Role role, Limit limit);
+
+    /**
+     * Recorre los usuarios ordenados por ID, filtrados opcionalmente por rango y rol, leyéndolos de la base de datos
+     * por bloques en lugar de cargarlos todos en memoria. Hay que usarlo dentro de una transacción y cerrar el stream.
+     *
+     * @param rank el rango de los usuarios, o null para todos
+     * @param role el rol de los usuarios, o null para todos
+     * @return las proyecciones de los usuarios
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT u.id AS id, u.username AS username, u.email AS email, u.role AS role, u.rank AS rank, u.points AS points "
+            + "FROM User u WHERE (:rank IS NULL OR u.rank = :rank) AND (:role IS NULL OR u.role = :role) ORDER BY u.id")
+    Stream<UserSummaryView> streamSummaries(@Param("rank") Rank rank, @Param("role") Role role);
 }
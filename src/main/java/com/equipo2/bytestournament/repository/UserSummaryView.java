@@ -0,0 +1,22 @@
+package com.equipo2.bytestournament.repository;
+
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+
+/**
+ * Proyección de Spring Data con los campos de un usuario que se muestran en el listado y en la exportación,
+ * sin cargar sus partidas, torneos ni privilegios.
+ */
+public interface UserSummaryView {
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    Role getRole();
+
+    Rank getRank();
+
+    Integer getPoints();
+}
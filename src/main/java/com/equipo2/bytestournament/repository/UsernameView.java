@@ -0,0 +1,10 @@
+package com.equipo2.bytestournament.repository;
+
+/**
+ * Proyección de Spring Data con el id y el nombre de un usuario.
+ */
+public interface UsernameView {
+    Long getId();
+
+    String getUsername();
+}
@@ -0,0 +1,194 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.service.pairing.Bracket;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+
+/**
+ * BracketService es un servicio que se encarga de los torneos de eliminatoria directa.
+ * El cuadro completo se calcula una sola vez cuando el torneo pasa a IN_PROGRESS y cada match guarda
+ * su posición en el cuadro, de modo que las rondas siguientes se generan de forma perezosa: cuando se
+ * conocen los dos ganadores que alimentan un match, se crea ese match sin volver a leer ni emparejar la ronda.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring
+ * y será utilizada para realizar operaciones de negocio relacionadas con las eliminatorias.
+ */
+@Service
+public class BracketService {
+
+    /**
+     * matchRepository Repositorio para acceder a los matches.
+     * tournamentRepository Repositorio para acceder a los torneos.
+     * standingsService Servicio que cuenta los byes del cuadro en la clasificación del torneo.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final MatchRepository matchRepository;
+    private final TournamentRepository tournamentRepository;
+    private final StandingsService standingsService;
+    private final Logger logger = LoggerFactory.getLogger(BracketService.class);
+
+    public BracketService(MatchRepository matchRepository, TournamentRepository tournamentRepository, StandingsService standingsService) {
+        this.matchRepository = matchRepository;
+        this.tournamentRepository = tournamentRepository;
+        this.standingsService = standingsService;
+    }
+
+    /**
+     * Calcula el cuadro de un torneo de eliminatoria y genera los matches de la primera ronda.
+     * Los jugadores sin rival reciben un bye, guardado como match sin jugador 2 y ya ganado.
+     * Como ningún resultado informado avanzará un bye, los matches cuyos dos matches de origen ya están decididos
+     * por byes se crean también aquí, con los dos jugadores que descansan.
+     * El número máximo de rondas del torneo pasa a ser el número de rondas del cuadro.
+     *
+     * @param tournament Torneo que acaba de empezar.
+     * @return Matches de la primera ronda.
+     */
+    @Transactional
+    public List<Match> startBracket(Tournament tournament) {
+        if (!tournament.getMatches().isEmpty())
+            throw new RequestException(ApiResponse.CONFLICT, "Conflicto", "El torneo ya tiene matches generados, no se puede volver a generar el cuadro");
+
+        Bracket bracket = Bracket.seed(tournament.getPlayers());
+        tournament.setRounds(1);
+        tournament.setMaxRounds(bracket.rounds());
+
+        List<Match> firstRound = new ArrayList<>(bracket.size() / 2);
+        for (int k = 0; k < bracket.size() / 2; k++) {
+            User player1 = bracket.leaf(2 * k);
+            User player2 = bracket.leaf(2 * k + 1);
+            firstRound.add(Match.builder()
+                    .tournament(tournament)
+                    .player1(player1)
+                    .player2(player2)
+                    .result(player2 == null ? Result.PLAYER1_WIN : Result.PENDING)
+                    .awardedPoints(player2 == null ? 0 : null)
+                    .round(1)
+                    .bracketPosition(bracket.firstRoundNode(k))
+                    .build());
+        }
+
+        matchRepository.saveAll(firstRound);
+        tournament.getMatches().addAll(firstRound);
+        tournament.getMatches().addAll(this.resolveByes(tournament, firstRound));
+
+        // Los byes cuentan como victoria en la clasificación del torneo
+        StandingChanges byes = new StandingChanges();
+        for (Match match : firstRound)
+            if (match.getPlayer2() == null)
+                byes.addResult(tournament.getId(), match.getPlayer1().getId(), null, match.getResult(), 0);
+        standingsService.apply(byes);
+        tournamentRepository.save(tournament);
+        logger.info("Cuadro de {} rondas generado para el torneo {}", bracket.rounds(), tournament.getName());
+        return firstRound;
+    }
+
+    /**
+     * Avanza al ganador de un match de eliminatoria.
+     * Si el match hermano también tiene resultado, se crea el match de la ronda siguiente con ambos ganadores.
+     * Si el match es la final, el torneo se da por terminado.
+     * Cuesta una búsqueda por índice y, como mucho, un INSERT por resultado.
+     *
+     * Antes de mirar el match hermano se bloquea la fila del torneo: si los resultados de dos hermanos se informan
+     * a la vez, cada transacción vería al otro todavía pendiente y nadie crearía el match siguiente. Con el bloqueo
+     * la segunda espera a que la primera confirme y ya ve su resultado. No se bloquea el match hermano porque cada
+     * transacción ya tiene bloqueado el suyo al guardarlo, y se bloquearían la una a la otra.
+     *
+     * @param match Match de eliminatoria con su resultado definitivo.
+     * @return Match de la ronda siguiente, si se ha generado.
+     */
+    @Transactional
+    public Optional<Match> advance(Match match) {
+        Integer node = match.getBracketPosition();
+        if (node == null || match.getResult() == Result.PENDING)
+            return Optional.empty();
+
+        Tournament tournament = match.getTournament();
+        if (node == 1) {
+            tournament.setStatus(Status.FINISHED);
+            tournamentRepository.save(tournament);
+            logger.info("Final del torneo {} ganada por {}", tournament.getName(), winner(match).getUsername());
+            return Optional.empty();
+        }
+
+        tournamentRepository.lockById(tournament.getId());
+        Optional<Match> siblingOptional = matchRepository.findByTournamentIdAndBracketPosition(tournament.getId(), Bracket.sibling(node));
+        if (siblingOptional.isEmpty() || siblingOptional.get().getResult() == Result.PENDING)
+            return Optional.empty();
+
+        Match next = this.createParent(tournament, match, siblingOptional.get());
+        if (next.getRound() > tournament.getRounds()) {
+            tournament.setRounds(next.getRound());
+            tournamentRepository.save(tournament);
+        }
+        return Optional.of(next);
+    }
+
+    /**
+     * Crea los matches de los nodos cuyos dos matches de origen ya tienen resultado sin haberse jugado,
+     * y repite con los matches creados hasta que no queda ninguno decidido.
+     * La ronda actual del torneo no cambia: esos matches se juegan cuando llegue su ronda.
+     *
+     * @param tournament Torneo del cuadro.
+     * @param matches Matches de una misma ronda, ordenados por su posición en el cuadro.
+     * @return Matches creados.
+     */
+    private List<Match> resolveByes(Tournament tournament, List<Match> matches) {
+        Map<Integer, Match> byNode = new HashMap<>(matches.size() * 2);
+        for (Match match : matches)
+            byNode.put(match.getBracketPosition(), match);
+
+        List<Match> created = new ArrayList<>();
+        for (Match match : matches) {
+            int node = match.getBracketPosition();
+            Match sibling = byNode.get(Bracket.sibling(node));
+            // Cada pareja de hermanos se resuelve una vez, desde el que alimenta al jugador 1
+            if (node > 1 && Bracket.feedsPlayer1(node) && sibling != null
+                    && match.getResult() != Result.PENDING && sibling.getResult() != Result.PENDING)
+                created.add(this.createParent(tournament, match, sibling));
+        }
+        if (!created.isEmpty())
+            created.addAll(this.resolveByes(tournament, created));
+        return created;
+    }
+
+    /**
+     * Guarda el match del nodo padre de dos matches hermanos con sus ganadores.
+     */
+    private Match createParent(Tournament tournament, Match match, Match sibling) {
+        Match left = Bracket.feedsPlayer1(match.getBracketPosition()) ? match : sibling;
+        Match right = Bracket.feedsPlayer1(match.getBracketPosition()) ? sibling : match;
+        int parent = Bracket.parent(match.getBracketPosition());
+        return matchRepository.save(Match.builder()
+                .tournament(tournament)
+                .player1(winner(left))
+                .player2(winner(right))
+                .result(Result.PENDING)
+                .round(Bracket.round(parent, tournament.getMaxRounds()))
+                .bracketPosition(parent)
+                .build());
+    }
+
+    /**
+     * Ganador de un match de eliminatoria, que nunca puede acabar en empate.
+     */
+    private static User winner(Match match) {
+        return match.getResult() == Result.PLAYER2_WIN ? match.getPlayer2() : match.getPlayer1();
+    }
+}
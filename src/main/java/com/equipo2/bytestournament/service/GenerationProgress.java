@@ -0,0 +1,32 @@
+package com.equipo2.bytestournament.service;
+
+/**
+ * Receptor del progreso de la generación de una ronda.
+ * MatchService lo notifica al terminar el emparejamiento y tras guardar cada lote de matches,
+ * lo que permite seguir desde fuera una ronda que se genera en segundo plano.
+ */
+public interface GenerationProgress {
+
+    /**
+     * Progreso que no hace nada, para las generaciones síncronas.
+     */
+    GenerationProgress NONE = new GenerationProgress() {
+    };
+
+    /**
+     * Se ha emparejado la ronda.
+     * 
+     * @param round Número de la ronda generada.
+     * @param matches Número de matches de la ronda.
+     */
+    default void paired(int round, int matches) {
+    }
+
+    /**
+     * Se ha guardado un lote de matches.
+     * 
+     * @param matches Número total de matches guardados hasta el momento.
+     */
+    default void persisted(int matches) {
+    }
+}
@@ -0,0 +1,142 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.GlobalPlayerView;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.leaderboard.RankHistogram;
+import com.equipo2.bytestournament.service.rating.RanksChangedEvent;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingsChangedEvent;
+
+/**
+ * GlobalLeaderboardService mantiene en memoria la clasificación global de todos los usuarios por sus puntos
+ * y el número de usuarios de cada rango, para no tener que ordenar ni contar la tabla de usuarios en cada consulta.
+ *
+ * Al arrancar la aplicación se construyen con un recorrido en streaming de los usuarios, sin cargarlos todos a la vez,
+ * y después se actualizan de forma incremental: los puntos con {@link StandingsChangedEvent} y los rangos
+ * con {@link RanksChangedEvent} al confirmarse cada uno, y las altas, los cambios y los borrados de usuarios
+ * desde {@link UserService}.
+ * La clasificación global no tiene victorias: a igualdad de puntos se ordena por id de usuario.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class GlobalLeaderboardService {
+
+    /**
+     * userRepository Repositorio para recorrer los usuarios.
+     * board Clasificación global de los usuarios.
+     * tiers Número de usuarios de cada rango.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final UserRepository userRepository;
+    private volatile Leaderboard board = new Leaderboard();
+    private volatile RankHistogram tiers = new RankHistogram();
+    private final Logger logger = LoggerFactory.getLogger(GlobalLeaderboardService.class);
+
+    public GlobalLeaderboardService(UserRepository userRepository) {
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Construye la clasificación global y el número de usuarios de cada rango con un solo recorrido de los usuarios.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Leaderboard rebuilt = new Leaderboard();
+        RankHistogram histogram = new RankHistogram();
+        try (Stream<GlobalPlayerView> players = userRepository.streamGlobalPlayers()) {
+            players.forEach(player -> {
+                rebuilt.put(new Leaderboard.Entry(player.getUserId(), player.getUsername(), player.getRank(), player.getPoints(), 0));
+                histogram.add(player.getRank());
+            });
+        }
+        synchronized (this) {
+            board = rebuilt;
+            tiers = histogram;
+        }
+        logger.info("Clasificación global reconstruida: {} usuarios", rebuilt.size());
+    }
+
+    /**
+     * @return la clasificación global.
+     */
+    public Leaderboard board() {
+        return board;
+    }
+
+    /**
+     * @return el número de usuarios de cada rango.
+     */
+    public RankHistogram tiers() {
+        return tiers;
+    }
+
+    /**
+     * Añade un usuario a la clasificación global o actualiza su nombre, rango y puntos.
+     *
+     * @param user Usuario con sus datos actuales.
+     */
+    public synchronized void updatePlayer(User user) {
+        Leaderboard.Entry previous = board.get(user.getId());
+        board.put(new Leaderboard.Entry(user.getId(), user.getUsername(), user.getRank(), user.getPoints(), 0));
+        if (previous == null)
+            tiers.add(user.getRank());
+        else
+            tiers.move(previous.rank(), user.getRank());
+    }
+
+    /**
+     * Quita a un usuario eliminado de la clasificación global.
+     *
+     * @param userId ID del usuario.
+     */
+    public synchronized void removePlayer(Long userId) {
+        Leaderboard.Entry previous = board.get(userId);
+        if (previous != null && board.remove(userId))
+            tiers.remove(previous.rank());
+    }
+
+    /**
+     * Suma a cada usuario los puntos de los resultados confirmados, los de todos sus torneos juntos.
+     *
+     * @param event Cambios de cada fila de clasificación.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        Map<Long, Integer> points = new HashMap<>();
+        for (StandingDelta delta : event.deltas())
+            if (delta.points() != 0)
+                points.merge(delta.userId(), delta.points(), Integer::sum);
+        Leaderboard current = board;
+        points.forEach((userId, delta) -> current.addPoints(userId, delta, 0));
+    }
+
+    /**
+     * Aplica los cambios de rango de un periodo de rating cuando se confirma la transacción.
+     *
+     * @param event Nuevo rango de cada usuario que ha cambiado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRanksChanged(RanksChangedEvent event) {
+        event.ranks().forEach((userId, rank) -> {
+            Leaderboard.Entry previous = board.get(userId);
+            if (previous == null)
+                return;
+            board.put(new Leaderboard.Entry(userId, previous.username(), rank, previous.points(), previous.wins()));
+            tiers.move(previous.rank(), rank);
+        });
+    }
+}
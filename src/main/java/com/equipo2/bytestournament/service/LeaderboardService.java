@@ -0,0 +1,204 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentPlayerView;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.rating.RanksChangedEvent;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingsChangedEvent;
+
+/**
+ * LeaderboardService mantiene en memoria la clasificación de cada torneo para no tener que cargar
+ * y ordenar a los jugadores en cada consulta del ranking.
+ *
+ * Es una copia en memoria de la tabla tournament_standings. Las clasificaciones se construyen con una sola consulta
+ * al arrancar la aplicación y después se actualizan de forma incremental: los resultados con {@link StandingsChangedEvent}
+ * y los rangos con {@link RanksChangedEvent} al confirmarse cada uno, y las inscripciones, los cambios de usuario
+ * y los borrados desde los servicios que los hacen.
+ * Se guarda también en qué torneos está cada usuario para actualizar su nombre y su rango en todos ellos.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class LeaderboardService {
+
+    /**
+     * tournamentRepository Repositorio para acceder a los torneos.
+     * standingRepository Repositorio de la clasificación de cada torneo.
+     * boards Clasificación de cada torneo por id de torneo.
+     * tournamentsByUser Torneos en los que está inscrito cada usuario.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final TournamentRepository tournamentRepository;
+    private final TournamentStandingRepository standingRepository;
+    private final Map<Long, Leaderboard> boards = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> tournamentsByUser = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    public LeaderboardService(TournamentRepository tournamentRepository, TournamentStandingRepository standingRepository) {
+        this.tournamentRepository = tournamentRepository;
+        this.standingRepository = standingRepository;
+    }
+
+    /**
+     * Construye todas las clasificaciones desde la base de datos con una sola consulta.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<TournamentPlayerView> players = standingRepository.findAllPlayerViews();
+        Map<Long, Leaderboard> rebuilt = new HashMap<>();
+        tournamentsByUser.clear();
+        for (TournamentPlayerView player : players) {
+            rebuilt.computeIfAbsent(player.getTournamentId(), id -> new Leaderboard()).put(entry(player));
+            this.link(player.getUserId(), player.getTournamentId());
+        }
+        boards.clear();
+        boards.putAll(rebuilt);
+        logger.info("Clasificaciones reconstruidas: {} torneos, {} inscripciones", rebuilt.size(), players.size());
+    }
+
+    /**
+     * Devuelve la clasificación de un torneo, construyéndola si aún no está en memoria.
+     *
+     * @param tournamentId ID del torneo.
+     * @return la clasificación, o vacío si el torneo no existe.
+     */
+    public Optional<Leaderboard> board(Long tournamentId) {
+        Leaderboard board = boards.get(tournamentId);
+        if (board != null)
+            return Optional.of(board);
+        if (!tournamentRepository.existsById(tournamentId))
+            return Optional.empty();
+        return Optional.of(this.load(tournamentId));
+    }
+
+    /**
+     * Vuelve a construir la clasificación de un torneo, tras inscribir o quitar jugadores.
+     * Si hay una transacción en curso, al confirmarla se descarta la clasificación y la siguiente lectura la construye,
+     * para no publicar cambios que se pueden deshacer ni contar dos veces los resultados que se confirman a la vez.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    public void refresh(Long tournamentId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.load(tournamentId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                boards.remove(tournamentId);
+            }
+        });
+    }
+
+    /**
+     * Construye la clasificación de un torneo desde la base de datos y sustituye la anterior.
+     */
+    private Leaderboard load(Long tournamentId) {
+        Leaderboard board = new Leaderboard();
+        for (TournamentPlayerView player : standingRepository.findPlayerViews(tournamentId)) {
+            board.put(entry(player));
+            this.link(player.getUserId(), tournamentId);
+        }
+        boards.put(tournamentId, board);
+        return board;
+    }
+
+    /**
+     * Descarta la clasificación de un torneo eliminado.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    public void evict(Long tournamentId) {
+        boards.remove(tournamentId);
+        tournamentsByUser.values().forEach(tournaments -> tournaments.remove(tournamentId));
+    }
+
+    /**
+     * Actualiza el nombre y el rango de un usuario en todas las clasificaciones en las que aparece.
+     * Sus puntos y victorias en cada torneo no cambian.
+     *
+     * @param user Usuario con sus datos actuales.
+     */
+    public void updatePlayer(User user) {
+        for (Long tournamentId : tournamentsByUser.getOrDefault(user.getId(), Set.of())) {
+            Leaderboard board = boards.get(tournamentId);
+            Leaderboard.Entry previous = board == null ? null : board.get(user.getId());
+            if (previous != null)
+                board.put(new Leaderboard.Entry(user.getId(), user.getUsername(), user.getRank(), previous.points(), previous.wins()));
+        }
+    }
+
+    /**
+     * Quita a un usuario eliminado de todas las clasificaciones.
+     *
+     * @param userId ID del usuario.
+     */
+    public void removePlayer(Long userId) {
+        Set<Long> tournaments = tournamentsByUser.remove(userId);
+        if (tournaments == null)
+            return;
+        for (Long tournamentId : tournaments) {
+            Leaderboard board = boards.get(tournamentId);
+            if (board != null)
+                board.remove(userId);
+        }
+    }
+
+    /**
+     * Aplica los cambios de clasificación de los resultados informados cuando se confirma la transacción,
+     * de forma que un resultado que se deshace no llega a la clasificación.
+     *
+     * @param event Cambios de cada fila de clasificación.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        for (StandingDelta delta : event.deltas()) {
+            Leaderboard board = boards.get(delta.tournamentId());
+            if (board != null)
+                board.addPoints(delta.userId(), delta.points(), delta.wins());
+        }
+    }
+
+    /**
+     * Aplica los cambios de rango de un periodo de rating cuando se confirma la transacción.
+     *
+     * @param event Nuevo rango de cada usuario que ha cambiado.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRanksChanged(RanksChangedEvent event) {
+        event.ranks().forEach((userId, rank) -> {
+            for (Long tournamentId : tournamentsByUser.getOrDefault(userId, Set.of())) {
+                Leaderboard board = boards.get(tournamentId);
+                Leaderboard.Entry previous = board == null ? null : board.get(userId);
+                if (previous != null)
+                    board.put(new Leaderboard.Entry(userId, previous.username(), rank, previous.points(), previous.wins()));
+            }
+        });
+    }
+
+    private void link(Long userId, Long tournamentId) {
+        tournamentsByUser.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(tournamentId);
+    }
+
+    private static Leaderboard.Entry entry(TournamentPlayerView player) {
+        return new Leaderboard.Entry(player.getUserId(), player.getUsername(), player.getRank(), player.getPoints(), player.getWins());
+    }
+}
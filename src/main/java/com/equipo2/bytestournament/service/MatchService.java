@@ -1,24 +1,56 @@
 package com.equipo2.bytestournament.service;
 
+import com.equipo2.bytestournament.DTO.BulkResultDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.MatchSummaryDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.DTO.ResultOutcomeDTO;
+import com.equipo2.bytestournament.DTO.RoundReplayDTO;
+import com.equipo2.bytestournament.DTO.ScheduleSummaryDTO;
 import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.TournamentFormat;
 import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.MatchMapper;
 import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.RoundSeed;
 import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.repository.MatchSummaryView;
+import com.equipo2.bytestournament.repository.ResultBatchRepository;
+import com.equipo2.bytestournament.repository.RoundSeedView;
 import com.equipo2.bytestournament.repository.TournamentRepository;
 import com.equipo2.bytestournament.repository.UserRepository;
-
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.pairing.Pairing;
+import com.equipo2.bytestournament.service.pairing.PairingEngine;
+import com.equipo2.bytestournament.service.pairing.PairingEngineRegistry;
+import com.equipo2.bytestournament.service.pairing.PairingHistory;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
+import com.equipo2.bytestournament.service.pairing.ParallelGroupPairing;
+import com.equipo2.bytestournament.service.pairing.RandomSource;
+import com.equipo2.bytestournament.service.pairing.RoundRobinSchedule;
+import jakarta.persistence.EntityManager;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
 import java.util.logging.Logger;
 import static com.equipo2.bytestournament.model.Match.UMBRAL;
-import java.util.concurrent.ThreadLocalRandom;
 /**
  * MatchService es un servicio que se encarga de gestionar los matches de un torneo.
  * Proporciona métodos para generar matches, emparejar jugadores, comprobar la existencia de un
@@ -33,32 +65,98 @@ public class MatchService {
      * matchRepository Repositorio para acceder a los matches.
      * matchMapper Mapeador para convertir entre Match y MatchDTO.
      * tournamentRepository Repositorio para acceder a los torneos.
+     * pairingEngineRegistry Registro de motores de emparejamiento, se elige uno según el formato del torneo.
+     * parallelGroupPairing Emparejador en paralelo por grupos de jugadores.
+     * randomSource Fuente de las semillas y generadores aleatorios del emparejamiento y la puntuación.
+     * resultBatchRepository Repositorio JDBC para informar resultados por lotes.
+     * bracketService Servicio que avanza los cuadros de eliminatoria al informar resultados.
+     * standingsService Servicio que actualiza la clasificación de cada torneo al informar resultados.
+     * ratingService Servicio que actualiza el rating de los jugadores al terminar cada ronda.
+     * standingsHistoryService Servicio que guarda la clasificación de cada torneo al terminar cada ronda.
+     * entityManager Contexto de persistencia, se vacía entre lotes al generar calendarios grandes.
      * Logger para registrar mensajes de error y depuración.
      */
     private final MatchRepository matchRepository;
     private final MatchMapper matchMapper;
     private final TournamentRepository tournamentRepository;
     private final UserRepository userRepository;
+    private final PairingEngineRegistry pairingEngineRegistry;
+    private final ParallelGroupPairing parallelGroupPairing;
+    private final RandomSource randomSource;
+    private final ResultBatchRepository resultBatchRepository;
+    private final BracketService bracketService;
+    private final StandingsService standingsService;
+    private final RatingService ratingService;
+    private final StandingsHistoryService standingsHistoryService;
+    private final EntityManager entityManager;
+    public static final int PERSIST_CHUNK = 1_000;
+    public static final int MAX_BULK_RESULTS = 5_000;
     public final Logger logger = Logger.getLogger(MatchService.class.getName());
 
-    public MatchService(MatchRepository matchRepository, MatchMapper matchMapper, TournamentRepository tournamentRepository, UserRepository userRepository) {
+    public MatchService(MatchRepository matchRepository, MatchMapper matchMapper, TournamentRepository tournamentRepository, UserRepository userRepository, PairingEngineRegistry pairingEngineRegistry, ParallelGroupPairing parallelGroupPairing, RandomSource randomSource, ResultBatchRepository resultBatchRepository, BracketService bracketService, StandingsService standingsService, RatingService ratingService, StandingsHistoryService standingsHistoryService, EntityManager entityManager) {
         this.matchRepository = matchRepository;
         this.matchMapper = matchMapper;
         this.tournamentRepository = tournamentRepository;
         this.userRepository = userRepository;
+        this.pairingEngineRegistry = pairingEngineRegistry;
+        this.parallelGroupPairing = parallelGroupPairing;
+        this.randomSource = randomSource;
+        this.resultBatchRepository = resultBatchRepository;
+        this.bracketService = bracketService;
+        this.standingsService = standingsService;
+        this.ratingService = ratingService;
+        this.standingsHistoryService = standingsHistoryService;
+        this.entityManager = entityManager;
     }
 
     /**
      * Genera los matches para un torneo especifico.
-     * Se emparejan los jugadores de forma aleatoria, teniendo en cuenta que la diferencia de puntos entre ellos no supere el umbral.
+     * Los jugadores se emparejan con el motor del formato del torneo: en OPEN de forma aleatoria, teniendo en cuenta
+     * que la diferencia de puntos entre ellos no supere el umbral, y en SWISS por grupos de puntuación sin repetir rivales.
+     * Los byes se guardan como matches sin jugador 2 y con victoria del jugador 1.
      * Si no hay suficientes jugadores, se lanza una excepción.
      * Si el torneo no existe, se lanza una excepción.
-     * Si se generan los matches correctamente, se devuelve una lista de MatchDTO con los matches generados.
+     * Si se generan los matches correctamente, se devuelve una lista de MatchDTO con los matches de la nueva ronda.
      * 
      * @param tournamentID ID del torneo para el cual se quieren generar los matches.
      * @return Lista de MatchDTO con los matches generados.
      */
+    @Transactional
     public List<MatchDTO> generateMatches(Long tournamentID) {
+        return this.generateMatches(tournamentID, PairingOptions.DEFAULT, GenerationProgress.NONE);
+    }
+
+    /**
+     * Genera los matches de la siguiente ronda de un torneo con las opciones de emparejamiento indicadas.
+     * 
+     * @param tournamentID ID del torneo para el cual se quieren generar los matches.
+     * @param options Opciones de emparejamiento: modo paralelo, agrupación y semilla.
+     * @return Lista de MatchDTO con los matches generados.
+     */
+    @Transactional
+    public List<MatchDTO> generateMatches(Long tournamentID, PairingOptions options) {
+        return this.generateMatches(tournamentID, options, GenerationProgress.NONE);
+    }
+
+    /**
+     * Genera los matches de la siguiente ronda de un torneo notificando el progreso.
+     * 
+     * En modo paralelo los jugadores se reparten por Rank o por franja de puntos y cada grupo se empareja
+     * en un ForkJoinPool, ver {@link ParallelGroupPairing}; solo es posible con motores que no dependen del historial.
+     * La semilla de la ronda es la indicada en las opciones o una nueva de {@link RandomSource}, y se guarda en el torneo
+     * junto a los puntos y el rango de cada jugador en su match, de forma que la ronda se puede reproducir con {@link #replayRound}.
+     * 
+     * Toda la ronda se persiste en una única transacción: los matches se guardan con saveAll en lotes de
+     * {@link #PERSIST_CHUNK}, que Hibernate envía en lotes JDBC, y tras cada lote se notifica el progreso.
+     * Los matches no se añaden a tournament.getMatches() para no cargar todas las rondas anteriores.
+     * 
+     * @param tournamentID ID del torneo para el cual se quieren generar los matches.
+     * @param options Opciones de emparejamiento: modo paralelo, agrupación y semilla.
+     * @param progress Receptor del progreso de la generación.
+     * @return Lista de MatchDTO con los matches generados.
+     */
+    @Transactional
+    public List<MatchDTO> generateMatches(Long tournamentID, PairingOptions options, GenerationProgress progress) {
         try{
             // Obtenemos el torneo que le estamos pasando
             Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentID);
@@ -71,53 +169,78 @@ public class MatchService {
             if (players.size() < 2)
                 throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "Necesitas al menos 2 jugadores en el torneo para generar matches");
 
-            // Comprobamos que el número de jugadores sea par
-            if(players.size() % 2 != 0)
-                throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El número de jugadores debe ser par para generar matches, elimina un usuario o añade uno más");
-            
+            // En eliminatoria las rondas las genera el cuadro a medida que se informan los resultados
+            if (tournament.getFormat() == TournamentFormat.SINGLE_ELIMINATION)
+                throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "Las rondas de un torneo de eliminatoria se generan automáticamente al informar los resultados");
+
+            // Todos los jugadores emparejados tienen que tener su fila de clasificación
+            standingsService.syncPlayers(tournamentID);
+
             // Actualizamos la ronda del torneo
             tournament.setRounds(tournament.getRounds() + 1);
             logger.info("Ronda actual del torneo: " + tournament.getRounds());
 
-            // Copiamos los jugadores para la logica de emparejamiento y no modificar la lista original
-            List<User> emparejatedPlayers = new ArrayList<>(players);
-            logger.info("Jugadores a emparejar: " + emparejatedPlayers.size());
-
-            // Genemamos todos los matches de la ronda actual
-            while (emparejatedPlayers.size() >= 2) {
-                List<User> emparejatedMatch = this.matchUsers(emparejatedPlayers);
-
-                // Comprobamos que se hayan emparejado correctamente dos jugadores
-                if(emparejatedMatch.size() != 2)
-                    throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "No se han podido emparejar los jugadores correctamente, por favor añade más jugadores al torneo.");
-
-                User player1 = emparejatedMatch.get(0);
-                User player2 =emparejatedMatch.get(1);
-
-                // Eliminamos los jugadores de la lista de emparejamiento
+            // El historial se carga con una sola consulta y solo si el motor lo necesita
+            PairingEngine pairingEngine = pairingEngineRegistry.forFormat(tournament.getFormat());
+            PairingHistory history = pairingEngine.requiresHistory()
+                    ? PairingHistory.fromMatches(matchRepository.findByTournamentId(tournamentID).orElse(List.of()))
+                    : PairingHistory.EMPTY;
+
+            if (options.parallel() && pairingEngine.requiresHistory())
+                throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El emparejamiento paralelo solo está disponible en formatos que no dependen de rondas anteriores");
+
+            // Guardamos la semilla de la ronda para poder reproducirla
+            long seed = options.seed() != null ? options.seed() : randomSource.nextSeed();
+            RoundSeed roundSeed = new RoundSeed(seed, options.parallel() ? options.groupBy() : null);
+            tournament.getRoundSeeds().put(tournament.getRounds(), roundSeed);
+
+            // Emparejamos toda la ronda de una vez, el motor no modifica la lista original
+            List<Pairing> pairings = this.pair(pairingEngine, players, history, roundSeed);
+            logger.info("Jugadores a emparejar: " + players.size());
+
+            // Genemamos todos los matches de la ronda actual en memoria
+            List<Match> roundMatches = new ArrayList<>(pairings.size());
+            for (Pairing pairing : pairings) {
+                // Un emparejamiento sin jugador 2 es un bye y se da por ganado
+                boolean bye = pairing.player2() == null;
                 Match newMatch = Match.builder()
                         .tournament(tournament)
-                        .player1(player1)
-                        .player2(player2)
-                        .result(Result.PENDING)
+                        .player1(pairing.player1())
+                        .player2(pairing.player2())
+                        .result(bye ? Result.PLAYER1_WIN : Result.PENDING)
                         .round(tournament.getRounds())
+                        .player1Points(pairing.player1().getPoints())
+                        .player2Points(bye ? null : pairing.player2().getPoints())
+                        .player1Rank(pairing.player1().getRank())
+                        .player2Rank(bye ? null : pairing.player2().getRank())
+                        .awardedPoints(bye ? 0 : null)
                         .build();
 
-                logger.info("Emparejados: " + player1.getEmail() + " vs " + player2.getEmail());
-                // Añadimos un nuevo match a la lista de matches del torneo
-                List<Match> tournamentList = tournament.getMatches();
-                tournamentList.add(newMatch);
-
-                // Añadimos el match a la base de datos
-                matchRepository.save(newMatch);
-                logger.info("Match generado: " + player1.getEmail() + " vs " + player2.getEmail());
+                logger.fine("Emparejados: " + pairing.player1().getEmail() + " vs " + (bye ? "bye" : pairing.player2().getEmail()));
+                roundMatches.add(newMatch);
+            }
+            progress.paired(tournament.getRounds(), roundMatches.size());
+
+            // Añadimos los matches de la ronda a la base de datos por lotes (INSERT por lotes JDBC)
+            for (int from = 0; from < roundMatches.size(); from += PERSIST_CHUNK) {
+                int to = Math.min(from + PERSIST_CHUNK, roundMatches.size());
+                matchRepository.saveAll(roundMatches.subList(from, to));
+                matchRepository.flush();
+                progress.persisted(to);
             }
 
+            // Los byes cuentan como victoria en la clasificación del torneo
+            StandingChanges byes = new StandingChanges();
+            for (Match match : roundMatches)
+                if (match.getPlayer2() == null)
+                    byes.addResult(tournamentID, match.getPlayer1().getId(), null, match.getResult(), 0);
+            standingsService.apply(byes);
+
             // Guardamos los cambios del torneo
             tournamentRepository.save(tournament);
-            logger.info("Matches generados para el torneo: " + tournament.getName());
+            logger.info("Generados " + roundMatches.size() + " matches para el torneo: " + tournament.getName());
 
-            return matchMapper.matchListToMatchDTOList(tournament.getMatches());
+            return matchMapper.matchListToMatchDTOList(roundMatches);
         } catch (RequestException error){
             throw error;
         } catch (Exception error) {
@@ -125,8 +248,175 @@ public class MatchService {
         }
     }
 
+    /**
+     * Vuelve a generar en memoria una ronda ya guardada con su semilla y la compara con la original.
+     * Los jugadores se reconstruyen con los puntos y el rango que tenían al emparejarlos y el historial con las rondas anteriores,
+     * así que con el mismo motor la reproducción debe ser idéntica; sirve para comprobar y medir cambios en los motores
+     * de emparejamiento con torneos reales. No modifica la base de datos.
+     * 
+     * @param tournamentID ID del torneo.
+     * @param round Número de la ronda a reproducir.
+     * @return RoundReplayDTO con las diferencias entre la ronda guardada y la reproducción.
+     */
+    @Transactional(readOnly = true)
+    public RoundReplayDTO replayRound(Long tournamentID, int round) {
+        Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentID);
+        if (tournamentOptional.isEmpty())
+            throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
+
+        Tournament tournament = tournamentOptional.get();
+        RoundSeed roundSeed = tournament.getRoundSeeds().get(round);
+        if (roundSeed == null)
+            throw new RequestException(ApiResponse.NOT_FOUND, "Ronda no encontrada", "La ronda " + round + " no existe o se generó sin semilla registrada");
+
+        List<Match> recorded = matchRepository.findByTournamentIdAndRound(tournamentID, round).orElse(List.of());
+
+        // Copias de los jugadores con los puntos del momento del emparejamiento, sin tocar las entidades gestionadas
+        List<User> players = new ArrayList<>(recorded.size() * 2);
+        for (Match match : recorded) {
+            players.add(this.snapshot(match.getPlayer1(), match.getPlayer1Points(), match.getPlayer1Rank()));
+            if (match.getPlayer2() != null)
+                players.add(this.snapshot(match.getPlayer2(), match.getPlayer2Points(), match.getPlayer2Rank()));
+        }
+
+        PairingEngine pairingEngine = pairingEngineRegistry.forFormat(tournament.getFormat());
+        PairingHistory history = pairingEngine.requiresHistory()
+                ? PairingHistory.fromMatches(matchRepository.findByTournamentIdAndRoundLessThan(tournamentID, round))
+                : PairingHistory.EMPTY;
+
+        long start = System.nanoTime();
+        List<Pairing> replayed = this.pair(pairingEngine, players, history, roundSeed);
+        long pairingMicros = (System.nanoTime() - start) / 1_000;
+
+        Set<List<Long>> recordedKeys = new HashSet<>(recorded.size() * 2);
+        for (Match match : recorded)
+            recordedKeys.add(pairingKey(match.getPlayer1(), match.getPlayer2()));
+        Set<List<Long>> replayedKeys = new HashSet<>(replayed.size() * 2);
+        for (Pairing pairing : replayed)
+            replayedKeys.add(pairingKey(pairing.player1(), pairing.player2()));
+
+        List<List<Long>> onlyRecorded = recordedKeys.stream().filter(key -> !replayedKeys.contains(key)).toList();
+        List<List<Long>> onlyReplayed = replayedKeys.stream().filter(key -> !recordedKeys.contains(key)).toList();
+        logger.info("Ronda " + round + " del torneo " + tournament.getName() + " reproducida en " + pairingMicros + " µs, diferencias: " + (onlyRecorded.size() + onlyReplayed.size()));
+
+        return RoundReplayDTO.builder()
+                .tournament(tournamentID)
+                .round(round)
+                .seed(roundSeed.getSeed())
+                .recordedMatches(recorded.size())
+                .replayedMatches(replayed.size())
+                .identical(onlyRecorded.isEmpty() && onlyReplayed.isEmpty())
+                .onlyRecorded(onlyRecorded)
+                .onlyReplayed(onlyReplayed)
+                .pairingMicros(pairingMicros)
+                .build();
+    }
+
+    /**
+     * Empareja a los jugadores de una ronda con el generador de su semilla, en paralelo si la ronda se agrupó.
+     */
+    private List<Pairing> pair(PairingEngine pairingEngine, List<User> players, PairingHistory history, RoundSeed roundSeed) {
+        SplittableRandom random = randomSource.forSeed(roundSeed.getSeed());
+        if (roundSeed.getGroupBy() != null)
+            return parallelGroupPairing.pair(pairingEngine, players, roundSeed.getGroupBy(), random);
+        return pairingEngine.pair(players, history, random);
+    }
+
+    /**
+     * Copia de un jugador con los puntos y el rango que tenía al emparejarlo, o con los actuales si no se guardaron.
+     * El rango es el guardado y no el que corresponde a los puntos, porque es el que usó la agrupación por rango.
+     */
+    private User snapshot(User player, Integer points, Rank rank) {
+        return User.builder()
+                .id(player.getId())
+                .username(player.getUsername())
+                .rank(rank != null ? rank : player.getRank())
+                .points(points != null ? points : player.getPoints())
+                .build();
+    }
+
+    /**
+     * Clave de un emparejamiento independiente del orden de los jugadores.
+     */
+    private static List<Long> pairingKey(User player1, User player2) {
+        if (player2 == null)
+            return List.of(player1.getId());
+        long first = player1.getId(), second = player2.getId();
+        return first <= second ? List.of(first, second) : List.of(second, first);
+    }
+
+    /**
+     * Genera el calendario completo de una liga todos contra todos, con los n(n-1)/2 matches etiquetados con su ronda.
+     * Si el torneo no existe, no es de formato ROUND_ROBIN o ya tiene matches, se lanza una excepción.
+     * 
+     * Los matches no se acumulan en tournament.getMatches(): se guardan en lotes de {@link #PERSIST_CHUNK},
+     * y tras cada lote se hace flush y se vacía el contexto de persistencia, de forma que la memoria usada
+     * no depende del tamaño de la liga (una liga de 2.000 jugadores son unos 2 millones de matches).
+     * 
+     * @param tournamentID ID del torneo para el cual se quiere generar el calendario.
+     * @return Resumen del calendario generado.
+     */
+    @Transactional
+    public ScheduleSummaryDTO generateRoundRobin(Long tournamentID) {
+        Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentID);
+        if (tournamentOptional.isEmpty())
+            throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
+
+        Tournament tournament = tournamentOptional.get();
+        if (tournament.getFormat() != TournamentFormat.ROUND_ROBIN)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El calendario todos contra todos solo se puede generar en torneos de formato ROUND_ROBIN");
+        if (matchRepository.existsByTournamentId(tournamentID))
+            throw new RequestException(ApiResponse.CONFLICT, "Conflicto", "El torneo ya tiene matches generados, no se puede volver a generar el calendario");
+
+        List<User> players = List.copyOf(tournament.getPlayers());
+        standingsService.syncPlayers(tournamentID);
+        RoundRobinSchedule schedule = new RoundRobinSchedule(players);
+
+        // Todas las rondas quedan generadas, se guarda el torneo antes de empezar a vaciar el contexto
+        tournament.setRounds(schedule.rounds());
+        tournament.setMaxRounds(schedule.rounds());
+        tournamentRepository.saveAndFlush(tournament);
+        logger.info("Generando " + schedule.matches() + " matches en " + schedule.rounds() + " rondas para el torneo: " + tournament.getName());
+
+        List<Match> chunk = new ArrayList<>(PERSIST_CHUNK);
+        schedule.forEachPairing((round, player1, player2) -> {
+            chunk.add(Match.builder()
+                    .tournament(tournament)
+                    .player1(player1)
+                    .player2(player2)
+                    .result(Result.PENDING)
+                    .round(round)
+                    .build());
+            if (chunk.size() == PERSIST_CHUNK)
+                this.saveChunk(chunk);
+        });
+        this.saveChunk(chunk);
+
+        return ScheduleSummaryDTO.builder()
+                .tournament(tournamentID)
+                .players(players.size())
+                .rounds(schedule.rounds())
+                .matches(schedule.matches())
+                .build();
+    }
+
+    /**
+     * Guarda un lote de matches, lo envía a la base de datos y libera el contexto de persistencia.
+     * 
+     * @param chunk Lote de matches a guardar, se vacía al terminar.
+     */
+    private void saveChunk(List<Match> chunk) {
+        if (chunk.isEmpty())
+            return;
+        matchRepository.saveAll(chunk);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+    }
+
     /**
      * Empareja dos jugadores de forma parcialmente aleatoria en un torneo, teniendo en cuenta que la diferencia de puntos entre ellos no supere el umbral.
+     * Para rondas completas se utiliza {@link PairingEngine}, que aplica el mismo criterio en O(n log n) en lugar de O(n²).
      * Si no hay suficientes jugadores, se lanza una excepción.
      * Si no hay jugadores que cumplan el criterio de puntos, se lanza una excepción.
      * 
@@ -134,12 +424,24 @@ public class MatchService {
      * @return Lista de dos jugadores emparejados.
      */
     public List<User> matchUsers(List<User> allPlayers) throws RequestException {
+        return this.matchUsers(allPlayers, randomSource.generator());
+    }
+
+    /**
+     * Empareja dos jugadores como {@link #matchUsers(List)} con el generador aleatorio indicado,
+     * de forma que con un generador con semilla el emparejamiento es reproducible.
+     * 
+     * @param allPlayers Lista de todos los jugadores del torneo.
+     * @param random Generador aleatorio con el que se eligen los jugadores.
+     * @return Lista de dos jugadores emparejados.
+     */
+    public List<User> matchUsers(List<User> allPlayers, RandomGenerator random) throws RequestException {
         try {
             // Comprobamos que haya al menos 2 jugadores para emparejar
             if(allPlayers.size() < 2)
                 throw new Exception();
             // Obtenemos el jugador 1 de forma aleatoria
-            int randomPlayer1 = ThreadLocalRandom.current().nextInt(allPlayers.size());
+            int randomPlayer1 = random.nextInt(allPlayers.size());
             User player1 = allPlayers.get(randomPlayer1);
             allPlayers.remove(player1);
             
@@ -160,7 +462,7 @@ public class MatchService {
                 .orElseThrow(() -> new Exception());  
             } else{
                 // Obtenemos el jugador 2 de forma aleatoria, sin contar con el jugador 1
-                Integer randomPlayer2 = ThreadLocalRandom.current().nextInt(possiblePlayers.size());
+                Integer randomPlayer2 = random.nextInt(possiblePlayers.size());
                 player2 = possiblePlayers.get(randomPlayer2);
             }
 
@@ -179,9 +481,11 @@ public class MatchService {
      * Comprueba si un match existe en la base de datos.
      * Si el match no existe, lanza una excepción.
      * Si el match existe, devuelve un mensaje informativo con los jugadores del match.
+     * Solo se lee el match: el DTO y el mensaje usan los IDs del torneo y los jugadores, que no necesitan cargarlos.
      * 
      * @param matchId ID del match a comprobar.
      */
+    @Transactional(readOnly = true)
     public MatchDTO checkMatch(Long matchId) {
         // Comprobamos si el match existe
         Optional<Match> matchOptional = matchRepository.findById(matchId);
@@ -189,7 +493,7 @@ public class MatchService {
             throw new RequestException(ApiResponse.NOT_FOUND, "No se ha encontrado el match", "El match con id " + matchId + " no existe");
 
         Match match = matchOptional.get();
-        logger.info("Match encontrado: " + match.getPlayer1().getEmail() + " vs " + match.getPlayer2().getEmail());
+        logger.info("Match encontrado: jugador " + match.getPlayer1().getId() + " vs " + (match.getPlayer2() == null ? "bye" : "jugador " + match.getPlayer2().getId()));
         
         return matchMapper.matchToMatchDTO(match);
     }
@@ -199,20 +503,36 @@ public class MatchService {
      * Si el match no existe, lanza una excepción.
      * Si el resultado es PENDING, lanza una excepción.
      * Si el resultado es WIN o LOSE, actualiza el resultado del match y devuelve un mensaje informativo.
+     * En los matches de eliminatoria el resultado es definitivo, no admite empates y avanza al ganador en el cuadro.
      * 
      * @param matchID ID del match a actualizar.
      * @param macthDTO DTO con el resultado del match a actualizar.
      * @return MatchDTO con el match actualizado.
      */
+    @Transactional
     public MatchDTO updateMatchResult(Long matchID, MatchDTO macthDTO) throws RequestException {
         // Comprobamos si el match existe
         Optional<Match> matchOptional = matchRepository.findById(matchID);
         if (matchOptional.isEmpty())
             throw new RequestException(ApiResponse.NOT_FOUND, "No se ha encontrado el match", "El match con id " + matchID + " no existe");
 
+        // La posición en el cuadro la decide el servidor, no el cliente
+        Match storedMatch = matchOptional.get();
+        Integer bracketPosition = storedMatch.getBracketPosition();
+        if (bracketPosition != null && storedMatch.getResult() != Result.PENDING)
+            throw new RequestException(ApiResponse.CONFLICT, "Conflicto", "El resultado de un match de eliminatoria ya es definitivo");
+
         // Actualizamos el resultado del match
         Match matchUpdated = matchMapper.matchDtoToMatch(macthDTO);
         matchUpdated.setId(matchID);
+        matchUpdated.setBracketPosition(bracketPosition);
+        matchUpdated.setPlayer1Points(storedMatch.getPlayer1Points());
+        matchUpdated.setPlayer2Points(storedMatch.getPlayer2Points());
+        matchUpdated.setPlayer1Rank(storedMatch.getPlayer1Rank());
+        matchUpdated.setPlayer2Rank(storedMatch.getPlayer2Rank());
+
+        if (bracketPosition != null && matchUpdated.getResult() == Result.DRAW)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "Un match de eliminatoria no puede terminar en empate");
 
         if(matchUpdated.getPlayer1() == null || matchUpdated.getPlayer2() == null)
             throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El match debe tener dos jugadores validos");
@@ -220,14 +540,211 @@ public class MatchService {
             throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El match debe pertenecer a un torneo valido");
 
             
+        // Si el match ya tenía resultado, sus victorias, derrotas, empates y puntos se sustituyen por los del nuevo.
+        // Los puntos globales se restan en las entidades de los jugadores, que setPointsToPLayers guarda enteras después
+        if (storedMatch.getResult() != Result.PENDING) {
+            StandingChanges previous = this.removeResult(storedMatch);
+            Map<Long, Integer> points = previous.pointsByUser();
+            for (User player : new User[] { storedMatch.getPlayer1(), storedMatch.getPlayer2() })
+                if (player != null && points.containsKey(player.getId()))
+                    player.setPoints(player.getPoints() + points.get(player.getId()));
+            standingsService.apply(previous);
+        }
+
         // Actualiamos el resultado de los jugadores en el torneo y en la entidad
         this.setPointsToPLayers(matchUpdated);
         matchRepository.save(matchUpdated);
+        this.closeRoundIfFinished(matchUpdated.getTournament().getId(), matchUpdated.getRound());
+
+        // En eliminatoria el ganador pasa a la siguiente ronda en cuanto se conoce el del match hermano
+        if (bracketPosition != null)
+            bracketService.advance(matchUpdated);
 
         logger.info("Resultado del match actualizado: " + matchUpdated.getResult());
         return matchMapper.matchToMatchDTO(matchUpdated);
     }
 
+    /**
+     * Informa el resultado de un match sin reconstruir la entidad a partir de un DTO.
+     * Se lee el match con una proyección, el resultado se guarda con un UPDATE condicionado a que siga pendiente
+     * y los puntos se suman con un UPDATE por jugador (points = points + delta), todo en una transacción.
+     * Si el match no existe se lanza NOT_FOUND, si ya tenía resultado CONFLICT, y si el resultado no es definitivo
+     * o es un empate en eliminatoria UNPROCESSABLE_ENTITY.
+     * 
+     * @param matchID ID del match.
+     * @param result Resultado del match.
+     * @return MatchDTO con el match actualizado.
+     */
+    @Transactional
+    public MatchDTO reportResult(Long matchID, Result result) {
+        MatchResultView match = matchRepository.findResultViewById(matchID)
+                .orElseThrow(() -> new RequestException(ApiResponse.NOT_FOUND, "No se ha encontrado el match", "El match con id " + matchID + " no existe"));
+
+        if (result == null || result == Result.PENDING)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El resultado informado debe ser PLAYER1_WIN, PLAYER2_WIN o DRAW");
+        if (match.getBracketPosition() != null && result == Result.DRAW)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "Un match de eliminatoria no puede terminar en empate");
+
+        if (match.getResult() != Result.PENDING)
+            throw new RequestException(ApiResponse.CONFLICT, "Conflicto", "El match con id " + matchID + " ya tiene resultado");
+
+        // Solo se actualiza si sigue pendiente, así dos peticiones simultáneas no suman los puntos dos veces
+        RandomGenerator random = this.scoringRandom(tournamentRepository.findRoundSeed(match.getTournamentId(), match.getRound()).orElse(null), matchID);
+        int points = random.nextInt(10, 21);
+        if (matchRepository.updateResultIfPending(matchID, result, points) == 0)
+            throw new RequestException(ApiResponse.CONFLICT, "Conflicto", "El match con id " + matchID + " ya tiene resultado");
+
+        StandingChanges changes = new StandingChanges()
+                .addResult(match.getTournamentId(), match.getPlayer1Id(), match.getPlayer2Id(), result, points);
+        changes.pointsByUser().forEach(userRepository::addPoints);
+        standingsService.apply(changes);
+        this.closeRoundIfFinished(match.getTournamentId(), match.getRound());
+
+        // En eliminatoria el ganador pasa a la siguiente ronda, aquí sí hace falta la entidad
+        if (match.getBracketPosition() != null)
+            matchRepository.findById(matchID).ifPresent(bracketService::advance);
+
+        logger.info("Resultado del match " + matchID + " informado: " + result);
+        return MatchDTO.builder()
+                .id(matchID)
+                .tournament(match.getTournamentId())
+                .player1(match.getPlayer1Id())
+                .player2(match.getPlayer2Id())
+                .result(result)
+                .round(match.getRound())
+                .bracketPosition(match.getBracketPosition())
+                .build();
+    }
+
+    /**
+     * Informa los resultados de una ronda completa en una sola transacción.
+     * Todos los matches y las semillas de sus rondas se leen con una consulta cada uno, y cada elemento se valida por separado:
+     * los rechazados se devuelven con el mismo estado que tendrían en {@link #reportResult} sin impedir que se apliquen los demás.
+     * Los resultados se guardan con un lote de UPDATE condicionados a que el match siga pendiente, y los puntos se suman
+     * agrupados por jugador con otro lote, un UPDATE por jugador aunque haya jugado varios matches del envío.
+     * Las rondas que quedan sin matches pendientes se cierran como periodo de rating.
+     * 
+     * @param items Lista de pares (matchId, resultado), como mucho {@link #MAX_BULK_RESULTS}.
+     * @return BulkResultDTO con el resultado de cada elemento en el orden del envío.
+     */
+    @Transactional
+    public BulkResultDTO reportResults(List<ResultItemDTO> items) {
+        if (items == null || items.isEmpty() || items.size() > MAX_BULK_RESULTS)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "El envío debe tener entre 1 y " + MAX_BULK_RESULTS + " resultados");
+
+        Set<Long> matchIds = new HashSet<>(items.size() * 2);
+        for (ResultItemDTO item : items)
+            if (item != null && item.getMatchId() != null)
+                matchIds.add(item.getMatchId());
+
+        Map<Long, MatchResultView> matches = new HashMap<>(matchIds.size() * 2);
+        for (MatchResultView match : matchRepository.findResultViewsByIdIn(matchIds))
+            matches.put(match.getId(), match);
+
+        // Validamos cada elemento; los válidos se aplican juntos
+        ResultOutcomeDTO[] outcomes = new ResultOutcomeDTO[items.size()];
+        List<Integer> accepted = new ArrayList<>(items.size());
+        Set<Long> seen = new HashSet<>(items.size() * 2);
+        for (int i = 0; i < items.size(); i++) {
+            ResultItemDTO item = items.get(i);
+            Long matchId = item != null ? item.getMatchId() : null;
+            Result result = item != null ? item.getResult() : null;
+            MatchResultView match = matches.get(matchId);
+
+            if (matchId == null || result == null || result == Result.PENDING)
+                outcomes[i] = outcome(matchId, result, ApiResponse.UNPROCESSABLE_ENTITY, "Cada resultado debe tener matchId y un resultado PLAYER1_WIN, PLAYER2_WIN o DRAW");
+            else if (!seen.add(matchId))
+                outcomes[i] = outcome(matchId, result, ApiResponse.CONFLICT, "El match con id " + matchId + " aparece más de una vez en el envío");
+            else if (match == null)
+                outcomes[i] = outcome(matchId, result, ApiResponse.NOT_FOUND, "El match con id " + matchId + " no existe");
+            else if (match.getBracketPosition() != null && result == Result.DRAW)
+                outcomes[i] = outcome(matchId, result, ApiResponse.UNPROCESSABLE_ENTITY, "Un match de eliminatoria no puede terminar en empate");
+            else if (match.getResult() != Result.PENDING)
+                outcomes[i] = outcome(matchId, result, ApiResponse.CONFLICT, "El match con id " + matchId + " ya tiene resultado");
+            else
+                accepted.add(i);
+        }
+
+        // Semillas de las rondas implicadas con una sola consulta
+        Set<Long> tournamentIds = new HashSet<>();
+        for (int i : accepted)
+            tournamentIds.add(matches.get(items.get(i).getMatchId()).getTournamentId());
+        Map<Long, Map<Integer, Long>> seeds = new HashMap<>();
+        if (!tournamentIds.isEmpty())
+            for (RoundSeedView seed : tournamentRepository.findRoundSeeds(tournamentIds))
+                seeds.computeIfAbsent(seed.getTournamentId(), id -> new HashMap<>()).put(seed.getRound(), seed.getSeed());
+
+        // Un lote de UPDATE condicionados con el resultado y sus puntos; si otra petición se adelantó, el match no se actualiza
+        List<Long> acceptedIds = new ArrayList<>(accepted.size());
+        List<Result> acceptedResults = new ArrayList<>(accepted.size());
+        List<Integer> acceptedPoints = new ArrayList<>(accepted.size());
+        for (int i : accepted) {
+            MatchResultView match = matches.get(items.get(i).getMatchId());
+            Long seed = seeds.getOrDefault(match.getTournamentId(), Map.of()).get(match.getRound());
+            acceptedIds.add(match.getId());
+            acceptedResults.add(items.get(i).getResult());
+            acceptedPoints.add(this.scoringRandom(seed, match.getId()).nextInt(10, 21));
+        }
+        int[] updated = accepted.isEmpty() ? new int[0] : resultBatchRepository.updateResultsIfPending(acceptedIds, acceptedResults, acceptedPoints);
+
+        // Agrupamos los cambios de clasificación por torneo y jugador, y los puntos por jugador
+        StandingChanges changes = new StandingChanges();
+        List<MatchResultView> bracketMatches = new ArrayList<>();
+        Set<List<Long>> rounds = new LinkedHashSet<>();
+        int applied = 0;
+        for (int k = 0; k < accepted.size(); k++) {
+            int i = accepted.get(k);
+            MatchResultView match = matches.get(acceptedIds.get(k));
+            Result result = acceptedResults.get(k);
+            if (updated[k] == 0) {
+                outcomes[i] = outcome(match.getId(), result, ApiResponse.CONFLICT, "El match con id " + match.getId() + " ya tiene resultado");
+                continue;
+            }
+
+            changes.addResult(match.getTournamentId(), match.getPlayer1Id(), match.getPlayer2Id(), result, acceptedPoints.get(k));
+            if (match.getBracketPosition() != null)
+                bracketMatches.add(match);
+            rounds.add(List.of(match.getTournamentId(), (long) match.getRound()));
+            outcomes[i] = outcome(match.getId(), result, ApiResponse.SUCCESS, ApiResponse.SUCCESS.getDetail());
+            applied++;
+        }
+        if (!changes.isEmpty()) {
+            resultBatchRepository.addPoints(changes.pointsByUser());
+            standingsService.apply(changes);
+        }
+
+        // Cada ronda que termina con este envío es un periodo de rating y guarda su clasificación
+        for (List<Long> round : rounds)
+            this.closeRoundIfFinished(round.get(0), round.get(1).intValue());
+
+        // En eliminatoria basta con avanzar uno de cada par de matches hermanos, el otro encontraría el siguiente ya creado
+        Set<List<Long>> advanced = new HashSet<>();
+        for (MatchResultView match : bracketMatches)
+            if (advanced.add(List.of(match.getTournamentId(), (long) match.getBracketPosition() / 2)))
+                matchRepository.findById(match.getId()).ifPresent(bracketService::advance);
+
+        logger.info("Resultados informados por lotes: " + applied + " aplicados de " + items.size());
+        return BulkResultDTO.builder()
+                .applied(applied)
+                .rejected(items.size() - applied)
+                .outcomes(List.of(outcomes))
+                .build();
+    }
+
+    /**
+     * Resultado de un elemento de un envío por lotes con el estado equivalente de {@link ApiResponse}.
+     */
+    private static ResultOutcomeDTO outcome(Long matchId, Result result, ApiResponse response, String detail) {
+        return ResultOutcomeDTO.builder()
+                .matchId(matchId)
+                .result(result)
+                .applied(response == ApiResponse.SUCCESS)
+                .status(response.getStatus().value())
+                .title(response.getTitle())
+                .detail(detail)
+                .build();
+    }
+
     public List<MatchDTO> getAllMatches() {
         // Obtenemos todos los matches de la base de datos
         List<Match> matches = matchRepository.findAll();
@@ -238,12 +755,45 @@ public class MatchService {
         return matchMapper.matchListToMatchDTOList(matches);
     }
 
+    /**
+     * Obtiene un tramo del listado de partidas, ordenado por ID, con los nombres de los jugadores.
+     * Las partidas se leen con una sola consulta que no carga el torneo ni los jugadores, y el tramo empieza
+     * después de un ID en lugar de en un desplazamiento, así que su coste no crece con el número de partidas.
+     * Si el tramo no es válido, lanza una excepción.
+     *
+     * @param after ID de la última partida del tramo anterior, 0 para empezar desde el principio.
+     * @param limit Número máximo de partidas, como mucho {@link KeysetPageDTO#MAX_LIMIT}.
+     * @return KeysetPageDTO con las partidas del tramo y el ID con el que pedir el siguiente.
+     */
+    public KeysetPageDTO<MatchSummaryDTO> getMatchSummaries(long after, int limit) {
+        if (after < 0 || limit < 1 || limit > KeysetPageDTO.MAX_LIMIT)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "after debe ser mayor o igual que 0 y limit estar entre 1 y " + KeysetPageDTO.MAX_LIMIT);
+
+        // Se lee una partida más de las pedidas para saber si hay un tramo siguiente
+        List<MatchSummaryDTO> rows = new ArrayList<>();
+        for (MatchSummaryView match : matchRepository.findSummaries(after, Limit.of(limit + 1)))
+            rows.add(MatchSummaryDTO.builder()
+                    .id(match.getId())
+                    .tournament(match.getTournamentId())
+                    .round(match.getRound())
+                    .bracketPosition(match.getBracketPosition())
+                    .player1(match.getPlayer1())
+                    .player2(match.getPlayer2())
+                    .result(match.getResult())
+                    .build());
+        return KeysetPageDTO.of(rows, limit, MatchSummaryDTO::getId);
+    }
+
     /**
      * Elimina un match de la base de datos.
      * Si el match no existe, lanza una excepción.
+     * Si el match tenía resultado, sus victorias, derrotas, empates y puntos se descuentan de la clasificación del torneo
+     * y de los puntos de los jugadores.
      * 
      * @param matchID ID del match a eliminar.
      */
+    @Transactional
     public void deleteMatch(Long matchID) {
         // Comprobamos si el match existe
         Optional<Match> matchOptional = matchRepository.findById(matchID);
@@ -251,13 +801,27 @@ public class MatchService {
             throw new RequestException(ApiResponse.NOT_FOUND, "No se ha encontrado el match", "El match con id " + matchID + " no existe");
 
         Match match = matchOptional.get();
-        logger.info("Match eliminado: " + match.getPlayer1().getEmail() + " vs " + match.getPlayer2().getEmail());
+        logger.info("Match eliminado: jugador " + match.getPlayer1().getId() + " vs " + (match.getPlayer2() == null ? "bye" : "jugador " + match.getPlayer2().getId()));
         matchRepository.delete(match);
+        StandingChanges removed = this.removeResult(match);
+        removed.pointsByUser().forEach(userRepository::addPoints);
+        standingsService.apply(removed);
+    }
+
+    /**
+     * Cambios que deshacen el resultado guardado de un match, con los puntos que repartió.
+     */
+    private StandingChanges removeResult(Match match) {
+        return new StandingChanges().removeResult(match.getTournament().getId(), match.getPlayer1().getId(),
+                match.getPlayer2() == null ? null : match.getPlayer2().getId(), match.getResult(),
+                match.getAwardedPoints() == null ? 0 : match.getAwardedPoints());
     }
 
     /**
      * Asigna los puntos de manera aletoria entre 10-20 a el ganador, en caso de empate ambos
-     * jugadores ganan pero reciben menos punntos
+     * jugadores ganan pero reciben menos punntos.
+     * Si la ronda del match tiene semilla, los puntos salen de un generador derivado de ella y del id del match,
+     * por lo que volver a informar el mismo resultado da los mismos puntos.
      * 
      * @param matchUpdated Match actualizado con el resultado del match.
      */
@@ -267,12 +831,13 @@ public class MatchService {
         User player2 = matchUpdated.getPlayer2();
 
         // Si algguien gana recibe un nuermo random entre 10 y 20 puntos
-        Integer numRandom = ThreadLocalRandom.current().nextInt(10, 21);
-        if (matchUpdated.getResult() == Result.PLAYER1_WIN)
+        Integer numRandom = this.scoringRandom(matchUpdated).nextInt(10, 21);
+        matchUpdated.setAwardedPoints(numRandom);
+        if (matchUpdated.getResult() == Result.PLAYER1_WIN) {
             player1.setPoints(player1.getPoints() + numRandom); 
-        else if(matchUpdated.getResult() == Result.PLAYER2_WIN)
+        } else if(matchUpdated.getResult() == Result.PLAYER2_WIN) {
             player2.setPoints(player2.getPoints() + numRandom);
-        else if(matchUpdated.getResult() == Result.DRAW){
+        } else if(matchUpdated.getResult() == Result.DRAW){
             player1.setPoints(player1.getPoints() + (numRandom/2));
             player2.setPoints(player2.getPoints() + (numRandom/2));
         }
@@ -284,5 +849,37 @@ public class MatchService {
         // Guardamos los jugadores en la base de datos
         userRepository.save(player1);
         userRepository.save(player2);
+
+        // La clasificación del torneo cambia en la misma transacción con los mismos puntos
+        if (matchUpdated.getTournament() != null)
+            standingsService.apply(new StandingChanges().addResult(matchUpdated.getTournament().getId(), player1.getId(),
+                    player2 == null ? null : player2.getId(), matchUpdated.getResult(), numRandom));
+    }
+
+    /**
+     * Cierra una ronda si ya no le quedan matches pendientes: aplica su periodo de rating y guarda su clasificación.
+     * Las dos cosas se hacen una sola vez por ronda, aunque se informen a la vez sus últimos resultados.
+     */
+    private void closeRoundIfFinished(Long tournamentId, Integer round) {
+        if (ratingService.rateRoundIfFinished(tournamentId, round))
+            standingsHistoryService.snapshotRound(tournamentId, round);
+    }
+
+    /**
+     * Generador de la puntuación de un match: reproducible si su ronda tiene semilla registrada.
+     */
+    private RandomGenerator scoringRandom(Match match) {
+        Tournament tournament = match.getTournament();
+        RoundSeed roundSeed = tournament != null && match.getRound() != null ? tournament.getRoundSeeds().get(match.getRound()) : null;
+        return this.scoringRandom(roundSeed != null ? roundSeed.getSeed() : null, match.getId());
+    }
+
+    /**
+     * Generador de la puntuación de un match a partir de la semilla de su ronda, que puede ser nula.
+     */
+    private RandomGenerator scoringRandom(Long roundSeed, Long matchId) {
+        if (roundSeed == null || matchId == null)
+            return randomSource.generator();
+        return randomSource.forMatch(roundSeed, matchId);
     }
 }
@@ -0,0 +1,77 @@
+package com.equipo2.bytestournament.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Service;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+
+/**
+ * RankingRenderService guarda en memoria las tablas de texto de la clasificación de cada torneo (pretty=true)
+ * ya codificadas en UTF-8, para escribirlas tal cual en la respuesta sin volver a formatearlas en cada consulta.
+ *
+ * Igual que los desempates, una tabla guardada solo se reutiliza si se generó con la misma clasificación en memoria
+ * y con su misma versión, que sube con cada resultado, cambio de rango o de nombre que se aplica al torneo.
+ * Así las pantallas que refrescan la clasificación cada segundo solo la formatean cuando cambia.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class RankingRenderService {
+
+    /**
+     * Tablas de texto que se guardan de cada torneo.
+     */
+    public enum View {
+        CLASSIFICATION,
+        DETAILS
+    }
+
+    private record Key(Long tournamentId, View view) {
+    }
+
+    /**
+     * Tabla generada junto a la clasificación en memoria y la versión de esta con las que se generó.
+     */
+    private record Rendered(Leaderboard board, long version, byte[] bytes) {
+    }
+
+    /**
+     * cache Última tabla de cada torneo y tipo.
+     */
+    private final Map<Key, Rendered> cache = new ConcurrentHashMap<>();
+
+    /**
+     * Tabla de texto de un torneo, generada de nuevo solo si la clasificación ha cambiado desde la última vez.
+     * El array devuelto se comparte entre peticiones y no se debe modificar.
+     *
+     * @param tournamentId ID del torneo.
+     * @param view Tipo de tabla.
+     * @param board Clasificación en memoria del torneo, de la que se toma la versión.
+     * @param source Genera el objeto cuyo toString es la tabla, solo si no está guardada.
+     * @return la tabla codificada en UTF-8.
+     */
+    public byte[] render(Long tournamentId, View view, Leaderboard board, Supplier<?> source) {
+        // La versión se lee antes de generar: si cambia mientras tanto, la tabla se guarda ya caducada
+        long version = board.version();
+        Key key = new Key(tournamentId, view);
+        Rendered cached = cache.get(key);
+        if (cached != null && cached.version() == version && cached.board() == board)
+            return cached.bytes();
+
+        byte[] bytes = source.get().toString().getBytes(StandardCharsets.UTF_8);
+        cache.put(key, new Rendered(board, version, bytes));
+        return bytes;
+    }
+
+    /**
+     * Descarta las tablas de un torneo eliminado.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    public void evict(Long tournamentId) {
+        for (View view : View.values())
+            cache.remove(new Key(tournamentId, view));
+    }
+}
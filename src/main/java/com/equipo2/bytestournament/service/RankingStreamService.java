@@ -0,0 +1,374 @@
+package com.equipo2.bytestournament.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.equipo2.bytestournament.DTO.RankingChangeDTO;
+import com.equipo2.bytestournament.DTO.RankingDeltaDTO;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * RankingStreamService envía por Server-Sent Events los cambios de la clasificación de cada torneo,
+ * para que los clientes no tengan que consultar el ranking una y otra vez para saber si ha cambiado.
+ *
+ * Los cambios no se envían al confirmarse cada resultado, sino cada cierto intervalo: en cada vuelta, por cada torneo
+ * con suscriptores cuya clasificación en memoria ha cambiado de versión, se compara con la que se envió la última vez
+ * y se calcula un solo mensaje con los jugadores que cambian de posición o de puntos. Ese mensaje se serializa una vez
+ * y se escribe tal cual a todos los suscriptores del torneo, así que varios resultados seguidos se agrupan en un envío
+ * y el coste de calcularlo no depende del número de suscriptores.
+ *
+ * El hilo que calcula los cambios no escribe a los clientes: deja el mensaje en la cola acotada de cada suscriptor
+ * y otro ejecutor la vacía, con una sola tarea a la vez por suscriptor. Un cliente lento solo retrasa su propia cola,
+ * y si esta se llena porque el cliente no lee, se le desconecta para que vuelva a suscribirse.
+ * Las posiciones son las de la clasificación con desempates de {@link TiebreakService}, las mismas que devuelve el ranking.
+ * Los torneos sin cambios solo reciben de vez en cuando un comentario, para detectar las conexiones cerradas.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class RankingStreamService {
+
+    /**
+     * HEARTBEAT Tiempo máximo sin escribir a un suscriptor.
+     */
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    /**
+     * Posición, puntos y nombre de un jugador en el último envío.
+     */
+    private record Standing(String username, int position, int points) {
+    }
+
+    /**
+     * Clasificación enviada por última vez, junto a la clasificación en memoria y la versión de esta con las que se leyó.
+     */
+    private record Sent(Leaderboard board, long version, Map<Long, Standing> standings) {
+    }
+
+    /**
+     * Suscriptor de un torneo con los mensajes que aún no se le han escrito.
+     * sending indica si hay una tarea vaciando su cola y dropped si se ha desconectado por no leer.
+     */
+    private static final class Subscriber {
+        private final Long tournamentId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> pending;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile boolean dropped;
+
+        private Subscriber(Long tournamentId, SseEmitter emitter, int buffer) {
+            this.tournamentId = tournamentId;
+            this.emitter = emitter;
+            this.pending = new ArrayBlockingQueue<>(buffer);
+        }
+    }
+
+    /**
+     * leaderboardService Servicio con la clasificación en memoria de cada torneo.
+     * tiebreakService Servicio que ordena la clasificación con desempates.
+     * objectMapper Serializa cada mensaje una sola vez para todos los suscriptores.
+     * scheduler Hilo que calcula los cambios y los deja en la cola de cada suscriptor.
+     * sender Ejecutor que escribe a los suscriptores los mensajes de su cola.
+     * interval Tiempo entre dos envíos, en el que se agrupan los cambios.
+     * timeout Tiempo máximo de una suscripción, tras el que el cliente se vuelve a conectar.
+     * buffer Número máximo de mensajes sin escribir de un suscriptor antes de desconectarlo.
+     * subscribers Suscriptores de cada torneo.
+     * sent Última clasificación enviada de cada torneo con suscriptores.
+     * lock Cerrojo para que una suscripción nueva no se cruce con la limpieza de los torneos sin suscriptores.
+     * lastHeartbeat Último momento en el que se escribió a los suscriptores sin cambios.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final LeaderboardService leaderboardService;
+    private final TiebreakService tiebreakService;
+    private final ObjectMapper objectMapper;
+    private final TaskScheduler scheduler;
+    private final TaskExecutor sender;
+    private final Duration interval;
+    private final long timeout;
+    private final int buffer;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Map<Long, Sent> sent = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private Instant lastHeartbeat = Instant.now();
+    private final Logger logger = LoggerFactory.getLogger(RankingStreamService.class);
+
+    public RankingStreamService(LeaderboardService leaderboardService, TiebreakService tiebreakService, ObjectMapper objectMapper,
+            @Qualifier("rankingStreamScheduler") TaskScheduler scheduler,
+            @Qualifier("rankingStreamSender") TaskExecutor sender,
+            @Value("${tournament.ranking.stream.interval-ms:500}") long intervalMillis,
+            @Value("${tournament.ranking.stream.timeout-minutes:30}") long timeoutMinutes,
+            @Value("${tournament.ranking.stream.buffer:16}") int buffer) {
+        this.leaderboardService = leaderboardService;
+        this.tiebreakService = tiebreakService;
+        this.objectMapper = objectMapper;
+        this.scheduler = scheduler;
+        this.sender = sender;
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.timeout = Duration.ofMinutes(timeoutMinutes).toMillis();
+        this.buffer = buffer;
+    }
+
+    /**
+     * Empieza a enviar los cambios cuando la aplicación está lista.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::flush, interval);
+        logger.info("Envío de cambios del ranking cada {} ms", interval.toMillis());
+    }
+
+    /**
+     * Suscribe a un cliente a los cambios de la clasificación de un torneo.
+     * Los cambios se cuentan desde la suscripción; la clasificación completa se obtiene con el endpoint del ranking.
+     * Si el torneo no existe, lanza una excepción.
+     *
+     * @param tournamentId ID del torneo.
+     * @return el SseEmitter por el que se envían los cambios.
+     */
+    public SseEmitter subscribe(Long tournamentId) {
+        Leaderboard board = leaderboardService.board(tournamentId)
+                .orElseThrow(() -> new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID"));
+        SseEmitter emitter = new SseEmitter(timeout);
+        this.register(tournamentId, board, emitter);
+        return emitter;
+    }
+
+    /**
+     * Añade un suscriptor a un torneo. Si es el primero, la clasificación actual es la base de los siguientes cambios.
+     * La base se calcula fuera del cerrojo, que flush también necesita para todos los torneos, y dentro solo se publica
+     * si nadie lo ha hecho antes. Si flush descarta la base existente antes de entrar al cerrojo, se calcula otra.
+     */
+    void register(Long tournamentId, Leaderboard board, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(tournamentId, emitter, buffer);
+        emitter.onCompletion(() -> this.unregister(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> this.unregister(subscriber));
+        Sent base = sent.containsKey(tournamentId) ? null : this.snapshot(tournamentId, board);
+        while (true) {
+            // La base y el suscriptor se añaden juntos: flush no puede descartar la base entre las dos operaciones
+            synchronized (lock) {
+                if (base != null)
+                    sent.putIfAbsent(tournamentId, base);
+                if (sent.containsKey(tournamentId)) {
+                    subscribers.compute(tournamentId, (id, current) -> {
+                        Set<Subscriber> updated = current == null ? ConcurrentHashMap.newKeySet() : current;
+                        updated.add(subscriber);
+                        return updated;
+                    });
+                    return;
+                }
+            }
+            base = this.snapshot(tournamentId, board);
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.tournamentId, (id, current) -> {
+            current.remove(subscriber);
+            return current.isEmpty() ? null : current;
+        });
+    }
+
+    /**
+     * @param tournamentId ID del torneo.
+     * @return número de suscriptores del torneo.
+     */
+    public int subscribers(Long tournamentId) {
+        return subscribers.getOrDefault(tournamentId, Set.of()).size();
+    }
+
+    /**
+     * Calcula los cambios de cada torneo con suscriptores y los envía. Lo ejecuta el planificador cada intervalo.
+     */
+    void flush() {
+        synchronized (lock) {
+            sent.keySet().retainAll(subscribers.keySet());
+        }
+        boolean heartbeat = Duration.between(lastHeartbeat, Instant.now()).compareTo(HEARTBEAT) >= 0;
+        if (heartbeat)
+            lastHeartbeat = Instant.now();
+
+        subscribers.forEach((tournamentId, current) -> {
+            // Un error en un torneo no debe detener el envío de los demás ni las siguientes vueltas
+            try {
+                Optional<Leaderboard> board = leaderboardService.board(tournamentId);
+                if (board.isEmpty()) {
+                    this.close(tournamentId);
+                    return;
+                }
+                RankingDeltaDTO delta = this.delta(tournamentId, board.get());
+                if (delta != null)
+                    this.broadcast(tournamentId, current, SseEmitter.event()
+                            .name("ranking")
+                            .id(Long.toString(delta.getVersion()))
+                            .data(objectMapper.writeValueAsString(delta), MediaType.APPLICATION_JSON)
+                            .build());
+                else if (heartbeat)
+                    this.broadcast(tournamentId, current, SseEmitter.event().comment("ping").build());
+            } catch (JsonProcessingException | RuntimeException e) {
+                logger.error("Error al enviar los cambios del ranking del torneo {}", tournamentId, e);
+            }
+        });
+    }
+
+    /**
+     * Cambios de la clasificación de un torneo desde el último envío, o null si no hay ninguno.
+     * La clasificación leída pasa a ser la base del siguiente envío.
+     */
+    RankingDeltaDTO delta(Long tournamentId, Leaderboard board) {
+        Sent previous = sent.get(tournamentId);
+        if (previous != null && previous.board() == board && previous.version() == board.version())
+            return null;
+        Sent current = this.snapshot(tournamentId, board);
+        sent.put(tournamentId, current);
+        if (previous == null)
+            return null;
+
+        List<RankingChangeDTO> changes = new ArrayList<>();
+        current.standings().forEach((userId, standing) -> {
+            Standing before = previous.standings().get(userId);
+            if (standing.equals(before))
+                return;
+            changes.add(RankingChangeDTO.builder()
+                    .username(standing.username())
+                    .position(standing.position())
+                    .previousPosition(before == null ? null : before.position())
+                    .points(standing.points())
+                    .pointsChange(standing.points() - (before == null ? 0 : before.points()))
+                    .build());
+        });
+        List<String> removed = new ArrayList<>();
+        previous.standings().forEach((userId, standing) -> {
+            if (!current.standings().containsKey(userId))
+                removed.add(standing.username());
+        });
+        if (changes.isEmpty() && removed.isEmpty())
+            return null;
+
+        changes.sort((a, b) -> Integer.compare(a.getPosition(), b.getPosition()));
+        return RankingDeltaDTO.builder()
+                .tournament(tournamentId)
+                .version(current.version())
+                .players(current.standings().size())
+                .changes(changes)
+                .removed(removed)
+                .build();
+    }
+
+    /**
+     * Deja el mismo mensaje ya serializado en la cola de todos los suscriptores de un torneo, sin esperar a escribirlo.
+     * Un suscriptor con la cola llena no está leyendo y se desconecta.
+     */
+    private void broadcast(Long tournamentId, Set<Subscriber> current, Set<DataWithMediaType> message) {
+        int dropped = 0;
+        for (Subscriber subscriber : current) {
+            if (subscriber.pending.offer(message)) {
+                this.schedule(subscriber);
+            } else {
+                this.drop(subscriber);
+                dropped++;
+            }
+        }
+        logger.debug("Cambios del ranking del torneo {} encolados para {} suscriptores, {} desconectados por lentos", tournamentId, current.size(), dropped);
+    }
+
+    /**
+     * Lanza la tarea que vacía la cola de un suscriptor, si no hay ya una en marcha.
+     */
+    private void schedule(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true))
+            return;
+        try {
+            sender.execute(() -> this.drain(subscriber));
+        } catch (TaskRejectedException e) {
+            subscriber.sending.set(false);
+            this.drop(subscriber);
+        }
+    }
+
+    /**
+     * Escribe en orden los mensajes pendientes de un suscriptor. Un suscriptor que no se puede escribir
+     * ha cerrado la conexión y se quita. Si llega un mensaje justo al terminar, se vuelve a lanzar la tarea.
+     */
+    private void drain(Subscriber subscriber) {
+        try {
+            Set<DataWithMediaType> message;
+            while (!subscriber.dropped && (message = subscriber.pending.poll()) != null)
+                subscriber.emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+            this.unregister(subscriber);
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (!subscriber.dropped && !subscriber.pending.isEmpty())
+            this.schedule(subscriber);
+    }
+
+    /**
+     * Desconecta a un suscriptor que no lee sus mensajes. La conexión se cierra desde el ejecutor de escritura,
+     * porque cerrarla espera a que termine la escritura en curso.
+     */
+    private void drop(Subscriber subscriber) {
+        subscriber.dropped = true;
+        subscriber.pending.clear();
+        this.unregister(subscriber);
+        try {
+            sender.execute(subscriber.emitter::complete);
+        } catch (TaskRejectedException e) {
+            logger.warn("No se pudo cerrar la suscripción de un cliente lento del torneo {}", subscriber.tournamentId);
+        }
+    }
+
+    /**
+     * Cierra las suscripciones de un torneo eliminado.
+     */
+    private void close(Long tournamentId) {
+        Set<Subscriber> current = subscribers.remove(tournamentId);
+        sent.remove(tournamentId);
+        if (current != null)
+            current.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private Sent snapshot(Long tournamentId, Leaderboard board) {
+        // La versión se lee antes que los jugadores: si cambia mientras tanto, el siguiente envío lo incluye
+        long version = board.version();
+        List<TiebreakStanding> ordered = tiebreakService.standings(tournamentId, board);
+        Map<Long, Standing> standings = new HashMap<>(ordered.size() * 2);
+        int position = 0;
+        for (TiebreakStanding standing : ordered) {
+            position++;
+            Leaderboard.Entry entry = board.get(standing.userId());
+            if (entry != null)
+                standings.put(entry.userId(), new Standing(entry.username(), position, standing.points()));
+        }
+        return new Sent(board, version, standings);
+    }
+}
@@ -0,0 +1,170 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.repository.RatedRoundRepository;
+import com.equipo2.bytestournament.repository.RatingView;
+import com.equipo2.bytestournament.repository.ResultBatchRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.rating.Glicko2;
+import com.equipo2.bytestournament.service.rating.RanksChangedEvent;
+
+/**
+ * RatingService mantiene el rating Glicko-2 de los usuarios. Cada ronda terminada de un torneo es un periodo de rating:
+ * cuando se informa su último resultado, todos sus resultados se aplican de una vez con {@link Glicko2}
+ * y los ratings se guardan con un solo lote de UPDATE.
+ *
+ * El rango de cada usuario sale de su rating con {@link Rank#fromRating} y solo se escribe, y se publica con
+ * {@link RanksChangedEvent}, para los usuarios que cambian de rango. Los byes no cuentan en el rating.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class RatingService {
+
+    /**
+     * TAU Restricción del cambio de la volatilidad entre periodos.
+     */
+    private static final double TAU = 0.5;
+
+    /**
+     * matchRepository Repositorio para leer los resultados de la ronda.
+     * userRepository Repositorio para leer los ratings de los jugadores.
+     * ratedRoundRepository Repositorio de las rondas ya calculadas.
+     * resultBatchRepository Repositorio JDBC para guardar los ratings por lotes.
+     * eventPublisher Publica los cambios de rango para las clasificaciones en memoria.
+     * glicko2 Motor de rating.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final RatedRoundRepository ratedRoundRepository;
+    private final ResultBatchRepository resultBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Glicko2 glicko2 = new Glicko2(TAU);
+    private final Logger logger = LoggerFactory.getLogger(RatingService.class);
+
+    public RatingService(MatchRepository matchRepository, UserRepository userRepository, RatedRoundRepository ratedRoundRepository, ResultBatchRepository resultBatchRepository, ApplicationEventPublisher eventPublisher) {
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+        this.ratedRoundRepository = ratedRoundRepository;
+        this.resultBatchRepository = resultBatchRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Aplica el periodo de rating de una ronda si ya no le quedan matches pendientes y no se había aplicado antes.
+     *
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda.
+     * @return true si se ha aplicado el periodo de rating.
+     */
+    @Transactional
+    public boolean rateRoundIfFinished(Long tournamentId, Integer round) {
+        if (tournamentId == null || round == null)
+            return false;
+        if (matchRepository.countByTournamentIdAndRoundAndResult(tournamentId, round, Result.PENDING) > 0)
+            return false;
+        // Solo una transacción puede marcar la ronda, así que el periodo no se aplica dos veces
+        if (ratedRoundRepository.claim(tournamentId, round) == 0)
+            return false;
+
+        int rated = this.rate(matchRepository.findResultViewsByRound(tournamentId, round));
+        logger.info("Periodo de rating de la ronda {} del torneo {} aplicado a {} jugadores", round, tournamentId, rated);
+        return true;
+    }
+
+    /**
+     * Aplica un periodo de rating con los resultados dados y guarda los ratings y los rangos que cambian.
+     *
+     * @param matches Resultados del periodo; los pendientes y los byes se ignoran.
+     * @return el número de jugadores con resultados en el periodo.
+     */
+    private int rate(List<MatchResultView> matches) {
+        // Cada jugador recibe un índice denso para trabajar con arrays
+        Map<Long, Integer> indexes = new HashMap<>(matches.size() * 4);
+        long[] userIds = new long[matches.size() * 2];
+        int[] first = new int[matches.size()];
+        int[] second = new int[matches.size()];
+        double[] firstScore = new double[matches.size()];
+        int players = 0;
+        int games = 0;
+        for (MatchResultView match : matches) {
+            if (match.getPlayer2Id() == null || match.getResult() == null || match.getResult() == Result.PENDING)
+                continue;
+            Integer i = indexes.putIfAbsent(match.getPlayer1Id(), players);
+            if (i == null) {
+                i = players;
+                userIds[players++] = match.getPlayer1Id();
+            }
+            Integer j = indexes.putIfAbsent(match.getPlayer2Id(), players);
+            if (j == null) {
+                j = players;
+                userIds[players++] = match.getPlayer2Id();
+            }
+            first[games] = i;
+            second[games] = j;
+            firstScore[games++] = score(match.getResult());
+        }
+        if (games == 0)
+            return 0;
+
+        // Ratings de antes del periodo con una sola consulta; un jugador que ya no existe cuenta como nuevo
+        double[] rating = new double[players];
+        double[] deviation = new double[players];
+        double[] volatility = new double[players];
+        Rank[] ranks = new Rank[players];
+        Arrays.fill(rating, Glicko2.DEFAULT_RATING);
+        Arrays.fill(deviation, Glicko2.DEFAULT_DEVIATION);
+        Arrays.fill(volatility, Glicko2.DEFAULT_VOLATILITY);
+        List<Long> ids = new ArrayList<>(players);
+        for (int p = 0; p < players; p++)
+            ids.add(userIds[p]);
+        for (RatingView view : userRepository.findRatingViews(ids)) {
+            int p = indexes.get(view.getId());
+            rating[p] = view.getRating();
+            deviation[p] = view.getRatingDeviation();
+            volatility[p] = view.getVolatility();
+            ranks[p] = view.getRank();
+        }
+
+        glicko2.ratePeriod(rating, deviation, volatility, players, first, second, firstScore, games);
+        resultBatchRepository.updateRatings(userIds, rating, deviation, volatility, players);
+
+        // Solo se escriben los rangos que cambian
+        Map<Long, Rank> changedRanks = new HashMap<>();
+        for (int p = 0; p < players; p++) {
+            Rank rank = Rank.fromRating(rating[p], deviation[p]);
+            if (ranks[p] != null && rank != ranks[p])
+                changedRanks.put(userIds[p], rank);
+        }
+        if (!changedRanks.isEmpty()) {
+            resultBatchRepository.updateRanks(changedRanks);
+            eventPublisher.publishEvent(new RanksChangedEvent(Map.copyOf(changedRanks)));
+        }
+        return players;
+    }
+
+    /**
+     * Puntuación del jugador 1 de un resultado.
+     */
+    private static double score(Result result) {
+        return switch (result) {
+            case PLAYER1_WIN -> 1;
+            case PLAYER2_WIN -> 0;
+            default -> 0.5;
+        };
+    }
+}
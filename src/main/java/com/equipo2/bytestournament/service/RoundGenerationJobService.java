@@ -0,0 +1,172 @@
+package com.equipo2.bytestournament.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import com.equipo2.bytestournament.DTO.GenerationJobDTO;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.JobStatus;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
+
+/**
+ * RoundGenerationJobService es un servicio que genera rondas en segundo plano.
+ * La petición HTTP solo registra el trabajo y lo encola en un ejecutor acotado; el emparejamiento y el
+ * guardado por lotes de {@link MatchService#generateMatches(Long, PairingOptions, GenerationProgress)} se hacen en otro hilo,
+ * y el progreso se consulta por el id del trabajo. Los trabajos terminados se olvidan pasado un tiempo.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring
+ * y será utilizada para realizar operaciones de negocio relacionadas con la generación de rondas.
+ */
+@Service
+public class RoundGenerationJobService {
+
+    /**
+     * matchService Servicio que genera y guarda la ronda.
+     * tournamentRepository Repositorio para comprobar que el torneo existe antes de encolar.
+     * executor Ejecutor acotado en el que se generan las rondas.
+     * retention Tiempo que se guarda un trabajo terminado.
+     * jobs Trabajos en curso y terminados, por id.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final MatchService matchService;
+    private final TournamentRepository tournamentRepository;
+    private final TaskExecutor executor;
+    private final Duration retention;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(RoundGenerationJobService.class);
+
+    public RoundGenerationJobService(MatchService matchService, TournamentRepository tournamentRepository,
+            @Qualifier("roundGenerationExecutor") TaskExecutor executor,
+            @Value("${tournament.generation.job-retention-minutes:60}") long retentionMinutes) {
+        this.matchService = matchService;
+        this.tournamentRepository = tournamentRepository;
+        this.executor = executor;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+    }
+
+    /**
+     * Encola la generación de la siguiente ronda de un torneo.
+     * Si el torneo no existe, se lanza una excepción sin encolar nada.
+     * Si la cola del ejecutor está llena, se lanza una excepción para que el cliente lo reintente.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param options Opciones de emparejamiento de la ronda.
+     * @return Estado inicial del trabajo, con su id.
+     */
+    public GenerationJobDTO submit(Long tournamentId, PairingOptions options) {
+        if (!tournamentRepository.existsById(tournamentId))
+            throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
+
+        this.evictExpired();
+        Job job = new Job(UUID.randomUUID().toString(), tournamentId, options);
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> this.run(job));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            throw new RequestException(ApiResponse.SERVICE_BUSY, "Servicio Ocupado", "Hay demasiadas rondas generándose, vuelve a intentarlo más tarde");
+        }
+        return job.toDTO();
+    }
+
+    /**
+     * Obtiene el estado de un trabajo.
+     * 
+     * @param jobId ID del trabajo.
+     * @return Estado del trabajo.
+     */
+    public GenerationJobDTO getJob(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null)
+            throw new RequestException(ApiResponse.NOT_FOUND, "Trabajo no encontrado", "No existe un trabajo de generación con id " + jobId);
+        return job.toDTO();
+    }
+
+    /**
+     * Genera la ronda en el hilo del ejecutor y guarda el resultado en el trabajo.
+     */
+    private void run(Job job) {
+        job.status = JobStatus.RUNNING;
+        try {
+            List<MatchDTO> matches = matchService.generateMatches(job.tournamentId, job.options, job);
+            job.matchIds = matches.stream().map(MatchDTO::getId).toList();
+            job.status = JobStatus.COMPLETED;
+        } catch (RequestException e) {
+            job.error = e.getDetail();
+            job.status = JobStatus.FAILED;
+        } catch (Exception e) {
+            logger.error("Error generando la ronda del torneo {}", job.tournamentId, e);
+            job.error = ApiResponse.INTERNAL_SERVER_ERROR.getDetail();
+            job.status = JobStatus.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Elimina los trabajos terminados hace más tiempo que el de retención.
+     */
+    private void evictExpired() {
+        Instant limit = Instant.now().minus(retention);
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    /**
+     * Estado de un trabajo, actualizado desde el hilo del ejecutor y leído desde las peticiones HTTP.
+     */
+    private static final class Job implements GenerationProgress {
+        private final String id;
+        private final Long tournamentId;
+        private final PairingOptions options;
+        private volatile JobStatus status = JobStatus.QUEUED;
+        private volatile Integer round;
+        private volatile int totalMatches;
+        private volatile int persistedMatches;
+        private volatile List<Long> matchIds = List.of();
+        private volatile String error;
+        private volatile Instant finishedAt;
+
+        private Job(String id, Long tournamentId, PairingOptions options) {
+            this.id = id;
+            this.tournamentId = tournamentId;
+            this.options = options;
+        }
+
+        @Override
+        public void paired(int round, int matches) {
+            this.round = round;
+            this.totalMatches = matches;
+        }
+
+        @Override
+        public void persisted(int matches) {
+            this.persistedMatches = matches;
+        }
+
+        private GenerationJobDTO toDTO() {
+            return GenerationJobDTO.builder()
+                    .id(id)
+                    .tournament(tournamentId)
+                    .status(status)
+                    .round(round)
+                    .totalMatches(totalMatches)
+                    .persistedMatches(persistedMatches)
+                    .matchIds(matchIds)
+                    .error(error)
+                    .build();
+        }
+    }
+}
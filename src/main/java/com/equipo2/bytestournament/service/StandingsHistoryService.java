@@ -0,0 +1,197 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.RoundStandingsDTO;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.StandingsSnapshot;
+import com.equipo2.bytestournament.model.StandingsSnapshotId;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchScoreView;
+import com.equipo2.bytestournament.repository.StandingsSnapshotRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.repository.UsernameView;
+import com.equipo2.bytestournament.service.standings.SnapshotCodec;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingRow;
+
+/**
+ * StandingsHistoryService guarda la clasificación de cada torneo al terminar cada ronda y permite consultarla después,
+ * sin volver a recorrer los matches.
+ *
+ * La clasificación de una ronda se calcula con las partidas terminadas hasta esa ronda y no con la clasificación actual,
+ * que puede incluir ya resultados de rondas posteriores: en una liga todas las rondas se generan de una vez
+ * y un envío por lotes puede terminar varias rondas.
+ *
+ * Cada instantánea guarda solo la diferencia con la instantánea de la ronda anterior más cercana, y cada {@link #MAX_DEPTH}
+ * diferencias encadenadas se guarda una completa. Para leer una ronda se parte de la instantánea completa más cercana
+ * y se aplican las diferencias hasta llegar a ella, como mucho {@link #MAX_DEPTH} lecturas por clave.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class StandingsHistoryService {
+
+    /**
+     * MAX_DEPTH Número máximo de diferencias encadenadas desde una instantánea completa.
+     */
+    public static final int MAX_DEPTH = 8;
+
+    /**
+     * snapshotRepository Repositorio de las instantáneas de cada ronda.
+     * standingRepository Repositorio para leer los jugadores de la clasificación de cada torneo.
+     * matchRepository Repositorio para leer los resultados de cada ronda.
+     * userRepository Repositorio para leer los nombres de los jugadores.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final StandingsSnapshotRepository snapshotRepository;
+    private final TournamentStandingRepository standingRepository;
+    private final MatchRepository matchRepository;
+    private final UserRepository userRepository;
+    private final Logger logger = LoggerFactory.getLogger(StandingsHistoryService.class);
+
+    public StandingsHistoryService(StandingsSnapshotRepository snapshotRepository, TournamentStandingRepository standingRepository,
+            MatchRepository matchRepository, UserRepository userRepository) {
+        this.snapshotRepository = snapshotRepository;
+        this.standingRepository = standingRepository;
+        this.matchRepository = matchRepository;
+        this.userRepository = userRepository;
+    }
+
+    /**
+     * Guarda la clasificación de un torneo al terminar una ronda, con los resultados de esa ronda y las anteriores.
+     * Se llama una sola vez por ronda, en la transacción en la que se informa su último resultado.
+     * La base es la instantánea guardada de la ronda anterior más cercana, aunque ya haya otras de rondas posteriores.
+     *
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda terminada.
+     */
+    @Transactional
+    public void snapshotRound(Long tournamentId, Integer round) {
+        List<StandingRow> current = this.standingsUpToRound(tournamentId, round);
+        Optional<StandingsSnapshot> base = snapshotRepository.findFirstByTournamentIdAndRoundLessThanOrderByRoundDesc(tournamentId, round);
+
+        StandingsSnapshot.StandingsSnapshotBuilder snapshot = StandingsSnapshot.builder()
+                .tournamentId(tournamentId)
+                .round(round)
+                .players(current.size());
+        if (base.isEmpty() || base.get().getDepth() + 1 >= MAX_DEPTH)
+            snapshot.depth(0).data(SnapshotCodec.encode(Map.of(), current));
+        else
+            snapshot.baseRound(base.get().getRound())
+                    .depth(base.get().getDepth() + 1)
+                    .data(SnapshotCodec.encode(this.reconstruct(base.get()), current));
+
+        StandingsSnapshot saved = snapshotRepository.save(snapshot.build());
+        logger.info("Clasificación de la ronda {} del torneo {} guardada: {} jugadores, {} bytes{}", round, tournamentId,
+                saved.getPlayers(), saved.getData().length, saved.getBaseRound() == null ? " (completa)" : "");
+    }
+
+    /**
+     * Obtiene la clasificación de un torneo tal y como estaba al terminar una ronda.
+     * Si la ronda no ha terminado o el torneo no existe, lanza una excepción.
+     *
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda.
+     * @return RoundStandingsDTO con los jugadores ordenados por puntos, victorias e id.
+     */
+    @Transactional(readOnly = true)
+    public RoundStandingsDTO standingsAfterRound(Long tournamentId, Integer round) {
+        StandingsSnapshot snapshot = snapshotRepository.findById(new StandingsSnapshotId(tournamentId, round))
+                .orElseThrow(() -> new RequestException(ApiResponse.NOT_FOUND, "Ronda no encontrada",
+                        "No hay clasificación guardada de la ronda " + round + " del torneo " + tournamentId));
+
+        List<StandingRow> rows = new ArrayList<>(this.reconstruct(snapshot).values());
+        rows.sort(Comparator.comparingInt(StandingRow::points).reversed()
+                .thenComparing(Comparator.comparingInt(StandingRow::wins).reversed())
+                .thenComparingLong(StandingRow::userId));
+
+        // Los nombres se leen con una consulta; un jugador eliminado después ya no aparece
+        Map<Long, String> usernames = new HashMap<>(rows.size() * 2);
+        if (!rows.isEmpty())
+            for (UsernameView user : userRepository.findUsernames(rows.stream().map(StandingRow::userId).toList()))
+                usernames.put(user.getId(), user.getUsername());
+
+        List<RankingDetailsDTO> players = new ArrayList<>(rows.size());
+        for (StandingRow row : rows) {
+            String username = usernames.get(row.userId());
+            if (username != null)
+                players.add(new RankingDetailsDTO(username, row.wins(), row.losses(), row.draws(), row.points()));
+        }
+        return RoundStandingsDTO.builder().tournament(tournamentId).round(round).players(players).build();
+    }
+
+    /**
+     * Rondas de un torneo con clasificación guardada.
+     *
+     * @param tournamentId ID del torneo.
+     * @return los números de ronda en orden.
+     */
+    public List<Integer> rounds(Long tournamentId) {
+        return snapshotRepository.findRounds(tournamentId);
+    }
+
+    /**
+     * Borra las instantáneas de un torneo que se va a eliminar.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    @Transactional
+    public void removeTournament(Long tournamentId) {
+        snapshotRepository.deleteByTournamentId(tournamentId);
+    }
+
+    /**
+     * Clasificación de los jugadores inscritos en un torneo contando solo las partidas terminadas hasta una ronda,
+     * con el mismo reparto de victorias y puntos que la clasificación actual.
+     */
+    private List<StandingRow> standingsUpToRound(Long tournamentId, Integer round) {
+        StandingChanges changes = new StandingChanges();
+        for (MatchScoreView match : matchRepository.findScoresUpToRound(tournamentId, round))
+            changes.addResult(tournamentId, match.getPlayer1Id(), match.getPlayer2Id(), match.getResult(),
+                    match.getAwardedPoints() == null ? 0 : match.getAwardedPoints());
+        Map<Long, StandingDelta> byUser = new HashMap<>();
+        for (StandingDelta delta : changes.deltas())
+            byUser.put(delta.userId(), delta);
+
+        List<Long> userIds = standingRepository.findUserIds(tournamentId);
+        List<StandingRow> rows = new ArrayList<>(userIds.size());
+        for (long userId : userIds) {
+            StandingDelta delta = byUser.get(userId);
+            rows.add(delta == null ? new StandingRow(userId, 0, 0, 0, 0)
+                    : new StandingRow(userId, delta.wins(), delta.losses(), delta.draws(), delta.points()));
+        }
+        return rows;
+    }
+
+    /**
+     * Clasificación completa de una instantánea: se sigue la cadena de bases hasta la instantánea completa
+     * y se aplican las diferencias desde ella.
+     */
+    private Map<Long, StandingRow> reconstruct(StandingsSnapshot snapshot) {
+        List<StandingsSnapshot> chain = new ArrayList<>(snapshot.getDepth() + 1);
+        chain.add(snapshot);
+        while (chain.get(chain.size() - 1).getBaseRound() != null) {
+            StandingsSnapshot last = chain.get(chain.size() - 1);
+            chain.add(snapshotRepository.findById(new StandingsSnapshotId(last.getTournamentId(), last.getBaseRound()))
+                    .orElseThrow(() -> new IllegalStateException("Falta la instantánea base de la ronda " + last.getRound())));
+        }
+
+        Map<Long, StandingRow> state = new HashMap<>(snapshot.getPlayers() * 2);
+        for (int i = chain.size() - 1; i >= 0; i--)
+            SnapshotCodec.apply(state, chain.get(i).getData());
+        return state;
+    }
+}
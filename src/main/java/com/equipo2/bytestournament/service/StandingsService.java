@@ -0,0 +1,256 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.repository.ResultBatchRepository;
+import com.equipo2.bytestournament.repository.StandingTiebreakView;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingsChangedEvent;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+
+/**
+ * StandingsService mantiene la tabla tournament_standings, la clasificación de cada jugador dentro de cada torneo.
+ * Todas las operaciones se unen a la transacción en curso, de modo que la clasificación cambia en la misma transacción
+ * que el resultado o la inscripción que la provoca, y se deshace con ella.
+ *
+ * Los desempates de cada fila también se guardan en la tabla. Los resultados de una transacción se acumulan
+ * y, antes de confirmarla, se recalculan con {@link TiebreakService} solo los grupos de puntos que han podido cambiar:
+ * los de los jugadores con resultados nuevos, antes y después de sumarlos, y los de sus rivales, cuyo Buchholz
+ * y Sonneborn-Berger dependen de sus puntos. Solo se escriben las filas cuyos desempates han cambiado.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class StandingsService {
+
+    /**
+     * standingRepository Repositorio de las filas de clasificación.
+     * resultBatchRepository Repositorio JDBC para aplicar los cambios por lotes.
+     * eventPublisher Publica los cambios para las clasificaciones en memoria.
+     * leaderboardService Clasificaciones en memoria, que se reconstruyen cuando cambian los jugadores de un torneo.
+     * tiebreakService Calcula los desempates de los grupos de puntos que cambian.
+     * PENDING Clave con la que se guardan en la transacción los puntos sumados a cada jugador de cada torneo.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final TournamentStandingRepository standingRepository;
+    private final ResultBatchRepository resultBatchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final LeaderboardService leaderboardService;
+    private final TiebreakService tiebreakService;
+    private static final Object PENDING = new Object();
+    private final Logger logger = LoggerFactory.getLogger(StandingsService.class);
+
+    public StandingsService(TournamentStandingRepository standingRepository, ResultBatchRepository resultBatchRepository, ApplicationEventPublisher eventPublisher, LeaderboardService leaderboardService, TiebreakService tiebreakService) {
+        this.standingRepository = standingRepository;
+        this.resultBatchRepository = resultBatchRepository;
+        this.eventPublisher = eventPublisher;
+        this.leaderboardService = leaderboardService;
+        this.tiebreakService = tiebreakService;
+    }
+
+    /**
+     * Crea al arrancar las filas que faltan de todos los torneos a partir de sus partidas terminadas, para las bases de datos
+     * que ya tenían torneos antes de existir la tabla. Se ejecuta antes de que {@link LeaderboardService#rebuild()}
+     * construya las clasificaciones en memoria; en las siguientes veces no encuentra filas que crear.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @Transactional
+    public void backfill() {
+        int created = standingRepository.insertMissing(null);
+        if (created == 0)
+            return;
+        standingRepository.findAllTournamentIds().forEach(this::updateTiebreaks);
+        logger.info("Clasificaciones de torneos existentes completadas: {} filas creadas", created);
+    }
+
+    /**
+     * Ajusta las filas de un torneo a sus jugadores inscritos: crea las de los nuevos, con los resultados que ya tengan
+     * en el torneo, y borra las de los que ya no están.
+     * Las filas de los jugadores que siguen inscritos no cambian. Si alguna fila cambia se recalculan los desempates
+     * del torneo y se reconstruye la clasificación en memoria del torneo.
+     *
+     * @param tournamentId ID del torneo.
+     * @return true si se ha creado o borrado alguna fila.
+     */
+    @Transactional
+    public boolean syncPlayers(Long tournamentId) {
+        int changed = standingRepository.insertMissing(tournamentId) + standingRepository.deleteRemoved(tournamentId);
+        if (changed == 0)
+            return false;
+        this.updateTiebreaks(tournamentId);
+        leaderboardService.refresh(tournamentId);
+        return true;
+    }
+
+    /**
+     * Aplica los cambios de clasificación de uno o varios resultados con un lote de UPDATE y los publica
+     * con {@link StandingsChangedEvent}. Los desempates de los grupos de puntos afectados se recalculan
+     * una sola vez antes de confirmar la transacción, con todos los resultados que haya recibido.
+     *
+     * @param changes Cambios acumulados.
+     */
+    @Transactional
+    public void apply(StandingChanges changes) {
+        if (changes.isEmpty())
+            return;
+        resultBatchRepository.applyStandings(changes.deltas());
+        this.schedule(changes.deltas());
+        eventPublisher.publishEvent(new StandingsChangedEvent(List.copyOf(changes.deltas())));
+    }
+
+    /**
+     * Acumula los puntos sumados en la transacción en curso a cada jugador de cada torneo, para recalcular
+     * sus desempates antes de confirmarla. Sin transacción activa se recalculan en el momento.
+     */
+    private void schedule(Collection<StandingDelta> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            collect(new HashMap<>(), deltas).forEach(this::updateTiebreaks);
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Map<Long, Integer>> pending = (Map<Long, Map<Long, Integer>>) TransactionSynchronizationManager.getResource(PENDING);
+        if (pending == null) {
+            Map<Long, Map<Long, Integer>> created = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(PENDING, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    created.forEach(StandingsService.this::updateTiebreaks);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(PENDING);
+                }
+            });
+            pending = created;
+        }
+        collect(pending, deltas);
+    }
+
+    private static Map<Long, Map<Long, Integer>> collect(Map<Long, Map<Long, Integer>> pending, Collection<StandingDelta> deltas) {
+        for (StandingDelta delta : deltas)
+            pending.computeIfAbsent(delta.tournamentId(), id -> new HashMap<>()).merge(delta.userId(), delta.points(), Integer::sum);
+        return pending;
+    }
+
+    /**
+     * Recalcula los desempates de los grupos de puntos de un torneo que cambian al sumar puntos a algunos jugadores:
+     * sus grupos antes y después de sumarlos y los grupos de sus rivales.
+     *
+     * @param tournamentId ID del torneo.
+     * @param deltas Puntos sumados a cada jugador, ya aplicados en la tabla.
+     */
+    private void updateTiebreaks(Long tournamentId, Map<Long, Integer> deltas) {
+        Set<Long> involved = new HashSet<>(deltas.keySet());
+        for (MatchResultView match : tiebreakService.matchesOf(tournamentId, deltas.keySet())) {
+            if (match.getPlayer1Id() != null)
+                involved.add(match.getPlayer1Id());
+            if (match.getPlayer2Id() != null)
+                involved.add(match.getPlayer2Id());
+        }
+
+        Set<Integer> points = new HashSet<>();
+        for (StandingTiebreakView row : this.rowsOf(tournamentId, involved)) {
+            points.add(row.getPoints());
+            Integer delta = deltas.get(row.getUserId());
+            if (delta != null && delta != 0)
+                points.add(row.getPoints() - delta);
+        }
+        if (!points.isEmpty())
+            this.store(tournamentId, standingRepository.findTiebreakViewsByPoints(tournamentId, points));
+    }
+
+    /**
+     * Recalcula los desempates de todos los jugadores de un torneo.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    private void updateTiebreaks(Long tournamentId) {
+        this.store(tournamentId, standingRepository.findTiebreakViews(tournamentId));
+    }
+
+    /**
+     * Calcula los desempates de unas filas que forman grupos de puntos completos y guarda los que han cambiado.
+     */
+    private void store(Long tournamentId, List<StandingTiebreakView> rows) {
+        Map<Long, Integer> players = new HashMap<>(rows.size() * 2);
+        Map<Long, StandingTiebreakView> stored = new HashMap<>(rows.size() * 2);
+        for (StandingTiebreakView row : rows) {
+            players.put(row.getUserId(), row.getPoints());
+            stored.put(row.getUserId(), row);
+        }
+
+        List<TiebreakStanding> changed = new ArrayList<>();
+        for (TiebreakStanding standing : tiebreakService.computeGroups(tournamentId, players, rivals -> {
+            Map<Long, Integer> rivalPoints = new HashMap<>(rivals.size() * 2);
+            for (StandingTiebreakView rival : this.rowsOf(tournamentId, rivals))
+                rivalPoints.put(rival.getUserId(), rival.getPoints());
+            return rivalPoints;
+        })) {
+            StandingTiebreakView row = stored.get(standing.userId());
+            if (row.getBuchholz() != standing.buchholz() || row.getMedianBuchholz() != standing.medianBuchholz()
+                    || row.getSonnebornBerger() != standing.sonnebornBerger() || row.getDirectEncounter() != standing.directEncounter())
+                changed.add(standing);
+        }
+        if (!changed.isEmpty())
+            resultBatchRepository.updateTiebreaks(tournamentId, changed);
+        logger.debug("Desempates del torneo {} recalculados: {} jugadores, {} cambiados", tournamentId, rows.size(), changed.size());
+    }
+
+    /**
+     * Filas de algunos jugadores de un torneo, leídas en lotes de {@link TiebreakService#PLAYERS_PER_QUERY} jugadores.
+     */
+    private List<StandingTiebreakView> rowsOf(Long tournamentId, Collection<Long> userIds) {
+        List<Long> ids = List.copyOf(userIds);
+        List<StandingTiebreakView> rows = new ArrayList<>(ids.size());
+        for (int start = 0; start < ids.size(); start += TiebreakService.PLAYERS_PER_QUERY)
+            rows.addAll(standingRepository.findTiebreakViewsOf(tournamentId, ids.subList(start, Math.min(start + TiebreakService.PLAYERS_PER_QUERY, ids.size()))));
+        return rows;
+    }
+
+    /**
+     * Borra la clasificación de un torneo que se va a eliminar.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    @Transactional
+    public void removeTournament(Long tournamentId) {
+        standingRepository.deleteByTournamentId(tournamentId);
+    }
+
+    /**
+     * Borra las filas de un usuario que se va a eliminar y recalcula los desempates de sus torneos,
+     * en los que sus rivales dejan de sumar sus puntos.
+     *
+     * @param userId ID del usuario.
+     */
+    @Transactional
+    public void removeUser(Long userId) {
+        List<Long> tournamentIds = standingRepository.findTournamentIds(userId);
+        standingRepository.deleteByUserId(userId);
+        tournamentIds.forEach(this::updateTiebreaks);
+    }
+}
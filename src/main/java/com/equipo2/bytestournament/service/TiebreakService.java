@@ -0,0 +1,297 @@
+package com.equipo2.bytestournament.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakEngine;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+
+/**
+ * TiebreakService calcula la clasificación con desempates de cada torneo con {@link TiebreakEngine}
+ * y la guarda en memoria hasta que cambia un resultado del torneo.
+ *
+ * Una clasificación guardada solo se reutiliza si se calculó con la misma clasificación en memoria, que se sustituye
+ * al inscribir o quitar jugadores, y con su misma versión, que sube con cada resultado que se aplica.
+ * Así, mientras una ronda no recibe resultados, todas las consultas reutilizan el mismo cálculo.
+ *
+ * Este es el único orden de la clasificación de un torneo: la clasificación completa, sus páginas, la posición
+ * de un jugador y los cambios que se envían a los suscriptores siguen todos el mismo orden.
+ *
+ * Como los puntos son el primer criterio, los desempates solo reordenan a los jugadores con los mismos puntos.
+ * Las páginas y la posición de un jugador no calculan la clasificación completa: leen de la clasificación en memoria,
+ * en O(log n), los grupos de puntos que tocan, y solo esos grupos se ordenan con desempates, leyendo únicamente
+ * los resultados de sus jugadores. Cada grupo ordenado también se guarda hasta que cambia la clasificación.
+ *
+ * {@link Service} es una anotación de Spring que indica que esta clase es un servicio de spring.
+ */
+@Service
+public class TiebreakService {
+
+    /**
+     * Tramo de la clasificación con desempates, junto al número total de jugadores en ese momento.
+     *
+     * @param total número de jugadores de la clasificación.
+     * @param offset posición del primer jugador del tramo, empezando en 0.
+     * @param standings jugadores del tramo, ordenados con sus desempates.
+     */
+    public record Window(int total, int offset, List<TiebreakStanding> standings) {
+    }
+
+    /**
+     * Clasificación calculada junto a la clasificación en memoria y la versión de esta con las que se calculó.
+     */
+    private record Cached(long version, Leaderboard board, List<TiebreakStanding> standings) {
+    }
+
+    /**
+     * Grupos de puntos ordenados con desempates, por sus puntos, junto a la clasificación en memoria y la versión
+     * de esta con las que se calcularon.
+     */
+    private record Groups(long version, Leaderboard board, Map<Integer, List<TiebreakStanding>> byPoints) {
+    }
+
+    /**
+     * Número máximo de jugadores por consulta al leer los resultados de un grupo de puntos.
+     */
+    static final int PLAYERS_PER_QUERY = 1000;
+
+    /**
+     * matchRepository Repositorio para leer los resultados del torneo.
+     * cache Última clasificación con desempates de cada torneo.
+     * groups Grupos de puntos ordenados de la última versión de la clasificación de cada torneo.
+     * Logger para registrar mensajes de error y depuración.
+     */
+    private final MatchRepository matchRepository;
+    private final Map<Long, Cached> cache = new ConcurrentHashMap<>();
+    private final Map<Long, Groups> groups = new ConcurrentHashMap<>();
+    private final Logger logger = LoggerFactory.getLogger(TiebreakService.class);
+
+    public TiebreakService(MatchRepository matchRepository) {
+        this.matchRepository = matchRepository;
+    }
+
+    /**
+     * Clasificación con desempates de un torneo, calculada de nuevo solo si ha cambiado desde la última vez.
+     *
+     * @param tournamentId ID del torneo.
+     * @param board Clasificación en memoria del torneo, con los puntos de cada jugador.
+     * @return los jugadores ordenados con sus desempates.
+     */
+    public List<TiebreakStanding> standings(Long tournamentId, Leaderboard board) {
+        // La versión se lee antes de calcular: si cambia mientras tanto, el cálculo se guarda ya caducado
+        long version = board.version();
+        Cached cached = cache.get(tournamentId);
+        if (cached != null && cached.version() == version && cached.board() == board)
+            return cached.standings();
+
+        List<Leaderboard.Entry> players = board.top(Integer.MAX_VALUE);
+        long[] userIds = new long[players.size()];
+        int[] points = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            userIds[i] = players.get(i).userId();
+            points[i] = players.get(i).points();
+        }
+
+        List<MatchResultView> matches = matchRepository.findFinishedResultViews(tournamentId);
+        long[] first = new long[matches.size()];
+        long[] second = new long[matches.size()];
+        byte[] firstScore = new byte[matches.size()];
+        for (int k = 0; k < matches.size(); k++) {
+            MatchResultView match = matches.get(k);
+            first[k] = match.getPlayer1Id();
+            second[k] = match.getPlayer2Id();
+            firstScore[k] = (byte) (match.getResult() == Result.PLAYER1_WIN ? 2 : match.getResult() == Result.DRAW ? 1 : 0);
+        }
+
+        List<TiebreakStanding> standings = List.copyOf(TiebreakEngine.compute(userIds, points, userIds.length, first, second, firstScore, matches.size()));
+        cached = new Cached(version, board, standings);
+        cache.put(tournamentId, cached);
+        logger.debug("Desempates del torneo {} calculados: {} jugadores, {} resultados", tournamentId, userIds.length, matches.size());
+        return standings;
+    }
+
+    /**
+     * Tramo de la clasificación con desempates de un torneo, sin calcular la clasificación completa.
+     * Solo se ordenan los grupos de puntos que tienen algún jugador en el tramo.
+     *
+     * @param tournamentId ID del torneo.
+     * @param board Clasificación en memoria del torneo, con los puntos de cada jugador.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores.
+     * @return el tramo ordenado con los desempates de cada jugador.
+     */
+    public Window window(Long tournamentId, Leaderboard board, int offset, int limit) {
+        long version = board.version();
+        Leaderboard.Window read = board.groups(offset, limit);
+        List<TiebreakStanding> ordered = this.order(tournamentId, board, version, read.entries());
+        int from = Math.min(Math.max(0, offset) - read.offset(), ordered.size());
+        return new Window(read.total(), Math.max(0, offset), ordered.subList(from, (int) Math.min((long) from + limit, ordered.size())));
+    }
+
+    /**
+     * Posición de un jugador en la clasificación con desempates de un torneo, sin calcular la clasificación completa.
+     * Solo se ordena el grupo de jugadores con sus mismos puntos.
+     *
+     * @param tournamentId ID del torneo.
+     * @param board Clasificación en memoria del torneo, con los puntos de cada jugador.
+     * @param userId ID del usuario.
+     * @return la posición empezando en 1, o -1 si el jugador no está en la clasificación.
+     */
+    public int positionOf(Long tournamentId, Leaderboard board, Long userId) {
+        long version = board.version();
+        Leaderboard.Window group = board.groupOf(userId);
+        if (group == null)
+            return -1;
+        List<TiebreakStanding> ordered = this.order(tournamentId, board, version, group.entries());
+        for (int i = 0; i < ordered.size(); i++)
+            if (ordered.get(i).userId() == userId)
+                return group.offset() + i + 1;
+        return -1;
+    }
+
+    /**
+     * Ordena con desempates jugadores consecutivos de la clasificación en memoria que forman grupos de puntos completos.
+     * Cada grupo se reutiliza si ya se ordenó con la misma versión de la clasificación.
+     */
+    private List<TiebreakStanding> order(Long tournamentId, Leaderboard board, long version, List<Leaderboard.Entry> entries) {
+        Groups current = groups.get(tournamentId);
+        if (current == null || current.version() != version || current.board() != board) {
+            current = new Groups(version, board, new ConcurrentHashMap<>());
+            groups.put(tournamentId, current);
+        }
+
+        List<TiebreakStanding> ordered = new ArrayList<>(entries.size());
+        for (int start = 0; start < entries.size();) {
+            int end = start + 1;
+            while (end < entries.size() && entries.get(end).points() == entries.get(start).points())
+                end++;
+            // El grupo se ordena fuera del mapa para no bloquearlo mientras se leen los resultados
+            List<Leaderboard.Entry> group = entries.subList(start, end);
+            List<TiebreakStanding> sorted = current.byPoints().get(group.get(0).points());
+            if (sorted == null) {
+                sorted = this.orderGroup(tournamentId, board, group);
+                current.byPoints().putIfAbsent(group.get(0).points(), sorted);
+            }
+            ordered.addAll(sorted);
+            start = end;
+        }
+        return ordered;
+    }
+
+    /**
+     * Ordena con desempates un grupo de jugadores con los mismos puntos.
+     * Sus rivales entran en el cálculo con sus puntos de la clasificación en memoria.
+     */
+    private List<TiebreakStanding> orderGroup(Long tournamentId, Leaderboard board, List<Leaderboard.Entry> group) {
+        Map<Long, Integer> points = new LinkedHashMap<>(group.size() * 2);
+        for (Leaderboard.Entry entry : group)
+            points.put(entry.userId(), entry.points());
+
+        List<TiebreakStanding> ordered = this.computeGroups(tournamentId, points, rivals -> {
+            Map<Long, Integer> rivalPoints = new HashMap<>(rivals.size() * 2);
+            for (Long rival : rivals) {
+                Leaderboard.Entry entry = board.get(rival);
+                if (entry != null)
+                    rivalPoints.put(rival, entry.points());
+            }
+            return rivalPoints;
+        });
+        logger.debug("Desempates del torneo {} calculados para {} jugadores con {} puntos", tournamentId, group.size(), group.get(0).points());
+        return ordered;
+    }
+
+    /**
+     * Calcula los desempates de uno o varios grupos de puntos completos de un torneo.
+     * Solo se leen los resultados de los jugadores de los grupos; sus rivales entran en el cálculo con sus puntos
+     * para sumar el Buchholz y el Sonneborn-Berger, pero no se devuelven.
+     * Los rivales de otros grupos nunca empatan con un grupo, así que el orden de cada grupo es el mismo
+     * que en la clasificación completa.
+     *
+     * @param tournamentId ID del torneo.
+     * @param players Puntos de cada jugador de los grupos.
+     * @param rivalPoints Puntos de los rivales que no están en los grupos; un rival sin puntos ya no está en el torneo.
+     * @return los jugadores de los grupos ordenados con sus desempates.
+     */
+    List<TiebreakStanding> computeGroups(Long tournamentId, Map<Long, Integer> players, Function<Collection<Long>, Map<Long, Integer>> rivalPoints) {
+        Map<Long, Integer> points = new LinkedHashMap<>(players);
+        List<MatchResultView> matches = this.matchesOf(tournamentId, players.keySet());
+
+        Set<Long> rivals = new HashSet<>();
+        for (MatchResultView match : matches)
+            for (Long rival : new Long[] { match.getPlayer1Id(), match.getPlayer2Id() })
+                if (rival != null && !players.containsKey(rival))
+                    rivals.add(rival);
+        if (!rivals.isEmpty())
+            points.putAll(rivalPoints.apply(rivals));
+
+        long[] first = new long[matches.size()];
+        long[] second = new long[matches.size()];
+        byte[] firstScore = new byte[matches.size()];
+        int games = 0;
+        for (MatchResultView match : matches) {
+            // Una partida de un jugador eliminado no tiene a ese jugador
+            if (match.getPlayer1Id() == null || match.getPlayer2Id() == null)
+                continue;
+            first[games] = match.getPlayer1Id();
+            second[games] = match.getPlayer2Id();
+            firstScore[games++] = (byte) (match.getResult() == Result.PLAYER1_WIN ? 2 : match.getResult() == Result.DRAW ? 1 : 0);
+        }
+
+        long[] userIds = new long[points.size()];
+        int[] score = new int[points.size()];
+        int i = 0;
+        for (Map.Entry<Long, Integer> player : points.entrySet()) {
+            userIds[i] = player.getKey();
+            score[i++] = player.getValue();
+        }
+
+        List<TiebreakStanding> ordered = new ArrayList<>(players.size());
+        for (TiebreakStanding standing : TiebreakEngine.compute(userIds, score, userIds.length, first, second, firstScore, games))
+            if (players.containsKey(standing.userId()))
+                ordered.add(standing);
+        return List.copyOf(ordered);
+    }
+
+    /**
+     * Resultados terminados de un torneo en los que juega alguno de los jugadores dados,
+     * leídos en lotes de {@link #PLAYERS_PER_QUERY} jugadores.
+     *
+     * @param tournamentId ID del torneo.
+     * @param userIds IDs de los jugadores.
+     * @return cada partida una sola vez.
+     */
+    List<MatchResultView> matchesOf(Long tournamentId, Collection<Long> userIds) {
+        // Una partida entre dos jugadores de lotes distintos se lee dos veces, así que se guardan por id
+        List<Long> ids = List.copyOf(userIds);
+        Map<Long, MatchResultView> matches = new LinkedHashMap<>();
+        for (int start = 0; start < ids.size(); start += PLAYERS_PER_QUERY)
+            for (MatchResultView match : matchRepository.findFinishedResultViewsOfPlayers(tournamentId,
+                    ids.subList(start, Math.min(start + PLAYERS_PER_QUERY, ids.size()))))
+                matches.putIfAbsent(match.getId(), match);
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * Descarta los desempates de un torneo eliminado.
+     *
+     * @param tournamentId ID del torneo.
+     */
+    public void evict(Long tournamentId) {
+        cache.remove(tournamentId);
+        groups.remove(tournamentId);
+    }
+}
@@ -1,26 +1,40 @@
 package com.equipo2.bytestournament.service;
 
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.RankingDTO;
 import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.RankingPageDTO;
+import com.equipo2.bytestournament.DTO.RankingPositionDTO;
+import com.equipo2.bytestournament.DTO.RoundStandingsDTO;
+import com.equipo2.bytestournament.DTO.TiebreakStandingDTO;
 import com.equipo2.bytestournament.DTO.TournamentDTO;
+import com.equipo2.bytestournament.DTO.TournamentSummaryDTO;
 import com.equipo2.bytestournament.enums.ApiResponse;
 import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.TournamentMapper;
-import com.equipo2.bytestournament.model.Match;
 import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.StandingView;
 import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.TournamentSummaryView;
 import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import com.equipo2.bytestournament.enums.Result;
 import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import org.springframework.transaction.annotation.Transactional;
 
 
 /**
@@ -38,28 +52,59 @@ public class TournamentService {
      * tournamentRepository Repositorio para acceder a los torneos.
      * tournamentMapper Mapeador para convertir entre Tournament y TournamentDTO.
      * userRepository Repositorio para acceder a los usuarios.
+     * bracketService Servicio que genera el cuadro de los torneos de eliminatoria al empezar.
+     * leaderboardService Servicio que mantiene en memoria la clasificación de cada torneo.
+     * standingsService Servicio que mantiene la tabla de clasificación de cada torneo.
+     * standingRepository Repositorio para leer la tabla de clasificación de cada torneo.
+     * tiebreakService Servicio que ordena la clasificación completa con desempates.
+     * rankingRenderService Servicio que guarda las tablas de texto de la clasificación de cada torneo.
+     * standingsHistoryService Servicio con la clasificación de cada torneo al terminar cada ronda.
      * Logger para registrar mensajes de error y depuración.
      */
     private final TournamentRepository tournamentRepository;
     private final TournamentMapper tournamentMapper;
     private final UserRepository userRepository;
+    private final BracketService bracketService;
+    private final LeaderboardService leaderboardService;
+    private final StandingsService standingsService;
+    private final TournamentStandingRepository standingRepository;
+    private final TiebreakService tiebreakService;
+    private final RankingRenderService rankingRenderService;
+    private final StandingsHistoryService standingsHistoryService;
     private final Logger logger = LoggerFactory.getLogger(UserService.class);
 
-    public TournamentService(TournamentRepository tournamentRepository, TournamentMapper tournamentMapper, UserRepository userRepository) {
+    /**
+     * MAX_RANKING_PAGE Número máximo de jugadores que se devuelven en un tramo de la clasificación.
+     * MAX_NEIGHBOURS Número máximo de jugadores por delante y por detrás al consultar la posición de un jugador.
+     */
+    public static final int MAX_RANKING_PAGE = 500;
+    public static final int MAX_NEIGHBOURS = 50;
+
+    public TournamentService(TournamentRepository tournamentRepository, TournamentMapper tournamentMapper, UserRepository userRepository, BracketService bracketService, LeaderboardService leaderboardService, StandingsService standingsService, TournamentStandingRepository standingRepository, TiebreakService tiebreakService, RankingRenderService rankingRenderService, StandingsHistoryService standingsHistoryService) {
         this.tournamentRepository = tournamentRepository;
         this.tournamentMapper = tournamentMapper;
         this.userRepository = userRepository;
+        this.bracketService = bracketService;
+        this.leaderboardService = leaderboardService;
+        this.standingsService = standingsService;
+        this.standingRepository = standingRepository;
+        this.tiebreakService = tiebreakService;
+        this.rankingRenderService = rankingRenderService;
+        this.standingsHistoryService = standingsHistoryService;
     }
 
     /**
      * Busca un torneo por su ID y devuelve un TournamentDTO.
      * Este método debería implementar la lógica para buscar un torneo en la base de datos
+     * El torneo se lee con sus jugadores y las partidas con una segunda consulta, dos consultas en total
+     * sea cual sea el número de jugadores y partidas.
      * 
      * @param tournamentId ID del torneo a buscar.
      * @return TournamentDTO con la información del torneo encontrado.
      */
+    @Transactional(readOnly = true)
     public TournamentDTO findTournamentById(Long tournamentId){
-        Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentId);
+        Optional<Tournament> tournamentOptional = tournamentRepository.findDetailById(tournamentId);
 
         if(!tournamentOptional.isPresent())
             throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un tournament con esa ID");
@@ -72,19 +117,24 @@ public class TournamentService {
      * Crea un nuevo torneo a partir de un TournamentDTO.
      * Este método debería implementar la lógica para crear un torneo a partir de la entidad proporcionada.
      * 
+     * Los jugadores se asignan como referencias sin cargarlos, así que el torneo se crea en una transacción
+     * para que las referencias sigan siendo de la misma sesión al guardarlo.
+     * 
      * @param tournamentDTO TournamentDTO que contiene la información del torneo a crear.
      * @return
      */
+    @Transactional
     public TournamentDTO createTournament(TournamentDTO tournamentDTO) {
         // Aquí se debería implementar la lógica para crear un torneo a partir de la entidad proporcionada
         // Por ahora, simplemente retornamos un TournamentDTO vacío como ejemplo
-        Tournament tournament = tournamentMapper.tournamentDtoToTournament(tournamentDTO);
+        Tournament tournament = tournamentMapper.tournamentDtoToTournamentReferences(tournamentDTO);
 
         // Validamos que el torneo cumple con las reglas
        this.validateTournament(tournament);
 
         // Aquí se deberían establecer los valores del torneo según la entidad recibida
         tournamentRepository.save(tournament);
+        standingsService.syncPlayers(tournament.getId());
         return tournamentMapper.tournamentToTournamentDTO(tournament);
     }
 
@@ -131,6 +181,7 @@ public class TournamentService {
         // Guardamos en la base de datos todos los cambios
         Tournament torurnamentSaved = tournamentRepository.save(tournament);
         userRepository.save(user);
+        standingsService.syncPlayers(tournamentId);
 
         logger.info("Usuario {} se ha unido al torneo {}", user.getEmail(), tournament.getName());
 
@@ -139,7 +190,8 @@ public class TournamentService {
 
     /**
      * Obtiene la clasificación de un torneo dado su ID.
-     * Este método busca el torneo por su ID y ordena a los jugadores por sus puntos en orden descendente.
+     * Los jugadores se ordenan por sus puntos en orden descendente y, a igualdad de puntos, con los desempates
+     * de {@link TiebreakService}, que solo se vuelven a calcular cuando cambia algún resultado del torneo.
      * Luego, crea un RankingDTO con la información de los jugadores ordenados.
      * Si el torneo no existe, lanza una excepción.
      * 
@@ -147,103 +199,294 @@ public class TournamentService {
      * @return RankingDTO con la clasificación de los jugadores del torneo.
      */
     public RankingDTO getClassification(Long tournamentId) {
-        // Obtenemos el torneo por su ID de la DB
-        Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentId);
-
-        if(tournamentOptional.isEmpty())
-            throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
-        
-        Tournament tournament = tournamentOptional.get();
+        Leaderboard board = this.board(tournamentId);
 
-        // Ordenamos los jugadores del torneo por sus puntos en orden descendente
-        List<User> sortedPlayers = tournament.getPlayers()
-        .stream()
-        .sorted(Comparator.comparingInt(User::getPoints).reversed())
-        .toList();
-
-        // Creamos el RankingDTO con la información de los jugadores ordenados
+        // Creamos el RankingDTO con la información de los jugadores en el orden de los desempates
         RankingDTO classification = new RankingDTO();
-        for (User player : sortedPlayers) {
-            RankingDTO.InnerClassificationDTO classificationPlayer = new RankingDTO.InnerClassificationDTO(player.getUsername(), player.getRank(), player.getPoints());
-            classification.getPlayers().add(classificationPlayer);
+        for (TiebreakStanding standing : tiebreakService.standings(tournamentId, board)) {
+            Leaderboard.Entry player = board.get(standing.userId());
+            if (player == null)
+                continue;
+            classification.getPlayers().add(new RankingDTO.InnerClassificationDTO(player.username(), player.rank(), standing.points()));
         }
 
         return classification;
     }
 
+    /**
+     * Obtiene la clasificación de un torneo como tabla de texto codificada en UTF-8.
+     * La tabla se guarda en memoria y solo se vuelve a generar cuando cambia la clasificación del torneo.
+     * Si el torneo no existe, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return la tabla de {@link RankingDTO#toString()} en UTF-8.
+     */
+    public byte[] getClassificationPretty(Long tournamentId) {
+        Leaderboard board = this.board(tournamentId);
+        return rankingRenderService.render(tournamentId, RankingRenderService.View.CLASSIFICATION, board,
+                () -> this.getClassification(tournamentId));
+    }
+
+    /**
+     * Obtiene la clasificación de un torneo con los desempates de cada jugador:
+     * Buchholz, Buchholz mediano, Sonneborn-Berger y encuentro directo.
+     * Si el torneo no existe, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return Lista de TiebreakStandingDTO ordenada, con la posición de cada jugador.
+     */
+    public List<TiebreakStandingDTO> getTiebreaks(Long tournamentId) {
+        Leaderboard board = this.board(tournamentId);
+        List<TiebreakStanding> standings = tiebreakService.standings(tournamentId, board);
+
+        List<TiebreakStandingDTO> tiebreaks = new ArrayList<>(standings.size());
+        for (TiebreakStanding standing : standings) {
+            Leaderboard.Entry player = board.get(standing.userId());
+            if (player == null)
+                continue;
+            tiebreaks.add(TiebreakStandingDTO.builder()
+                    .position(tiebreaks.size() + 1)
+                    .playerName(player.username())
+                    .rank(player.rank())
+                    .points(standing.points())
+                    .buchholz(standing.buchholz())
+                    .medianBuchholz(standing.medianBuchholz())
+                    .sonnebornBerger(standing.sonnebornBerger())
+                    .directEncounter(standing.directEncounter())
+                    .build());
+        }
+        return tiebreaks;
+    }
+
+    /**
+     * Obtiene una página de la clasificación de un torneo, en el mismo orden con desempates que {@link #getClassification(Long)}.
+     * La página se lee de la clasificación en memoria en O(log n) y {@link TiebreakService} solo ordena con desempates
+     * los grupos de puntos de la página, así que no se calcula la clasificación completa.
+     * Si el torneo no existe o los parámetros de la página no son válidos, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores, como mucho {@link #MAX_RANKING_PAGE}.
+     * @return RankingPageDTO con los jugadores de la página y el total de jugadores.
+     */
+    public RankingPageDTO getClassificationPage(Long tournamentId, int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_RANKING_PAGE)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "offset debe ser mayor o igual que 0 y limit estar entre 1 y " + MAX_RANKING_PAGE);
+
+        Leaderboard board = this.board(tournamentId);
+        return this.toRankingPage(tournamentId, board, tiebreakService.window(tournamentId, board, offset, limit), null);
+    }
+
+    /**
+     * Obtiene los primeros jugadores de la clasificación de un torneo.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param limit Número de jugadores, como mucho {@link #MAX_RANKING_PAGE}.
+     * @return RankingPageDTO con los primeros jugadores y el total de jugadores.
+     */
+    public RankingPageDTO getTopClassification(Long tournamentId, int limit) {
+        return this.getClassificationPage(tournamentId, 0, limit);
+    }
+
+    /**
+     * Obtiene la posición de un jugador en la clasificación de un torneo junto a los jugadores que tiene
+     * justo por delante y por detrás.
+     * El jugador se localiza por nombre y su posición se lee de la clasificación en memoria en O(log n);
+     * {@link TiebreakService} solo ordena con desempates su grupo de puntos y los de sus vecinos, sin recorrer la clasificación.
+     * Si el torneo no existe o el jugador no está inscrito en él, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param username Nombre del jugador.
+     * @param neighbours Número de jugadores por delante y por detrás, como mucho {@link #MAX_NEIGHBOURS}.
+     * @return RankingPageDTO con la posición del jugador y los jugadores de alrededor.
+     */
+    public RankingPageDTO getPlayerPosition(Long tournamentId, String username, int neighbours) {
+        if (neighbours < 0 || neighbours > MAX_NEIGHBOURS)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Parámetro no válido",
+                    "neighbours debe estar entre 0 y " + MAX_NEIGHBOURS);
+
+        Leaderboard board = this.board(tournamentId);
+        Long userId = board.idOf(username);
+        int position = userId == null ? -1 : tiebreakService.positionOf(tournamentId, board, userId);
+
+        if (position < 0)
+            throw new RequestException(ApiResponse.NOT_FOUND, "Jugador no encontrado", "El jugador no está inscrito en el torneo");
+
+        // Los grupos ordenados de la posición se reutilizan al leer los jugadores de alrededor
+        int offset = Math.max(0, position - 1 - neighbours);
+        return this.toRankingPage(tournamentId, board, tiebreakService.window(tournamentId, board, offset, position - offset + neighbours), position);
+    }
+
+    /**
+     * Clasificación en memoria de un torneo, o una excepción si el torneo no existe.
+     */
+    private Leaderboard board(Long tournamentId) {
+        return leaderboardService.board(tournamentId).orElseThrow(() ->
+                new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID"));
+    }
+
+    /**
+     * Tramo de la clasificación con desempates a partir de una posición, con el nombre y el rango de la clasificación en memoria.
+     */
+    private RankingPageDTO toRankingPage(Long tournamentId, Leaderboard board, TiebreakService.Window window, Integer position) {
+        List<RankingPositionDTO> players = new ArrayList<>(window.standings().size());
+        int current = window.offset();
+        for (TiebreakStanding standing : window.standings()) {
+            current++;
+            Leaderboard.Entry player = board.get(standing.userId());
+            if (player != null)
+                players.add(new RankingPositionDTO(current, player.username(), player.rank(), standing.points()));
+        }
+
+        return RankingPageDTO.builder()
+                .tournament(tournamentId)
+                .total(window.total())
+                .offset(window.offset())
+                .position(position)
+                .players(players)
+                .build();
+    }
+
     /**
      * Obtiene los detalles del ranking de un torneo dado su ID.
-     * Este método busca el torneo por su ID y obtiene la lista de jugadores.
-     * Luego, para cada jugador, calcula el total de victorias, derrotas, empates y puntos.
-     * Si el torneo o el usuario no existen, lanza una excepción.
+     * Las victorias, derrotas, empates y puntos de cada jugador en el torneo se leen de la tabla de clasificación
+     * con una sola consulta, sin recorrer los matches, ya en el orden de la clasificación: la tabla guarda
+     * los desempates de cada jugador y su índice sigue ese orden.
+     * Si el torneo no existe, lanza una excepción.
      * 
      * @param tournamentId ID del torneo para el cual se quieren obtener los detalles del ranking.
-     * @return Lista de RankingDetailsDTO con los detalles del ranking de los jugadores del torneo.
+     * @return Lista de RankingDetailsDTO con los detalles del ranking de los jugadores del torneo, en el orden de la clasificación.
      */
     public List<RankingDetailsDTO> getRankingDetails(Long tournamentId) {
-        // Obtenemos el torneo por su ID de la BD
-        Optional<Tournament> tournamentOptional = tournamentRepository.findById(tournamentId);
-        
-        if(tournamentOptional.isEmpty())
+        List<RankingDetailsDTO> listDetailsRanking = standingRepository.findRankingDetails(tournamentId);
+
+        // Solo si no hay filas hace falta distinguir un torneo sin jugadores de uno que no existe
+        if(listDetailsRanking.isEmpty() && !tournamentRepository.existsById(tournamentId))
             throw new RequestException(ApiResponse.NOT_FOUND, "Torneo no encontrado", "No se encontro un torneo con esa ID");
+        return listDetailsRanking;
+    }
+
+    /**
+     * Obtiene los detalles del ranking de un torneo como tablas de texto codificadas en UTF-8.
+     * Las tablas se guardan en memoria y solo se vuelven a generar cuando cambia la clasificación del torneo,
+     * que también cambia con cada victoria, derrota o empate.
+     * Si el torneo no existe, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return las tablas de {@link RankingDetailsDTO#toString()} de cada jugador en UTF-8.
+     */
+    public byte[] getRankingDetailsPretty(Long tournamentId) {
+        Leaderboard board = this.board(tournamentId);
+        return rankingRenderService.render(tournamentId, RankingRenderService.View.DETAILS, board,
+                () -> this.getRankingDetails(tournamentId));
+    }
 
-        // Obtenemos la lista de jugadores del torneo
-        List<User> userList = tournamentOptional.get().getPlayers();
-
-        // Creamos una lista para almacenar los detalles del ranking de cada jugador
-        List<RankingDetailsDTO> listDetailsRanking = new ArrayList<>();
-        for (User user : userList) {
-            // Recoreemos cada usuario del torneo y obtenemos sus detalles
-            logger.info("Detalle sde usuario: {}", user.getUsername());
-
-            Optional<User> userOptional = userRepository.findByUsername(user.getUsername());
-            if(userOptional.isEmpty())
-                throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se encontro un usuario con ese nombre");
-
-            User actualUser = userOptional.get();
-
-            // Obtenemos la lista de matches del usuario en esta iteración
-            List<Match> listMatches = actualUser.getMatches();
-
-            // Calculamos el total de victorias, derrotas, empates y puntos
-            Integer totalWins = 0, totalLosses = 0, totalDraws = 0, totalPoints = 0;
-            for (Match match : listMatches) {
-
-                // Asignamos derrotas y victorias según el resultado del match
-                Result result = match.getResult();
-                boolean isPlayer1 = user.getId().equals(match.getPlayer1().getId());
-                boolean isPlayer2 = user.getId().equals(match.getPlayer2().getId());
-                if(result == Result.PLAYER1_WIN){
-                    totalWins++;
-                    totalPoints+=5;
-                } else if ((isPlayer1 && result == Result.PLAYER1_WIN) || (isPlayer2 && result == Result.PLAYER2_WIN)) {
-                    totalWins++;
-                    totalPoints += 10;
-                } else if ((isPlayer1 && result == Result.PLAYER2_WIN) || (isPlayer2 && result == Result.PLAYER1_WIN)) {
-                    totalLosses++;
-                    if (totalPoints > 10) totalPoints -= 10;
-                }
-            }
-
-            // Creamos un RankingDetailsDTO con los detalles del ranking del usuario y lo añadimos a la lista
-            RankingDetailsDTO detailsRankingDTO = new RankingDetailsDTO(user.getUsername(), totalWins, totalLosses, totalDraws, totalPoints);
-            listDetailsRanking.add(detailsRankingDTO);
+    /**
+     * Obtiene la clasificación de un torneo tal y como estaba al terminar una ronda,
+     * a partir de la instantánea guardada al cerrarse la ronda, sin recorrer los matches.
+     * Si la ronda no ha terminado o el torneo no existe, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param round Número de la ronda.
+     * @return RoundStandingsDTO con la clasificación de esa ronda.
+     */
+    public RoundStandingsDTO getRoundStandings(Long tournamentId, Integer round) {
+        return standingsHistoryService.standingsAfterRound(tournamentId, round);
+    }
+
+    /**
+     * Obtiene las rondas terminadas de un torneo, de las que se puede consultar la clasificación.
+     * Si el torneo no existe, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @return los números de ronda en orden.
+     */
+    public List<Integer> getStandingsHistory(Long tournamentId) {
+        if (!tournamentRepository.existsById(tournamentId))
+            throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
+        return standingsHistoryService.rounds(tournamentId);
+    }
+
+    /**
+     * Obtiene los detalles del ranking de una página de la clasificación de un torneo.
+     * Los jugadores de la página salen de la clasificación en memoria, ordenando con desempates solo sus grupos de puntos,
+     * y sus filas se leen por clave, así que el coste depende del tamaño de la página y no del número de jugadores.
+     * Si el torneo no existe o los parámetros de la página no son válidos, lanza una excepción.
+     * 
+     * @param tournamentId ID del torneo.
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores, como mucho {@link #MAX_RANKING_PAGE}.
+     * @return Lista de RankingDetailsDTO de los jugadores de la página, en el orden de la clasificación.
+     */
+    public List<RankingDetailsDTO> getRankingDetailsPage(Long tournamentId, int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > MAX_RANKING_PAGE)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "offset debe ser mayor o igual que 0 y limit estar entre 1 y " + MAX_RANKING_PAGE);
+
+        Leaderboard board = this.board(tournamentId);
+        List<TiebreakStanding> page = tiebreakService.window(tournamentId, board, offset, limit).standings();
+        if (page.isEmpty())
+            return List.of();
+
+        Map<Long, StandingView> standings = new HashMap<>(page.size() * 2);
+        for (StandingView standing : standingRepository.findStandingViews(tournamentId, page.stream().map(TiebreakStanding::userId).toList()))
+            standings.put(standing.getUserId(), standing);
+
+        // Mantenemos el orden de la página; un jugador borrado entre las dos lecturas se omite
+        List<RankingDetailsDTO> listDetailsRanking = new ArrayList<>(page.size());
+        for (TiebreakStanding player : page) {
+            StandingView standing = standings.get(player.userId());
+            if (standing != null)
+                listDetailsRanking.add(new RankingDetailsDTO(standing.getUsername(), standing.getWins(), standing.getLosses(), standing.getDraws(), standing.getPoints()));
         }
-       
         return listDetailsRanking;
     }
 
+    /**
+     * Obtiene un tramo del listado de torneos, ordenado por ID, con el número de jugadores de cada uno.
+     * Los torneos se leen con una sola consulta que no carga los jugadores ni los partidos, y el tramo empieza
+     * después de un ID en lugar de en un desplazamiento, así que su coste no crece con el tamaño de la base de datos.
+     * Si el tramo no es válido, lanza una excepción.
+     *
+     * @param after ID del último torneo del tramo anterior, 0 para empezar desde el principio.
+     * @param limit Número máximo de torneos, como mucho {@link KeysetPageDTO#MAX_LIMIT}.
+     * @return KeysetPageDTO con los torneos del tramo y el ID con el que pedir el siguiente.
+     */
+    public KeysetPageDTO<TournamentSummaryDTO> getTournamentSummaries(long after, int limit) {
+        if (after < 0 || limit < 1 || limit > KeysetPageDTO.MAX_LIMIT)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "after debe ser mayor o igual que 0 y limit estar entre 1 y " + KeysetPageDTO.MAX_LIMIT);
+
+        // Se lee un torneo más de los pedidos para saber si hay un tramo siguiente
+        List<TournamentSummaryDTO> rows = new ArrayList<>();
+        for (TournamentSummaryView tournament : tournamentRepository.findSummaries(after, Limit.of(limit + 1)))
+            rows.add(TournamentSummaryDTO.builder()
+                    .id(tournament.getId())
+                    .name(tournament.getName())
+                    .status(tournament.getStatus())
+                    .format(tournament.getFormat())
+                    .rounds(tournament.getRounds())
+                    .maxRounds(tournament.getMaxRounds())
+                    .maxPlayers(tournament.getMaxPlayers())
+                    .players(tournament.getPlayers())
+                    .build());
+        return KeysetPageDTO.of(rows, limit, TournamentSummaryDTO::getId);
+    }
+
     /**
      * Actualiza un torneo existente.
      * Este método busca el torneo por su ID y actualiza sus campos con los valores del
      * TournamentDTO proporcionado.
      * Si el torneo no existe, lanza una excepción.
      * Si el usuario que realiza la solicitud no es un administrador, lanza una excepción.
+     * Si un torneo de eliminatoria pasa de PENDING a IN_PROGRESS, se genera su cuadro.
      * 
      * @param tournamentDTO TournamentDTO que contiene la información del torneo a actualizar.
      * @param authentication Authentication que contiene la información del usuario que realiza la solicitud.
      * @return TournamentDTO con la información del torneo actualizado.
      */
+    @Transactional
     public TournamentDTO updateTournament(TournamentDTO tournamentDTO, Authentication authentication) {
         Optional<User> userRequest = userRepository.findByUsername(authentication.getName());
         
@@ -257,6 +500,7 @@ public class TournamentService {
         
         Tournament tournament = tournamentOptional.get();
         this.validateTournament(tournament);
+        Status previousStatus = tournament.getStatus();
 
         // Actualizamos los campos del torneo con los valores del DTO
         tournament.setName(tournamentDTO.getName());
@@ -264,11 +508,14 @@ public class TournamentService {
         tournament.setStatus(tournamentDTO.getStatus());
         tournament.setRounds(tournamentDTO.getRounds());
         tournament.setMaxRounds(tournamentDTO.getMaxRounds());
+        tournament.setFormat(tournamentDTO.getFormat());
         tournament.setMatches(tournamentMapper.tournamentDtoToTournament(tournamentDTO).getMatches());
         tournament.setPlayers(tournamentMapper.tournamentDtoToTournament(tournamentDTO).getPlayers());
 
         // Guardamos el torneo actualizado en la base de datos
         Tournament updatedTournament = tournamentRepository.save(tournament);
+        standingsService.syncPlayers(updatedTournament.getId());
+        this.startBracketIfNeeded(previousStatus, updatedTournament);
 
         // Devolvemos el TournamentDTO actualizado
         return tournamentMapper.tournamentToTournamentDTO(updatedTournament);
@@ -294,10 +541,12 @@ public class TournamentService {
      * Actualiza un torneo existente.
      * Este método busca el torneo por su ID y actualiza sus campos con los valores del TournamentDTO proporcionado.
      * Si el torneo no existe, lanza una excepción.
+     * Si un torneo de eliminatoria pasa de PENDING a IN_PROGRESS, se genera su cuadro.
      * 
      * @param tournamentDTO TournamentDTO que contiene la información del torneo a actualizar.
      * @return TournamentDTO con la información del torneo actualizado.
      */
+    @Transactional
     public TournamentDTO updateTournament(Long id, TournamentDTO tournamentDTO) {
         // Buscamos el torneo por su ID
         Optional<Tournament> tournamentOptional = tournamentRepository.findById(id);
@@ -305,15 +554,31 @@ public class TournamentService {
         if(tournamentOptional.isEmpty())
             throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
 
+        Status previousStatus = tournamentOptional.get().getStatus();
         Tournament tournament = tournamentMapper.tournamentDtoToTournament(tournamentDTO);
         tournament.setId(id); // Aseguramos que el ID del torneo es el correcto
+        tournament.setRoundSeeds(tournamentOptional.get().getRoundSeeds()); // Las semillas de las rondas no vienen en el DTO
 
         // Actualizamos los campos del torneo con los valores del TournamentDTO
         Tournament updatedTournament = tournamentRepository.save(tournament);
+        standingsService.syncPlayers(id);
+        this.startBracketIfNeeded(previousStatus, updatedTournament);
         return tournamentMapper.tournamentToTournamentDTO(updatedTournament);
 
     }
 
+    /**
+     * Genera el cuadro de un torneo de eliminatoria cuando pasa de PENDING a IN_PROGRESS.
+     * 
+     * @param previousStatus Estado del torneo antes de la actualización.
+     * @param tournament Torneo ya actualizado.
+     */
+    private void startBracketIfNeeded(Status previousStatus, Tournament tournament) {
+        if (previousStatus == Status.PENDING && tournament.getStatus() == Status.IN_PROGRESS
+                && tournament.getFormat() == TournamentFormat.SINGLE_ELIMINATION)
+            bracketService.startBracket(tournament);
+    }
+
     /**
      * Elimina un torneo por su ID.
      * Este método busca el torneo por su ID y lo elimina de la base de datos.
@@ -328,8 +593,13 @@ public class TournamentService {
         if(tournamentOptional.isEmpty())
             throw new RequestException(ApiResponse.NOT_FOUND, "Tournament no encontrado", "No se encontro un torneo con esa ID");
 
-        // Eliminamos el torneo de la base de datos
+        // Eliminamos el torneo y su clasificación de la base de datos
+        standingsService.removeTournament(id);
+        standingsHistoryService.removeTournament(id);
         tournamentRepository.deleteById(id);
+        leaderboardService.evict(id);
+        tiebreakService.evict(id);
+        rankingRenderService.evict(id);
         logger.info("Torneo con ID {} eliminado correctamente", id);
     }
 
@@ -1,16 +1,28 @@
 package com.equipo2.bytestournament.service;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.equipo2.bytestournament.DTO.GlobalPositionDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
+import com.equipo2.bytestournament.DTO.RankTierDTO;
+import com.equipo2.bytestournament.DTO.RankingPageDTO;
+import com.equipo2.bytestournament.DTO.RankingPositionDTO;
 import com.equipo2.bytestournament.DTO.UserDTO;
+import com.equipo2.bytestournament.DTO.UserSummaryDTO;
 import com.equipo2.bytestournament.config.JwtUtil;
 import com.equipo2.bytestournament.enums.ApiResponse;
 import com.equipo2.bytestournament.enums.AuthorityPrivilegies;
@@ -20,6 +32,13 @@ import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.UserMapper;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.repository.UserSummaryView;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.leaderboard.RankHistogram;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 
 /**
  * UserService es un servicio que se encarga de gestionar las operaciones relacionadas con los usuarios.
@@ -37,6 +56,10 @@ public class UserService {
      * jwtUtil Utilidad para generar y validar tokens JWT.
      * passwordEncoder Codificador de contraseñas para cifrar las contraseñas de los usuarios.
      * authenticationManager Gestor de autenticación para autenticar usuarios.
+     * leaderboardService Servicio que mantiene en memoria la clasificación de cada torneo.
+     * standingsService Servicio que mantiene la tabla de clasificación de cada torneo.
+     * globalLeaderboardService Servicio que mantiene en memoria la clasificación global y los usuarios de cada rango.
+     * objectMapper Serializa los usuarios de la exportación uno a uno.
      * Logger para registrar mensajes de error y depuración.
      */
     private final UserRepository userRepository;
@@ -44,16 +67,29 @@ public class UserService {
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
+    private final LeaderboardService leaderboardService;
+    private final StandingsService standingsService;
+    private final GlobalLeaderboardService globalLeaderboardService;
+    private final ObjectMapper objectMapper;
     private final Logger logger = LoggerFactory.getLogger(UserService.class);
     
-    public UserService(AuthenticationManager authenticationManager, UserRepository userRepository, UserMapper userMapper, JwtUtil jwtUtil, PasswordEncoder passwordEncoder) {
+    public UserService(AuthenticationManager authenticationManager, UserRepository userRepository, UserMapper userMapper, JwtUtil jwtUtil, PasswordEncoder passwordEncoder, LeaderboardService leaderboardService, StandingsService standingsService, GlobalLeaderboardService globalLeaderboardService, ObjectMapper objectMapper) {
         this.authenticationManager = authenticationManager;
         this.userRepository = userRepository;
         this.userMapper = userMapper;
         this.jwtUtil = jwtUtil;
         this.passwordEncoder = passwordEncoder;
+        this.leaderboardService = leaderboardService;
+        this.standingsService = standingsService;
+        this.globalLeaderboardService = globalLeaderboardService;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * EXPORT_FLUSH_ROWS Número de usuarios de la exportación que se escriben antes de enviarlos al cliente.
+     */
+    public static final int EXPORT_FLUSH_ROWS = 1_000;
+
     /**
      * Registra un nuevo usuario en el sistema.
      * Este método verifica si el usuario tiene el rol de ADMIN y si la autenticación es
@@ -103,7 +139,8 @@ public class UserService {
             logger.info("Password encoded for user: " + user.getEmail());
 
             // Guardar en la base de datos el User
-            userRepository.save(user);
+            User savedUser = userRepository.save(user);
+            globalLeaderboardService.updatePlayer(savedUser);
 
 
             // Creamos el objecto authentication
@@ -157,15 +194,18 @@ public class UserService {
      * Obtiene los datos del perfil del usuario autenticado.
      * Este método utiliza la autenticación proporcionada para buscar al usuario en la base de datos
      * y devolver un UserDTO con sus datos.
+     * El usuario se lee con sus privilegios, y sus partidas y torneos con una consulta por lista,
+     * cuatro consultas en total sea cual sea el número de partidas y torneos.
      * 
      * @param authentication la autenticación del usuario que está solicitando sus datos de perfil
      * @return un UserDTO con los datos del usuario autenticado
      */
+    @Transactional(readOnly = true)
     public UserDTO profileData(Authentication authentication) {
         try {
             // Obtener de la base de datos el User, pasandole el id de DTO
             String username = authentication.getName();
-            Optional<User> newUser = userRepository.findByUsername(username);
+            Optional<User> newUser = userRepository.findProfileByUsername(username);
             
             // Si no existe devolvemos un error
             if(!newUser.isPresent())
@@ -185,14 +225,16 @@ public class UserService {
     * Obtiene el perfil de un usuario por su ID.
     * Este método busca al usuario en la base de datos utilizando su ID y devuelve un UserDTO
     * con sus datos. Si el usuario no existe, lanza una excepción.
+    * Se lee igual que el perfil del usuario autenticado, con cuatro consultas en total.
 
     * @param userID el ID del usuario cuyo perfil se desea obtener
     * @return un UserDTO con los datos del usuario
     */
+    @Transactional(readOnly = true)
     public UserDTO profileUser(Long userID) {
         try {
             // Cojemos de la base de datos el usuario con el id de userDTO
-            Optional<User> newUserOptional = userRepository.findById(userID);
+            Optional<User> newUserOptional = userRepository.findProfileById(userID);
             
             // Si no existe error
             if(!newUserOptional.isPresent())
@@ -227,17 +269,71 @@ public class UserService {
         return user.getUsername();
     }
 
-     /**
-     * Obtiene la lista de todos los usuarios registrados en el sistema.
-     * Este método recupera todos los usuarios de la base de datos, los convierte a UserDTO
-     * y devuelve la lista resultante.
-     * 
-     * @return List<UserDTO> que contiene la lista de todos los usuarios encontrados.
+    /**
+     * Obtiene un tramo del listado de usuarios, ordenado por ID y filtrado opcionalmente por rango y rol.
+     * Los usuarios se leen con una sola consulta que no carga sus partidas ni torneos, y el tramo empieza
+     * después de un ID en lugar de en un desplazamiento, así que su coste no crece con el número de usuarios.
+     * Si el tramo no es válido, lanza una excepción.
+     *
+     * @param after ID del último usuario del tramo anterior, 0 para empezar desde el principio.
+     * @param limit Número máximo de usuarios, como mucho {@link KeysetPageDTO#MAX_LIMIT}.
+     * @param rank Rango de los usuarios, o null para todos.
+     * @param role Rol de los usuarios, o null para todos.
+     * @return KeysetPageDTO con los usuarios del tramo y el ID con el que pedir el siguiente.
      */
-    public List<UserDTO> listAllUsers() {
-        List<User> users = userRepository.findAll();
-        List<UserDTO> userDTOs = userMapper.userListToUserDTOList(users);
-        return userDTOs;
+    public KeysetPageDTO<UserSummaryDTO> listUsers(long after, int limit, Rank rank, Role role) {
+        if (after < 0 || limit < 1 || limit > KeysetPageDTO.MAX_LIMIT)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "after debe ser mayor o igual que 0 y limit estar entre 1 y " + KeysetPageDTO.MAX_LIMIT);
+
+        // Se lee un usuario más de los pedidos para saber si hay un tramo siguiente
+        List<UserSummaryDTO> rows = new ArrayList<>();
+        for (UserSummaryView user : userRepository.findSummaries(after, rank, role, Limit.of(limit + 1)))
+            rows.add(toSummary(user));
+        return KeysetPageDTO.of(rows, limit, UserSummaryDTO::getId);
+    }
+
+    /**
+     * Escribe todos los usuarios, filtrados opcionalmente por rango y rol, como JSON delimitado por líneas (NDJSON):
+     * un objeto por línea, ordenados por ID.
+     * Los usuarios se leen de un cursor de la base de datos por bloques y se escriben según llegan,
+     * así que la memoria usada no depende del número de usuarios.
+     *
+     * @param rank Rango de los usuarios, o null para todos.
+     * @param role Rol de los usuarios, o null para todos.
+     * @param output Salida en la que se escriben los usuarios; no se cierra.
+     * @return el número de usuarios escritos.
+     * @throws IOException si no se puede escribir en la salida, por ejemplo porque el cliente ha cerrado la conexión.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(Rank rank, Role role, OutputStream output) throws IOException {
+        // Cada fila se escribe en el generador sin vaciarlo; se envía al cliente cada EXPORT_FLUSH_ROWS filas
+        ObjectWriter writer = objectMapper.writerFor(UserSummaryDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long written = 0;
+        try (Stream<UserSummaryView> users = userRepository.streamSummaries(rank, role);
+                JsonGenerator generator = objectMapper.getFactory().createGenerator(output)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .setRootValueSeparator(null)) {
+            for (UserSummaryView user : (Iterable<UserSummaryView>) users::iterator) {
+                writer.writeValue(generator, toSummary(user));
+                generator.writeRaw('\n');
+                if (++written % EXPORT_FLUSH_ROWS == 0)
+                    generator.flush();
+            }
+        }
+        logger.info("Exportados {} usuarios", written);
+        return written;
+    }
+
+    private static UserSummaryDTO toSummary(UserSummaryView user) {
+        return UserSummaryDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .rank(user.getRank())
+                .points(user.getPoints())
+                .build();
     }
 
     /*
@@ -257,10 +353,16 @@ public class UserService {
         
         // Asignamos el ID del usuario existente al nuevo objeto User
         user.setId(id);
+        // El rating solo lo cambian los periodos de rating, no viene en el DTO
+        user.setRating(userOptional.get().getRating());
+        user.setRatingDeviation(userOptional.get().getRatingDeviation());
+        user.setVolatility(userOptional.get().getVolatility());
         
         
         // Guardamos el usuario actualizado en la base de datos
         User updatedUser = userRepository.save(user);
+        leaderboardService.updatePlayer(updatedUser);
+        globalLeaderboardService.updatePlayer(updatedUser);
         
         // Convertimos el User actualizado a UserDTO y lo devolvemos
         return userMapper.userToUserDTO(updatedUser);
@@ -279,7 +381,82 @@ public class UserService {
             throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se encontro un usuario con esa ID");
         }
         
-        // Si existe lo borramos
+        // Si existe lo borramos junto a sus filas de clasificación
+        standingsService.removeUser(id);
         userRepository.deleteById(id);
+        leaderboardService.removePlayer(id);
+        globalLeaderboardService.removePlayer(id);
+    }
+
+    /**
+     * Obtiene una página de la clasificación global de todos los usuarios por sus puntos.
+     * Solo se leen los jugadores de la página de la clasificación en memoria, sin consultar ni ordenar la tabla de usuarios.
+     * Si los parámetros de la página no son válidos, lanza una excepción.
+     * 
+     * @param offset Posición del primer jugador, empezando en 0.
+     * @param limit Número máximo de jugadores, como mucho {@link TournamentService#MAX_RANKING_PAGE}.
+     * @return RankingPageDTO con los jugadores de la página y el total de jugadores, sin torneo.
+     */
+    public RankingPageDTO getGlobalRanking(int offset, int limit) {
+        if (offset < 0 || limit < 1 || limit > TournamentService.MAX_RANKING_PAGE)
+            throw new RequestException(ApiResponse.BAD_REQUEST, "Página no válida",
+                    "offset debe ser mayor o igual que 0 y limit estar entre 1 y " + TournamentService.MAX_RANKING_PAGE);
+
+        Leaderboard.Window window = globalLeaderboardService.board().window(offset, limit);
+        List<RankingPositionDTO> players = new ArrayList<>(window.entries().size());
+        int current = window.offset();
+        for (Leaderboard.Entry player : window.entries())
+            players.add(new RankingPositionDTO(++current, player.username(), player.rank(), player.points()));
+
+        return RankingPageDTO.builder()
+                .total(window.total())
+                .offset(window.offset())
+                .players(players)
+                .build();
+    }
+
+    /**
+     * Obtiene la posición de un usuario en la clasificación global y su percentil, en O(log n),
+     * junto a cuántos usuarios hay en su rango y en los superiores, que se leen de los contadores de cada rango.
+     * Si el usuario no existe, lanza una excepción.
+     * 
+     * @param username Nombre del usuario.
+     * @return GlobalPositionDTO con la posición del usuario.
+     */
+    public GlobalPositionDTO getGlobalPosition(String username) {
+        Leaderboard board = globalLeaderboardService.board();
+        Long userId = board.idOf(username);
+        Leaderboard.Window window = userId == null ? null : board.around(userId, 0);
+
+        if (window == null)
+            throw new RequestException(ApiResponse.NOT_FOUND, "Usuario no encontrado", "No se encontro un usuario con ese nombre");
+
+        Leaderboard.Entry player = window.entries().get(0);
+        int position = window.offset() + 1;
+        RankHistogram tiers = globalLeaderboardService.tiers();
+        return GlobalPositionDTO.builder()
+                .playerName(player.username())
+                .rank(player.rank())
+                .points(player.points())
+                .position(position)
+                .total(window.total())
+                .percentile(100.0 * (window.total() - position) / window.total())
+                .rankPlayers(player.rank() == null ? 0 : tiers.count(player.rank()))
+                .higherRankPlayers(player.rank() == null ? 0 : tiers.above(player.rank()))
+                .build();
+    }
+
+    /**
+     * Obtiene cuántos usuarios hay en cada rango, de los contadores en memoria, sin contar la tabla de usuarios.
+     * 
+     * @return Lista de RankTierDTO, una por rango en orden de menor a mayor.
+     */
+    public List<RankTierDTO> getRankTiers() {
+        RankHistogram tiers = globalLeaderboardService.tiers();
+        long total = tiers.total();
+        List<RankTierDTO> result = new ArrayList<>();
+        tiers.counts().forEach((rank, players) ->
+                result.add(new RankTierDTO(rank, players, total == 0 ? 0.0 : 100.0 * players / total)));
+        return result;
     }
 }
@@ -0,0 +1,462 @@
+package com.equipo2.bytestournament.service.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Clasificación en memoria de un torneo, ordenada por puntos de mayor a menor, a igualdad de puntos por victorias
+ * y después por id de usuario. Los grupos de puntos son los mismos que en la tabla tournament_standings, y dentro de cada
+ * grupo {@link com.equipo2.bytestournament.service.TiebreakService} ordena con los desempates.
+ *
+ * Es un árbol de estadísticos de orden: un treap en el que cada nodo guarda el tamaño de su subárbol, así que
+ * insertar, borrar o mover a un jugador cuesta O(log n), obtener su posición O(log n) y leer k posiciones
+ * consecutivas a partir de cualquier posición O(log n + k), sin volver a ordenar la clasificación.
+ *
+ * También guarda el id de cada jugador por su nombre, para localizar a un jugador por nombre sin recorrer la clasificación,
+ * y un número de versión que sube con cada cambio, para saber si un cálculo hecho a partir de ella sigue siendo válido.
+ *
+ * Es segura entre hilos: las lecturas comparten un cerrojo de lectura y las modificaciones toman el de escritura.
+ */
+public final class Leaderboard {
+
+    /**
+     * Jugador de la clasificación.
+     *
+     * @param userId id del usuario.
+     * @param username nombre del usuario.
+     * @param rank rango del usuario.
+     * @param points puntos del usuario en el torneo.
+     * @param wins victorias del usuario en el torneo.
+     */
+    public record Entry(Long userId, String username, Rank rank, int points, int wins) {
+    }
+
+    /**
+     * Tramo de la clasificación leído de una vez, junto al número total de jugadores en ese momento.
+     *
+     * @param total número de jugadores de la clasificación.
+     * @param offset posición del primer jugador del tramo, empezando en 0.
+     * @param entries jugadores del tramo, ordenados.
+     */
+    public record Window(int total, int offset, List<Entry> entries) {
+    }
+
+    private static final class Node {
+        private final Entry entry;
+        private final int priority;
+        private int size = 1;
+        private Node left;
+        private Node right;
+
+        private Node(Entry entry, int priority) {
+            this.entry = entry;
+            this.priority = priority;
+        }
+    }
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<String, Long> idsByUsername = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long version;
+    private Node root;
+
+    /**
+     * Añade un jugador o sustituye sus datos si ya estaba en la clasificación.
+     *
+     * @param entry datos del jugador.
+     */
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.put(entry.userId(), entry);
+            if (previous != null) {
+                root = erase(root, previous);
+                idsByUsername.remove(previous.username(), previous.userId());
+            }
+            idsByUsername.put(entry.username(), entry.userId());
+            root = insert(root, new Node(entry, ThreadLocalRandom.current().nextInt()));
+            version++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita a un jugador de la clasificación.
+     *
+     * @param userId id del usuario.
+     * @return true si el jugador estaba en la clasificación.
+     */
+    public boolean remove(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.remove(userId);
+            if (previous == null)
+                return false;
+            root = erase(root, previous);
+            idsByUsername.remove(previous.username(), userId);
+            version++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Suma puntos y victorias a un jugador y lo recoloca en la clasificación.
+     *
+     * @param userId id del usuario.
+     * @param points puntos a sumar.
+     * @param wins victorias a sumar.
+     * @return true si el jugador estaba en la clasificación.
+     */
+    public boolean addPoints(Long userId, int points, int wins) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(userId);
+            if (previous == null)
+                return false;
+            Entry updated = new Entry(userId, previous.username(), previous.rank(), previous.points() + points, previous.wins() + wins);
+            entries.put(userId, updated);
+            root = erase(root, previous);
+            root = insert(root, new Node(updated, ThreadLocalRandom.current().nextInt()));
+            version++;
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return número de cambios que ha tenido la clasificación.
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * @return número de jugadores de la clasificación.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Los primeros jugadores de la clasificación.
+     *
+     * @param limit número máximo de jugadores.
+     * @return los jugadores ordenados, como mucho limit.
+     */
+    public List<Entry> top(int limit) {
+        return range(0, limit);
+    }
+
+    /**
+     * Jugadores consecutivos de la clasificación a partir de una posición.
+     *
+     * @param offset posición del primer jugador, empezando en 0.
+     * @param limit número máximo de jugadores.
+     * @return los jugadores ordenados, como mucho limit.
+     */
+    public List<Entry> range(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Entry> result = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+            collect(root, Math.max(0, offset), limit, result);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Jugadores consecutivos de la clasificación a partir de una posición, junto al total de jugadores.
+     *
+     * @param offset posición del primer jugador, empezando en 0.
+     * @param limit número máximo de jugadores.
+     * @return el tramo leído.
+     */
+    public Window window(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return new Window(size(root), Math.max(0, offset), range(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Un jugador y los jugadores que tiene justo por delante y por detrás, leídos de una vez.
+     * Cuesta O(log n + radius) sin recorrer el resto de la clasificación.
+     *
+     * @param userId id del usuario.
+     * @param radius número máximo de jugadores por delante y por detrás.
+     * @return el tramo alrededor del jugador, o null si el jugador no está en la clasificación.
+     */
+    public Window around(Long userId, int radius) {
+        lock.readLock().lock();
+        try {
+            int position = positionOf(userId);
+            if (position < 0)
+                return null;
+            int offset = Math.max(0, position - 1 - radius);
+            return new Window(size(root), offset, range(offset, position - offset + radius));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todos los jugadores de cada grupo de puntos que tiene algún jugador entre las posiciones offset y offset + limit,
+     * leídos de una vez. El tramo puede empezar antes de offset y terminar después, para que los grupos de los extremos
+     * estén completos y se puedan reordenar con otros criterios sin cambiar de posición respecto al resto.
+     * Cuesta O(log n + k), siendo k el número de jugadores del tramo.
+     *
+     * @param offset posición del primer jugador, empezando en 0.
+     * @param limit número máximo de jugadores.
+     * @return el tramo con los grupos completos, vacío si offset queda fuera de la clasificación.
+     */
+    public Window groups(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            int total = size(root);
+            int from = Math.max(0, offset);
+            if (from >= total || limit < 1)
+                return new Window(total, from, List.of());
+            Entry first = entryAt(from);
+            Entry last = entryAt((int) Math.min((long) from + limit, total) - 1);
+            int start = countAhead(first.points(), false);
+            int end = countAhead(last.points(), true);
+            return new Window(total, start, range(start, end - start));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Todos los jugadores con los mismos puntos que un jugador, leídos de una vez.
+     * Cuesta O(log n + k), siendo k el número de jugadores del grupo.
+     *
+     * @param userId id del usuario.
+     * @return el grupo del jugador, o null si el jugador no está en la clasificación.
+     */
+    public Window groupOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null)
+                return null;
+            int start = countAhead(entry.points(), false);
+            int end = countAhead(entry.points(), true);
+            return new Window(size(root), start, range(start, end - start));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Posición de un jugador en la clasificación.
+     *
+     * @param userId id del usuario.
+     * @return la posición empezando en 1, o -1 si el jugador no está en la clasificación.
+     */
+    public int positionOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = entries.get(userId);
+            if (entry == null)
+                return -1;
+            // Contamos los jugadores que van por delante
+            int ahead = 0;
+            Node node = root;
+            while (node != null) {
+                int comparison = compare(entry, node.entry);
+                if (comparison == 0)
+                    return ahead + size(node.left) + 1;
+                if (comparison < 0)
+                    node = node.left;
+                else {
+                    ahead += size(node.left) + 1;
+                    node = node.right;
+                }
+            }
+            return -1;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Datos de un jugador de la clasificación.
+     *
+     * @param userId id del usuario.
+     * @return los datos del jugador, o null si no está en la clasificación.
+     */
+    public Entry get(Long userId) {
+        lock.readLock().lock();
+        try {
+            return entries.get(userId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Id de un jugador de la clasificación a partir de su nombre.
+     *
+     * @param username nombre del usuario.
+     * @return el id del usuario, o null si no está en la clasificación.
+     */
+    public Long idOf(String username) {
+        lock.readLock().lock();
+        try {
+            return idsByUsername.get(username);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orden de la clasificación: más puntos primero, a igualdad más victorias y después menor id primero.
+     */
+    private static int compare(Entry a, Entry b) {
+        int byPoints = Integer.compare(b.points(), a.points());
+        if (byPoints != 0)
+            return byPoints;
+        int byWins = Integer.compare(b.wins(), a.wins());
+        return byWins != 0 ? byWins : Long.compare(a.userId(), b.userId());
+    }
+
+    /**
+     * Número de jugadores con más puntos que points, o con al menos points si orEqual.
+     */
+    private int countAhead(int points, boolean orEqual) {
+        int ahead = 0;
+        Node node = root;
+        while (node != null) {
+            int nodePoints = node.entry.points();
+            if (nodePoints > points || (orEqual && nodePoints == points)) {
+                ahead += size(node.left) + 1;
+                node = node.right;
+            } else
+                node = node.left;
+        }
+        return ahead;
+    }
+
+    /**
+     * Jugador de una posición, empezando en 0, que debe existir.
+     */
+    private Entry entryAt(int position) {
+        Node node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (position < leftSize)
+                node = node.left;
+            else if (position == leftSize)
+                return node.entry;
+            else {
+                position -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static Node update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    private static Node insert(Node node, Node inserted) {
+        if (node == null)
+            return inserted;
+        if (inserted.priority > node.priority) {
+            Node[] parts = split(node, inserted.entry);
+            inserted.left = parts[0];
+            inserted.right = parts[1];
+            return update(inserted);
+        }
+        if (compare(inserted.entry, node.entry) < 0)
+            node.left = insert(node.left, inserted);
+        else
+            node.right = insert(node.right, inserted);
+        return update(node);
+    }
+
+    private static Node erase(Node node, Entry entry) {
+        if (node == null)
+            return null;
+        int comparison = compare(entry, node.entry);
+        if (comparison == 0)
+            return merge(node.left, node.right);
+        if (comparison < 0)
+            node.left = erase(node.left, entry);
+        else
+            node.right = erase(node.right, entry);
+        return update(node);
+    }
+
+    /**
+     * Divide el árbol en los nodos anteriores a la entrada y el resto.
+     */
+    private static Node[] split(Node node, Entry entry) {
+        if (node == null)
+            return new Node[2];
+        if (compare(node.entry, entry) < 0) {
+            Node[] parts = split(node.right, entry);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node[] parts = split(node.left, entry);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    /**
+     * Une dos árboles en los que todos los nodos del primero van antes que los del segundo.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    /**
+     * Recorre en orden los nodos desde la posición offset, descartando los subárboles que quedan antes.
+     */
+    private static void collect(Node node, int offset, int limit, List<Entry> result) {
+        if (node == null || result.size() >= limit)
+            return;
+        int leftSize = size(node.left);
+        if (offset < leftSize)
+            collect(node.left, offset, limit, result);
+        if (offset <= leftSize && result.size() < limit)
+            result.add(node.entry);
+        if (result.size() < limit)
+            collect(node.right, Math.max(0, offset - leftSize - 1), limit, result);
+    }
+}
@@ -0,0 +1,93 @@
+package com.equipo2.bytestournament.service.leaderboard;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Número de jugadores de cada rango, actualizado con cada alta, baja o cambio de rango.
+ *
+ * Guarda un contador por rango indexado por su ordinal, así que cualquier consulta, incluido cuántos jugadores
+ * hay en los rangos superiores a uno dado, cuesta como mucho una pasada por los rangos, sin leer los usuarios.
+ *
+ * Es segura entre hilos: cada contador se actualiza de forma atómica.
+ */
+public final class RankHistogram {
+
+    private static final Rank[] RANKS = Rank.values();
+
+    private final AtomicLongArray counts = new AtomicLongArray(RANKS.length);
+
+    /**
+     * Cuenta un jugador más en un rango.
+     *
+     * @param rank rango del jugador; si es null no se cuenta.
+     */
+    public void add(Rank rank) {
+        if (rank != null)
+            counts.incrementAndGet(rank.ordinal());
+    }
+
+    /**
+     * Cuenta un jugador menos en un rango.
+     *
+     * @param rank rango del jugador; si es null no se descuenta.
+     */
+    public void remove(Rank rank) {
+        if (rank != null)
+            counts.decrementAndGet(rank.ordinal());
+    }
+
+    /**
+     * Pasa un jugador de un rango a otro.
+     *
+     * @param from rango anterior.
+     * @param to rango nuevo.
+     */
+    public void move(Rank from, Rank to) {
+        if (from == to)
+            return;
+        this.remove(from);
+        this.add(to);
+    }
+
+    /**
+     * @param rank rango.
+     * @return número de jugadores del rango.
+     */
+    public long count(Rank rank) {
+        return counts.get(rank.ordinal());
+    }
+
+    /**
+     * @param rank rango.
+     * @return número de jugadores de los rangos superiores.
+     */
+    public long above(Rank rank) {
+        long above = 0;
+        for (int i = rank.ordinal() + 1; i < RANKS.length; i++)
+            above += counts.get(i);
+        return above;
+    }
+
+    /**
+     * @return número total de jugadores.
+     */
+    public long total() {
+        long total = 0;
+        for (int i = 0; i < RANKS.length; i++)
+            total += counts.get(i);
+        return total;
+    }
+
+    /**
+     * @return número de jugadores de cada rango, en el orden de los rangos.
+     */
+    public Map<Rank, Long> counts() {
+        Map<Rank, Long> result = new EnumMap<>(Rank.class);
+        for (Rank rank : RANKS)
+            result.put(rank, counts.get(rank.ordinal()));
+        return result;
+    }
+}
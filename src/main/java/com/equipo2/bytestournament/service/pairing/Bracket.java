@@ -0,0 +1,119 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Cuadro de eliminatoria directa guardado como un heap implícito sobre un array.
+ *
+ * Con P = potencia de 2 mayor o igual que el número de jugadores, los matches ocupan los nodos 1..P-1
+ * (1 es la final) y los jugadores sembrados las hojas P..2P-1. El padre del nodo i es i/2 y su hermano i^1,
+ * así que avanzar un ganador no necesita recorrer el cuadro. Las hojas sin jugador son byes y,
+ * con la siembra estándar, siempre quedan enfrentadas a los mejores cabezas de serie.
+ */
+public final class Bracket {
+
+    /**
+     * leaves: Jugadores de cada hoja en orden del cuadro, nulo si la hoja es un bye.
+     * rounds: Número de rondas del cuadro, log2(P).
+     */
+    private final User[] leaves;
+    private final int rounds;
+
+    private Bracket(User[] leaves) {
+        this.leaves = leaves;
+        this.rounds = Integer.numberOfTrailingZeros(leaves.length);
+    }
+
+    /**
+     * Siembra el cuadro ordenando a los jugadores por puntos, de forma que el cabeza de serie 1 y el 2
+     * solo puedan encontrarse en la final.
+     *
+     * @param players Jugadores del torneo, la lista no se modifica.
+     * @return Cuadro sembrado.
+     */
+    public static Bracket seed(List<User> players) {
+        if (players.size() < 2)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "Necesitas al menos 2 jugadores en el torneo para generar el cuadro de eliminatoria");
+
+        User[] seeds = players.toArray(new User[0]);
+        Arrays.sort(seeds, Comparator.comparing(User::getPoints, Comparator.reverseOrder())
+                .thenComparing(User::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int size = Integer.highestOneBit(seeds.length - 1) << 1;
+        int[] order = seedOrder(size);
+        User[] leaves = new User[size];
+        for (int slot = 0; slot < size; slot++)
+            leaves[slot] = order[slot] <= seeds.length ? seeds[order[slot] - 1] : null;
+        return new Bracket(leaves);
+    }
+
+    /**
+     * Orden estándar de siembra: 1 vs P, P/2 vs P/2+1... construido duplicando el cuadro en cada paso.
+     */
+    private static int[] seedOrder(int size) {
+        int[] order = { 1 };
+        while (order.length < size) {
+            int length = order.length * 2;
+            int[] next = new int[length];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = length + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    /**
+     * Número de posiciones de la primera ronda, P.
+     */
+    public int size() {
+        return leaves.length;
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * Jugador sembrado en una hoja del cuadro (empezando en 0), nulo si es un bye.
+     */
+    public User leaf(int slot) {
+        return leaves[slot];
+    }
+
+    /**
+     * Nodo del match de primera ronda que enfrenta a las hojas 2k y 2k+1.
+     */
+    public int firstRoundNode(int k) {
+        return leaves.length / 2 + k;
+    }
+
+    public static int parent(int node) {
+        return node >>> 1;
+    }
+
+    public static int sibling(int node) {
+        return node ^ 1;
+    }
+
+    /**
+     * Indica si el ganador del nodo ocupa el puesto de jugador 1 en el match padre.
+     */
+    public static boolean feedsPlayer1(int node) {
+        return (node & 1) == 0;
+    }
+
+    /**
+     * Ronda a la que pertenece un nodo en un cuadro con el número de rondas indicado.
+     */
+    public static int round(int node, int rounds) {
+        return rounds - (31 - Integer.numberOfLeadingZeros(node));
+    }
+}
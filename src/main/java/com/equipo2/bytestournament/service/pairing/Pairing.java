@@ -0,0 +1,12 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Emparejamiento de dos jugadores generado por un {@link PairingEngine}.
+ * 
+ * @param player1 Jugador 1 del match.
+ * @param player2 Jugador 2 del match, nulo si el jugador 1 descansa (bye).
+ */
+public record Pairing(User player1, User player2) {
+}
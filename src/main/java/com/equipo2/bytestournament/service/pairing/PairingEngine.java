@@ -0,0 +1,44 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Motor de emparejamiento que decide los enfrentamientos de una ronda.
+ * MatchService delega en esta interfaz para generar los matches, de forma que el algoritmo
+ * de emparejamiento se pueda sustituir sin tocar la persistencia de la ronda.
+ * Cada torneo elige su motor mediante {@link TournamentFormat}, ver {@link PairingEngineRegistry}.
+ */
+public interface PairingEngine {
+
+    /**
+     * Formato de torneo al que da servicio el motor.
+     * 
+     * @return Formato del torneo.
+     */
+    TournamentFormat getFormat();
+
+    /**
+     * Indica si el motor necesita el historial de rondas anteriores del torneo.
+     * Si no lo necesita, MatchService no consulta los matches previos y recibe {@link PairingHistory#EMPTY}.
+     * 
+     * @return true si el motor tiene en cuenta el historial.
+     */
+    default boolean requiresHistory() {
+        return false;
+    }
+
+    /**
+     * Empareja a los jugadores de una ronda.
+     * La lista recibida no se modifica.
+     * Un emparejamiento sin jugador 2 representa un bye.
+     * 
+     * @param players Jugadores a emparejar.
+     * @param history Historial de las rondas anteriores del torneo.
+     * @param random Generador aleatorio a utilizar en las decisiones del emparejamiento.
+     * @return Lista de emparejamientos de la ronda.
+     */
+    List<Pairing> pair(List<User> players, PairingHistory history, RandomGenerator random);
+}
@@ -0,0 +1,42 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.stereotype.Component;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.exceptions.RequestException;
+
+/**
+ * Registro de los motores de emparejamiento disponibles, indexados por formato de torneo.
+ * Spring inyecta todos los beans que implementan {@link PairingEngine}, así que para añadir
+ * un nuevo formato basta con registrar un nuevo motor.
+ *
+ * {@link Component} Anotación de Spring que registra el registro como bean inyectable.
+ */
+@Component
+public class PairingEngineRegistry {
+
+    private final Map<TournamentFormat, PairingEngine> engines = new EnumMap<>(TournamentFormat.class);
+
+    public PairingEngineRegistry(List<PairingEngine> pairingEngines) {
+        for (PairingEngine engine : pairingEngines)
+            engines.put(engine.getFormat(), engine);
+    }
+
+    /**
+     * Devuelve el motor de emparejamiento de un formato.
+     * Los torneos sin formato se tratan como {@link TournamentFormat#OPEN}.
+     * 
+     * @param format Formato del torneo.
+     * @return Motor de emparejamiento del formato.
+     */
+    public PairingEngine forFormat(TournamentFormat format) {
+        PairingEngine engine = engines.get(format == null ? TournamentFormat.OPEN : format);
+        if (engine == null)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "No hay un sistema de emparejamiento disponible para el formato " + format);
+        return engine;
+    }
+}
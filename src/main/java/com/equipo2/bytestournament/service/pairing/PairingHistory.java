@@ -0,0 +1,132 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Historial en memoria de las rondas ya jugadas de un torneo.
+ * Se construye una única vez por ronda a partir de los matches del torneo, de modo que los motores
+ * de emparejamiento consultan rivales previos, puntuación y byes en O(1) sin ir a la base de datos.
+ *
+ * Las puntuaciones se guardan en medios puntos para trabajar con enteros:
+ * victoria o bye 2, empate 1, derrota 0. Los matches PENDING no puntúan pero sí cuentan como enfrentamiento.
+ */
+public final class PairingHistory {
+
+    /**
+     * Historial vacío, utilizado por los motores que no tienen en cuenta las rondas anteriores.
+     */
+    public static final PairingHistory EMPTY = new PairingHistory(Set.of(), Set.of(), Map.of(), Set.of());
+
+    /**
+     * playedPairs: Índice hash de enfrentamientos previos, con la pareja de ids empaquetada en un long.
+     * widePairs: Enfrentamientos previos en los que algún id no cabe en 32 bits y no se puede empaquetar sin colisiones.
+     * scores: Puntuación en medios puntos de cada jugador dentro del torneo.
+     * byes: Ids de los jugadores que ya han recibido un bye.
+     */
+    private final Set<Long> playedPairs;
+    private final Set<Pair> widePairs;
+    private final Map<Long, Integer> scores;
+    private final Set<Long> byes;
+
+    private PairingHistory(Set<Long> playedPairs, Set<Pair> widePairs, Map<Long, Integer> scores, Set<Long> byes) {
+        this.playedPairs = playedPairs;
+        this.widePairs = widePairs;
+        this.scores = scores;
+        this.byes = byes;
+    }
+
+    /**
+     * Construye el historial recorriendo una sola vez los matches del torneo.
+     *
+     * @param matches Matches ya generados del torneo.
+     * @return Historial con los enfrentamientos, puntuaciones y byes.
+     */
+    public static PairingHistory fromMatches(List<Match> matches) {
+        Set<Long> playedPairs = new HashSet<>(matches.size() * 2);
+        Set<Pair> widePairs = new HashSet<>();
+        Map<Long, Integer> scores = new HashMap<>();
+        Set<Long> byes = new HashSet<>();
+
+        for (Match match : matches) {
+            Long player1 = match.getPlayer1().getId();
+            if (match.getPlayer2() == null) {
+                byes.add(player1);
+                scores.merge(player1, 2, Integer::sum);
+                continue;
+            }
+
+            Long player2 = match.getPlayer2().getId();
+            if (packable(player1, player2))
+                playedPairs.add(key(player1, player2));
+            else
+                widePairs.add(Pair.of(player1, player2));
+
+            Result result = match.getResult();
+            if (result == Result.PLAYER1_WIN)
+                scores.merge(player1, 2, Integer::sum);
+            else if (result == Result.PLAYER2_WIN)
+                scores.merge(player2, 2, Integer::sum);
+            else if (result == Result.DRAW) {
+                scores.merge(player1, 1, Integer::sum);
+                scores.merge(player2, 1, Integer::sum);
+            }
+        }
+
+        return new PairingHistory(playedPairs, widePairs, scores, byes);
+    }
+
+    /**
+     * Indica si dos jugadores ya se han enfrentado en el torneo.
+     */
+    public boolean havePlayed(User player1, User player2) {
+        long id1 = player1.getId(), id2 = player2.getId();
+        return packable(id1, id2) ? playedPairs.contains(key(id1, id2)) : widePairs.contains(Pair.of(id1, id2));
+    }
+
+    /**
+     * Puntuación del jugador en el torneo, en medios puntos.
+     */
+    public int score(User player) {
+        return scores.getOrDefault(player.getId(), 0);
+    }
+
+    /**
+     * Indica si el jugador ya ha recibido un bye en el torneo.
+     */
+    public boolean hadBye(User player) {
+        return byes.contains(player.getId());
+    }
+
+    /**
+     * Indica si los dos ids caben en 32 bits sin signo, y por tanto la pareja se puede empaquetar en un long sin colisiones.
+     */
+    private static boolean packable(long id1, long id2) {
+        return ((id1 | id2) >>> 32) == 0;
+    }
+
+    /**
+     * Empaqueta una pareja de ids sin orden en un long: el menor en los 32 bits altos y el mayor en los bajos.
+     * Solo es exacto si los dos ids caben en 32 bits, así que se comprueba antes con {@link #packable(long, long)}.
+     */
+    private static long key(long id1, long id2) {
+        long low = Math.min(id1, id2), high = Math.max(id1, id2);
+        return (low << 32) | high;
+    }
+
+    /**
+     * Pareja de ids sin orden para los ids que no caben en 32 bits: el menor en low y el mayor en high.
+     */
+    private record Pair(long low, long high) {
+
+        static Pair of(long id1, long id2) {
+            return new Pair(Math.min(id1, id2), Math.max(id1, id2));
+        }
+    }
+}
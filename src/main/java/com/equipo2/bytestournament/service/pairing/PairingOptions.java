@@ -0,0 +1,23 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import com.equipo2.bytestournament.enums.PairingGroup;
+
+/**
+ * Opciones con las que se empareja una ronda.
+ * 
+ * @param parallel Si es true los grupos de jugadores se emparejan en paralelo, ver {@link ParallelGroupPairing}.
+ * @param groupBy Criterio con el que se reparten los jugadores en grupos en el modo paralelo.
+ * @param seed Semilla del generador aleatorio; si es nula se usa un generador sin semilla y el resultado no es reproducible.
+ */
+public record PairingOptions(boolean parallel, PairingGroup groupBy, Long seed) {
+
+    /**
+     * Emparejamiento secuencial y no reproducible, el comportamiento por defecto.
+     */
+    public static final PairingOptions DEFAULT = new PairingOptions(false, PairingGroup.RANK, null);
+
+    public PairingOptions {
+        if (groupBy == null)
+            groupBy = PairingGroup.RANK;
+    }
+}
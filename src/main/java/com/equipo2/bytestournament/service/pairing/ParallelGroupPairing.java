@@ -0,0 +1,134 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static com.equipo2.bytestournament.model.Match.UMBRAL;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import org.springframework.stereotype.Component;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.PairingGroup;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Emparejamiento en paralelo por grupos de jugadores.
+ *
+ * Los jugadores se reparten por {@link Rank} o por franjas de puntos del tamaño de {@link com.equipo2.bytestournament.model.Match#UMBRAL},
+ * y cada grupo se empareja de forma independiente con el motor del torneo en un {@link ForkJoinPool} propio.
+ * Si un grupo tiene un número impar de jugadores, el de más puntos queda como sobrante; los sobrantes
+ * de todos los grupos se emparejan al final entre ellos.
+ *
+ * Antes de lanzar las tareas se obtiene un generador por grupo con {@link SplittableRandom#split()}, siempre
+ * en el mismo orden de grupos, así que con la misma semilla el resultado es idéntico sin importar
+ * qué hilo empareje cada grupo ni en qué orden terminen.
+ *
+ * {@link Component} Anotación de Spring que registra el emparejador como bean inyectable.
+ */
+@Component
+public class ParallelGroupPairing {
+
+    private final ForkJoinPool pool;
+
+    public ParallelGroupPairing() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    ParallelGroupPairing(int parallelism) {
+        this.pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Empareja a los jugadores por grupos en paralelo.
+     * 
+     * @param engine Motor con el que se empareja cada grupo, no debe depender del historial.
+     * @param players Jugadores a emparejar, la lista no se modifica.
+     * @param groupBy Criterio de reparto en grupos.
+     * @param random Generador raíz, del que se obtiene uno independiente por grupo.
+     * @return Emparejamientos de todos los grupos, en orden de grupo, seguidos de los de los sobrantes.
+     */
+    public List<Pairing> pair(PairingEngine engine, List<User> players, PairingGroup groupBy, SplittableRandom random) {
+        if (players.size() % 2 != 0)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "El número de jugadores debe ser par para generar matches, elimina un usuario o añade uno más");
+
+        // Agrupamos en orden estable de grupo para que el reparto de generadores sea siempre el mismo
+        Map<Integer, List<User>> groups = new TreeMap<>();
+        for (User player : players)
+            groups.computeIfAbsent(groupKey(player, groupBy), key -> new ArrayList<>()).add(player);
+
+        List<GroupTask> tasks = new ArrayList<>(groups.size());
+        List<User> leftovers = new ArrayList<>();
+        for (List<User> group : groups.values()) {
+            SplittableRandom groupRandom = random.split();
+            if (group.size() % 2 != 0) {
+                User leftover = group.stream().max(BY_POINTS_AND_ID).orElseThrow();
+                group.remove(leftover);
+                leftovers.add(leftover);
+            }
+            if (!group.isEmpty())
+                tasks.add(new GroupTask(engine, group, groupRandom));
+        }
+        SplittableRandom leftoverRandom = random.split();
+
+        pool.invoke(new RecursiveTask<Void>() {
+            @Override
+            protected Void compute() {
+                ForkJoinTask.invokeAll(tasks);
+                return null;
+            }
+        });
+
+        List<Pairing> pairings = new ArrayList<>(players.size() / 2);
+        for (GroupTask task : tasks)
+            pairings.addAll(task.join());
+        if (!leftovers.isEmpty())
+            pairings.addAll(engine.pair(leftovers, PairingHistory.EMPTY, leftoverRandom));
+        return pairings;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private static final Comparator<User> BY_POINTS_AND_ID = Comparator.comparing(User::getPoints)
+            .thenComparing(User::getId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    /**
+     * Clave de grupo de un jugador; los grupos se recorren en orden creciente de clave.
+     */
+    private static int groupKey(User player, PairingGroup groupBy) {
+        if (groupBy == PairingGroup.POINTS_BAND)
+            return (int) Math.floorDiv((long) player.getPoints(), UMBRAL);
+        Rank rank = player.getRank() != null ? player.getRank() : Rank.fromPoints(player.getPoints());
+        return rank.ordinal();
+    }
+
+    /**
+     * Tarea que empareja un grupo con su propio generador.
+     */
+    private static final class GroupTask extends RecursiveTask<List<Pairing>> {
+        private final PairingEngine engine;
+        private final List<User> group;
+        private final SplittableRandom random;
+
+        private GroupTask(PairingEngine engine, List<User> group, SplittableRandom random) {
+            this.engine = engine;
+            this.group = group;
+            this.random = random;
+        }
+
+        @Override
+        protected List<Pairing> compute() {
+            return engine.pair(group, PairingHistory.EMPTY, random);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fuente de aleatoriedad del emparejamiento y de la puntuación de los matches.
+ *
+ * Cada ronda generada guarda su semilla en el torneo, y a partir de ella se obtienen tanto el generador del
+ * emparejamiento como el de los puntos de cada match, de forma que una ronda se puede reproducir exactamente.
+ * Con la propiedad tournament.random.seed las semillas de las rondas salen a su vez de una secuencia fija,
+ * lo que permite repetir pruebas de carga completas con la misma entrada.
+ *
+ * {@link Component} Anotación de Spring que registra la fuente como bean inyectable.
+ */
+@Component
+public class RandomSource {
+
+    /**
+     * Constante de mezcla (parte fraccionaria de la razón áurea) para separar las semillas de los matches.
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * seeds: Secuencia fija de semillas, es nula si no se ha configurado tournament.random.seed.
+     */
+    private final SplittableRandom seeds;
+
+    public RandomSource() {
+        this(null);
+    }
+
+    @Autowired
+    public RandomSource(@Value("${tournament.random.seed:#{null}}") Long fixedSeed) {
+        this.seeds = fixedSeed != null ? new SplittableRandom(fixedSeed) : null;
+    }
+
+    /**
+     * Devuelve la semilla de una nueva ronda: aleatoria, o la siguiente de la secuencia fija si está configurada.
+     *
+     * @return semilla de la ronda.
+     */
+    public long nextSeed() {
+        if (seeds == null)
+            return ThreadLocalRandom.current().nextLong();
+        synchronized (seeds) {
+            return seeds.nextLong();
+        }
+    }
+
+    /**
+     * Generador reproducible a partir de una semilla.
+     *
+     * @param seed semilla del generador.
+     * @return un {@link SplittableRandom} inicializado con la semilla.
+     */
+    public SplittableRandom forSeed(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    /**
+     * Generador de la puntuación de un match, derivado de la semilla de su ronda y del id del match
+     * para que cada match de la ronda tenga su propia secuencia.
+     *
+     * @param roundSeed semilla de la ronda del match.
+     * @param matchId id del match.
+     * @return generador reproducible del match.
+     */
+    public RandomGenerator forMatch(long roundSeed, long matchId) {
+        return new SplittableRandom(roundSeed + matchId * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Generador para operaciones sueltas sin semilla registrada.
+     *
+     * @return ThreadLocalRandom, o un generador de la secuencia fija si está configurada.
+     */
+    public RandomGenerator generator() {
+        return seeds == null ? ThreadLocalRandom.current() : forSeed(nextSeed());
+    }
+}
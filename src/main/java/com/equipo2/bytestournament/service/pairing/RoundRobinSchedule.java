@@ -0,0 +1,80 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.List;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Calendario de liga todos contra todos generado con el método del círculo.
+ *
+ * El primer jugador queda fijo y el resto gira una posición en cada ronda; en cada ronda se enfrentan
+ * las posiciones i y n-1-i. La posición de cada jugador se calcula con aritmética modular, así que no se
+ * guarda ninguna ronda en memoria: los emparejamientos se entregan uno a uno a quien los consume.
+ * Con número impar de jugadores se añade un hueco vacío y quien cae frente a él descansa esa ronda.
+ */
+public final class RoundRobinSchedule {
+
+    /**
+     * Recibe cada emparejamiento del calendario junto con su ronda.
+     */
+    @FunctionalInterface
+    public interface PairingConsumer {
+        void accept(int round, User player1, User player2);
+    }
+
+    /**
+     * circle: Jugadores en su posición inicial, con un hueco nulo al final si el número es impar.
+     * players: Número de jugadores reales.
+     */
+    private final User[] circle;
+    private final int players;
+
+    public RoundRobinSchedule(List<User> players) {
+        if (players.size() < 2)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "Necesitas al menos 2 jugadores en el torneo para generar el calendario");
+
+        this.players = players.size();
+        this.circle = players.toArray(new User[players.size() + (players.size() % 2)]);
+    }
+
+    /**
+     * Número de rondas del calendario, n-1 con n par.
+     */
+    public int rounds() {
+        return circle.length - 1;
+    }
+
+    /**
+     * Número total de matches del calendario, n(n-1)/2.
+     */
+    public long matches() {
+        return (long) players * (players - 1) / 2;
+    }
+
+    /**
+     * Recorre el calendario completo ronda a ronda, empezando por la ronda 1.
+     * Los descansos no se entregan.
+     *
+     * @param consumer Receptor de cada emparejamiento.
+     */
+    public void forEachPairing(PairingConsumer consumer) {
+        int size = circle.length;
+        int rotating = size - 1;
+        for (int round = 0; round < rotating; round++) {
+            for (int i = 0; i < size / 2; i++) {
+                User player1 = i == 0 ? circle[0] : circle[1 + (i - 1 + round) % rotating];
+                User player2 = circle[1 + (size - 2 - i + round) % rotating];
+                if (player1 == null || player2 == null)
+                    continue;
+
+                // El jugador fijo alterna de posición para no ser siempre el jugador 1
+                if (i == 0 && round % 2 == 1)
+                    consumer.accept(round + 1, player2, player1);
+                else
+                    consumer.accept(round + 1, player1, player2);
+            }
+        }
+    }
+}
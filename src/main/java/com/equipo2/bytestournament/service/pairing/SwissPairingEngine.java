@@ -0,0 +1,154 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.springframework.stereotype.Component;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Motor de emparejamiento del sistema suizo, utilizado por los torneos {@link TournamentFormat#SWISS}.
+ *
+ * Los jugadores se ordenan por puntuación en el torneo, después por puntos globales y por id, y se
+ * agrupan por puntuación. Dentro de cada grupo la mitad superior se enfrenta a la mitad inferior
+ * evitando repetir rivales; los que no encuentran rival bajan al siguiente grupo (flotantes).
+ * Si el número de jugadores es impar, el peor clasificado que aún no haya tenido bye descansa esa ronda.
+ * Solo si no queda otra opción en el último grupo se permite repetir un enfrentamiento.
+ *
+ * Los rivales previos se consultan en el índice hash de {@link PairingHistory}, por lo que el coste
+ * es O(n log n) por la ordenación más un recorrido lineal de cada grupo, sin consultas a la base de datos.
+ * El emparejamiento es determinista y no utiliza el generador aleatorio.
+ *
+ * {@link Component} Anotación de Spring que registra el motor como bean inyectable.
+ */
+@Component
+public class SwissPairingEngine implements PairingEngine {
+
+    @Override
+    public TournamentFormat getFormat() {
+        return TournamentFormat.SWISS;
+    }
+
+    @Override
+    public boolean requiresHistory() {
+        return true;
+    }
+
+    @Override
+    public List<Pairing> pair(List<User> players, PairingHistory history, RandomGenerator random) {
+        if (players.size() < 2)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "La solicitud contiene datos que no se pueden procesar debido a que se necesitan al menos 2 jugadores para emparejar");
+
+        // Calculamos la puntuación una sola vez y ordenamos de mejor a peor clasificado
+        Standing[] standings = new Standing[players.size()];
+        for (int i = 0; i < standings.length; i++)
+            standings[i] = new Standing(players.get(i), history.score(players.get(i)));
+        Arrays.sort(standings, Comparator.comparingInt(Standing::score).reversed()
+                .thenComparing(standing -> standing.player().getPoints(), Comparator.reverseOrder())
+                .thenComparing(standing -> standing.player().getId(), Comparator.nullsLast(Comparator.naturalOrder())));
+
+        List<Pairing> pairings = new ArrayList<>(standings.length / 2 + 1);
+
+        // Con número impar descansa el peor clasificado que no haya tenido bye todavía
+        Standing bye = null;
+        int size = standings.length;
+        if (size % 2 != 0) {
+            int byeIndex = size - 1;
+            while (byeIndex >= 0 && history.hadBye(standings[byeIndex].player()))
+                byeIndex--;
+            if (byeIndex < 0)
+                byeIndex = size - 1;
+            bye = standings[byeIndex];
+            System.arraycopy(standings, byeIndex + 1, standings, byeIndex, size - byeIndex - 1);
+            size--;
+        }
+
+        // Recorremos los grupos de puntuación de mejor a peor, arrastrando los flotantes
+        List<User> floaters = new ArrayList<>();
+        int start = 0;
+        while (start < size) {
+            int end = start;
+            while (end < size && standings[end].score() == standings[start].score())
+                end++;
+
+            List<User> group = new ArrayList<>(floaters.size() + end - start);
+            group.addAll(floaters);
+            for (int i = start; i < end; i++)
+                group.add(standings[i].player());
+
+            floaters = pairGroup(group, history, pairings);
+            start = end;
+        }
+
+        // Lo que no se pudo emparejar sin repetir rival se empareja en orden de clasificación
+        for (int i = 0; i + 1 < floaters.size(); i += 2)
+            pairings.add(new Pairing(floaters.get(i), floaters.get(i + 1)));
+
+        if (bye != null)
+            pairings.add(new Pairing(bye.player(), null));
+
+        return pairings;
+    }
+
+    /**
+     * Empareja un grupo de puntuación enfrentando la mitad superior con la inferior sin repetir rivales.
+     * Los que no encuentran rival se intentan emparejar entre sí y, si tampoco es posible, se devuelven
+     * como flotantes para el siguiente grupo, manteniendo el orden de clasificación.
+     */
+    private static List<User> pairGroup(List<User> group, PairingHistory history, List<Pairing> pairings) {
+        int size = group.size();
+        int half = size / 2;
+        boolean[] used = new boolean[size];
+        int firstFree = half;
+
+        for (int top = 0; top < half; top++) {
+            User player = group.get(top);
+            int bottom = firstFree;
+            while (bottom < size && (used[bottom] || history.havePlayed(player, group.get(bottom))))
+                bottom++;
+            if (bottom == size)
+                continue;
+
+            used[top] = true;
+            used[bottom] = true;
+            pairings.add(new Pairing(player, group.get(bottom)));
+            while (firstFree < size && used[firstFree])
+                firstFree++;
+        }
+
+        // Segundo intento con los que quedaron libres, en orden de clasificación
+        List<User> rest = new ArrayList<>();
+        for (int i = 0; i < size; i++)
+            if (!used[i])
+                rest.add(group.get(i));
+
+        List<User> floaters = new ArrayList<>();
+        boolean[] taken = new boolean[rest.size()];
+        for (int i = 0; i < rest.size(); i++) {
+            if (taken[i])
+                continue;
+            int j = i + 1;
+            while (j < rest.size() && (taken[j] || history.havePlayed(rest.get(i), rest.get(j))))
+                j++;
+            if (j < rest.size()) {
+                taken[j] = true;
+                pairings.add(new Pairing(rest.get(i), rest.get(j)));
+            } else {
+                floaters.add(rest.get(i));
+            }
+        }
+        return floaters;
+    }
+
+    /**
+     * Jugador junto con su puntuación en el torneo, para no consultarla en cada comparación.
+     */
+    private record Standing(User player, int score) {
+    }
+}
@@ -0,0 +1,164 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static com.equipo2.bytestournament.model.Match.UMBRAL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.random.RandomGenerator;
+import org.springframework.stereotype.Component;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Motor de emparejamiento por umbral de puntos, equivalente a llamar en bucle a MatchService.matchUsers
+ * pero en O(n log n).
+ *
+ * Se mantiene la misma semántica: el jugador 1 se elige al azar entre los que quedan sin emparejar,
+ * el jugador 2 se elige al azar entre los que están a una distancia de puntos menor o igual que {@link com.equipo2.bytestournament.model.Match#UMBRAL},
+ * y si no hay ninguno se elige el más cercano en puntos. Es el motor de los torneos {@link TournamentFormat#OPEN},
+ * no tiene en cuenta el historial y exige un número par de jugadores.
+ *
+ * Los jugadores se ordenan por puntos una única vez; los que quedan disponibles se guardan en un
+ * árbol de Fenwick sobre las posiciones ordenadas, lo que permite contar los disponibles de la ventana
+ * [puntos - UMBRAL, puntos + UMBRAL] y elegir el k-ésimo disponible en O(log n) sin borrar de listas.
+ *
+ * {@link Component} Anotación de Spring que registra el motor como bean inyectable.
+ */
+@Component
+public class UmbralPairingEngine implements PairingEngine {
+
+    @Override
+    public TournamentFormat getFormat() {
+        return TournamentFormat.OPEN;
+    }
+
+    @Override
+    public List<Pairing> pair(List<User> players, PairingHistory history, RandomGenerator random) {
+        if (players.size() < 2)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "La solicitud contiene datos que no se pueden procesar debido a que se necesitan al menos 2 jugadores para emparejar");
+
+        // Sin byes en este formato, el número de jugadores debe ser par
+        if (players.size() % 2 != 0)
+            throw new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable",
+                    "El número de jugadores debe ser par para generar matches, elimina un usuario o añade uno más");
+
+        // Ordenamos una sola vez por puntos, y por id para que el orden no dependa de la lista recibida
+        User[] sorted = players.toArray(new User[0]);
+        Arrays.sort(sorted, Comparator.comparingInt(User::getPoints)
+                .thenComparing(User::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        int size = sorted.length;
+        long[] points = new long[size];
+        for (int i = 0; i < size; i++)
+            points[i] = sorted[i].getPoints();
+
+        AvailableIndex available = new AvailableIndex(size);
+        List<Pairing> pairings = new ArrayList<>(size / 2);
+
+        while (available.count() >= 2) {
+            // Jugador 1 aleatorio entre los disponibles
+            int player1 = available.select(random.nextInt(available.count()));
+            available.remove(player1);
+
+            // Ventana de jugadores dentro del umbral de puntos
+            int from = lowerBound(points, points[player1] - UMBRAL);
+            int to = lowerBound(points, points[player1] + UMBRAL + 1);
+            int before = available.countBefore(from);
+            int inWindow = available.countBefore(to) - before;
+
+            int player2;
+            if (inWindow > 0) {
+                player2 = available.select(before + random.nextInt(inWindow));
+            } else {
+                // Nadie dentro del umbral: el disponible más cercano por debajo o por encima de la ventana
+                int below = before > 0 ? available.select(before - 1) : -1;
+                int above = before < available.count() ? available.select(before) : -1;
+                if (below < 0)
+                    player2 = above;
+                else if (above < 0)
+                    player2 = below;
+                else
+                    player2 = points[player1] - points[below] <= points[above] - points[player1] ? below : above;
+            }
+
+            available.remove(player2);
+            pairings.add(new Pairing(sorted[player1], sorted[player2]));
+        }
+
+        return pairings;
+    }
+
+    /**
+     * Primera posición del array ordenado cuyo valor es mayor o igual que el indicado.
+     */
+    private static int lowerBound(long[] values, long value) {
+        int low = 0, high = values.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (values[middle] < value)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Árbol de Fenwick que marca qué posiciones ordenadas siguen disponibles.
+     * Permite contar disponibles en un prefijo y seleccionar el k-ésimo disponible en O(log n).
+     */
+    private static final class AvailableIndex {
+        private final int[] tree;
+        private final int highestBit;
+        private int count;
+
+        AvailableIndex(int size) {
+            tree = new int[size + 1];
+            // Construcción en O(n): todas las posiciones empiezan disponibles
+            for (int i = 1; i <= size; i++) {
+                tree[i]++;
+                int parent = i + (i & -i);
+                if (parent <= size)
+                    tree[parent] += tree[i];
+            }
+            highestBit = size == 0 ? 0 : Integer.highestOneBit(size);
+            count = size;
+        }
+
+        int count() {
+            return count;
+        }
+
+        /** Número de posiciones disponibles en [0, position). */
+        int countBefore(int position) {
+            int total = 0;
+            for (int i = position; i > 0; i -= i & -i)
+                total += tree[i];
+            return total;
+        }
+
+        /** Posición del k-ésimo disponible (empezando en 0). */
+        int select(int k) {
+            int position = 0;
+            int remaining = k + 1;
+            for (int step = highestBit; step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < tree.length && tree[next] < remaining) {
+                    position = next;
+                    remaining -= tree[next];
+                }
+            }
+            return position;
+        }
+
+        void remove(int position) {
+            for (int i = position + 1; i < tree.length; i += i & -i)
+                tree[i]--;
+            count--;
+        }
+    }
+}
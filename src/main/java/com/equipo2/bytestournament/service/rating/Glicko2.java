@@ -0,0 +1,143 @@
+package com.equipo2.bytestournament.service.rating;
+
+/**
+ * Motor de rating Glicko-2 (Glickman, "Example of the Glicko-2 system").
+ *
+ * Cada jugador tiene un rating, una desviación que mide lo fiable que es el rating y una volatilidad.
+ * Todos los resultados de un periodo se aplican a la vez con los valores de antes del periodo,
+ * así que el orden de los resultados no cambia el resultado.
+ *
+ * Trabaja sobre arrays de primitivos indexados por jugador para no crear objetos por resultado:
+ * una pasada por los resultados acumula por jugador la varianza y la mejora del periodo,
+ * y una pasada por los jugadores calcula sus nuevos valores. El coste es O(jugadores + resultados).
+ */
+public final class Glicko2 {
+
+    /**
+     * Valores iniciales de un jugador sin partidas, en la escala de Glicko.
+     */
+    public static final double DEFAULT_RATING = 1500;
+    public static final double DEFAULT_DEVIATION = 350;
+    public static final double DEFAULT_VOLATILITY = 0.06;
+
+    /**
+     * SCALE Factor entre la escala de Glicko y la de Glicko-2.
+     * CONVERGENCE Tolerancia de la iteración de la volatilidad.
+     * MAX_ITERATIONS Límite de la iteración de la volatilidad, que en la práctica converge en menos de 10 pasos.
+     */
+    private static final double SCALE = 173.7178;
+    private static final double CONVERGENCE = 0.000001;
+    private static final int MAX_ITERATIONS = 100;
+    private static final double PI_SQUARED = Math.PI * Math.PI;
+
+    /**
+     * tau Restricción del cambio de la volatilidad entre periodos; Glickman recomienda entre 0.3 y 1.2.
+     */
+    private final double tau;
+
+    public Glicko2(double tau) {
+        if (tau <= 0)
+            throw new IllegalArgumentException("tau debe ser positivo");
+        this.tau = tau;
+    }
+
+    /**
+     * Aplica un periodo de rating. Los arrays de jugadores se actualizan en su sitio.
+     * Los jugadores sin resultados en el periodo conservan su rating y su volatilidad, y su desviación crece.
+     *
+     * @param rating rating de cada jugador.
+     * @param deviation desviación de cada jugador.
+     * @param volatility volatilidad de cada jugador.
+     * @param players número de jugadores, las primeras posiciones de los arrays.
+     * @param first índice del primer jugador de cada resultado.
+     * @param second índice del segundo jugador de cada resultado.
+     * @param firstScore puntuación del primer jugador: 1 si gana, 0.5 si empata y 0 si pierde.
+     * @param games número de resultados, las primeras posiciones de los arrays.
+     */
+    public void ratePeriod(double[] rating, double[] deviation, double[] volatility, int players,
+            int[] first, int[] second, double[] firstScore, int games) {
+        // Pasamos a la escala de Glicko-2 y precalculamos g(φ) de cada jugador
+        double[] mu = new double[players];
+        double[] phi = new double[players];
+        double[] g = new double[players];
+        for (int p = 0; p < players; p++) {
+            mu[p] = (rating[p] - DEFAULT_RATING) / SCALE;
+            phi[p] = deviation[p] / SCALE;
+            g[p] = 1 / Math.sqrt(1 + 3 * phi[p] * phi[p] / PI_SQUARED);
+        }
+
+        // Una pasada por los resultados: inversa de la varianza estimada y suma de g(φj)(s - E) de cada jugador
+        double[] inverseVariance = new double[players];
+        double[] improvement = new double[players];
+        for (int k = 0; k < games; k++) {
+            int i = first[k];
+            int j = second[k];
+            double score = firstScore[k];
+            double expectedI = 1 / (1 + Math.exp(-g[j] * (mu[i] - mu[j])));
+            double expectedJ = 1 / (1 + Math.exp(-g[i] * (mu[j] - mu[i])));
+            inverseVariance[i] += g[j] * g[j] * expectedI * (1 - expectedI);
+            inverseVariance[j] += g[i] * g[i] * expectedJ * (1 - expectedJ);
+            improvement[i] += g[j] * (score - expectedI);
+            improvement[j] += g[i] * (1 - score - expectedJ);
+        }
+
+        // Una pasada por los jugadores con sus valores nuevos
+        for (int p = 0; p < players; p++) {
+            double sigma = volatility[p];
+            if (inverseVariance[p] == 0) {
+                deviation[p] = Math.min(DEFAULT_DEVIATION, SCALE * Math.sqrt(phi[p] * phi[p] + sigma * sigma));
+                continue;
+            }
+            double variance = 1 / inverseVariance[p];
+            double delta = variance * improvement[p];
+            double newSigma = this.volatility(phi[p], sigma, variance, delta);
+            double phiStar = Math.sqrt(phi[p] * phi[p] + newSigma * newSigma);
+            double newPhi = 1 / Math.sqrt(1 / (phiStar * phiStar) + inverseVariance[p]);
+
+            rating[p] = DEFAULT_RATING + SCALE * (mu[p] + newPhi * newPhi * improvement[p]);
+            deviation[p] = SCALE * newPhi;
+            volatility[p] = newSigma;
+        }
+    }
+
+    /**
+     * Nueva volatilidad de un jugador: raíz de f(x) = 0 por el método de Illinois (paso 5 del algoritmo).
+     */
+    private double volatility(double phi, double sigma, double variance, double delta) {
+        double a = Math.log(sigma * sigma);
+        double deltaSquared = delta * delta;
+        double phiSquared = phi * phi;
+
+        double lower = a;
+        double upper;
+        if (deltaSquared > phiSquared + variance)
+            upper = Math.log(deltaSquared - phiSquared - variance);
+        else {
+            int k = 1;
+            while (this.f(a - k * tau, a, deltaSquared, phiSquared, variance) < 0)
+                k++;
+            upper = a - k * tau;
+        }
+
+        double fLower = this.f(lower, a, deltaSquared, phiSquared, variance);
+        double fUpper = this.f(upper, a, deltaSquared, phiSquared, variance);
+        for (int iteration = 0; Math.abs(upper - lower) > CONVERGENCE && iteration < MAX_ITERATIONS; iteration++) {
+            double candidate = lower + (lower - upper) * fLower / (fUpper - fLower);
+            double fCandidate = this.f(candidate, a, deltaSquared, phiSquared, variance);
+            if (fCandidate * fUpper <= 0) {
+                lower = upper;
+                fLower = fUpper;
+            } else
+                fLower /= 2;
+            upper = candidate;
+            fUpper = fCandidate;
+        }
+        return Math.exp(lower / 2);
+    }
+
+    private double f(double x, double a, double deltaSquared, double phiSquared, double variance) {
+        double ex = Math.exp(x);
+        double denominator = phiSquared + variance + ex;
+        return ex * (deltaSquared - phiSquared - variance - ex) / (2 * denominator * denominator) - (x - a) / (tau * tau);
+    }
+}
@@ -0,0 +1,13 @@
+package com.equipo2.bytestournament.service.rating;
+
+import java.util.Map;
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Evento que se publica cuando un periodo de rating cambia el rango de uno o varios usuarios.
+ * Las clasificaciones en memoria lo aplican cuando se confirma la transacción que lo publicó.
+ *
+ * @param ranks nuevo rango por id de usuario, solo de los usuarios que han cambiado de rango.
+ */
+public record RanksChangedEvent(Map<Long, Rank> ranks) {
+}
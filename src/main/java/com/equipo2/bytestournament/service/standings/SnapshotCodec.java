@@ -0,0 +1,127 @@
+package com.equipo2.bytestournament.service.standings;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Codifica la clasificación de un torneo al terminar una ronda como diferencia con otra clasificación anterior.
+ *
+ * Solo se guardan los jugadores que cambian: primero los jugadores nuevos o con algún valor distinto, con la diferencia
+ * de cada valor, y después los jugadores que ya no están. Los ids van ordenados y se guarda la distancia con el anterior,
+ * y todos los números se escriben como varint (los negativos en zigzag), así que un jugador que solo suma una victoria
+ * y unos puntos ocupa unos pocos bytes. Una instantánea completa es la diferencia con una clasificación vacía.
+ */
+public final class SnapshotCodec {
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Codifica la diferencia entre dos clasificaciones.
+     *
+     * @param previous clasificación anterior por id de jugador; vacía para una instantánea completa.
+     * @param current clasificación actual, ordenada por id de jugador.
+     * @return la diferencia codificada.
+     */
+    public static byte[] encode(Map<Long, StandingRow> previous, List<StandingRow> current) {
+        ByteArrayOutputStream changed = new ByteArrayOutputStream();
+        int changes = 0;
+        long lastId = 0;
+        for (StandingRow row : current) {
+            StandingRow before = previous.get(row.userId());
+            if (row.equals(before))
+                continue;
+            writeLong(changed, row.userId() - lastId);
+            lastId = row.userId();
+            writeSigned(changed, row.wins() - (before == null ? 0 : before.wins()));
+            writeSigned(changed, row.losses() - (before == null ? 0 : before.losses()));
+            writeSigned(changed, row.draws() - (before == null ? 0 : before.draws()));
+            writeSigned(changed, row.points() - (before == null ? 0 : before.points()));
+            changes++;
+        }
+
+        // Jugadores que ya no están en la clasificación, en orden de id
+        List<Long> removed = new ArrayList<>();
+        if (!previous.isEmpty()) {
+            Set<Long> present = new HashSet<>(current.size() * 2);
+            for (StandingRow row : current)
+                present.add(row.userId());
+            for (Long userId : previous.keySet())
+                if (!present.contains(userId))
+                    removed.add(userId);
+            removed.sort(null);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(changed.size() + removed.size() * 2 + 8);
+        writeLong(out, changes);
+        out.writeBytes(changed.toByteArray());
+        writeLong(out, removed.size());
+        lastId = 0;
+        for (long userId : removed) {
+            writeLong(out, userId - lastId);
+            lastId = userId;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Aplica una diferencia a una clasificación.
+     *
+     * @param state clasificación por id de jugador, que se modifica.
+     * @param data diferencia codificada con {@link #encode}.
+     */
+    public static void apply(Map<Long, StandingRow> state, byte[] data) {
+        ByteBuffer in = ByteBuffer.wrap(data);
+        long changes = readLong(in);
+        long userId = 0;
+        for (long i = 0; i < changes; i++) {
+            userId += readLong(in);
+            StandingRow before = state.get(userId);
+            state.put(userId, new StandingRow(userId,
+                    readSigned(in) + (before == null ? 0 : before.wins()),
+                    readSigned(in) + (before == null ? 0 : before.losses()),
+                    readSigned(in) + (before == null ? 0 : before.draws()),
+                    readSigned(in) + (before == null ? 0 : before.points())));
+        }
+        long removed = readLong(in);
+        userId = 0;
+        for (long i = 0; i < removed; i++) {
+            userId += readLong(in);
+            state.remove(userId);
+        }
+    }
+
+    private static void writeLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static void writeSigned(ByteArrayOutputStream out, int value) {
+        writeLong(out, ((value << 1) ^ (value >> 31)) & 0xFFFFFFFFL);
+    }
+
+    private static long readLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static int readSigned(ByteBuffer in) {
+        int value = (int) readLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.equipo2.bytestournament.service.standings;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import com.equipo2.bytestournament.enums.Result;
+
+/**
+ * Cambios de clasificación acumulados durante una operación, agrupados por torneo y jugador para aplicarlos
+ * con un UPDATE por fila aunque el jugador aparezca en varios resultados.
+ *
+ * También decide el reparto de puntos de un resultado: todos al ganador o la mitad a cada jugador si hay empate,
+ * y así los puntos globales de los usuarios salen de los mismos cambios con {@link #pointsByUser()}.
+ */
+public final class StandingChanges {
+
+    private final Map<List<Long>, StandingDelta> deltas = new LinkedHashMap<>();
+
+    /**
+     * Suma un cambio a la fila de un jugador en un torneo.
+     */
+    public StandingChanges add(Long tournamentId, Long userId, int wins, int losses, int draws, int points) {
+        deltas.merge(List.of(tournamentId, userId), new StandingDelta(tournamentId, userId, wins, losses, draws, points),
+                (previous, added) -> previous.plus(added.wins(), added.losses(), added.draws(), added.points()));
+        return this;
+    }
+
+    /**
+     * Añade un resultado: victoria y puntos al ganador, derrota al perdedor, o empate y la mitad de los puntos a cada uno.
+     * Un match sin jugador 2 es un bye y cuenta como victoria del jugador 1.
+     *
+     * @param tournamentId id del torneo.
+     * @param player1Id id del jugador 1.
+     * @param player2Id id del jugador 2, o null en un bye.
+     * @param result resultado del match. PENDING no cambia nada.
+     * @param points puntos del ganador.
+     * @return estos mismos cambios.
+     */
+    public StandingChanges addResult(Long tournamentId, Long player1Id, Long player2Id, Result result, int points) {
+        return this.result(tournamentId, player1Id, player2Id, result, points, 1);
+    }
+
+    /**
+     * Deshace un resultado anterior: resta las victorias, derrotas o empates y los puntos que repartió,
+     * con el mismo reparto que {@link #addResult}.
+     *
+     * @param tournamentId id del torneo.
+     * @param player1Id id del jugador 1.
+     * @param player2Id id del jugador 2, o null en un bye.
+     * @param result resultado que se deshace. PENDING no cambia nada.
+     * @param points puntos del ganador que repartió el resultado.
+     * @return estos mismos cambios.
+     */
+    public StandingChanges removeResult(Long tournamentId, Long player1Id, Long player2Id, Result result, int points) {
+        return this.result(tournamentId, player1Id, player2Id, result, points, -1);
+    }
+
+    private StandingChanges result(Long tournamentId, Long player1Id, Long player2Id, Result result, int points, int sign) {
+        if (result == Result.PLAYER1_WIN) {
+            this.add(tournamentId, player1Id, sign, 0, 0, sign * points);
+            if (player2Id != null)
+                this.add(tournamentId, player2Id, 0, sign, 0, 0);
+        } else if (result == Result.PLAYER2_WIN) {
+            this.add(tournamentId, player2Id, sign, 0, 0, sign * points);
+            this.add(tournamentId, player1Id, 0, sign, 0, 0);
+        } else if (result == Result.DRAW) {
+            this.add(tournamentId, player1Id, 0, 0, sign, sign * (points / 2));
+            this.add(tournamentId, player2Id, 0, 0, sign, sign * (points / 2));
+        }
+        return this;
+    }
+
+    /**
+     * @return true si no hay cambios.
+     */
+    public boolean isEmpty() {
+        return deltas.isEmpty();
+    }
+
+    /**
+     * @return un cambio por cada fila afectada.
+     */
+    public Collection<StandingDelta> deltas() {
+        return deltas.values();
+    }
+
+    /**
+     * @return los puntos sumados a cada usuario en todos los torneos, sin los usuarios que no suman puntos.
+     */
+    public Map<Long, Integer> pointsByUser() {
+        Map<Long, Integer> points = new HashMap<>();
+        for (StandingDelta delta : deltas.values())
+            if (delta.points() != 0)
+                points.merge(delta.userId(), delta.points(), Integer::sum);
+        return points;
+    }
+}
@@ -0,0 +1,19 @@
+package com.equipo2.bytestournament.service.standings;
+
+/**
+ * Cambio en la fila de clasificación de un jugador en un torneo. Los valores se suman a los guardados,
+ * así que pueden ser negativos al deshacer un resultado.
+ *
+ * @param tournamentId id del torneo.
+ * @param userId id del jugador.
+ * @param wins victorias a sumar.
+ * @param losses derrotas a sumar.
+ * @param draws empates a sumar.
+ * @param points puntos a sumar.
+ */
+public record StandingDelta(Long tournamentId, Long userId, int wins, int losses, int draws, int points) {
+
+    StandingDelta plus(int wins, int losses, int draws, int points) {
+        return new StandingDelta(tournamentId, userId, this.wins + wins, this.losses + losses, this.draws + draws, this.points + points);
+    }
+}
@@ -0,0 +1,17 @@
+package com.equipo2.bytestournament.service.standings;
+
+/**
+ * Fila de clasificación de un jugador en un torneo en un momento dado.
+ *
+ * @param userId id del jugador.
+ * @param wins victorias.
+ * @param losses derrotas.
+ * @param draws empates.
+ * @param points puntos.
+ */
+public record StandingRow(long userId, int wins, int losses, int draws, int points) {
+
+    public StandingRow(Long userId, Integer wins, Integer losses, Integer draws, Integer points) {
+        this(userId.longValue(), wins.intValue(), losses.intValue(), draws.intValue(), points.intValue());
+    }
+}
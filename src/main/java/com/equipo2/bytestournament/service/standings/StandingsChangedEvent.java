@@ -0,0 +1,12 @@
+package com.equipo2.bytestournament.service.standings;
+
+import java.util.List;
+
+/**
+ * Evento que se publica cuando cambia la clasificación de uno o varios jugadores al informar resultados.
+ * Las clasificaciones en memoria lo aplican cuando se confirma la transacción que lo publicó.
+ *
+ * @param deltas cambios de cada fila de clasificación.
+ */
+public record StandingsChangedEvent(List<StandingDelta> deltas) {
+}
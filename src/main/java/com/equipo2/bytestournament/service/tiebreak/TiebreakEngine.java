@@ -0,0 +1,146 @@
+package com.equipo2.bytestournament.service.tiebreak;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Calcula los desempates de la clasificación de un torneo y devuelve la clasificación completamente ordenada.
+ *
+ * El orden es: puntos, Buchholz, Buchholz mediano, Sonneborn-Berger, encuentro directo y, por último, id de usuario.
+ * Todos los desempates se calculan con los puntos del torneo, que son también el primer criterio:
+ * - Buchholz: suma de los puntos de los rivales.
+ * - Buchholz mediano: Buchholz sin el rival con más puntos ni el de menos, si hay al menos tres rivales.
+ * - Sonneborn-Berger: puntos de los rivales ganados más la mitad de los puntos de los rivales empatados.
+ * - Encuentro directo: resultado de los matches entre los jugadores que siguen empatados tras los anteriores,
+ *   1 por victoria y 0.5 por empate.
+ * Los byes no tienen rival y no cuentan en ningún desempate.
+ *
+ * Los jugadores se identifican por su id de usuario como long; cada id se convierte en un índice denso ordenando
+ * los ids y buscando por bisección, y los rivales de cada jugador se guardan en una lista de adyacencia compacta
+ * (CSR) de arrays de primitivos. Los resultados se recorren una vez para contar los rivales de cada jugador
+ * y otra para rellenar la adyacencia, y los desempates se calculan con una pasada por la adyacencia.
+ */
+public final class TiebreakEngine {
+
+    private TiebreakEngine() {
+    }
+
+    /**
+     * Calcula la clasificación con desempates.
+     *
+     * @param userIds id de cada jugador, sin repetir y en cualquier orden.
+     * @param points puntos de cada jugador en el torneo, en el mismo orden que los ids.
+     * @param players número de jugadores, las primeras posiciones de los arrays.
+     * @param first id del primer jugador de cada resultado.
+     * @param second id del segundo jugador de cada resultado.
+     * @param firstScore resultado del primer jugador en medios puntos: 2 si gana, 1 si empata y 0 si pierde.
+     * @param games número de resultados; los de jugadores que no están en la clasificación se ignoran.
+     * @return la clasificación ordenada con los desempates de cada jugador.
+     */
+    public static List<TiebreakStanding> compute(long[] userIds, int[] points, int players,
+            long[] first, long[] second, byte[] firstScore, int games) {
+        // Índice denso de cada jugador: su posición entre los ids ordenados
+        long[] ids = Arrays.copyOf(userIds, players);
+        Arrays.sort(ids);
+        int[] score = new int[players];
+        for (int i = 0; i < players; i++)
+            score[Arrays.binarySearch(ids, userIds[i])] = points[i];
+
+        // Primera pasada: número de rivales de cada jugador
+        int[] a = new int[games];
+        int[] b = new int[games];
+        int[] offsets = new int[players + 1];
+        int valid = 0;
+        for (int k = 0; k < games; k++) {
+            int i = Arrays.binarySearch(ids, 0, players, first[k]);
+            int j = Arrays.binarySearch(ids, 0, players, second[k]);
+            if (i < 0 || j < 0 || i == j) {
+                a[k] = -1;
+                continue;
+            }
+            a[k] = i;
+            b[k] = j;
+            offsets[i + 1]++;
+            offsets[j + 1]++;
+            valid++;
+        }
+        for (int p = 0; p < players; p++)
+            offsets[p + 1] += offsets[p];
+
+        // Segunda pasada: rivales y resultado en medios puntos de cada jugador, contiguos por jugador
+        int[] opponents = new int[2 * valid];
+        byte[] halves = new byte[2 * valid];
+        int[] cursor = Arrays.copyOf(offsets, players);
+        for (int k = 0; k < games; k++) {
+            if (a[k] < 0)
+                continue;
+            int i = a[k];
+            int j = b[k];
+            opponents[cursor[i]] = j;
+            halves[cursor[i]++] = firstScore[k];
+            opponents[cursor[j]] = i;
+            halves[cursor[j]++] = (byte) (2 - firstScore[k]);
+        }
+
+        // Desempates de cada jugador con una pasada por su adyacencia
+        long[] buchholz = new long[players];
+        long[] median = new long[players];
+        long[] sonnebornBerger = new long[players];
+        for (int p = 0; p < players; p++) {
+            long sum = 0;
+            long sb = 0;
+            int highest = Integer.MIN_VALUE;
+            int lowest = Integer.MAX_VALUE;
+            for (int e = offsets[p]; e < offsets[p + 1]; e++) {
+                int opponentScore = score[opponents[e]];
+                sum += opponentScore;
+                sb += (long) halves[e] * opponentScore;
+                highest = Math.max(highest, opponentScore);
+                lowest = Math.min(lowest, opponentScore);
+            }
+            buchholz[p] = sum;
+            median[p] = offsets[p + 1] - offsets[p] >= 3 ? sum - highest - lowest : sum;
+            // Sonneborn-Berger en medios puntos, para no usar decimales hasta el final
+            sonnebornBerger[p] = sb;
+        }
+
+        Comparator<Integer> byTiebreaks = Comparator.<Integer>comparingInt(p -> score[p]).reversed()
+                .thenComparing(Comparator.<Integer>comparingLong(p -> buchholz[p]).reversed())
+                .thenComparing(Comparator.<Integer>comparingLong(p -> median[p]).reversed())
+                .thenComparing(Comparator.<Integer>comparingLong(p -> sonnebornBerger[p]).reversed());
+        Integer[] order = new Integer[players];
+        for (int p = 0; p < players; p++)
+            order[p] = p;
+        Arrays.sort(order, byTiebreaks.thenComparingInt(p -> p));
+
+        // Encuentro directo solo entre los jugadores que siguen empatados: se marcan por grupo
+        // y cada uno suma sus resultados contra los rivales de su mismo grupo
+        int[] group = new int[players];
+        int[] direct = new int[players];
+        Arrays.fill(group, -1);
+        for (int start = 0; start < players;) {
+            int end = start + 1;
+            while (end < players && byTiebreaks.compare(order[start], order[end]) == 0)
+                end++;
+            if (end - start > 1) {
+                for (int k = start; k < end; k++)
+                    group[order[k]] = start;
+                for (int k = start; k < end; k++) {
+                    int p = order[k];
+                    for (int e = offsets[p]; e < offsets[p + 1]; e++)
+                        if (group[opponents[e]] == start)
+                            direct[p] += halves[e];
+                }
+                Arrays.sort(order, start, end, Comparator.<Integer>comparingInt(p -> direct[p]).reversed().thenComparingInt(p -> p));
+            }
+            start = end;
+        }
+
+        List<TiebreakStanding> standings = new ArrayList<>(players);
+        for (int p : order)
+            standings.add(new TiebreakStanding(ids[p], score[p], buchholz[p], median[p], sonnebornBerger[p] / 2.0, direct[p] / 2.0));
+        return standings;
+    }
+}
@@ -0,0 +1,14 @@
+package com.equipo2.bytestournament.service.tiebreak;
+
+/**
+ * Jugador de una clasificación con desempates.
+ *
+ * @param userId id del usuario.
+ * @param points puntos del usuario en el torneo.
+ * @param buchholz suma de los puntos de sus rivales.
+ * @param medianBuchholz Buchholz sin el mejor ni el peor rival.
+ * @param sonnebornBerger puntos de los rivales ganados más la mitad de los de los rivales empatados.
+ * @param directEncounter resultado contra los jugadores con los que sigue empatado, 0 si no hay empate.
+ */
+public record TiebreakStanding(long userId, int points, long buchholz, long medianBuchholz, double sonnebornBerger, double directEncounter) {
+}
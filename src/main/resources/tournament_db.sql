@@ -38,12 +38,31 @@ CREATE TABLE public.matches (
     player1_id BIGINT,
     player2_id BIGINT,
     result varchar(20) check (result IN ('PLAYER1_WIN', 'PLAYER2_WIN', 'DRAW', 'PENDING')) NOT NULL,
-    round integer NOT NULL
+    round integer NOT NULL,
+    bracket_position integer,
+    player1_points integer,
+    player2_points integer,
+    player1_rank character varying(50),
+    player2_rank character varying(50),
+    awarded_points integer
 );
 
 
 ALTER TABLE public.matches OWNER TO postgres;
 
+-- Hibernate reserva los ids de matches en bloques de 50 (allocationSize) para poder insertar por lotes
+ALTER SEQUENCE public.matches_id_seq INCREMENT BY 50;
+
+-- Posición de cada match en el cuadro de eliminatoria, para localizar el match hermano al avanzar de ronda
+CREATE UNIQUE INDEX matches_tournament_bracket_idx ON public.matches USING btree (tournament_id, bracket_position);
+
+-- Matches de una ronda y cuántos siguen pendientes, para saber cuándo termina la ronda y calcular su periodo de rating
+CREATE INDEX matches_tournament_round_idx ON public.matches USING btree (tournament_id, round, result);
+
+-- Matches de un grupo de jugadores de un torneo, para calcular los desempates de un grupo de puntos sin leer el resto
+CREATE INDEX matches_player1_tournament_idx ON public.matches USING btree (player1_id, tournament_id);
+CREATE INDEX matches_player2_tournament_idx ON public.matches USING btree (player2_id, tournament_id);
+
 --
 -- TOC entry 221 (class 1259 OID 16455)
 -- Name: messages; Type: TABLE; Schema: public; Owner: postgres
@@ -73,6 +92,52 @@ CREATE TABLE public.tournament_players (
 
 ALTER TABLE public.tournament_players OWNER TO postgres;
 
+-- Semilla con la que se generó cada ronda, para poder reproducirla
+CREATE TABLE public.tournament_round_seeds (
+    tournament_id BIGINT NOT NULL,
+    round integer NOT NULL,
+    seed BIGINT NOT NULL,
+    group_by varchar(20) check (group_by IN ('RANK', 'POINTS_BAND'))
+);
+
+ALTER TABLE public.tournament_round_seeds OWNER TO postgres;
+
+-- Rondas cuyo periodo de rating Glicko-2 ya se ha aplicado, para aplicarlo una sola vez
+CREATE TABLE public.rated_rounds (
+    tournament_id BIGINT NOT NULL,
+    round integer NOT NULL
+);
+
+ALTER TABLE public.rated_rounds OWNER TO postgres;
+
+-- Clasificación de cada jugador dentro de cada torneo, con sus desempates, actualizada al informar cada resultado
+CREATE TABLE public.tournament_standings (
+    tournament_id BIGINT NOT NULL,
+    user_id BIGINT NOT NULL,
+    wins integer DEFAULT 0 NOT NULL,
+    losses integer DEFAULT 0 NOT NULL,
+    draws integer DEFAULT 0 NOT NULL,
+    points integer DEFAULT 0 NOT NULL,
+    buchholz bigint DEFAULT 0 NOT NULL,
+    median_buchholz bigint DEFAULT 0 NOT NULL,
+    sonneborn_berger double precision DEFAULT 0 NOT NULL,
+    direct_encounter double precision DEFAULT 0 NOT NULL
+);
+
+ALTER TABLE public.tournament_standings OWNER TO postgres;
+
+-- Clasificación de cada torneo al terminar cada ronda, completa o como diferencia con la ronda base_round
+CREATE TABLE public.standings_snapshots (
+    tournament_id BIGINT NOT NULL,
+    round integer NOT NULL,
+    base_round integer,
+    depth integer NOT NULL,
+    players integer NOT NULL,
+    data bytea NOT NULL
+);
+
+ALTER TABLE public.standings_snapshots OWNER TO postgres;
+
 
 --
 -- TOC entry 218 (class 1259 OID 16415)
@@ -85,7 +150,8 @@ CREATE TABLE public.tournaments (
     max_players integer NOT NULL,
     status varchar(20) check (status IN ('PENDING', 'IN_PROGRESS', 'FINISHED')) NOT NULL,
     rounds integer NOT NULL DEFAULT 0,
-    max_rounds integer NOT NULL DEFAULT 0
+    max_rounds integer NOT NULL DEFAULT 0,
+    format varchar(20) check (format IN ('OPEN', 'SWISS', 'SINGLE_ELIMINATION', 'ROUND_ROBIN')) NOT NULL DEFAULT 'OPEN'
 );
 
 
@@ -103,7 +169,10 @@ CREATE TABLE public.users (
     password character varying(255) NOT NULL,
     role varchar(20) check (role IN ('ADMIN', 'PLAYER')) NOT NULL DEFAULT 'PLAYER',
     rank character varying(50) NOT NULL,
-    points integer NOT NULL
+    points integer NOT NULL,
+    rating double precision DEFAULT 1500 NOT NULL,
+    rating_deviation double precision DEFAULT 350 NOT NULL,
+    volatility double precision DEFAULT 0.06 NOT NULL
 );
 
 
@@ -124,7 +193,7 @@ ALTER TABLE public.user_authority_privilegies OWNER TO postgres;
 -- Data for Name: matches; Type: TABLE DATA; Schema: public; Owner: postgres
 --
 
-COPY public.matches (id, tournament_id, player1_id, player2_id, result, round) FROM stdin;
+COPY public.matches (id, tournament_id, player1_id, player2_id, result, round, bracket_position, player1_points, player2_points, player1_rank, player2_rank, awarded_points) FROM stdin;
 \.
 
 
@@ -154,7 +223,7 @@ COPY public.tournament_players (tournament_id, user_id) FROM stdin;
 -- Data for Name: tournaments; Type: TABLE DATA; Schema: public; Owner: postgres
 --
 
-COPY public.tournaments (id, name, max_players, status, rounds, max_rounds) FROM stdin;
+COPY public.tournaments (id, name, max_players, status, rounds, max_rounds, format) FROM stdin;
 \.
 
 
@@ -164,10 +233,14 @@ COPY public.tournaments (id, name, max_players, status, rounds, max_rounds) FROM
 -- Data for Name: users; Type: TABLE DATA; Schema: public; Owner: postgres
 --
 
-COPY public.users (role, id, username, password, email, rank, points) FROM stdin;
+COPY public.users (role, id, username, password, email, rank, points, rating, rating_deviation, volatility) FROM stdin;
 \.
 
 
+-- Las filas de tournament_standings de los torneos que ya existían las crea la aplicación al arrancar, con sus desempates
+-- (StandingsService.backfill)
+
+
 --
 -- TOC entry 4766 (class 2606 OID 16477)
 -- Name: messages check_match_or_tournament; Type: CHECK CONSTRAINT; Schema: public; Owner: postgres
@@ -203,6 +276,23 @@ ALTER TABLE ONLY public.messages
 ALTER TABLE ONLY public.tournament_players
     ADD CONSTRAINT tournament_players_pkey PRIMARY KEY (tournament_id, user_id);
 
+ALTER TABLE ONLY public.tournament_round_seeds
+    ADD CONSTRAINT tournament_round_seeds_pkey PRIMARY KEY (tournament_id, round);
+
+ALTER TABLE ONLY public.rated_rounds
+    ADD CONSTRAINT rated_rounds_pkey PRIMARY KEY (tournament_id, round);
+
+ALTER TABLE ONLY public.tournament_standings
+    ADD CONSTRAINT tournament_standings_pkey PRIMARY KEY (tournament_id, user_id);
+
+-- Índice en el orden de la clasificación; INCLUDE permite leer una página sin visitar la tabla
+CREATE INDEX tournament_standings_ranking_idx ON public.tournament_standings USING btree (tournament_id, points DESC, buchholz DESC, median_buchholz DESC, sonneborn_berger DESC, direct_encounter DESC, user_id) INCLUDE (wins, losses, draws);
+
+CREATE INDEX tournament_standings_user_idx ON public.tournament_standings USING btree (user_id);
+
+ALTER TABLE ONLY public.standings_snapshots
+    ADD CONSTRAINT standings_snapshots_pkey PRIMARY KEY (tournament_id, round);
+
 
 --
 -- TOC entry 4770 (class 2606 OID 16419)
@@ -290,9 +380,24 @@ ALTER TABLE ONLY public.tournament_players
 -- Name: tournament_players user_id; Type: FK CONSTRAINT; Schema: public; Owner: postgres
 --
 
+ALTER TABLE ONLY public.tournament_round_seeds
+    ADD CONSTRAINT fk_round_seed_tournament FOREIGN KEY (tournament_id) REFERENCES public.tournaments(id) ON DELETE CASCADE;
+
 ALTER TABLE ONLY public.tournament_players
     ADD CONSTRAINT user_id FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE;
 
+ALTER TABLE ONLY public.rated_rounds
+    ADD CONSTRAINT fk_rated_round_tournament FOREIGN KEY (tournament_id) REFERENCES public.tournaments(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY public.tournament_standings
+    ADD CONSTRAINT fk_standing_tournament FOREIGN KEY (tournament_id) REFERENCES public.tournaments(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY public.tournament_standings
+    ADD CONSTRAINT fk_standing_user FOREIGN KEY (user_id) REFERENCES public.users(id) ON DELETE CASCADE;
+
+ALTER TABLE ONLY public.standings_snapshots
+    ADD CONSTRAINT fk_snapshot_tournament FOREIGN KEY (tournament_id) REFERENCES public.tournaments(id) ON DELETE CASCADE;
+
 --
 -- PostgreSQL database dump complete
 --
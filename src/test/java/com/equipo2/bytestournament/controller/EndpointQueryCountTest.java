@@ -0,0 +1,183 @@
+package com.equipo2.bytestournament.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.MatchService;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba el número de consultas que lanza cada endpoint de lectura, con la aplicación completa y una base de datos H2 propia.
+ * Los datos tienen decenas de jugadores y partidas, así que una carga perezosa por elemento haría subir la cuenta
+ * y la prueba fallaría: cada endpoint debe leer sus datos con un número fijo de consultas.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ * {@link AutoConfigureMockMvc} permite hacer peticiones HTTP a los controladores con los filtros de seguridad.
+ * {@link WithMockUser} se utiliza para simular un usuario autenticado con el rol necesario en cada endpoint.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:endpoint-query-count;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+@AutoConfigureMockMvc
+public class EndpointQueryCountTest {
+
+    private static final int PLAYERS = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // Los datos se crean en la primera prueba y las siguientes los reutilizan, como el contexto y la base de datos
+    private static List<User> players;
+    private static Tournament playedTournament;
+    private static Tournament openTournament;
+    private static List<MatchDTO> matches;
+    private Statistics statistics;
+
+    /**
+     * Crea una vez 20 jugadores inscritos en tres torneos: dos con una ronda generada, para que cada jugador
+     * tenga partidas y torneos, y uno sin partidas.
+     */
+    @BeforeEach
+    public void createData() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (players != null)
+            return;
+
+        List<User> users = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            users.add(User.builder()
+                    .username("count-" + i)
+                    .email("count-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(i)
+                    .build());
+        }
+        players = userRepository.saveAll(users);
+
+        matches = new ArrayList<>();
+        for (int t = 0; t < 2; t++) {
+            playedTournament = this.tournament("Consultas " + t);
+            matches.addAll(matchService.generateMatches(playedTournament.getId()));
+        }
+        openTournament = this.tournament("Consultas abierto");
+    }
+
+    private Tournament tournament(String name) {
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name(name)
+                .maxPlayers(PLAYERS)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(5)
+                .build());
+        tournament.setPlayers(new ArrayList<>(players));
+        return tournamentRepository.save(tournament);
+    }
+
+    /**
+     * Hace una petición GET contando desde cero las consultas que lanza.
+     */
+    private ResultActions perform(String url, Object... variables) throws Exception {
+        statistics.clear();
+        return mockMvc.perform(get(url, variables)).andExpect(status().isOk());
+    }
+
+    /**
+     * El detalle de un torneo lee el torneo con sus jugadores y las partidas en otra consulta,
+     * tenga o no partidas, y devuelve los IDs de las partidas sin cargar sus jugadores.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void tournamentDetailTest() throws Exception {
+        ResultActions result = this.perform("/api/tournaments/{id}", openTournament.getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        result.andExpect(jsonPath("$.players.length()").value(PLAYERS))
+                .andExpect(jsonPath("$.matches.length()").value(0));
+
+        result = this.perform("/api/tournaments/{id}", playedTournament.getId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+        result.andExpect(jsonPath("$.players.length()").value(PLAYERS))
+                .andExpect(jsonPath("$.matches.length()").value(PLAYERS / 2))
+                .andExpect(jsonPath("$.matches[0]").isNumber());
+    }
+
+    /**
+     * Comprobar un partido solo lee el partido: el torneo y los jugadores se devuelven por su ID sin cargarlos.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void checkMatchTest() throws Exception {
+        ResultActions result = this.perform("/api/matches/{matchId}", matches.get(0).getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        result.andExpect(jsonPath("$.player1").value(matches.get(0).getPlayer1()));
+    }
+
+    /**
+     * El perfil de un usuario lee el usuario con sus privilegios y una consulta por cada lista de partidas y torneos,
+     * igual por ID que el del usuario autenticado.
+     */
+    @Test
+    @WithMockUser(username = "count-0", roles = {"ADMIN"})
+    public void profileTest() throws Exception {
+        ResultActions result = this.perform("/api/user/{userId}", players.get(0).getId());
+        assertEquals(4, statistics.getPrepareStatementCount());
+        result.andExpect(jsonPath("$.tournaments.length()").value(3))
+                .andExpect(jsonPath("$.matches.length()").value(2));
+
+        result = this.perform("/api/user/auth/me");
+        assertEquals(4, statistics.getPrepareStatementCount());
+        result.andExpect(jsonPath("$.username").value("count-0"));
+    }
+
+    /**
+     * Los listados resumidos leen cada tramo con una sola consulta.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void summariesTest() throws Exception {
+        this.perform("/api/tournaments/summary").andExpect(jsonPath("$.items.length()").value(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        this.perform("/api/matches/summary").andExpect(jsonPath("$.items.length()").value(PLAYERS));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        this.perform("/api/user/list").andExpect(jsonPath("$.items[0].username").exists());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -3,11 +3,23 @@ package com.equipo2.bytestournament.controller;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import com.equipo2.bytestournament.DTO.BulkResultDTO;
+import com.equipo2.bytestournament.DTO.GenerationJobDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.MatchSummaryDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.DTO.ResultOutcomeDTO;
+import com.equipo2.bytestournament.DTO.RoundReplayDTO;
+import com.equipo2.bytestournament.DTO.ScheduleSummaryDTO;
 import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.JobStatus;
+import com.equipo2.bytestournament.enums.Result;
 import com.equipo2.bytestournament.exceptions.RequestException;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -18,6 +30,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import com.equipo2.bytestournament.contoller.MatchController;
 import com.equipo2.bytestournament.service.MatchService;
+import com.equipo2.bytestournament.service.RoundGenerationJobService;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
+import com.equipo2.bytestournament.enums.PairingGroup;
 import java.util.List;
 
 /**
@@ -43,6 +58,9 @@ public class MatchControllerTest {
     @MockBean
      private MatchService matchService;
 
+    @MockBean
+    private RoundGenerationJobService roundGenerationJobService;
+
     /**
      * Prueba para el endpoint de generación de partidos.
      * Simula una petición POST al endpoint "/api/matches/generate/{tournamentId}" con un usuario con rol ADMIN.
@@ -50,10 +68,91 @@ public class MatchControllerTest {
     @Test
     @WithMockUser(username = "test", roles = {"ADMIN"})
     public void generateMatchesTest() throws Exception {
-        Mockito.when(matchService.generateMatches(1L)).thenReturn(List.of(new MatchDTO()));
+        Mockito.when(matchService.generateMatches(1L, PairingOptions.DEFAULT)).thenReturn(List.of(new MatchDTO()));
 
         mockMvc.perform(post("/api/matches/generate/{tournamentId}", 1L).with(csrf()))
-                .andExpect(status().isCreated());
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        // Modo paralelo reproducible
+        PairingOptions options = new PairingOptions(true, PairingGroup.POINTS_BAND, 42L);
+        Mockito.when(matchService.generateMatches(1L, options)).thenReturn(List.of(new MatchDTO(), new MatchDTO()));
+        mockMvc.perform(post("/api/matches/generate/{tournamentId}", 1L)
+                        .param("parallel", "true").param("groupBy", "POINTS_BAND").param("seed", "42").with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    /**
+     * Prueba para la generación de partidos en segundo plano y la consulta de su progreso.
+     * Simula una petición POST con async=true y una petición GET a "/api/matches/generate/jobs/{jobId}".
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void generateMatchesAsyncTest() throws Exception {
+        GenerationJobDTO queued = GenerationJobDTO.builder().id("job-1").tournament(1L).status(JobStatus.QUEUED).build();
+        GenerationJobDTO completed = GenerationJobDTO.builder().id("job-1").tournament(1L).status(JobStatus.COMPLETED).matchIds(List.of(7L)).build();
+        Mockito.when(roundGenerationJobService.submit(1L, PairingOptions.DEFAULT)).thenReturn(queued);
+        Mockito.when(roundGenerationJobService.getJob("job-1")).thenReturn(completed);
+
+        mockMvc.perform(post("/api/matches/generate/{tournamentId}", 1L).param("async", "true").with(csrf()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value("job-1"));
+
+        mockMvc.perform(get("/api/matches/generate/jobs/{jobId}", "job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.matchIds[0]").value(7));
+        Mockito.verify(matchService, Mockito.never()).generateMatches(1L, PairingOptions.DEFAULT);
+    }
+
+    /**
+     * Prueba para el endpoint de generación del calendario todos contra todos.
+     * Simula una petición POST al endpoint "/api/matches/generate/{tournamentId}/round-robin" con un usuario con rol ADMIN.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void generateRoundRobinTest() throws Exception {
+        ScheduleSummaryDTO summary = new ScheduleSummaryDTO(1L, 4, 3, 6L);
+        Mockito.when(matchService.generateRoundRobin(1L)).thenReturn(summary);
+
+        mockMvc.perform(post("/api/matches/generate/{tournamentId}/round-robin", 1L).with(csrf()))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.matches").value(6));
+    }
+
+    /**
+     * Prueba para el endpoint de reproducción de una ronda.
+     * Simula una petición GET al endpoint "/api/matches/replay/{tournamentId}/{round}" con un usuario con rol ADMIN.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void replayRoundTest() throws Exception {
+        RoundReplayDTO replay = RoundReplayDTO.builder().tournament(1L).round(2).seed(42L).identical(true).build();
+        Mockito.when(matchService.replayRound(1L, 2)).thenReturn(replay);
+
+        mockMvc.perform(get("/api/matches/replay/{tournamentId}/{round}", 1L, 2).with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.seed").value(42))
+                .andExpect(jsonPath("$.identical").value(true));
+    }
+
+    /**
+     * Prueba para el endpoint del listado resumido de partidos.
+     * Simula una petición GET sin parámetros, que pide el primer tramo, con un usuario con rol ADMIN.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void getMatchSummariesTest() throws Exception {
+        MatchSummaryDTO summary = MatchSummaryDTO.builder()
+                .id(1L).tournament(1L).round(1).player1("alice").player2("bob").result(Result.PENDING)
+                .build();
+        Mockito.when(matchService.getMatchSummaries(0L, 50)).thenReturn(new KeysetPageDTO<>(List.of(summary), null));
+
+        mockMvc.perform(get("/api/matches/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].player2").value("bob"))
+                .andExpect(jsonPath("$.next").doesNotExist());
     }
 
     /**
@@ -110,6 +209,61 @@ public class MatchControllerTest {
                 .andExpect(status().isOk());
     }
 
+    /**
+     * Prueba para el endpoint que informa solo el resultado de un partido.
+     * Simula una petición PATCH al endpoint "/api/matches/{matchId}/result" con un usuario con rol ADMIN,
+     * y una segunda petición sobre un partido que ya tiene resultado.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void reportResultTest() throws Exception {
+        MatchDTO updated = MatchDTO.builder().id(1L).tournament(1L).player1(1L).player2(2L).result(Result.DRAW).round(2).build();
+        Mockito.when(matchService.reportResult(1L, Result.DRAW)).thenReturn(updated);
+        Mockito.when(matchService.reportResult(2L, Result.DRAW)).thenThrow(new RequestException(ApiResponse.CONFLICT));
+
+        mockMvc.perform(patch("/api/matches/{matchId}/result", 1L)
+                .with(csrf())
+                .contentType("application/json")
+                .content("{\"result\": \"DRAW\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result").value("DRAW"));
+
+        mockMvc.perform(patch("/api/matches/{matchId}/result", 2L)
+                .with(csrf())
+                .contentType("application/json")
+                .content("{\"result\": \"DRAW\"}"))
+                .andExpect(status().isConflict());
+
+        // Sin resultado la petición no es válida
+        mockMvc.perform(patch("/api/matches/{matchId}/result", 1L)
+                .with(csrf())
+                .contentType("application/json")
+                .content("{}"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    /**
+     * Prueba para el endpoint que informa resultados por lotes.
+     * Simula una petición PATCH al endpoint "/api/matches/results" con un usuario con rol ADMIN.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    public void reportResultsTest() throws Exception {
+        List<ResultItemDTO> results = List.of(new ResultItemDTO(1L, Result.PLAYER1_WIN), new ResultItemDTO(2L, Result.DRAW));
+        BulkResultDTO bulk = new BulkResultDTO(1, 1, List.of(
+                new ResultOutcomeDTO(1L, Result.PLAYER1_WIN, true, 200, "Operación Exitosa", "ok"),
+                new ResultOutcomeDTO(2L, Result.DRAW, false, 409, "Conflicto", "ya tiene resultado")));
+        Mockito.when(matchService.reportResults(results)).thenReturn(bulk);
+
+        mockMvc.perform(patch("/api/matches/results")
+                .with(csrf())
+                .contentType("application/json")
+                .content("[{\"matchId\": 1, \"result\": \"PLAYER1_WIN\"}, {\"matchId\": 2, \"result\": \"DRAW\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.outcomes[1].status").value(409));
+    }
+
     /**
      * Prueba para el endpoint de actualización del resultado de un partido que no existe.
      * Simula una petición PUT al endpoint "/api/matches/{matchId}/result"
@@ -7,9 +7,19 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.RankingDTO;
 import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.RankingPageDTO;
+import com.equipo2.bytestournament.DTO.RankingPositionDTO;
+import com.equipo2.bytestournament.DTO.RoundStandingsDTO;
+import com.equipo2.bytestournament.DTO.TiebreakStandingDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Status;
 import com.equipo2.bytestournament.DTO.TournamentDTO;
+import com.equipo2.bytestournament.DTO.TournamentSummaryDTO;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,9 +27,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.equipo2.bytestournament.contoller.TournamentController;
+import com.equipo2.bytestournament.service.RankingStreamService;
 import com.equipo2.bytestournament.service.TournamentService;
 import com.equipo2.bytestournament.service.UserService;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -47,6 +60,9 @@ public class TournamentControllerTest {
     @MockBean
      private UserService userService;
 
+    @MockBean
+     private RankingStreamService rankingStreamService;
+
     /**
      * Prueba para el endpoint de creación de torneos.
      * Simula una petición POST al endpoint "/api/tournaments" con un usuario con rol ADMIN.
@@ -131,9 +147,12 @@ public class TournamentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"));
 
+        Mockito.when(tournamentService.getClassificationPretty(tournamentId))
+                .thenReturn(ranking.toString().getBytes(StandardCharsets.UTF_8));
         mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}", tournamentId)
                         .param("pretty", "true"))
                 .andExpect(status().isOk())
+                .andExpect(content().contentType("text/plain;charset=UTF-8"))
                 .andExpect(content().string(ranking.toString()));
     }
 
@@ -156,12 +175,127 @@ public class TournamentControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().contentType("application/json"));
 
+        Mockito.when(tournamentService.getRankingDetailsPretty(tournamentId))
+                .thenReturn(ranking.toString().getBytes(StandardCharsets.UTF_8));
         mockMvc.perform(get("/api/tournaments/ranking/details/{tournamentId}", tournamentId)
                         .param("pretty", "true"))
                 .andExpect(status().isOk())
                 .andExpect(content().string(ranking.toString()));
     }
 
+    /**
+     * Prueba para los endpoints de clasificación por tramos.
+     * Simula peticiones GET a la página, a los primeros puestos y a la posición de un jugador.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void getClassificationPageTest() throws Exception {
+        Long tournamentId = 1L;
+        RankingPageDTO page = RankingPageDTO.builder()
+                .tournament(tournamentId).total(50_000).offset(100)
+                .players(List.of(new RankingPositionDTO(101, "player101", Rank.GOLD, 300)))
+                .build();
+        Mockito.when(tournamentService.getClassificationPage(tournamentId, 100, 1)).thenReturn(page);
+
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/page", tournamentId)
+                        .param("offset", "100")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(50_000))
+                .andExpect(jsonPath("$.players[0].position").value(101));
+
+        Mockito.when(tournamentService.getTopClassification(tournamentId, 10)).thenReturn(page);
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/top", tournamentId)
+                        .param("pretty", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(page.toString()));
+
+        Mockito.when(tournamentService.getPlayerPosition(tournamentId, "player101", 2)).thenReturn(page);
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/player/{username}", tournamentId, "player101"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.players[0].playerName").value("player101"));
+    }
+
+    /**
+     * Prueba para el endpoint de la clasificación con desempates.
+     * Simula una petición GET y comprueba los desempates del primer jugador.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void getTiebreaksTest() throws Exception {
+        Long tournamentId = 1L;
+        TiebreakStandingDTO standing = TiebreakStandingDTO.builder()
+                .position(1).playerName("player1").rank(Rank.GOLD).points(30)
+                .buchholz(60L).medianBuchholz(40L).sonnebornBerger(45.0).directEncounter(0.0)
+                .build();
+        Mockito.when(tournamentService.getTiebreaks(tournamentId)).thenReturn(List.of(standing));
+
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/tiebreaks", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].playerName").value("player1"))
+                .andExpect(jsonPath("$[0].buchholz").value(60))
+                .andExpect(jsonPath("$[0].sonnebornBerger").value(45.0));
+    }
+
+    /**
+     * Prueba para el endpoint del listado resumido de torneos.
+     * Simula una petición GET con el tramo y comprueba el número de jugadores y el ID del siguiente tramo.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void getTournamentSummariesTest() throws Exception {
+        TournamentSummaryDTO summary = TournamentSummaryDTO.builder()
+                .id(21L).name("Torneo de Primavera").status(Status.IN_PROGRESS).rounds(2).maxRounds(5).maxPlayers(64).players(48)
+                .build();
+        Mockito.when(tournamentService.getTournamentSummaries(20L, 1)).thenReturn(new KeysetPageDTO<>(List.of(summary), 21L));
+
+        mockMvc.perform(get("/api/tournaments/summary")
+                        .param("after", "20")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].players").value(48))
+                .andExpect(jsonPath("$.next").value(21));
+    }
+
+    /**
+     * Prueba para el endpoint de la clasificación tras una ronda.
+     * Simula una petición GET y comprueba la ronda y el primer jugador de su clasificación.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void getRoundStandingsTest() throws Exception {
+        Long tournamentId = 1L;
+        RoundStandingsDTO standings = RoundStandingsDTO.builder()
+                .tournament(tournamentId).round(2)
+                .players(List.of(new RankingDetailsDTO("player1", 2, 0, 0, 6)))
+                .build();
+        Mockito.when(tournamentService.getRoundStandings(tournamentId, 2)).thenReturn(standings);
+        Mockito.when(tournamentService.getStandingsHistory(tournamentId)).thenReturn(List.of(1, 2));
+
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/history", tournamentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1]").value(2));
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/history/{round}", tournamentId, 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.round").value(2))
+                .andExpect(jsonPath("$.players[0].username").value("player1"))
+                .andExpect(jsonPath("$.players[0].points").value(6));
+    }
+
+    /**
+     * Prueba para el endpoint de los cambios del ranking.
+     * Simula una petición GET y comprueba que la respuesta es un flujo de eventos asíncrono.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    public void streamRankingTest() throws Exception {
+        Mockito.when(rankingStreamService.subscribe(1L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/tournaments/ranking/{tournamentId}/stream", 1L))
+                .andExpect(status().isOk())
+                .andExpect(request().asyncStarted());
+    }
+
     /**
      * Prueba para actualizar un torneo.
      * Simula una petición PUT al endpoint "/api/tournaments" con un usuario con rol ADMIN.
@@ -1,12 +1,15 @@
 package com.equipo2.bytestournament.controller;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.junit.jupiter.api.Test;
@@ -14,11 +17,18 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import com.equipo2.bytestournament.DTO.GlobalPositionDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
+import com.equipo2.bytestournament.DTO.RankTierDTO;
 import com.equipo2.bytestournament.DTO.UserDTO;
+import com.equipo2.bytestournament.DTO.UserSummaryDTO;
 import com.equipo2.bytestournament.contoller.UserController;
+import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Role;
 import com.equipo2.bytestournament.mapper.UserMapper;
 import com.equipo2.bytestournament.repository.UserRepository;
@@ -153,19 +163,47 @@ public class UserControllerTest {
     }
 
     /**
-     * Test para la obtención de todos los usuarios.
-     * Este test verifica que al enviar una petición GET al endpoint /api/user/{userId}/list
+     * Test para el listado de usuarios por tramos.
+     * Este test verifica que al enviar una petición GET al endpoint /api/user/list los filtros llegan al servicio
+     * y se devuelve el tramo con el ID del siguiente.
      */
     @Test
     @WithMockUser(username = "test", roles = {"ADMIN"})
     void getAllUsersTest() throws Exception {
-        Long userId = 1L;
-
-        Mockito.when(userService.listAllUsers()).thenReturn(List.of(new UserDTO()));
+        UserSummaryDTO user = UserSummaryDTO.builder().id(3L).username("player3").role(Role.PLAYER).rank(Rank.GOLD).points(10).build();
+        Mockito.when(userService.listUsers(2L, 1, Rank.GOLD, Role.PLAYER)).thenReturn(new KeysetPageDTO<>(List.of(user), 3L));
 
-        mockMvc.perform(get("/api/user/list", userId)
+        mockMvc.perform(get("/api/user/list")
+                .param("after", "2")
+                .param("limit", "1")
+                .param("rank", "GOLD")
+                .param("role", "PLAYER")
                 .with(csrf()))
-                .andExpect(status().isOk());
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].username").value("player3"))
+                .andExpect(jsonPath("$.next").value(3));
+    }
+
+    /**
+     * Test para la exportación de usuarios.
+     * Este test verifica que al enviar una petición GET al endpoint /api/user/list/export la respuesta se escribe
+     * de forma asíncrona como NDJSON con lo que escribe el servicio.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"ADMIN"})
+    void exportUsersTest() throws Exception {
+        Mockito.when(userService.exportUsers(Mockito.eq(Rank.GOLD), Mockito.isNull(), Mockito.any())).thenAnswer(invocation -> {
+            invocation.getArgument(2, OutputStream.class).write("{\"id\":1}\n".getBytes(StandardCharsets.UTF_8));
+            return 1L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/user/list/export").param("rank", "GOLD").with(csrf()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"id\":1}\n"));
     }
 
     /**
@@ -206,4 +244,29 @@ public class UserControllerTest {
                 .with(csrf()))
                 .andExpect(status().isNoContent());
     }
+
+    /**
+     * Test para la clasificación global.
+     * Este test verifica que cualquier usuario autenticado puede consultar su posición global y los usuarios de cada rango.
+     */
+    @Test
+    @WithMockUser(username = "test", roles = {"PLAYER"})
+    void getGlobalRankingTest() throws Exception {
+        GlobalPositionDTO position = GlobalPositionDTO.builder()
+                .playerName("test").rank(Rank.GOLD).points(900).position(42).total(1000)
+                .percentile(95.8).rankPlayers(120L).higherRankPlayers(30L)
+                .build();
+        Mockito.when(userService.getGlobalPosition("test")).thenReturn(position);
+        Mockito.when(userService.getRankTiers()).thenReturn(List.of(new RankTierDTO(Rank.GOLD, 120L, 12.0)));
+
+        mockMvc.perform(get("/api/user/ranking/player/{username}", "test"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.position").value(42))
+                .andExpect(jsonPath("$.percentile").value(95.8));
+
+        mockMvc.perform(get("/api/user/ranking/tiers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].rank").value("GOLD"))
+                .andExpect(jsonPath("$[0].players").value(120));
+    }
 }
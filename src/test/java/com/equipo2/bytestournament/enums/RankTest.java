@@ -0,0 +1,28 @@
+package com.equipo2.bytestournament.enums;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Clase de prueba para Rank.
+ * Comprueba que el rango según los puntos coincide con los límites de cada rango.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RankTest {
+
+    /**
+     * Cada valor entre los límites de un rango da ese rango, y los valores fuera de los límites
+     * dan el primer o el último rango.
+     */
+    @Test
+    public void fromPointsTest() {
+        for (Rank rank : Rank.values())
+            for (int points = rank.getMinPoints(); points <= rank.getMaxPoints(); points++)
+                assertEquals(rank, Rank.fromPoints(points));
+
+        assertEquals(Rank.BRONZE, Rank.fromPoints(-10));
+        assertEquals(Rank.GRANDMASTER, Rank.fromPoints(3001));
+        assertEquals(Rank.GRANDMASTER, Rank.fromRating(3500, 50));
+    }
+}
@@ -8,6 +8,9 @@ import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.TournamentRepository;
 import com.equipo2.bytestournament.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -25,6 +28,7 @@ class MatchMapperTest {
      * matchMapper Instancia del MatchMapper que se va a probar.
      * tournamentRepository Repositorio de torneos, usado por el MatchMapperHelper.
      * userRepository Repositorio de usuarios, usado por el MatchMapperHelper.
+     * entityManager Crea las referencias a los torneos y usuarios en el MatchMapperHelper.
      */
     private static MatchMapper matchMapper;
 
@@ -34,6 +38,9 @@ class MatchMapperTest {
     @Mock
     private static UserRepository userRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
    /**
     * setUp Método que se ejecuta antes de cada prueba.
     * Inicializa el MatchMapper y su helper, inyectando los repositorios necesarios.
@@ -43,7 +50,7 @@ class MatchMapperTest {
         MockitoAnnotations.openMocks(this);
         matchMapper = Mappers.getMapper(MatchMapper.class);
         Field helperField = matchMapper.getClass().getDeclaredField("matchMapperHelper");
-        MatchMapperHelper helper = new MatchMapperHelper(userRepository, tournamentRepository);
+        MatchMapperHelper helper = new MatchMapperHelper(userRepository, tournamentRepository, entityManager);
         helperField.setAccessible(true);
         helperField.set(matchMapper, helper);
     }
@@ -80,10 +87,10 @@ class MatchMapperTest {
             () -> assertEquals(match.getRound(), dto.getRound())
         );
 
-        // Mockea el comportamiento del repositorio
-        Mockito.when(userRepository.findById(10L)).thenReturn(java.util.Optional.of(player1));
-        Mockito.when(userRepository.findById(20L)).thenReturn(java.util.Optional.of(player2));
-        Mockito.when(tournamentRepository.findById(1L)).thenReturn(java.util.Optional.of(tournament));
+        // Mockea las referencias; las entidades ya cargadas no se vuelven a consultar
+        Mockito.when(entityManager.getReference(User.class, 10L)).thenReturn(player1);
+        Mockito.when(entityManager.getReference(User.class, 20L)).thenReturn(player2);
+        Mockito.when(entityManager.getReference(Tournament.class, 1L)).thenReturn(tournament);
         Match matchMapped = matchMapper.matchDtoToMatch(dto);
         assertNotNull(matchMapped);
         assertAll(
@@ -151,9 +158,9 @@ class MatchMapperTest {
                 .round(3)
                 .build();
 
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(player1));
-        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(player2));
-        Mockito.when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+        Mockito.when(entityManager.getReference(User.class, 1L)).thenReturn(player1);
+        Mockito.when(entityManager.getReference(User.class, 2L)).thenReturn(player2);
+        Mockito.when(entityManager.getReference(Tournament.class, 1L)).thenReturn(tournament);
 
         List<Match> matchList = matchMapper.matchDTOListToMatchList(List.of(dto));
         assertNotNull(matchList);
@@ -167,4 +174,46 @@ class MatchMapperTest {
             () -> assertEquals(dto.getRound(), matchList.get(0).getRound())
        );
     }
-}
\ No newline at end of file
+
+    /**
+     * Referencia sin cargar, como las que devuelve EntityManager.getReference.
+     */
+    private static <T> T reference(Class<T> type, Long id) {
+        T proxy = Mockito.mock(type, Mockito.withSettings().extraInterfaces(HibernateProxy.class));
+        LazyInitializer initializer = Mockito.mock(LazyInitializer.class);
+        Mockito.when(initializer.isUninitialized()).thenReturn(true);
+        Mockito.when(((HibernateProxy) proxy).asHibernateProxy()).thenReturn((HibernateProxy) proxy);
+        Mockito.when(((HibernateProxy) proxy).getHibernateLazyInitializer()).thenReturn(initializer);
+        return proxy;
+    }
+
+    /**
+     * testMatchDTOToMatchReferences Método que prueba que un MatchDTO se convierte en un Match
+     * con referencias sin cargar, que se comprueban con una sola consulta por tipo,
+     * y que la referencia a un usuario que no existe se queda a null.
+     */
+    @Test
+    void testMatchDTOToMatchReferences() {
+        Tournament tournament = reference(Tournament.class, 1L);
+        Mockito.when(tournament.getId()).thenReturn(1L);
+        User player1 = reference(User.class, 1L);
+        Mockito.when(player1.getId()).thenReturn(1L);
+        User player2 = reference(User.class, 99L);
+        Mockito.when(player2.getId()).thenReturn(99L);
+        Mockito.when(entityManager.getReference(Tournament.class, 1L)).thenReturn(tournament);
+        Mockito.when(entityManager.getReference(User.class, 1L)).thenReturn(player1);
+        Mockito.when(entityManager.getReference(User.class, 99L)).thenReturn(player2);
+        Mockito.when(userRepository.findExistingIds(List.of(1L, 99L))).thenReturn(List.of(1L));
+        Mockito.when(tournamentRepository.findExistingIds(List.of(1L))).thenReturn(List.of(1L));
+
+        MatchDTO dto = MatchDTO.builder().id(300L).tournament(1L).player1(1L).player2(99L).result(Result.DRAW).round(1).build();
+        Match match = matchMapper.matchDtoToMatch(dto);
+
+        assertSame(tournament, match.getTournament());
+        assertSame(player1, match.getPlayer1());
+        assertNull(match.getPlayer2());
+        Mockito.verify(userRepository, Mockito.times(1)).findExistingIds(Mockito.anyCollection());
+        Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong());
+        Mockito.verify(tournamentRepository, Mockito.never()).findById(Mockito.anyLong());
+    }
+}
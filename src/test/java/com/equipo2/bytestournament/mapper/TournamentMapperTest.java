@@ -9,6 +9,7 @@ import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.MatchRepository;
 import com.equipo2.bytestournament.repository.UserRepository;
 
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
@@ -18,7 +19,6 @@ import org.mockito.MockitoAnnotations;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -35,6 +35,9 @@ public class TournamentMapperTest {
 
     @Mock
     private static MatchRepository matchRepository;
+
+    @Mock
+    private EntityManager entityManager;
     
     /**
 
@@ -46,7 +49,7 @@ public class TournamentMapperTest {
         MockitoAnnotations.openMocks(this);
         tournamentMapper = Mappers.getMapper(TournamentMapper.class);
         Field helperField = tournamentMapper.getClass().getDeclaredField("tournamentMapperHelper");
-        TournamentMapperHelper helper = new TournamentMapperHelper(userRepository, matchRepository);
+        TournamentMapperHelper helper = new TournamentMapperHelper(userRepository, matchRepository, entityManager);
         helperField.setAccessible(true);
         helperField.set(tournamentMapper, helper);
     }
@@ -85,7 +88,7 @@ public class TournamentMapperTest {
             ()-> assertEquals(tournament.getStatus(), dto.getStatus()),
             ()-> assertEquals(tournament.getRounds(), dto.getRounds()),
             ()-> assertEquals(tournament.getMaxRounds(), dto.getMaxRounds()),
-            () -> assertEquals(2, dto.getMatches().size()),
+            () -> assertEquals(List.of(10L, 20L), dto.getMatches()),
             () -> assertEquals(2, dto.getPlayers().size()),
             () -> assertTrue(dto.getPlayers().contains(1L)),
             () -> assertTrue(dto.getPlayers().contains(2L))
@@ -111,16 +114,14 @@ public class TournamentMapperTest {
                 .status(Status.FINISHED)
                 .rounds(3)
                 .maxRounds(7)
-                .matches(new ArrayList<>(List.of(match1, match2)))
+                .matches(new ArrayList<>(List.of(1L, 2L)))
                 .players(new ArrayList<>(List.of(1L, 2L)))
                 .build();
 
         // Mockeamos el comportamiento del repositorio de usuarios
-        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(User.builder().id(1L).build()));
-        Mockito.when(userRepository.findById(2L)).thenReturn(Optional.of(User.builder().id(2L).build()));
+        Mockito.when(userRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(User.builder().id(2L).build(), User.builder().id(1L).build()));
         // Mockemos los matches
-        Mockito.when(matchRepository.findById(1L)).thenReturn(Optional.of(match1));
-        Mockito.when(matchRepository.findById(2L)).thenReturn(Optional.of(match2));
+        Mockito.when(matchRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(match1, match2));
 
         Tournament tournament = tournamentMapper.tournamentDtoToTournament(dto);
         assertNotNull(tournament);
@@ -136,7 +137,36 @@ public class TournamentMapperTest {
             () -> assertTrue(tournament.getPlayers().stream().anyMatch(user -> user.getId().equals(1L))),
             () -> assertTrue(tournament.getPlayers().stream().anyMatch(user -> user.getId().equals(2L))),
             () -> assertTrue(tournament.getMatches().stream().anyMatch(match -> match.getId().equals(1L))),
-            () -> assertTrue(tournament.getMatches().stream().anyMatch(match -> match.getId().equals(2L)))
+            () -> assertTrue(tournament.getMatches().stream().anyMatch(match -> match.getId().equals(2L))),
+            // Los jugadores se buscan en una sola consulta y mantienen el orden de los IDs
+            () -> assertEquals(List.of(1L, 2L), tournament.getPlayers().stream().map(User::getId).toList()),
+            () -> Mockito.verify(userRepository, Mockito.never()).findById(Mockito.anyLong())
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * testTournamentDTOToTournamentReferences Método que prueba la conversión
+     * de TournamentDTO a Tournament para guardarlo: los jugadores son referencias sin cargar,
+     * en el orden de los IDs, y los IDs que no existen se descartan tras una sola consulta de IDs.
+     */
+    @Test
+    void testTournamentDTOToTournamentReferences() {
+        TournamentDTO dto = TournamentDTO.builder()
+                .name("Torneo referencias")
+                .maxPlayers(4)
+                .status(Status.PENDING)
+                .rounds(0)
+                .maxRounds(3)
+                .players(new ArrayList<>(List.of(3L, 1L, 2L)))
+                .build();
+        Mockito.when(userRepository.findExistingIds(List.of(3L, 1L, 2L))).thenReturn(List.of(1L, 3L));
+        Mockito.when(entityManager.getReference(User.class, 1L)).thenReturn(User.builder().id(1L).build());
+        Mockito.when(entityManager.getReference(User.class, 3L)).thenReturn(User.builder().id(3L).build());
+
+        Tournament tournament = tournamentMapper.tournamentDtoToTournamentReferences(dto);
+
+        assertEquals(List.of(3L, 1L), tournament.getPlayers().stream().map(User::getId).toList());
+        Mockito.verify(userRepository, Mockito.never()).findAllById(Mockito.anyIterable());
+        Mockito.verify(entityManager, Mockito.never()).getReference(User.class, 2L);
+    }
+}
@@ -0,0 +1,77 @@
+package com.equipo2.bytestournament.mapper.helper;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Clase de prueba para BatchIdResolver.
+ * Comprueba que los IDs se buscan en consultas agrupadas, que se mantiene su orden
+ * y que dentro de una petición cada ID se busca una sola vez.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class BatchIdResolverTest {
+
+    /**
+     * Consulta simulada: devuelve los usuarios con ID par en orden inverso y guarda cada grupo consultado.
+     */
+    private final List<List<Long>> queries = new ArrayList<>();
+    private final Function<List<Long>, List<User>> finder = ids -> {
+        queries.add(List.copyOf(ids));
+        return ids.stream().filter(id -> id % 2 == 0).sorted((a, b) -> Long.compare(b, a))
+                .map(id -> User.builder().id(id).build()).toList();
+    };
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    /**
+     * Las entidades salen en el orden de los IDs, con las repeticiones y sin las que no existen,
+     * y cada ID se consulta una vez.
+     */
+    @Test
+    public void orderTest() {
+        List<User> users = BatchIdResolver.findAllInOrder(List.of(6L, 2L, 3L, 6L, 4L), User.class, finder, User::getId);
+
+        assertEquals(List.of(6L, 2L, 6L, 4L), users.stream().map(User::getId).toList());
+        assertEquals(List.of(List.of(6L, 2L, 3L, 4L)), queries);
+    }
+
+    /**
+     * Las listas largas se consultan en grupos de CHUNK_SIZE IDs.
+     */
+    @Test
+    public void chunkTest() {
+        List<Long> ids = LongStream.rangeClosed(1, 2 * BatchIdResolver.CHUNK_SIZE + 1).boxed().toList();
+
+        List<User> users = BatchIdResolver.findAllInOrder(ids, User.class, finder, User::getId);
+
+        assertEquals(BatchIdResolver.CHUNK_SIZE, users.size());
+        assertEquals(List.of(BatchIdResolver.CHUNK_SIZE, BatchIdResolver.CHUNK_SIZE, 1), queries.stream().map(List::size).toList());
+    }
+
+    /**
+     * Dentro de una petición, los IDs ya buscados, existan o no, no se vuelven a consultar.
+     */
+    @Test
+    public void requestCacheTest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        BatchIdResolver.findAllInOrder(List.of(1L, 2L), User.class, finder, User::getId);
+        List<User> users = BatchIdResolver.findAllInOrder(List.of(2L, 1L, 4L), User.class, finder, User::getId);
+
+        assertEquals(List.of(2L, 4L), users.stream().map(User::getId).toList());
+        assertEquals(List.of(List.of(1L, 2L), List.of(4L)), queries);
+    }
+}
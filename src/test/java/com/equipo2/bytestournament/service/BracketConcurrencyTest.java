@@ -0,0 +1,128 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que el cuadro avanza aunque los resultados de dos matches hermanos
+ * se informen a la vez, en dos transacciones que guardan su resultado antes de que ninguna mire al hermano.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bracket-concurrency;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class BracketConcurrencyTest {
+
+    @Autowired
+    private BracketService bracketService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Las dos semifinales de un cuadro de cuatro se deciden a la vez y la final se crea una sola vez con los dos ganadores.
+     */
+    @Test
+    public void siblingResultsAtOnceCreateTheFinalTest() throws Exception {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+            users.add(User.builder()
+                    .username("bracket-" + i)
+                    .email("bracket-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        List<User> players = userRepository.saveAll(users);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Eliminatoria concurrente")
+                .maxPlayers(4)
+                .status(Status.IN_PROGRESS)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .rounds(1)
+                .maxRounds(2)
+                .build());
+        List<Match> semifinals = matchRepository.saveAll(List.of(
+                semifinal(tournament, players.get(0), players.get(3), 2),
+                semifinal(tournament, players.get(1), players.get(2), 3)));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CyclicBarrier saved = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            List<Future<?>> reports = new ArrayList<>();
+            for (Match semifinal : semifinals)
+                reports.add(executor.submit(() -> transaction.executeWithoutResult(status -> {
+                    Match match = matchRepository.findById(semifinal.getId()).orElseThrow();
+                    match.setResult(Result.PLAYER1_WIN);
+                    match.setAwardedPoints(10);
+                    matchRepository.saveAndFlush(match);
+                    // Ninguna avanza hasta que las dos han guardado su resultado sin confirmarlo
+                    try {
+                        saved.await(10, TimeUnit.SECONDS);
+                    } catch (Exception error) {
+                        throw new IllegalStateException(error);
+                    }
+                    bracketService.advance(match);
+                })));
+            for (Future<?> report : reports)
+                report.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Match last = matchRepository.findByTournamentIdAndBracketPosition(tournament.getId(), 1).orElseThrow();
+        assertEquals(Result.PENDING, last.getResult());
+        assertEquals(2, last.getRound());
+        assertEquals(List.of(players.get(0).getId(), players.get(1).getId()),
+                List.of(last.getPlayer1().getId(), last.getPlayer2().getId()));
+        assertEquals(2, tournamentRepository.findById(tournament.getId()).orElseThrow().getRounds());
+    }
+
+    private static Match semifinal(Tournament tournament, User player1, User player2, int bracketPosition) {
+        return Match.builder()
+                .tournament(tournament)
+                .player1(player1)
+                .player2(player2)
+                .result(Result.PENDING)
+                .round(1)
+                .bracketPosition(bracketPosition)
+                .build();
+    }
+}
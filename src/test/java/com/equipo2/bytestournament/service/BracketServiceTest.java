@@ -0,0 +1,144 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+
+/**
+ * Clase de prueba para BracketService utilizando Mockito.
+ * Comprueba la siembra del cuadro, los byes y el avance perezoso de rondas.
+ *
+ * {@link Mock} se utiliza para simular los repositorios de matches y torneos.
+ * {@link InjectMocks} se utiliza para inyectar los mocks en una instancia de BracketService.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class BracketServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private StandingsService standingsService;
+
+    @InjectMocks
+    private BracketService bracketService;
+
+    public BracketServiceTest() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> i.getArgument(0));
+        Mockito.when(matchRepository.save(Mockito.any(Match.class))).thenAnswer(i -> i.getArgument(0));
+    }
+
+    private static Tournament tournament(int size) {
+        List<User> players = new ArrayList<>();
+        for (int i = 1; i <= size; i++)
+            players.add(User.builder().id((long) i).username("p" + i).points(1000 - i).build());
+        return Tournament.builder()
+                .id(1L)
+                .name("Eliminatoria")
+                .status(Status.IN_PROGRESS)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .rounds(0)
+                .maxRounds(1)
+                .players(players)
+                .matches(new ArrayList<>())
+                .build();
+    }
+
+    /**
+     * Con 5 jugadores el cuadro es de 8: 3 byes para los mejores cabezas de serie y 3 rondas.
+     */
+    @Test
+    public void startBracketSeedsAndAssignsByesTest() {
+        Tournament tournament = tournament(5);
+        List<Match> firstRound = bracketService.startBracket(tournament);
+
+        assertEquals(4, firstRound.size());
+        assertEquals(3, tournament.getMaxRounds());
+        assertEquals(1, tournament.getRounds());
+
+        // Posiciones 4..7 del heap, el cabeza de serie 1 descansa y el 4 se enfrenta al 5
+        assertEquals(List.of(4, 5, 6, 7), firstRound.stream().map(Match::getBracketPosition).toList());
+        assertEquals(1L, firstRound.get(0).getPlayer1().getId());
+        assertNull(firstRound.get(0).getPlayer2());
+        assertEquals(Result.PLAYER1_WIN, firstRound.get(0).getResult());
+        assertEquals(4L, firstRound.get(1).getPlayer1().getId());
+        assertEquals(5L, firstRound.get(1).getPlayer2().getId());
+        assertEquals(Result.PENDING, firstRound.get(1).getResult());
+        assertEquals(3, firstRound.stream().filter(match -> match.getPlayer2() == null).count());
+
+        // Los nodos 6 y 7 son dos byes, así que el match del nodo 3 ya se conoce: el cabeza de serie 2 contra el 3
+        Match byesParent = tournament.getMatches().stream()
+                .filter(match -> match.getBracketPosition() == 3)
+                .findFirst().orElseThrow();
+        assertEquals(2, byesParent.getRound());
+        assertEquals(2L, byesParent.getPlayer1().getId());
+        assertEquals(3L, byesParent.getPlayer2().getId());
+        assertEquals(Result.PENDING, byesParent.getResult());
+        assertEquals(5, tournament.getMatches().size());
+        assertEquals(1, tournament.getRounds());
+
+        // Los tres byes cuentan como victoria en la clasificación del torneo
+        ArgumentCaptor<StandingChanges> byes = ArgumentCaptor.forClass(StandingChanges.class);
+        Mockito.verify(standingsService).apply(byes.capture());
+        assertEquals(List.of(1L, 2L, 3L), byes.getValue().deltas().stream().map(StandingDelta::userId).toList());
+        assertTrue(byes.getValue().deltas().stream().allMatch(delta -> delta.wins() == 1 && delta.points() == 0));
+
+        // No se puede generar el cuadro dos veces
+        assertThrows(RequestException.class, () -> bracketService.startBracket(tournament));
+    }
+
+    /**
+     * El match de la siguiente ronda se crea cuando los dos matches que lo alimentan tienen resultado,
+     * y la final termina el torneo.
+     */
+    @Test
+    public void advanceMaterializesNextRoundLazilyTest() {
+        Tournament tournament = tournament(4);
+        List<Match> firstRound = bracketService.startBracket(tournament);
+        Match semifinal1 = firstRound.get(0);
+        Match semifinal2 = firstRound.get(1);
+        Mockito.when(matchRepository.findByTournamentIdAndBracketPosition(1L, 2)).thenReturn(Optional.of(semifinal1));
+        Mockito.when(matchRepository.findByTournamentIdAndBracketPosition(1L, 3)).thenReturn(Optional.of(semifinal2));
+
+        // Falta el resultado del otro match, no se genera nada
+        semifinal2.setResult(Result.PLAYER2_WIN);
+        assertTrue(bracketService.advance(semifinal2).isEmpty());
+
+        semifinal1.setResult(Result.PLAYER1_WIN);
+        Match finalMatch = bracketService.advance(semifinal1).orElseThrow();
+        assertEquals(1, finalMatch.getBracketPosition());
+        assertEquals(2, finalMatch.getRound());
+        assertEquals(2, tournament.getRounds());
+        assertEquals(semifinal1.getPlayer1(), finalMatch.getPlayer1());
+        assertEquals(semifinal2.getPlayer2(), finalMatch.getPlayer2());
+
+        finalMatch.setResult(Result.PLAYER1_WIN);
+        assertTrue(bracketService.advance(finalMatch).isEmpty());
+        assertEquals(Status.FINISHED, tournament.getStatus());
+    }
+}
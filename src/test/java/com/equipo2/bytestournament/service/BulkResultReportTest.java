@@ -0,0 +1,109 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.DTO.BulkResultDTO;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.rating.Glicko2;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que los resultados de una ronda completa se informan
+ * en un solo envío con UPDATE por lotes, sin contar dos veces los que ya tenían resultado.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-result-report;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class BulkResultReportTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Informa los 256 resultados de una ronda de 512 jugadores en un solo envío: se aplican todos con unas pocas
+     * sentencias JDBC, los puntos llegan a la base de datos, la ronda termina y aplica su periodo de rating,
+     * y volver a enviarla no cambia nada.
+     */
+    @Test
+    public void reportRoundResultsUsesBatchedUpdatesTest() {
+        int roundPlayers = 512;
+        List<User> players = new ArrayList<>(roundPlayers);
+        for (int i = 0; i < roundPlayers; i++) {
+            players.add(User.builder()
+                    .username("results-" + i)
+                    .email("results-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        }
+        players = userRepository.saveAll(players);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Resultados por lotes")
+                .maxPlayers(roundPlayers)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(10)
+                .build());
+        tournament.setPlayers(players);
+        tournament = tournamentRepository.save(tournament);
+
+        List<MatchDTO> round = matchService.generateMatches(tournament.getId());
+        List<ResultItemDTO> results = round.stream().map(match -> new ResultItemDTO(match.getId(), Result.PLAYER1_WIN)).toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        BulkResultDTO bulk = matchService.reportResults(results);
+
+        assertEquals(roundPlayers / 2, bulk.getApplied());
+        // Incluye las tres sentencias de la instantánea de la clasificación de la ronda, que termina con el envío,
+        // y las cinco que recalculan los desempates guardados de los grupos de puntos afectados antes de confirmar
+        assertTrue(statistics.getPrepareStatementCount() < 18, "Se esperaban consultas agrupadas pero se prepararon " + statistics.getPrepareStatementCount());
+        List<User> rated = userRepository.findAllById(players.stream().map(User::getId).toList());
+        long winners = rated.stream().filter(player -> player.getPoints() >= 10).count();
+        assertEquals(roundPlayers / 2, winners);
+
+        // La ronda ha terminado con el envío y su periodo de rating se ha aplicado a todos los jugadores
+        assertEquals(roundPlayers / 2, rated.stream().filter(player -> player.getRating() > Glicko2.DEFAULT_RATING).count());
+        assertTrue(rated.stream().allMatch(player -> player.getRatingDeviation() < Glicko2.DEFAULT_DEVIATION));
+
+        // Volver a enviar la ronda no suma puntos dos veces
+        BulkResultDTO again = matchService.reportResults(results);
+        assertEquals(0, again.getApplied());
+        assertEquals(rated.stream().mapToInt(User::getPoints).sum(),
+                userRepository.findAllById(players.stream().map(User::getId).toList()).stream().mapToInt(User::getPoints).sum());
+    }
+}
@@ -0,0 +1,109 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.GlobalPlayerView;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.leaderboard.RankHistogram;
+import com.equipo2.bytestournament.service.rating.RanksChangedEvent;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingsChangedEvent;
+
+/**
+ * Clase de prueba para GlobalLeaderboardService utilizando Mockito.
+ * Comprueba que la clasificación global y los usuarios de cada rango se construyen con un recorrido de los usuarios
+ * y se actualizan sin volver a la base de datos.
+ *
+ * {@link Mock} se utiliza para simular el repositorio de usuarios.
+ * {@link InjectMocks} se utiliza para inyectar los mocks en una instancia de GlobalLeaderboardService.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class GlobalLeaderboardServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private GlobalLeaderboardService globalLeaderboardService;
+
+    public GlobalLeaderboardServiceTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static GlobalPlayerView player(Long userId, Rank rank, int points) {
+        GlobalPlayerView view = Mockito.mock(GlobalPlayerView.class);
+        Mockito.when(view.getUserId()).thenReturn(userId);
+        Mockito.when(view.getUsername()).thenReturn("user" + userId);
+        Mockito.when(view.getRank()).thenReturn(rank);
+        Mockito.when(view.getPoints()).thenReturn(points);
+        return view;
+    }
+
+    /**
+     * Los puntos de un resultado se suman a los de todos los torneos del usuario, y las altas, bajas
+     * y cambios de rango mueven los contadores de cada rango.
+     */
+    @Test
+    public void rebuildAndUpdateTest() {
+        List<GlobalPlayerView> players = List.of(
+                player(10L, Rank.BRONZE, 100), player(11L, Rank.GOLD, 300), player(12L, Rank.BRONZE, 200));
+        Mockito.when(userRepository.streamGlobalPlayers()).thenReturn(players.stream());
+        globalLeaderboardService.rebuild();
+
+        Leaderboard board = globalLeaderboardService.board();
+        RankHistogram tiers = globalLeaderboardService.tiers();
+        assertEquals(List.of(11L, 12L, 10L), board.top(10).stream().map(Leaderboard.Entry::userId).toList());
+        assertEquals(2, tiers.count(Rank.BRONZE));
+        assertEquals(1, tiers.above(Rank.SILVER));
+        assertEquals(3, tiers.total());
+
+        // Dos torneos del mismo usuario suman sus puntos en la clasificación global
+        globalLeaderboardService.onStandingsChanged(new StandingsChangedEvent(List.of(
+                new StandingDelta(1L, 10L, 1, 0, 0, 150), new StandingDelta(2L, 10L, 1, 0, 0, 100),
+                new StandingDelta(1L, 11L, 0, 1, 0, 0))));
+        assertEquals(1, board.positionOf(10L));
+        assertEquals(350, board.get(10L).points());
+
+        globalLeaderboardService.onRanksChanged(new RanksChangedEvent(Map.of(10L, Rank.PLATINUM, 99L, Rank.GOLD)));
+        assertEquals(Rank.PLATINUM, board.get(10L).rank());
+        assertEquals(1, tiers.count(Rank.BRONZE));
+        assertEquals(1, tiers.count(Rank.PLATINUM));
+        assertEquals(3, tiers.total());
+
+        globalLeaderboardService.updatePlayer(User.builder().id(13L).username("new").rank(Rank.SILVER).points(0).build());
+        globalLeaderboardService.removePlayer(11L);
+        assertNull(board.get(11L));
+        assertEquals(0, tiers.count(Rank.GOLD));
+        assertEquals(1, tiers.count(Rank.SILVER));
+        assertEquals(3, board.positionOf(13L));
+    }
+
+    /**
+     * Reconstruir sustituye la clasificación y los contadores anteriores por los del recorrido.
+     */
+    @Test
+    public void rebuildReplacesTest() {
+        GlobalPlayerView before = player(10L, Rank.BRONZE, 100);
+        GlobalPlayerView after = player(11L, Rank.DIAMOND, 50);
+        Mockito.when(userRepository.streamGlobalPlayers()).thenReturn(Stream.of(before), Stream.of(after));
+        globalLeaderboardService.rebuild();
+        globalLeaderboardService.rebuild();
+
+        assertEquals(1, globalLeaderboardService.board().size());
+        assertNull(globalLeaderboardService.board().get(10L));
+        assertEquals(0, globalLeaderboardService.tiers().count(Rank.BRONZE));
+        assertEquals(1, globalLeaderboardService.tiers().count(Rank.DIAMOND));
+    }
+}
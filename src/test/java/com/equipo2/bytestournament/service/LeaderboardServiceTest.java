@@ -0,0 +1,107 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentPlayerView;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.standings.StandingsChangedEvent;
+
+/**
+ * Clase de prueba para LeaderboardService utilizando Mockito.
+ * Comprueba que las clasificaciones se construyen con una consulta y se actualizan sin volver a la base de datos.
+ *
+ * {@link Mock} se utiliza para simular los repositorios de torneos y de clasificación.
+ * {@link InjectMocks} se utiliza para inyectar los mocks en una instancia de LeaderboardService.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class LeaderboardServiceTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private TournamentStandingRepository standingRepository;
+
+    @InjectMocks
+    private LeaderboardService leaderboardService;
+
+    public LeaderboardServiceTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static TournamentPlayerView player(Long tournamentId, Long userId, int points) {
+        TournamentPlayerView view = Mockito.mock(TournamentPlayerView.class);
+        Mockito.when(view.getTournamentId()).thenReturn(tournamentId);
+        Mockito.when(view.getUserId()).thenReturn(userId);
+        Mockito.when(view.getUsername()).thenReturn("user" + userId);
+        Mockito.when(view.getRank()).thenReturn(Rank.BRONZE);
+        Mockito.when(view.getPoints()).thenReturn(points);
+        Mockito.when(view.getWins()).thenReturn(points / 50);
+        return view;
+    }
+
+    /**
+     * Los cambios de un resultado recolocan al jugador solo en el torneo del resultado,
+     * y los cambios de usuario y los borrados se aplican en todos sus torneos sin consultar la base de datos.
+     */
+    @Test
+    public void rebuildAndUpdateTest() {
+        List<TournamentPlayerView> players = List.of(
+                player(1L, 10L, 100), player(1L, 11L, 200),
+                player(2L, 10L, 100), player(2L, 12L, 150));
+        Mockito.when(standingRepository.findAllPlayerViews()).thenReturn(players);
+        leaderboardService.rebuild();
+
+        Leaderboard first = leaderboardService.board(1L).orElseThrow();
+        Leaderboard second = leaderboardService.board(2L).orElseThrow();
+        assertEquals(2, first.positionOf(10L));
+        assertEquals(2, second.positionOf(10L));
+
+        leaderboardService.onStandingsChanged(new StandingsChangedEvent(List.of(new StandingDelta(1L, 10L, 1, 0, 0, 120))));
+        assertEquals(1, first.positionOf(10L));
+        assertEquals(2, second.positionOf(10L));
+        assertEquals(220, first.get(10L).points());
+        assertEquals(3, first.get(10L).wins());
+
+        // Los puntos globales del usuario no cambian sus puntos en el torneo
+        leaderboardService.updatePlayer(User.builder().id(12L).username("renamed").rank(Rank.SILVER).points(500).build());
+        assertEquals("renamed", second.top(1).get(0).username());
+        assertEquals(150, second.get(12L).points());
+
+        leaderboardService.removePlayer(10L);
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        Mockito.verify(tournamentRepository, Mockito.never()).existsById(Mockito.any());
+    }
+
+    /**
+     * Un torneo que no está en memoria se construye al consultarlo, y uno que no existe devuelve vacío.
+     */
+    @Test
+    public void boardLoadsMissingTournamentTest() {
+        Mockito.when(tournamentRepository.existsById(3L)).thenReturn(true);
+        List<TournamentPlayerView> players = List.of(player(3L, 20L, 10), player(3L, 21L, 30));
+        Mockito.when(standingRepository.findPlayerViews(3L)).thenReturn(players);
+        Mockito.when(tournamentRepository.existsById(4L)).thenReturn(false);
+
+        assertEquals(List.of(21L, 20L), leaderboardService.board(3L).orElseThrow().top(5).stream().map(Leaderboard.Entry::userId).toList());
+        assertTrue(leaderboardService.board(4L).isEmpty());
+
+        // Sin transacción en curso, refrescar reconstruye al momento
+        leaderboardService.evict(3L);
+        leaderboardService.refresh(3L);
+        Mockito.verify(standingRepository, Mockito.times(2)).findPlayerViews(3L);
+    }
+}
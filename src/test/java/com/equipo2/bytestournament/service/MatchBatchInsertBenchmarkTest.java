@@ -0,0 +1,96 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Benchmark de la generación de rondas de MatchService contra la base de datos H2 en memoria.
+ * Genera una ronda de 1024 jugadores (512 matches) y comprueba, mediante las estadísticas de Hibernate,
+ * que los INSERT se agrupan en lotes JDBC en lugar de lanzar una sentencia por match.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ * {@link Tag} la marca como prueba de rendimiento, que solo se ejecuta con el perfil benchmark.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:match-batch-benchmark;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class MatchBatchInsertBenchmarkTest {
+
+    private static final int PLAYERS = 1024;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Genera una ronda completa y verifica que el número de sentencias preparadas es muy inferior
+     * al número de matches insertados.
+     */
+    @Test
+    public void generateRoundUsesBatchedInserts() {
+        List<User> players = new ArrayList<>(PLAYERS);
+        for (int i = 0; i < PLAYERS; i++) {
+            players.add(User.builder()
+                    .username("bench-" + i)
+                    .email("bench-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(i % 800)
+                    .build());
+        }
+        players = userRepository.saveAll(players);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Benchmark lotes")
+                .maxPlayers(PLAYERS)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(10)
+                .build());
+        tournament.setPlayers(players);
+        tournament = tournamentRepository.save(tournament);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        matchService.generateMatches(tournament.getId());
+        long statements = statistics.getPrepareStatementCount();
+
+        assertEquals(PLAYERS / 2, matchRepository.findByTournamentIdAndRound(tournament.getId(), 1).orElseThrow().size());
+        // Sin lotes serían al menos 512 INSERT, con lotes de 50 bastan unas pocas decenas de sentencias
+        assertTrue(statements < PLAYERS / 16, "Se esperaban INSERT por lotes pero se prepararon " + statements + " sentencias");
+    }
+}
@@ -1,26 +1,50 @@
 package com.equipo2.bytestournament.service;
 
+import com.equipo2.bytestournament.DTO.BulkResultDTO;
 import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.DTO.RoundReplayDTO;
+import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Result;
 import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.MatchMapper;
 import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.RoundSeed;
 import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.repository.ResultBatchRepository;
 import com.equipo2.bytestournament.repository.TournamentRepository;
 import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.standings.StandingDelta;
+import com.equipo2.bytestournament.service.pairing.PairingEngineRegistry;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
+import com.equipo2.bytestournament.service.pairing.ParallelGroupPairing;
+import com.equipo2.bytestournament.service.pairing.RandomSource;
+import com.equipo2.bytestournament.service.pairing.SwissPairingEngine;
+import com.equipo2.bytestournament.enums.PairingGroup;
+import com.equipo2.bytestournament.service.pairing.UmbralPairingEngine;
+import com.equipo2.bytestournament.DTO.ScheduleSummaryDTO;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 import java.util.logging.Logger;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -50,6 +74,33 @@ public class MatchServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Spy
+    private ParallelGroupPairing parallelGroupPairing = new ParallelGroupPairing();
+
+    @Spy
+    private RandomSource randomSource = new RandomSource();
+
+    @Mock
+    private ResultBatchRepository resultBatchRepository;
+
+    @Mock
+    private BracketService bracketService;
+
+    @Mock
+    private StandingsService standingsService;
+
+    @Mock
+    private RatingService ratingService;
+
+    @Mock
+    private StandingsHistoryService standingsHistoryService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private PairingEngineRegistry pairingEngineRegistry = new PairingEngineRegistry(List.of(new UmbralPairingEngine(), new SwissPairingEngine()));
+
     private final User user;
 
     @InjectMocks
@@ -94,7 +145,7 @@ public class MatchServiceTest {
 
         // Simulamos el comportamiento del repositorio y el mapper
         Mockito.when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
-        Mockito.when(matchRepository.save(Mockito.any(Match.class))).thenAnswer(i -> i.getArgument(0));
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> i.getArgument(0));
         Mockito.when(tournamentRepository.save(Mockito.any(Tournament.class))).thenReturn(tournament);
         List<MatchDTO> matchDTOList = new ArrayList<>();
         Mockito.when(matchMapper.matchListToMatchDTOList(Mockito.anyList())).thenReturn(matchDTOList);
@@ -104,12 +155,260 @@ public class MatchServiceTest {
         List<MatchDTO> resultado = matchService.generateMatches(1L);
 
         // Verifica el resultado
-        Mockito.verify(matchRepository, Mockito.atLeastOnce()).save(Mockito.any(Match.class));
+        // Toda la ronda se guarda con una sola llamada por lotes y solo se devuelve la nueva ronda
+        Mockito.verify(matchRepository, Mockito.times(1)).saveAll(Mockito.anyList());
+        Mockito.verify(matchRepository, Mockito.never()).save(Mockito.any(Match.class));
         Mockito.verify(tournamentRepository).save(tournament);
-        Mockito.verify(matchMapper).matchListToMatchDTOList(tournament.getMatches());
+        Mockito.verify(matchMapper).matchListToMatchDTOList(Mockito.argThat(round -> round.size() == 1 && round.get(0).getRound() == 1));
         assertEquals(matchDTOList, resultado);
     }
 
+    /**
+     * Prueba unitaria de generateMatches en un torneo suizo con número impar de jugadores.
+     * Se comprueba que el historial se carga con una sola consulta y que el jugador sobrante recibe un bye.
+     */
+    @Test
+    public void generateSwissMatchesWithByeTest() {
+        List<User> players = new ArrayList<>();
+        for (long id = 1; id <= 3; id++)
+            players.add(User.builder().id(id).username("s" + id).email("s" + id + "@s.com").points(100).build());
+
+        Tournament tournament = Tournament.builder()
+                .id(4L)
+                .name("Torneo suizo")
+                .format(TournamentFormat.SWISS)
+                .rounds(0)
+                .players(players)
+                .matches(new ArrayList<>())
+                .build();
+
+        Mockito.when(tournamentRepository.findById(4L)).thenReturn(Optional.of(tournament));
+        Mockito.when(matchRepository.findByTournamentId(4L)).thenReturn(Optional.of(List.of()));
+        List<Match> saved = new ArrayList<>();
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> {
+            saved.addAll(i.getArgument(0));
+            return i.getArgument(0);
+        });
+
+        matchService.generateMatches(4L);
+
+        Mockito.verify(matchRepository, Mockito.times(1)).findByTournamentId(4L);
+        assertEquals(2, saved.size());
+        Match bye = saved.stream().filter(m -> m.getPlayer2() == null).findFirst().orElseThrow();
+        assertEquals(Result.PLAYER1_WIN, bye.getResult());
+        assertEquals(3L, bye.getPlayer1().getId());
+    }
+
+    /**
+     * Prueba unitaria de generateMatches con progreso.
+     * Se comprueba que la ronda se guarda en lotes y que el progreso se notifica tras cada lote.
+     */
+    @Test
+    public void generateMatchesReportsProgressTest() {
+        List<User> players = new ArrayList<>();
+        for (long id = 1; id <= 2_400; id++)
+            players.add(User.builder().id(id).username("g" + id).email("g" + id + "@g.com").points((int) id).build());
+
+        Tournament tournament = Tournament.builder()
+                .id(6L)
+                .name("Torneo grande")
+                .rounds(2)
+                .players(players)
+                .build();
+
+        Mockito.when(tournamentRepository.findById(6L)).thenReturn(Optional.of(tournament));
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> i.getArgument(0));
+
+        List<Integer> persisted = new ArrayList<>();
+        int[] paired = new int[2];
+        matchService.generateMatches(6L, PairingOptions.DEFAULT, new GenerationProgress() {
+            @Override
+            public void paired(int round, int matches) {
+                paired[0] = round;
+                paired[1] = matches;
+            }
+
+            @Override
+            public void persisted(int matches) {
+                persisted.add(matches);
+            }
+        });
+
+        assertEquals(3, paired[0]);
+        assertEquals(1_200, paired[1]);
+        assertEquals(List.of(MatchService.PERSIST_CHUNK, 1_200), persisted);
+        Mockito.verify(matchRepository, Mockito.times(2)).flush();
+    }
+
+    /**
+     * Prueba unitaria de generateMatches en modo paralelo con semilla.
+     * Se comprueba que dos generaciones con la misma semilla producen los mismos emparejamientos.
+     */
+    @Test
+    public void generateParallelMatchesWithSeedTest() {
+        List<User> players = new ArrayList<>();
+        for (long id = 1; id <= 300; id++)
+            players.add(User.builder().id(id).username("r" + id).email("r" + id + "@r.com").points((int) (id * 13 % 3000)).build());
+
+        Tournament tournament = Tournament.builder()
+                .id(8L)
+                .name("Torneo paralelo")
+                .rounds(0)
+                .players(players)
+                .build();
+
+        Mockito.when(tournamentRepository.findById(8L)).thenReturn(Optional.of(tournament));
+        List<List<Long>> rounds = new ArrayList<>();
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> {
+            List<Match> round = i.getArgument(0);
+            rounds.add(round.stream().flatMap(m -> Stream.of(m.getPlayer1().getId(), m.getPlayer2().getId())).toList());
+            return round;
+        });
+
+        PairingOptions options = new PairingOptions(true, PairingGroup.RANK, 2024L);
+        matchService.generateMatches(8L, options);
+        matchService.generateMatches(8L, options);
+
+        assertEquals(2, rounds.size());
+        assertEquals(300, rounds.get(0).size());
+        assertEquals(rounds.get(0), rounds.get(1));
+        Mockito.verify(parallelGroupPairing, Mockito.times(2)).pair(Mockito.any(), Mockito.anyList(), Mockito.eq(PairingGroup.RANK), Mockito.any());
+    }
+
+    /**
+     * Prueba unitaria de replayRound.
+     * Se genera una ronda en paralelo agrupando por rango, con rangos que no son los que corresponden a los puntos
+     * porque salen del rating, se cambian los puntos y los rangos de los jugadores como si se hubieran informado resultados
+     * y se comprueba que la reproducción con la semilla guardada coincide con la ronda original.
+     */
+    @Test
+    public void replayRoundTest() {
+        List<User> players = new ArrayList<>();
+        Rank[] ranks = Rank.values();
+        for (long id = 1; id <= 40; id++) {
+            int points = (int) (id * 97 % 2500);
+            players.add(User.builder().id(id).username("s" + id).email("s" + id + "@s.com").points(points)
+                    .rank(ranks[(Rank.fromPoints(points).ordinal() + 1 + (int) (id % 2)) % ranks.length]).build());
+        }
+
+        Tournament tournament = Tournament.builder()
+                .id(9L)
+                .name("Torneo reproducible")
+                .rounds(0)
+                .players(players)
+                .build();
+
+        Mockito.when(tournamentRepository.findById(9L)).thenReturn(Optional.of(tournament));
+        List<Match> recorded = new ArrayList<>();
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> {
+            List<Match> round = i.getArgument(0);
+            recorded.addAll(round);
+            return round;
+        });
+        matchService.generateMatches(9L, new PairingOptions(true, PairingGroup.RANK, 99L));
+
+        // La semilla de la ronda queda guardada en el torneo y los puntos y el rango en cada match
+        RoundSeed roundSeed = tournament.getRoundSeeds().get(1);
+        assertEquals(PairingGroup.RANK, roundSeed.getGroupBy());
+        assertEquals(20, recorded.size());
+        assertEquals(recorded.get(0).getPlayer1().getPoints(), recorded.get(0).getPlayer1Points());
+        assertEquals(recorded.get(0).getPlayer1().getRank(), recorded.get(0).getPlayer1Rank());
+        assertTrue(recorded.stream().anyMatch(match -> match.getPlayer1Rank() != Rank.fromPoints(match.getPlayer1Points())));
+
+        // Los puntos y el rango actuales ya no son los del emparejamiento
+        players.forEach(player -> {
+            player.setPoints(player.getPoints() + 3_000 * (int) (player.getId() % 3));
+            player.setRank(ranks[(player.getRank().ordinal() + 1) % ranks.length]);
+        });
+        Mockito.when(matchRepository.findByTournamentIdAndRound(9L, 1)).thenReturn(Optional.of(recorded));
+
+        RoundReplayDTO replay = matchService.replayRound(9L, 1);
+        assertTrue(replay.getIdentical());
+        assertEquals(roundSeed.getSeed(), replay.getSeed());
+        assertEquals(20, replay.getReplayedMatches());
+
+        // Si la ronda guardada no coincide se devuelven las diferencias
+        User first = recorded.get(0).getPlayer2();
+        Integer firstPoints = recorded.get(0).getPlayer2Points();
+        recorded.get(0).setPlayer2(recorded.get(1).getPlayer2());
+        Rank firstRank = recorded.get(0).getPlayer2Rank();
+        recorded.get(0).setPlayer2Points(recorded.get(1).getPlayer2Points());
+        recorded.get(0).setPlayer2Rank(recorded.get(1).getPlayer2Rank());
+        recorded.get(1).setPlayer2(first);
+        recorded.get(1).setPlayer2Points(firstPoints);
+        recorded.get(1).setPlayer2Rank(firstRank);
+        replay = matchService.replayRound(9L, 1);
+        assertFalse(replay.getIdentical());
+        assertEquals(2, replay.getOnlyRecorded().size());
+        assertEquals(2, replay.getOnlyReplayed().size());
+
+        // Una ronda sin semilla no se puede reproducir
+        assertThrows(RequestException.class, () -> matchService.replayRound(9L, 2));
+    }
+
+    /**
+     * Prueba unitaria de setPointsToPLayers con la semilla de la ronda.
+     * Se comprueba que el mismo match recibe siempre los mismos puntos.
+     */
+    @Test
+    public void setPointsToPlayersWithSeedTest() {
+        Tournament tournament = Tournament.builder().id(10L).name("Torneo puntos").rounds(1).build();
+        tournament.getRoundSeeds().put(1, new RoundSeed(77L, null));
+
+        List<Integer> awarded = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            User player1 = User.builder().id(1L).points(0).build();
+            User player2 = User.builder().id(2L).points(0).build();
+            Match match = Match.builder().id(5L).tournament(tournament).round(1).player1(player1).player2(player2).result(Result.PLAYER1_WIN).build();
+            matchService.setPointsToPLayers(match);
+            awarded.add(player1.getPoints());
+        }
+
+        assertTrue(awarded.get(0) >= 10 && awarded.get(0) <= 20);
+        assertEquals(awarded.get(0), awarded.get(1));
+        assertEquals(awarded.get(0), awarded.get(2));
+    }
+
+    /**
+     * Prueba unitaria de generateRoundRobin.
+     * Se comprueba que se generan todos los matches en lotes y que el contexto de persistencia se vacía tras cada lote.
+     */
+    @Test
+    public void generateRoundRobinTest() {
+        List<User> players = new ArrayList<>();
+        for (long id = 1; id <= 50; id++)
+            players.add(User.builder().id(id).username("l" + id).points(100).build());
+
+        Tournament tournament = Tournament.builder()
+                .id(5L)
+                .name("Liga")
+                .format(TournamentFormat.ROUND_ROBIN)
+                .rounds(0)
+                .players(players)
+                .build();
+
+        Mockito.when(tournamentRepository.findById(5L)).thenReturn(Optional.of(tournament));
+        Mockito.when(matchRepository.existsByTournamentId(5L)).thenReturn(false);
+        List<Integer> chunkSizes = new ArrayList<>();
+        Mockito.when(matchRepository.saveAll(Mockito.anyList())).thenAnswer(i -> {
+            chunkSizes.add(((List<?>) i.getArgument(0)).size());
+            return i.getArgument(0);
+        });
+
+        ScheduleSummaryDTO summary = matchService.generateRoundRobin(5L);
+
+        // 50 jugadores son 1225 matches: un lote completo y otro de 225
+        assertEquals(1225L, summary.getMatches());
+        assertEquals(49, summary.getRounds());
+        assertEquals(List.of(MatchService.PERSIST_CHUNK, 225), chunkSizes);
+        Mockito.verify(entityManager, Mockito.times(2)).clear();
+        assertTrue(tournament.getMatches().isEmpty());
+
+        // Un torneo que no es una liga no admite el calendario
+        tournament.setFormat(TournamentFormat.OPEN);
+        assertThrows(RequestException.class, () -> matchService.generateRoundRobin(5L));
+    }
+
     /**
      * Prueba unitaria para el método matchUsers de MatchService.
      * Esta prueba verifica el comportamiento del método al emparejar usuarios basándose en sus puntos.
@@ -237,4 +536,199 @@ public class MatchServiceTest {
             () -> assertEquals(1L, result.getTournament())
         );
     }
+
+    /**
+     * Volver a informar un match que ya tenía resultado resta los puntos que repartió el resultado anterior
+     * antes de sumar los del nuevo, en los jugadores y en la clasificación del torneo.
+     */
+    @Test
+    public void reReportMatchResultTest() {
+        User player1 = User.builder().id(1L).points(115).build();
+        User player2 = User.builder().id(2L).points(100).build();
+        Tournament tournament = Tournament.builder().id(1L).build();
+        Match storedMatch = Match.builder().id(3L).tournament(tournament).player1(player1).player2(player2)
+                .result(Result.PLAYER1_WIN).awardedPoints(15).round(1).build();
+        Match reported = Match.builder().tournament(tournament).player1(player1).player2(player2)
+                .result(Result.PLAYER2_WIN).round(1).build();
+        Mockito.when(matchRepository.findById(3L)).thenReturn(Optional.of(storedMatch));
+        Mockito.when(matchMapper.matchDtoToMatch(Mockito.any(MatchDTO.class))).thenReturn(reported);
+
+        matchService.updateMatchResult(3L, MatchDTO.builder().id(3L).tournament(1L).player1(1L).player2(2L).result(Result.PLAYER2_WIN).round(1).build());
+
+        // El jugador 1 vuelve a sus 100 puntos y el jugador 2 suma solo los del nuevo resultado
+        int awarded = reported.getAwardedPoints();
+        assertEquals(100, player1.getPoints());
+        assertEquals(100 + awarded, player2.getPoints());
+
+        ArgumentCaptor<StandingChanges> changes = ArgumentCaptor.forClass(StandingChanges.class);
+        Mockito.verify(standingsService, Mockito.times(2)).apply(changes.capture());
+        assertEquals(List.of(new StandingDelta(1L, 1L, -1, 0, 0, -15), new StandingDelta(1L, 2L, 0, -1, 0, 0)),
+                List.copyOf(changes.getAllValues().get(0).deltas()));
+        assertEquals(List.of(new StandingDelta(1L, 2L, 1, 0, 0, awarded), new StandingDelta(1L, 1L, 0, 1, 0, 0)),
+                List.copyOf(changes.getAllValues().get(1).deltas()));
+    }
+
+    /**
+     * Eliminar un match con resultado descuenta sus empates y los puntos que repartió de la clasificación del torneo
+     * y de los puntos de los jugadores.
+     */
+    @Test
+    public void deleteMatchTest() {
+        Match match = Match.builder().id(4L).tournament(Tournament.builder().id(1L).build())
+                .player1(User.builder().id(1L).points(107).build())
+                .player2(User.builder().id(2L).points(107).build())
+                .result(Result.DRAW).awardedPoints(15).round(1).build();
+        Mockito.when(matchRepository.findById(4L)).thenReturn(Optional.of(match));
+
+        matchService.deleteMatch(4L);
+
+        Mockito.verify(matchRepository).delete(match);
+        Mockito.verify(userRepository).addPoints(1L, -7);
+        Mockito.verify(userRepository).addPoints(2L, -7);
+        ArgumentCaptor<StandingChanges> changes = ArgumentCaptor.forClass(StandingChanges.class);
+        Mockito.verify(standingsService).apply(changes.capture());
+        assertEquals(List.of(new StandingDelta(1L, 1L, 0, 0, -1, -7), new StandingDelta(1L, 2L, 0, 0, -1, -7)),
+                List.copyOf(changes.getValue().deltas()));
+
+        Mockito.when(matchRepository.findById(5L)).thenReturn(Optional.empty());
+        assertThrows(RequestException.class, () -> matchService.deleteMatch(5L));
+    }
+
+    /**
+     * Prueba unitaria de reportResult.
+     * Se comprueba que el resultado se guarda con un UPDATE condicionado y que los puntos se suman sin cargar a los jugadores,
+     * y que un match que ya tiene resultado, o un empate en eliminatoria, se rechazan.
+     */
+    @Test
+    public void reportResultTest() {
+        MatchResultView pending = Mockito.mock(MatchResultView.class);
+        Mockito.when(pending.getId()).thenReturn(7L);
+        Mockito.when(pending.getTournamentId()).thenReturn(1L);
+        Mockito.when(pending.getPlayer1Id()).thenReturn(11L);
+        Mockito.when(pending.getPlayer2Id()).thenReturn(12L);
+        Mockito.when(pending.getResult()).thenReturn(Result.PENDING);
+        Mockito.when(pending.getRound()).thenReturn(3);
+        Mockito.when(pending.getBracketPosition()).thenReturn(null);
+
+        Mockito.when(matchRepository.findResultViewById(7L)).thenReturn(Optional.of(pending));
+        Mockito.when(matchRepository.updateResultIfPending(Mockito.eq(7L), Mockito.eq(Result.PLAYER2_WIN), Mockito.intThat(points -> points >= 10 && points <= 20))).thenReturn(1);
+        Mockito.when(tournamentRepository.findRoundSeed(1L, 3)).thenReturn(Optional.of(99L));
+        Mockito.when(ratingService.rateRoundIfFinished(1L, 3)).thenReturn(true);
+
+        MatchDTO result = matchService.reportResult(7L, Result.PLAYER2_WIN);
+        assertEquals(Result.PLAYER2_WIN, result.getResult());
+        assertEquals(12L, result.getPlayer2());
+        Mockito.verify(userRepository).addPoints(Mockito.eq(12L), Mockito.intThat(points -> points >= 10 && points <= 20));
+        Mockito.verify(userRepository, Mockito.never()).addPoints(Mockito.eq(11L), Mockito.anyInt());
+        Mockito.verify(standingsService).apply(Mockito.argThat(changes -> changes.deltas().size() == 2));
+        Mockito.verify(ratingService).rateRoundIfFinished(1L, 3);
+        // El último resultado cierra la ronda, así que se guarda su clasificación
+        Mockito.verify(standingsHistoryService).snapshotRound(1L, 3);
+        Mockito.verify(matchRepository, Mockito.never()).findById(7L);
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
+
+        // Otra petición ya lo informó entre la lectura y el UPDATE
+        Mockito.when(matchRepository.updateResultIfPending(Mockito.eq(7L), Mockito.eq(Result.DRAW), Mockito.anyInt())).thenReturn(0);
+        assertThrows(RequestException.class, () -> matchService.reportResult(7L, Result.DRAW));
+
+        // PENDING no es un resultado que se pueda informar
+        assertThrows(RequestException.class, () -> matchService.reportResult(7L, Result.PENDING));
+
+        // Un match de eliminatoria no admite empates y avanza el cuadro al informar el ganador
+        MatchResultView bracket = Mockito.mock(MatchResultView.class);
+        Mockito.when(bracket.getTournamentId()).thenReturn(1L);
+        Mockito.when(bracket.getPlayer1Id()).thenReturn(11L);
+        Mockito.when(bracket.getPlayer2Id()).thenReturn(12L);
+        Mockito.when(bracket.getResult()).thenReturn(Result.PENDING);
+        Mockito.when(bracket.getRound()).thenReturn(1);
+        Mockito.when(bracket.getBracketPosition()).thenReturn(4);
+        Mockito.when(matchRepository.findResultViewById(8L)).thenReturn(Optional.of(bracket));
+        assertThrows(RequestException.class, () -> matchService.reportResult(8L, Result.DRAW));
+
+        Match bracketMatch = Match.builder().id(8L).bracketPosition(4).result(Result.PLAYER1_WIN).build();
+        Mockito.when(matchRepository.updateResultIfPending(Mockito.eq(8L), Mockito.eq(Result.PLAYER1_WIN), Mockito.anyInt())).thenReturn(1);
+        Mockito.when(matchRepository.findById(8L)).thenReturn(Optional.of(bracketMatch));
+        matchService.reportResult(8L, Result.PLAYER1_WIN);
+        Mockito.verify(bracketService).advance(bracketMatch);
+
+        // Un match que no existe
+        Mockito.when(matchRepository.findResultViewById(9L)).thenReturn(Optional.empty());
+        assertThrows(RequestException.class, () -> matchService.reportResult(9L, Result.PLAYER1_WIN));
+    }
+
+    /**
+     * Crea la proyección de un match pendiente para las pruebas de resultados.
+     */
+    private static MatchResultView pendingView(Long id, Long player1, Long player2, Integer bracketPosition) {
+        MatchResultView view = Mockito.mock(MatchResultView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getTournamentId()).thenReturn(1L);
+        Mockito.when(view.getPlayer1Id()).thenReturn(player1);
+        Mockito.when(view.getPlayer2Id()).thenReturn(player2);
+        Mockito.when(view.getResult()).thenReturn(Result.PENDING);
+        Mockito.when(view.getRound()).thenReturn(1);
+        Mockito.when(view.getBracketPosition()).thenReturn(bracketPosition);
+        return view;
+    }
+
+    /**
+     * Prueba unitaria de reportResults.
+     * Se comprueba que los elementos inválidos se rechazan uno a uno, que los válidos se guardan en un lote
+     * y que los puntos se agrupan por jugador.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void reportResultsTest() {
+        MatchResultView finished = pendingView(4L, 1L, 2L, null);
+        Mockito.when(finished.getResult()).thenReturn(Result.DRAW);
+        List<MatchResultView> views = List.of(
+                pendingView(1L, 1L, 2L, null),
+                pendingView(2L, 1L, 3L, null),
+                pendingView(3L, 4L, 5L, null),
+                finished,
+                pendingView(5L, 6L, 7L, 2));
+        Mockito.when(matchRepository.findResultViewsByIdIn(Mockito.anyCollection())).thenReturn(views);
+        // El match 3 lo informó otra petición entre la lectura y el UPDATE
+        Mockito.when(resultBatchRepository.updateResultsIfPending(Mockito.anyList(), Mockito.anyList(), Mockito.anyList())).thenReturn(new int[] { 1, 1, 0 });
+
+        BulkResultDTO bulk = matchService.reportResults(List.of(
+                new ResultItemDTO(1L, Result.PLAYER1_WIN),
+                new ResultItemDTO(2L, Result.PLAYER1_WIN),
+                new ResultItemDTO(3L, Result.PLAYER2_WIN),
+                new ResultItemDTO(1L, Result.PLAYER2_WIN),
+                new ResultItemDTO(4L, Result.PLAYER1_WIN),
+                new ResultItemDTO(5L, Result.DRAW),
+                new ResultItemDTO(99L, Result.DRAW),
+                new ResultItemDTO(6L, Result.PENDING)));
+
+        assertEquals(2, bulk.getApplied());
+        assertEquals(6, bulk.getRejected());
+        assertEquals(List.of(200, 200, 409, 409, 409, 422, 404, 422), bulk.getOutcomes().stream().map(o -> o.getStatus()).toList());
+
+        // Los dos matches ganados por el jugador 1 se suman en un único UPDATE
+        ArgumentCaptor<Map<Long, Integer>> deltas = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(resultBatchRepository).addPoints(deltas.capture());
+        assertEquals(1, deltas.getValue().size());
+        assertTrue(deltas.getValue().get(1L) >= 20 && deltas.getValue().get(1L) <= 40);
+        Mockito.verify(userRepository, Mockito.never()).save(Mockito.any(User.class));
+
+        // Cada match guarda los mismos puntos que se suman al jugador, para poder recalcular la clasificación
+        ArgumentCaptor<List<Integer>> awarded = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(resultBatchRepository).updateResultsIfPending(Mockito.eq(List.of(1L, 2L, 3L)), Mockito.anyList(), awarded.capture());
+        assertEquals(deltas.getValue().get(1L), awarded.getValue().get(0) + awarded.getValue().get(1));
+
+        // La clasificación del torneo recibe dos victorias del jugador 1 y dos derrotas repartidas en una fila por jugador
+        ArgumentCaptor<StandingChanges> changes = ArgumentCaptor.forClass(StandingChanges.class);
+        Mockito.verify(standingsService).apply(changes.capture());
+        assertEquals(List.of(
+                new StandingDelta(1L, 1L, 2, 0, 0, deltas.getValue().get(1L)),
+                new StandingDelta(1L, 2L, 0, 1, 0, 0),
+                new StandingDelta(1L, 3L, 0, 1, 0, 0)), List.copyOf(changes.getValue().deltas()));
+
+        // Los dos resultados aplicados son de la misma ronda, que se comprueba una vez para el rating
+        Mockito.verify(ratingService, Mockito.times(1)).rateRoundIfFinished(1L, 1);
+
+        // Un envío vacío no se procesa
+        assertThrows(RequestException.class, () -> matchService.reportResults(List.of()));
+    }
 }
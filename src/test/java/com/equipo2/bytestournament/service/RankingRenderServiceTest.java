@@ -0,0 +1,58 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+
+/**
+ * Clase de prueba para RankingRenderService.
+ * Comprueba que las tablas se generan una vez por versión de la clasificación y que se vuelven a generar
+ * cuando cambia un resultado, cuando se sustituye la clasificación o cuando se elimina el torneo.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RankingRenderServiceTest {
+
+    private final RankingRenderService rankingRenderService = new RankingRenderService();
+
+    @Test
+    public void renderTest() {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "ñandú", Rank.GOLD, 10, 1));
+        AtomicInteger renders = new AtomicInteger();
+        Supplier<String> source = () -> "│ tabla " + renders.incrementAndGet() + " │";
+
+        byte[] first = rankingRenderService.render(1L, RankingRenderService.View.CLASSIFICATION, board, source);
+        assertArrayEquals("│ tabla 1 │".getBytes(StandardCharsets.UTF_8), first);
+        assertSame(first, rankingRenderService.render(1L, RankingRenderService.View.CLASSIFICATION, board, source));
+        assertEquals(1, renders.get());
+
+        // Cada tipo de tabla y cada torneo se guardan por separado
+        rankingRenderService.render(1L, RankingRenderService.View.DETAILS, board, source);
+        rankingRenderService.render(2L, RankingRenderService.View.CLASSIFICATION, board, source);
+        assertEquals(3, renders.get());
+
+        // Un resultado cambia la versión de la clasificación
+        board.addPoints(1L, 15, 1);
+        rankingRenderService.render(1L, RankingRenderService.View.CLASSIFICATION, board, source);
+        assertEquals(4, renders.get());
+
+        // Una clasificación reconstruida empieza de nuevo en la versión 0, pero es otra instancia
+        Leaderboard rebuilt = new Leaderboard();
+        rankingRenderService.render(1L, RankingRenderService.View.CLASSIFICATION, rebuilt, source);
+        assertEquals(5, renders.get());
+
+        // Eliminar un torneo descarta sus tablas y no las de los demás
+        rankingRenderService.render(2L, RankingRenderService.View.DETAILS, rebuilt, source);
+        rankingRenderService.evict(1L);
+        rankingRenderService.render(1L, RankingRenderService.View.CLASSIFICATION, rebuilt, source);
+        rankingRenderService.render(2L, RankingRenderService.View.DETAILS, rebuilt, source);
+        assertEquals(7, renders.get());
+    }
+}
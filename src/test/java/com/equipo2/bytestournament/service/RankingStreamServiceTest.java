@@ -0,0 +1,285 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import com.equipo2.bytestournament.DTO.RankingChangeDTO;
+import com.equipo2.bytestournament.DTO.RankingDeltaDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Clase de prueba para RankingStreamService utilizando Mockito.
+ * Comprueba que los cambios de varios resultados se agrupan en un solo mensaje, que ese mensaje se calcula una vez
+ * para todos los suscriptores, que un cliente que no lee se desconecta sin retrasar a los demás
+ * y que se quitan los suscriptores desconectados y los de torneos eliminados.
+ *
+ * Los desempates se calculan con TiebreakService sobre los resultados del repositorio simulado.
+ *
+ * {@link Mock} se utiliza para simular el servicio de clasificaciones, el repositorio de matches y el planificador.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RankingStreamServiceTest {
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private TaskScheduler scheduler;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final RankingStreamService rankingStreamService;
+
+    public RankingStreamServiceTest() {
+        MockitoAnnotations.openMocks(this);
+        // Las escrituras se hacen en el mismo hilo para comprobar los mensajes justo después de cada envío
+        rankingStreamService = this.service(Runnable::run);
+    }
+
+    private RankingStreamService service(TaskExecutor sender) {
+        return new RankingStreamService(leaderboardService, new TiebreakService(matchRepository), objectMapper, scheduler, sender, 500, 30, 2);
+    }
+
+    /**
+     * SseEmitter que guarda los mensajes que se le envían, o que falla como una conexión cerrada.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<Set<DataWithMediaType>> messages = new CopyOnWriteArrayList<>();
+        private final boolean closed;
+
+        private RecordingEmitter(boolean closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) throws IOException {
+            if (closed)
+                throw new IOException("Conexión cerrada");
+            messages.add(items);
+        }
+    }
+
+    private RankingDeltaDTO read(Set<DataWithMediaType> message) throws IOException {
+        for (DataWithMediaType part : message)
+            if (MediaType.APPLICATION_JSON.equals(part.getMediaType()))
+                return objectMapper.readValue((String) part.getData(), RankingDeltaDTO.class);
+        throw new AssertionError("El mensaje no contiene datos");
+    }
+
+    /**
+     * Dos resultados entre dos envíos llegan en un solo mensaje con las posiciones y los puntos actuales,
+     * y el mismo mensaje se escribe a todos los suscriptores.
+     */
+    @Test
+    public void coalescedDeltaTest() throws IOException {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.GOLD, 20, 2));
+        board.put(new Leaderboard.Entry(2L, "player2", Rank.SILVER, 10, 1));
+        board.put(new Leaderboard.Entry(3L, "player3", Rank.BRONZE, 0, 0));
+        board.put(new Leaderboard.Entry(4L, "player4", Rank.BRONZE, -5, 0));
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.of(board));
+
+        RecordingEmitter first = new RecordingEmitter(false);
+        RecordingEmitter second = new RecordingEmitter(false);
+        rankingStreamService.register(1L, board, first);
+        rankingStreamService.register(1L, board, second);
+        rankingStreamService.flush();
+        assertEquals(0, first.messages.size());
+
+        board.addPoints(3L, 15, 1);
+        board.addPoints(3L, 15, 1);
+        board.remove(4L);
+        rankingStreamService.flush();
+
+        assertEquals(1, first.messages.size());
+        assertSame(first.messages.get(0), second.messages.get(0));
+        RankingDeltaDTO delta = read(first.messages.get(0));
+        assertEquals(1L, delta.getTournament());
+        assertEquals(board.version(), delta.getVersion());
+        assertEquals(3, delta.getPlayers());
+        assertEquals(List.of(
+                new RankingChangeDTO("player3", 1, 3, 30, 30),
+                new RankingChangeDTO("player1", 2, 1, 20, 0),
+                new RankingChangeDTO("player2", 3, 2, 10, 0)), delta.getChanges());
+        assertEquals(List.of("player4"), delta.getRemoved());
+
+        // Sin nuevos resultados no se envía nada
+        rankingStreamService.flush();
+        assertEquals(1, first.messages.size());
+    }
+
+    /**
+     * Solo se envían los jugadores que cambian, y un jugador nuevo no tiene posición anterior.
+     */
+    @Test
+    public void changedPlayersOnlyTest() throws IOException {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.GOLD, 20, 2));
+        board.put(new Leaderboard.Entry(2L, "player2", Rank.SILVER, 10, 1));
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.of(board));
+        RecordingEmitter emitter = new RecordingEmitter(false);
+        rankingStreamService.register(1L, board, emitter);
+
+        board.put(new Leaderboard.Entry(3L, "player3", Rank.BRONZE, 0, 0));
+        rankingStreamService.flush();
+
+        RankingDeltaDTO delta = read(emitter.messages.get(0));
+        assertEquals(1, delta.getChanges().size());
+        assertEquals("player3", delta.getChanges().get(0).getUsername());
+        assertEquals(3, delta.getChanges().get(0).getPosition());
+        assertNull(delta.getChanges().get(0).getPreviousPosition());
+    }
+
+    /**
+     * Las posiciones enviadas siguen los desempates de la clasificación: a igualdad de puntos, player1 va por delante
+     * de player2 por el Buchholz de su derrota contra player3, aunque player2 tenga más victorias.
+     */
+    @Test
+    public void tiebreakPositionsTest() throws IOException {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.BRONZE, 10, 1));
+        board.put(new Leaderboard.Entry(2L, "player2", Rank.BRONZE, 10, 2));
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.of(board));
+        MatchResultView loss = Mockito.mock(MatchResultView.class);
+        Mockito.when(loss.getPlayer1Id()).thenReturn(1L);
+        Mockito.when(loss.getPlayer2Id()).thenReturn(3L);
+        Mockito.when(loss.getResult()).thenReturn(Result.PLAYER2_WIN);
+        Mockito.when(matchRepository.findFinishedResultViews(1L)).thenReturn(List.of(loss));
+        RecordingEmitter emitter = new RecordingEmitter(false);
+        rankingStreamService.register(1L, board, emitter);
+
+        board.put(new Leaderboard.Entry(3L, "player3", Rank.SILVER, 30, 3));
+        rankingStreamService.flush();
+
+        assertEquals(List.of(
+                new RankingChangeDTO("player3", 1, null, 30, 30),
+                new RankingChangeDTO("player1", 2, 1, 10, 0),
+                new RankingChangeDTO("player2", 3, 2, 10, 0)), read(emitter.messages.get(0)).getChanges());
+    }
+
+    /**
+     * Un cliente que no lee no retrasa el cálculo ni el envío a los demás: sus mensajes se acumulan en su cola
+     * y, cuando esta se llena, se le desconecta, mientras el otro suscriptor recibe todos los cambios.
+     */
+    @Test
+    public void slowSubscriberTest() throws InterruptedException {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.GOLD, 20, 2));
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.of(board));
+        CountDownLatch release = new CountDownLatch(1);
+        SseEmitter stalled = new SseEmitter() {
+            @Override
+            public void send(Set<DataWithMediaType> items) throws IOException {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        RecordingEmitter reader = new RecordingEmitter(false);
+        ExecutorService sender = Executors.newFixedThreadPool(2);
+        try {
+            RankingStreamService service = this.service(sender::execute);
+            service.register(1L, board, stalled);
+            service.register(1L, board, reader);
+
+            // Con una cola de 2, el cuarto mensaje ya no cabe aunque el primero se esté escribiendo;
+            // el otro suscriptor lee cada mensaje antes del siguiente envío
+            for (int i = 1; i <= 4; i++) {
+                board.addPoints(1L, 1, 0);
+                service.flush();
+                long deadline = System.nanoTime() + 5_000_000_000L;
+                while (reader.messages.size() < i && System.nanoTime() < deadline)
+                    Thread.sleep(10);
+                assertEquals(i, reader.messages.size());
+            }
+            assertEquals(1, service.subscribers(1L));
+        } finally {
+            release.countDown();
+            sender.shutdown();
+        }
+    }
+
+    /**
+     * Un suscriptor desconectado se quita al fallar el envío, y los suscriptores de un torneo eliminado se cierran.
+     */
+    @Test
+    public void disconnectTest() {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.GOLD, 20, 2));
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.of(board));
+        rankingStreamService.register(1L, board, new RecordingEmitter(false));
+        rankingStreamService.register(1L, board, new RecordingEmitter(true));
+        assertEquals(2, rankingStreamService.subscribers(1L));
+
+        board.addPoints(1L, 10, 1);
+        rankingStreamService.flush();
+        assertEquals(1, rankingStreamService.subscribers(1L));
+
+        Mockito.when(leaderboardService.board(1L)).thenReturn(Optional.empty());
+        rankingStreamService.flush();
+        assertEquals(0, rankingStreamService.subscribers(1L));
+    }
+
+    /**
+     * Mientras se calcula la base de la primera suscripción a un torneo, el envío de los cambios de los demás torneos
+     * no espera: la base se calcula fuera del cerrojo y solo se publica dentro.
+     */
+    @Test
+    public void registerDoesNotBlockFlushTest() throws Exception {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "player1", Rank.GOLD, 20, 2));
+        Mockito.when(leaderboardService.board(2L)).thenReturn(Optional.of(board));
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Mockito.when(matchRepository.findFinishedResultViews(2L)).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> registering = executor.submit(() -> rankingStreamService.register(2L, board, new RecordingEmitter(false)));
+            assertTrue(reading.await(5, TimeUnit.SECONDS));
+            executor.submit(rankingStreamService::flush).get(5, TimeUnit.SECONDS);
+
+            release.countDown();
+            registering.get(5, TimeUnit.SECONDS);
+            assertEquals(1, rankingStreamService.subscribers(2L));
+        } finally {
+            release.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
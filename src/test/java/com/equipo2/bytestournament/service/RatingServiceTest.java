@@ -0,0 +1,127 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.repository.RatedRoundRepository;
+import com.equipo2.bytestournament.repository.RatingView;
+import com.equipo2.bytestournament.repository.ResultBatchRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.rating.RanksChangedEvent;
+
+/**
+ * Clase de prueba para RatingService utilizando Mockito.
+ * Comprueba que cada ronda se calcula una sola vez al terminar, que los ratings se guardan en un lote
+ * y que solo se escriben los rangos que cambian.
+ *
+ * {@link Mock} se utiliza para simular los repositorios y el publicador de eventos.
+ * {@link InjectMocks} se utiliza para inyectar los mocks en una instancia de RatingService.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RatingServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RatedRoundRepository ratedRoundRepository;
+
+    @Mock
+    private ResultBatchRepository resultBatchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private RatingService ratingService;
+
+    public RatingServiceTest() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    private static MatchResultView result(Long player1, Long player2, Result result) {
+        MatchResultView view = Mockito.mock(MatchResultView.class);
+        Mockito.when(view.getPlayer1Id()).thenReturn(player1);
+        Mockito.when(view.getPlayer2Id()).thenReturn(player2);
+        Mockito.when(view.getResult()).thenReturn(result);
+        return view;
+    }
+
+    private static RatingView rating(Long id, double rating, double deviation, Rank rank) {
+        RatingView view = Mockito.mock(RatingView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getRating()).thenReturn(rating);
+        Mockito.when(view.getRatingDeviation()).thenReturn(deviation);
+        Mockito.when(view.getVolatility()).thenReturn(0.06);
+        Mockito.when(view.getRank()).thenReturn(rank);
+        return view;
+    }
+
+    /**
+     * Una ronda con matches pendientes o ya calculada no cambia ningún rating.
+     */
+    @Test
+    public void unfinishedOrRatedRoundTest() {
+        Mockito.when(matchRepository.countByTournamentIdAndRoundAndResult(1L, 2, Result.PENDING)).thenReturn(3L);
+        assertFalse(ratingService.rateRoundIfFinished(1L, 2));
+        Mockito.verify(ratedRoundRepository, Mockito.never()).claim(Mockito.anyLong(), Mockito.anyInt());
+
+        Mockito.when(matchRepository.countByTournamentIdAndRoundAndResult(1L, 3, Result.PENDING)).thenReturn(0L);
+        Mockito.when(ratedRoundRepository.claim(1L, 3)).thenReturn(0);
+        assertFalse(ratingService.rateRoundIfFinished(1L, 3));
+
+        Mockito.verify(matchRepository, Mockito.never()).findResultViewsByRound(Mockito.anyLong(), Mockito.anyInt());
+        Mockito.verifyNoInteractions(resultBatchRepository, eventPublisher);
+    }
+
+    /**
+     * Al terminar la ronda los ratings de todos sus jugadores se guardan en un lote, los byes no cuentan
+     * y solo el jugador que cambia de rango se escribe y se publica.
+     */
+    @Test
+    public void rateFinishedRoundTest() {
+        Mockito.when(matchRepository.countByTournamentIdAndRoundAndResult(1L, 1, Result.PENDING)).thenReturn(0L);
+        Mockito.when(ratedRoundRepository.claim(1L, 1)).thenReturn(1);
+        List<MatchResultView> results = List.of(
+                result(10L, 11L, Result.PLAYER1_WIN),
+                result(12L, 13L, Result.DRAW),
+                result(14L, null, Result.PLAYER1_WIN));
+        Mockito.when(matchRepository.findResultViewsByRound(1L, 1)).thenReturn(results);
+        // 10 tiene un rating conservador justo por debajo de 1201 y sube a PLATINUM al ganar
+        List<RatingView> ratingViews = List.of(
+                rating(10L, 1390, 95, Rank.GOLD),
+                rating(11L, 1500, 350, Rank.SILVER),
+                rating(12L, 1500, 100, Rank.PLATINUM),
+                rating(13L, 1500, 100, Rank.PLATINUM));
+        Mockito.when(userRepository.findRatingViews(Mockito.anyCollection())).thenReturn(ratingViews);
+
+        assertTrue(ratingService.rateRoundIfFinished(1L, 1));
+
+        ArgumentCaptor<long[]> ids = ArgumentCaptor.forClass(long[].class);
+        ArgumentCaptor<double[]> ratings = ArgumentCaptor.forClass(double[].class);
+        Mockito.verify(resultBatchRepository).updateRatings(ids.capture(), ratings.capture(), Mockito.any(), Mockito.any(), Mockito.eq(4));
+        assertEquals(List.of(10L, 11L, 12L, 13L), List.of(ids.getValue()[0], ids.getValue()[1], ids.getValue()[2], ids.getValue()[3]));
+        assertTrue(ratings.getValue()[0] > 1390 && ratings.getValue()[1] < 1500);
+        assertEquals(1500, ratings.getValue()[2], 0.000001);
+
+        Mockito.verify(resultBatchRepository).updateRanks(Map.of(10L, Rank.PLATINUM));
+        Mockito.verify(eventPublisher).publishEvent(new RanksChangedEvent(Map.of(10L, Rank.PLATINUM)));
+    }
+}
@@ -0,0 +1,92 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import com.equipo2.bytestournament.DTO.GenerationJobDTO;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.enums.ApiResponse;
+import com.equipo2.bytestournament.enums.JobStatus;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.service.pairing.PairingOptions;
+
+/**
+ * Clase de prueba para RoundGenerationJobService utilizando Mockito.
+ * Se usa un ejecutor síncrono para que el trabajo termine antes de consultar su estado.
+ *
+ * {@link Mock} se utiliza para simular MatchService y TournamentRepository.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RoundGenerationJobServiceTest {
+
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    private final RoundGenerationJobService jobService;
+
+    public RoundGenerationJobServiceTest() {
+        MockitoAnnotations.openMocks(this);
+        jobService = new RoundGenerationJobService(matchService, tournamentRepository, new SyncTaskExecutor(), 60);
+        Mockito.when(tournamentRepository.existsById(1L)).thenReturn(true);
+    }
+
+    /**
+     * Un trabajo que termina bien guarda el progreso y los IDs de los matches de la ronda.
+     */
+    @Test
+    public void submitCompletesJobTest() {
+        Mockito.when(matchService.generateMatches(Mockito.eq(1L), Mockito.any(PairingOptions.class), Mockito.any(GenerationProgress.class))).thenAnswer(i -> {
+            GenerationProgress progress = i.getArgument(2);
+            progress.paired(4, 2);
+            progress.persisted(2);
+            return List.of(MatchDTO.builder().id(10L).build(), MatchDTO.builder().id(11L).build());
+        });
+
+        GenerationJobDTO submitted = jobService.submit(1L, PairingOptions.DEFAULT);
+        GenerationJobDTO job = jobService.getJob(submitted.getId());
+
+        assertEquals(JobStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getRound());
+        assertEquals(2, job.getPersistedMatches());
+        assertEquals(List.of(10L, 11L), job.getMatchIds());
+    }
+
+    /**
+     * Si la generación falla, el trabajo queda en FAILED con el motivo.
+     */
+    @Test
+    public void submitFailedJobTest() {
+        Mockito.when(matchService.generateMatches(Mockito.eq(1L), Mockito.any(PairingOptions.class), Mockito.any(GenerationProgress.class)))
+                .thenThrow(new RequestException(ApiResponse.UNPROCESSABLE_ENTITY, "Entidad No Procesable", "Faltan jugadores"));
+
+        GenerationJobDTO job = jobService.getJob(jobService.submit(1L, PairingOptions.DEFAULT).getId());
+
+        assertEquals(JobStatus.FAILED, job.getStatus());
+        assertEquals("Faltan jugadores", job.getError());
+    }
+
+    /**
+     * Torneos o trabajos inexistentes y colas llenas se rechazan.
+     */
+    @Test
+    public void rejectedSubmissionsTest() {
+        RequestException notFound = assertThrows(RequestException.class, () -> jobService.submit(2L, PairingOptions.DEFAULT));
+        assertEquals(ApiResponse.NOT_FOUND, notFound.getApiResponse());
+        assertThrows(RequestException.class, () -> jobService.getJob("no-existe"));
+
+        RoundGenerationJobService busy = new RoundGenerationJobService(matchService, tournamentRepository,
+                task -> { throw new TaskRejectedException("cola llena"); }, 60);
+        RequestException rejected = assertThrows(RequestException.class, () -> busy.submit(1L, PairingOptions.DEFAULT));
+        assertEquals(ApiResponse.SERVICE_BUSY, rejected.getApiResponse());
+    }
+}
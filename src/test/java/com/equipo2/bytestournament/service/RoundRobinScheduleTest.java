@@ -0,0 +1,80 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.DTO.ScheduleSummaryDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que el calendario de una liga todos contra todos
+ * se guarda completo por lotes, vaciando el contexto de persistencia entre ellos.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:round-robin-schedule;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class RoundRobinScheduleTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    /**
+     * Genera el calendario de una liga de 200 jugadores (19.900 matches en 199 rondas de 100 matches).
+     */
+    @Test
+    public void generateRoundRobinStreamsChunksTest() {
+        int leaguePlayers = 200;
+        List<User> players = new ArrayList<>(leaguePlayers);
+        for (int i = 0; i < leaguePlayers; i++) {
+            players.add(User.builder()
+                    .username("league-" + i)
+                    .email("league-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        }
+        players = userRepository.saveAll(players);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Liga")
+                .maxPlayers(leaguePlayers)
+                .status(Status.IN_PROGRESS)
+                .format(TournamentFormat.ROUND_ROBIN)
+                .rounds(0)
+                .maxRounds(1)
+                .build());
+        tournament.setPlayers(players);
+        tournament = tournamentRepository.save(tournament);
+
+        ScheduleSummaryDTO summary = matchService.generateRoundRobin(tournament.getId());
+        assertEquals(19_900L, summary.getMatches());
+        assertEquals(199, tournamentRepository.findById(tournament.getId()).orElseThrow().getMaxRounds());
+        assertEquals(100, matchRepository.findByTournamentIdAndRound(tournament.getId(), 199).orElseThrow().size());
+    }
+}
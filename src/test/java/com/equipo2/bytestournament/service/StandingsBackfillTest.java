@@ -0,0 +1,119 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+
+/**
+ * Comprueba que la clasificación de un torneo guardado antes de existir tournament_standings se completa
+ * con sus partidas terminadas, contra la base de datos H2 en memoria.
+ * El torneo y sus partidas se guardan con los repositorios, sin pasar por los servicios que mantienen la clasificación.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:standings-backfill;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class StandingsBackfillTest {
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TournamentStandingRepository standingRepository;
+
+    /**
+     * Tres jugadores con una victoria, un empate de 15 puntos, un bye y una partida pendiente: cada uno recibe
+     * sus victorias, derrotas, empates, puntos y desempates, y una segunda ejecución no crea ni cambia nada.
+     * backfill-1 y backfill-2 empatan a 7 puntos; backfill-1 va delante por Buchholz, porque perdió contra backfill-0.
+     */
+    @Test
+    public void backfillExistingTournamentTest() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 3; i++)
+            users.add(User.builder()
+                    .username("backfill-" + i)
+                    .email("backfill-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        List<User> players = userRepository.saveAll(users);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Torneo anterior")
+                .maxPlayers(3)
+                .status(Status.IN_PROGRESS)
+                .rounds(2)
+                .maxRounds(5)
+                .build());
+        tournament.setPlayers(new ArrayList<>(players));
+        tournament = tournamentRepository.save(tournament);
+
+        matchRepository.saveAll(List.of(
+                match(tournament, players.get(0), players.get(1), Result.PLAYER1_WIN, 1, 12),
+                match(tournament, players.get(2), null, Result.PLAYER1_WIN, 1, 0),
+                match(tournament, players.get(1), players.get(2), Result.DRAW, 2, 15),
+                match(tournament, players.get(0), players.get(2), Result.PENDING, 2, null)));
+
+        assertTrue(standingRepository.findUserIds(tournament.getId()).isEmpty());
+        standingsService.backfill();
+        leaderboardService.rebuild();
+
+        assertEquals(List.of(
+                new RankingDetailsDTO("backfill-0", 1, 0, 0, 12),
+                new RankingDetailsDTO("backfill-1", 0, 1, 1, 7),
+                new RankingDetailsDTO("backfill-2", 1, 0, 1, 7)), standingRepository.findRankingDetails(tournament.getId()));
+        Map<Long, Long> buchholz = new HashMap<>();
+        standingRepository.findTiebreakViews(tournament.getId()).forEach(row -> buchholz.put(row.getUserId(), row.getBuchholz()));
+        assertEquals(Map.of(players.get(0).getId(), 7L, players.get(1).getId(), 19L, players.get(2).getId(), 7L), buchholz);
+        assertEquals(3, leaderboardService.board(tournament.getId()).orElseThrow().size());
+
+        standingsService.backfill();
+        assertEquals(3, standingRepository.findRankingDetails(tournament.getId()).size());
+    }
+
+    private static Match match(Tournament tournament, User player1, User player2, Result result, int round, Integer points) {
+        return Match.builder()
+                .tournament(tournament)
+                .player1(player1)
+                .player2(player2)
+                .result(result)
+                .round(round)
+                .awardedPoints(points)
+                .build();
+    }
+}
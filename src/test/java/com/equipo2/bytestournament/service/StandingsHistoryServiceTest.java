@@ -0,0 +1,188 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.RoundStandingsDTO;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.StandingsSnapshot;
+import com.equipo2.bytestournament.model.StandingsSnapshotId;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchScoreView;
+import com.equipo2.bytestournament.repository.StandingsSnapshotRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.repository.UsernameView;
+
+/**
+ * Clase de prueba para StandingsHistoryService utilizando Mockito.
+ * Las instantáneas guardadas se conservan en un mapa para comprobar que cada ronda se guarda como diferencia
+ * de la anterior, que cada cierto número de rondas se guarda una completa y que cualquier ronda se reconstruye igual.
+ * Los resultados de cada ronda también se conservan en un mapa, y la consulta de partidas devuelve los de las rondas pedidas.
+ *
+ * {@link Mock} se utiliza para simular los repositorios.
+ * {@link InjectMocks} se utiliza para inyectar los mocks en una instancia de StandingsHistoryService.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class StandingsHistoryServiceTest {
+
+    @Mock
+    private StandingsSnapshotRepository snapshotRepository;
+
+    @Mock
+    private TournamentStandingRepository standingRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private StandingsHistoryService standingsHistoryService;
+
+    private final TreeMap<Integer, StandingsSnapshot> saved = new TreeMap<>();
+    private final TreeMap<Integer, List<MatchScoreView>> played = new TreeMap<>();
+
+    public StandingsHistoryServiceTest() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(snapshotRepository.save(ArgumentMatchers.any(StandingsSnapshot.class))).thenAnswer(invocation -> {
+            StandingsSnapshot snapshot = invocation.getArgument(0);
+            saved.put(snapshot.getRound(), snapshot);
+            return snapshot;
+        });
+        Mockito.when(snapshotRepository.findById(ArgumentMatchers.any(StandingsSnapshotId.class))).thenAnswer(invocation ->
+                Optional.ofNullable(saved.get(invocation.<StandingsSnapshotId>getArgument(0).getRound())));
+        Mockito.when(snapshotRepository.findFirstByTournamentIdAndRoundLessThanOrderByRoundDesc(ArgumentMatchers.eq(1L), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.lowerEntry(invocation.<Integer>getArgument(1)))
+                        .map(entry -> entry.getValue()));
+        Mockito.when(matchRepository.findScoresUpToRound(ArgumentMatchers.eq(1L), ArgumentMatchers.anyInt())).thenAnswer(invocation ->
+                played.headMap(invocation.<Integer>getArgument(1), true).values().stream().flatMap(List::stream).toList());
+    }
+
+    private static MatchScoreView score(Long player1, Long player2, Result result, Integer points) {
+        MatchScoreView view = Mockito.mock(MatchScoreView.class);
+        Mockito.when(view.getPlayer1Id()).thenReturn(player1);
+        Mockito.when(view.getPlayer2Id()).thenReturn(player2);
+        Mockito.when(view.getResult()).thenReturn(result);
+        Mockito.when(view.getAwardedPoints()).thenReturn(points);
+        return view;
+    }
+
+    private static UsernameView user(Long id, String username) {
+        UsernameView view = Mockito.mock(UsernameView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getUsername()).thenReturn(username);
+        return view;
+    }
+
+    /**
+     * La primera ronda se guarda completa y las siguientes como diferencia de la anterior, hasta que la cadena
+     * llega a MAX_DEPTH y se vuelve a guardar una completa. Cada ronda se reconstruye con los valores que tenía.
+     */
+    @Test
+    public void snapshotChainTest() {
+        int rounds = StandingsHistoryService.MAX_DEPTH + 2;
+        for (int round = 1; round <= rounds; round++) {
+            // Cada ronda el jugador 1 gana 3 puntos al jugador 2 y el jugador 3 descansa; el jugador 3 solo está hasta la ronda 4
+            MatchScoreView score = score(1L, 2L, Result.PLAYER1_WIN, 3);
+            MatchScoreView bye = score(3L, null, Result.PLAYER1_WIN, 0);
+            played.put(round, List.of(score, bye));
+            Mockito.when(standingRepository.findUserIds(1L)).thenReturn(round <= 4 ? List.of(1L, 2L, 3L) : List.of(1L, 2L));
+            standingsHistoryService.snapshotRound(1L, round);
+        }
+
+        assertNull(saved.get(1).getBaseRound());
+        assertEquals(1, saved.get(2).getBaseRound());
+        assertEquals(StandingsHistoryService.MAX_DEPTH - 1, saved.get(StandingsHistoryService.MAX_DEPTH).getDepth());
+        assertNull(saved.get(StandingsHistoryService.MAX_DEPTH + 1).getBaseRound());
+        assertEquals(1, saved.get(rounds).getDepth());
+
+        UsernameView user1 = user(1L, "player1");
+        UsernameView user2 = user(2L, "player2");
+        UsernameView user3 = user(3L, "player3");
+        Mockito.when(userRepository.findUsernames(ArgumentMatchers.anyCollection())).thenReturn(List.of(user1, user2, user3));
+
+        RoundStandingsDTO round3 = standingsHistoryService.standingsAfterRound(1L, 3);
+        assertEquals(List.of(
+                new RankingDetailsDTO("player1", 3, 0, 0, 9),
+                new RankingDetailsDTO("player3", 3, 0, 0, 0),
+                new RankingDetailsDTO("player2", 0, 3, 0, 0)), round3.getPlayers());
+
+        RoundStandingsDTO round8 = standingsHistoryService.standingsAfterRound(1L, StandingsHistoryService.MAX_DEPTH);
+        assertEquals(List.of(
+                new RankingDetailsDTO("player1", 8, 0, 0, 24),
+                new RankingDetailsDTO("player2", 0, 8, 0, 0)), round8.getPlayers());
+    }
+
+    /**
+     * En una liga todas las rondas existen desde el principio y las rondas pueden terminar en cualquier orden.
+     * La clasificación de cada ronda solo cuenta sus resultados y los de rondas anteriores, aunque la ronda 3
+     * termine antes que la 2, y cada instantánea toma como base la de la ronda anterior más cercana.
+     */
+    @Test
+    public void roundsFinishedOutOfOrderTest() {
+        Mockito.when(standingRepository.findUserIds(1L)).thenReturn(List.of(1L, 2L));
+        MatchScoreView round1 = score(1L, 2L, Result.PLAYER1_WIN, 10);
+        MatchScoreView round2 = score(1L, 2L, Result.DRAW, 12);
+        MatchScoreView round3 = score(2L, 1L, Result.PLAYER1_WIN, 20);
+        played.put(1, List.of(round1));
+        played.put(3, List.of(round3));
+        standingsHistoryService.snapshotRound(1L, 1);
+        standingsHistoryService.snapshotRound(1L, 3);
+        played.put(2, List.of(round2));
+        standingsHistoryService.snapshotRound(1L, 2);
+
+        assertEquals(1, saved.get(3).getBaseRound());
+        assertEquals(1, saved.get(2).getBaseRound());
+
+        UsernameView user1 = user(1L, "player1");
+        UsernameView user2 = user(2L, "player2");
+        Mockito.when(userRepository.findUsernames(ArgumentMatchers.anyCollection())).thenReturn(List.of(user1, user2));
+        assertEquals(List.of(
+                new RankingDetailsDTO("player1", 1, 0, 0, 10),
+                new RankingDetailsDTO("player2", 0, 1, 0, 0)), standingsHistoryService.standingsAfterRound(1L, 1).getPlayers());
+        assertEquals(List.of(
+                new RankingDetailsDTO("player1", 1, 0, 1, 16),
+                new RankingDetailsDTO("player2", 0, 1, 1, 6)), standingsHistoryService.standingsAfterRound(1L, 2).getPlayers());
+        // La ronda 3 se guardó antes de que terminara la 2, así que no cuenta su empate
+        assertEquals(List.of(
+                new RankingDetailsDTO("player2", 1, 1, 0, 20),
+                new RankingDetailsDTO("player1", 1, 1, 0, 10)), standingsHistoryService.standingsAfterRound(1L, 3).getPlayers());
+    }
+
+    /**
+     * Una ronda sin clasificación guardada no se encuentra.
+     */
+    @Test
+    public void missingRoundTest() {
+        assertThrows(RequestException.class, () -> standingsHistoryService.standingsAfterRound(1L, 5));
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Un jugador eliminado después de la ronda ya no aparece en su clasificación.
+     */
+    @Test
+    public void deletedPlayerTest() {
+        Mockito.when(standingRepository.findUserIds(1L)).thenReturn(List.of(1L, 2L));
+        played.put(1, List.of(score(1L, 2L, Result.PLAYER1_WIN, 3)));
+        standingsHistoryService.snapshotRound(1L, 1);
+        UsernameView user2 = user(2L, "player2");
+        Mockito.when(userRepository.findUsernames(ArgumentMatchers.anyCollection())).thenReturn(List.of(user2));
+
+        assertEquals(List.of(new RankingDetailsDTO("player2", 0, 1, 0, 0)), standingsHistoryService.standingsAfterRound(1L, 1).getPlayers());
+    }
+}
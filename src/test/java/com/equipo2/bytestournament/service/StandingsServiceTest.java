@@ -0,0 +1,217 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.StandingTiebreakView;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.standings.StandingChanges;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que los desempates guardados en tournament_standings,
+ * recalculados solo para los grupos de puntos afectados por cada transacción, coinciden con los de calcular
+ * la clasificación completa, y que los detalles del ranking salen de la tabla en ese orden con una sola consulta.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:standings-tiebreaks;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class StandingsServiceTest {
+
+    @Autowired
+    private StandingsService standingsService;
+
+    @Autowired
+    private TiebreakService tiebreakService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private TournamentStandingRepository standingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Cuatro rondas al azar entre doce jugadores, cada una informada en una sola transacción con varios cambios,
+     * y después el borrado de un resultado: tras cada paso los desempates guardados son los de la clasificación completa.
+     */
+    @Test
+    public void tiebreaksFollowResultsTest() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 12; i++)
+            users.add(User.builder()
+                    .username("tiebreaks-" + i)
+                    .email("tiebreaks-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        List<User> players = userRepository.saveAll(users);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Torneo con desempates")
+                .maxPlayers(12)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(4)
+                .build());
+        tournament.setPlayers(new ArrayList<>(players));
+        Tournament saved = tournamentRepository.save(tournament);
+        standingsService.syncPlayers(saved.getId());
+        this.assertStoredTiebreaks(saved.getId());
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Random random = new Random(5);
+        Result[] results = { Result.PLAYER1_WIN, Result.PLAYER2_WIN, Result.DRAW };
+        List<Match> played = new ArrayList<>();
+        for (int round = 1; round <= 4; round++) {
+            List<User> order = new ArrayList<>(players);
+            Collections.shuffle(order, random);
+            int current = round;
+            transaction.executeWithoutResult(status -> {
+                for (int i = 0; i < order.size(); i += 2) {
+                    Match match = matchRepository.save(Match.builder()
+                            .tournament(saved)
+                            .player1(order.get(i))
+                            .player2(order.get(i + 1))
+                            .result(results[random.nextInt(3)])
+                            .round(current)
+                            .awardedPoints(10)
+                            .build());
+                    played.add(match);
+                    // Cada partida se aplica por separado para acumular varios cambios en la misma transacción
+                    standingsService.apply(new StandingChanges().addResult(saved.getId(), match.getPlayer1().getId(),
+                            match.getPlayer2().getId(), match.getResult(), 10));
+                }
+            });
+            this.assertStoredTiebreaks(saved.getId());
+        }
+
+        Match removed = played.get(3);
+        transaction.executeWithoutResult(status -> {
+            matchRepository.deleteById(removed.getId());
+            standingsService.apply(new StandingChanges().removeResult(saved.getId(), removed.getPlayer1().getId(),
+                    removed.getPlayer2().getId(), removed.getResult(), 10));
+        });
+        this.assertStoredTiebreaks(saved.getId());
+    }
+
+    /**
+     * Tras informar una ronda de 64 jugadores, los detalles del ranking de todos ellos salen de una sola consulta
+     * a la tabla de clasificación, sin leer los matches ni calcular los desempates.
+     */
+    @Test
+    public void rankingDetailsSingleQueryTest() {
+        int roundPlayers = 64;
+        List<User> users = new ArrayList<>(roundPlayers);
+        for (int i = 0; i < roundPlayers; i++)
+            users.add(User.builder()
+                    .username("details-" + i)
+                    .email("details-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        List<User> players = userRepository.saveAll(users);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Detalles del ranking")
+                .maxPlayers(roundPlayers)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(4)
+                .build());
+        tournament.setPlayers(new ArrayList<>(players));
+        Tournament saved = tournamentRepository.save(tournament);
+        List<MatchDTO> round = matchService.generateMatches(saved.getId());
+        matchService.reportResults(round.stream().map(match -> new ResultItemDTO(match.getId(), Result.PLAYER1_WIN)).toList());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        List<RankingDetailsDTO> details = tournamentService.getRankingDetails(saved.getId());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(roundPlayers, details.size());
+        assertEquals(roundPlayers / 2, details.stream().mapToInt(RankingDetailsDTO::getWins).sum());
+        assertEquals(roundPlayers / 2, details.stream().mapToInt(RankingDetailsDTO::getLosses).sum());
+        assertTrue(details.stream().allMatch(player -> player.getWins() + player.getLosses() == 1 && player.getDraws() == 0));
+        assertEquals(1, details.get(0).getWins());
+        this.assertStoredTiebreaks(saved.getId());
+    }
+
+    /**
+     * Los desempates guardados coinciden con los de ordenar la clasificación completa del torneo,
+     * y los detalles del ranking se leen de la tabla en ese mismo orden.
+     */
+    private void assertStoredTiebreaks(Long tournamentId) {
+        Map<Long, Integer> points = new HashMap<>();
+        Map<Long, StandingTiebreakView> stored = new HashMap<>();
+        for (StandingTiebreakView row : standingRepository.findTiebreakViews(tournamentId)) {
+            points.put(row.getUserId(), row.getPoints());
+            stored.put(row.getUserId(), row);
+        }
+
+        List<TiebreakStanding> expected = tiebreakService.computeGroups(tournamentId, points, rivals -> Map.of());
+        for (TiebreakStanding standing : expected) {
+            StandingTiebreakView row = stored.get(standing.userId());
+            assertEquals(standing.buchholz(), row.getBuchholz());
+            assertEquals(standing.medianBuchholz(), row.getMedianBuchholz());
+            assertEquals(standing.sonnebornBerger(), row.getSonnebornBerger());
+            assertEquals(standing.directEncounter(), row.getDirectEncounter());
+        }
+
+        Map<Long, String> usernames = new HashMap<>();
+        userRepository.findAllById(points.keySet()).forEach(user -> usernames.put(user.getId(), user.getUsername()));
+        assertEquals(expected.stream().map(standing -> usernames.get(standing.userId())).toList(),
+                standingRepository.findRankingDetails(tournamentId).stream().map(RankingDetailsDTO::getUsername).toList());
+    }
+}
@@ -0,0 +1,87 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.ResultItemDTO;
+import com.equipo2.bytestournament.DTO.RoundStandingsDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que al terminar una ronda se guarda la instantánea
+ * de su clasificación y que se lee igual que la clasificación de ese momento.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:standings-snapshot;DB_CLOSE_DELAY=-1",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class StandingsSnapshotTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    /**
+     * Una ronda de 64 jugadores informada en un solo envío: la instantánea de la ronda 1 tiene a todos los jugadores
+     * con sus victorias y derrotas, y la ronda aparece en el historial del torneo.
+     */
+    @Test
+    public void roundSnapshotAfterLastResultTest() {
+        int roundPlayers = 64;
+        List<User> players = new ArrayList<>(roundPlayers);
+        for (int i = 0; i < roundPlayers; i++) {
+            players.add(User.builder()
+                    .username("snapshot-" + i)
+                    .email("snapshot-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.BRONZE)
+                    .points(0)
+                    .build());
+        }
+        players = userRepository.saveAll(players);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Instantáneas")
+                .maxPlayers(roundPlayers)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(10)
+                .build());
+        tournament.setPlayers(players);
+        tournament = tournamentRepository.save(tournament);
+
+        List<MatchDTO> round = matchService.generateMatches(tournament.getId());
+        assertEquals(List.of(), tournamentService.getStandingsHistory(tournament.getId()));
+        matchService.reportResults(round.stream().map(match -> new ResultItemDTO(match.getId(), Result.PLAYER1_WIN)).toList());
+
+        RoundStandingsDTO snapshot = tournamentService.getRoundStandings(tournament.getId(), 1);
+        assertEquals(roundPlayers, snapshot.getPlayers().size());
+        assertEquals(roundPlayers / 2, snapshot.getPlayers().stream().mapToInt(RankingDetailsDTO::getWins).sum());
+        assertEquals(roundPlayers / 2, snapshot.getPlayers().stream().mapToInt(RankingDetailsDTO::getLosses).sum());
+        assertEquals(List.of(1), tournamentService.getStandingsHistory(tournament.getId()));
+    }
+}
@@ -0,0 +1,129 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
+import com.equipo2.bytestournament.DTO.MatchDTO;
+import com.equipo2.bytestournament.DTO.MatchSummaryDTO;
+import com.equipo2.bytestournament.DTO.TournamentSummaryDTO;
+import com.equipo2.bytestournament.DTO.UserSummaryDTO;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Role;
+import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.model.Tournament;
+import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Comprueba contra la base de datos H2 en memoria que los listados resumidos de torneos, partidas y usuarios
+ * se leen con una sola consulta por tramo, sin cargar los jugadores ni las partidas de cada elemento.
+ *
+ * {@link SpringBootTest} levanta el contexto completo con una base de datos propia para no interferir con otras pruebas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:summary-listing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=INFO"
+})
+public class SummaryListingTest {
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private TournamentService tournamentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Lista por tramos los torneos y las partidas de un torneo de 64 jugadores y comprueba que cada tramo
+     * sale de una sola consulta, sin cargar los jugadores ni las partidas de cada torneo.
+     * Los jugadores del torneo, con un rango propio, se listan y se exportan filtrando por ese rango.
+     */
+    @Test
+    public void listSummariesUseSingleQuery() throws Exception {
+        int listPlayers = 64;
+        List<User> players = new ArrayList<>(listPlayers);
+        for (int i = 0; i < listPlayers; i++) {
+            players.add(User.builder()
+                    .username("summary-" + i)
+                    .email("summary-" + i + "@bytes.com")
+                    .password("password")
+                    .role(Role.PLAYER)
+                    .rank(Rank.DIAMOND)
+                    .points(0)
+                    .build());
+        }
+        players = userRepository.saveAll(players);
+
+        Tournament tournament = tournamentRepository.save(Tournament.builder()
+                .name("Benchmark listado")
+                .maxPlayers(listPlayers)
+                .status(Status.IN_PROGRESS)
+                .rounds(0)
+                .maxRounds(10)
+                .build());
+        tournament.setPlayers(players);
+        tournament = tournamentRepository.save(tournament);
+        List<MatchDTO> round = matchService.generateMatches(tournament.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        KeysetPageDTO<TournamentSummaryDTO> tournaments = tournamentService.getTournamentSummaries(tournament.getId() - 1, 1);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        TournamentSummaryDTO summary = tournaments.getItems().get(0);
+        assertEquals(tournament.getId(), summary.getId());
+        assertEquals("Benchmark listado", summary.getName());
+        assertEquals(listPlayers, summary.getPlayers());
+        assertEquals(1, summary.getRounds());
+
+        // Las partidas del torneo se recorren por tramos siguiendo next, una consulta por tramo
+        Long after = round.get(0).getId() - 1;
+        List<MatchSummaryDTO> listed = new ArrayList<>();
+        statistics.clear();
+        for (int page = 0; page < 2; page++) {
+            KeysetPageDTO<MatchSummaryDTO> matches = matchService.getMatchSummaries(after, listPlayers / 4);
+            listed.addAll(matches.getItems());
+            after = matches.getNext();
+        }
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(round.stream().map(MatchDTO::getId).sorted().toList(), listed.stream().map(MatchSummaryDTO::getId).toList());
+        assertTrue(listed.stream().allMatch(match -> match.getPlayer1().startsWith("summary-") && match.getPlayer2().startsWith("summary-")));
+    
+        // Los usuarios se filtran por rango y rol en la consulta
+        statistics.clear();
+        KeysetPageDTO<UserSummaryDTO> users = userService.listUsers(0L, listPlayers, Rank.DIAMOND, Role.PLAYER);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(listPlayers, users.getItems().size());
+        assertEquals(null, users.getNext());
+        assertTrue(users.getItems().stream().allMatch(user -> user.getUsername().startsWith("summary-")));
+        assertTrue(userService.listUsers(0L, 1, null, null).getNext() != null);
+        assertEquals(0, userService.listUsers(0L, 10, Rank.DIAMOND, Role.ADMIN).getItems().size());
+
+        ByteArrayOutputStream export = new ByteArrayOutputStream();
+        assertEquals(listPlayers, userService.exportUsers(Rank.DIAMOND, null, export));
+        assertEquals(listPlayers, export.toString(StandardCharsets.UTF_8).lines().count());
+    }
+}
@@ -0,0 +1,132 @@
+package com.equipo2.bytestournament.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.MockitoAnnotations;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.repository.MatchRepository;
+import com.equipo2.bytestournament.repository.MatchResultView;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
+
+/**
+ * Clase de prueba para TiebreakService utilizando Mockito.
+ * Los resultados del torneo se guardan en una lista y el repositorio simulado devuelve todos o solo los de unos jugadores,
+ * para comprobar que las páginas y las posiciones calculadas por grupos de puntos coinciden con la clasificación completa.
+ *
+ * {@link Mock} se utiliza para simular el repositorio de matches.
+ * {@link MockitoAnnotations} se utiliza para inicializar los mocks antes de cada prueba.
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class TiebreakServiceTest {
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    private final List<MatchResultView> played = new ArrayList<>();
+
+    public TiebreakServiceTest() {
+        MockitoAnnotations.openMocks(this);
+        Mockito.when(matchRepository.findFinishedResultViews(1L)).thenAnswer(invocation -> List.copyOf(played));
+        Mockito.when(matchRepository.findFinishedResultViewsOfPlayers(ArgumentMatchers.eq(1L), ArgumentMatchers.anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> userIds = invocation.getArgument(1);
+            return played.stream()
+                    .filter(match -> userIds.contains(match.getPlayer1Id()) || userIds.contains(match.getPlayer2Id()))
+                    .toList();
+        });
+    }
+
+    /**
+     * Resultado terminado entre dos jugadores.
+     */
+    private record Played(Long getId, Long getPlayer1Id, Long getPlayer2Id, Result getResult) implements MatchResultView {
+        @Override
+        public Long getTournamentId() {
+            return 1L;
+        }
+
+        @Override
+        public Integer getRound() {
+            return 1;
+        }
+
+        @Override
+        public Integer getBracketPosition() {
+            return null;
+        }
+    }
+
+    /**
+     * Torneo con pocos valores de puntos, para que haya grupos grandes de jugadores empatados, y resultados al azar.
+     */
+    private Leaderboard tournament(int players, int games, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        Leaderboard board = new Leaderboard();
+        for (long id = 1; id <= players; id++)
+            board.put(new Leaderboard.Entry(id, "user" + id, Rank.BRONZE, random.nextInt(8) * 10, random.nextInt(4)));
+        Result[] results = { Result.PLAYER1_WIN, Result.PLAYER2_WIN, Result.DRAW };
+        for (long id = 1; id <= games; id++) {
+            long player1 = random.nextLong(1, players + 1);
+            long player2 = random.nextLong(1, players + 1);
+            played.add(new Played(id, player1, player2, results[random.nextInt(3)]));
+        }
+        return board;
+    }
+
+    /**
+     * Cualquier tramo y la posición de cada jugador calculados por grupos de puntos coinciden con la clasificación completa,
+     * también en los tramos que empiezan o terminan en mitad de un grupo.
+     */
+    @Test
+    public void windowMatchesFullStandingsTest() {
+        Leaderboard board = this.tournament(400, 1200, 7);
+        List<TiebreakStanding> full = new TiebreakService(matchRepository).standings(1L, board);
+        TiebreakService tiebreakService = new TiebreakService(matchRepository);
+
+        for (int offset = 0; offset < full.size(); offset += 23) {
+            TiebreakService.Window window = tiebreakService.window(1L, board, offset, 17);
+            assertEquals(400, window.total());
+            assertEquals(offset, window.offset());
+            assertEquals(full.subList(offset, Math.min(offset + 17, full.size())), window.standings());
+        }
+        assertEquals(List.of(), tiebreakService.window(1L, board, 400, 10).standings());
+        for (int i = 0; i < full.size(); i++)
+            assertEquals(i + 1, tiebreakService.positionOf(1L, board, full.get(i).userId()));
+        assertEquals(-1, tiebreakService.positionOf(1L, board, 999L));
+    }
+
+    /**
+     * La posición de un jugador solo lee su grupo de puntos de la clasificación en memoria y los resultados de ese grupo,
+     * sin recorrer la clasificación completa ni todos los resultados. Mientras la clasificación no cambia,
+     * el grupo ordenado se reutiliza, y un resultado nuevo obliga a ordenarlo otra vez.
+     */
+    @Test
+    public void positionReadsOnlyItsGroupTest() {
+        Leaderboard board = Mockito.spy(this.tournament(400, 1200, 11));
+        TiebreakService tiebreakService = new TiebreakService(matchRepository);
+        Leaderboard.Window read = board.groupOf(5L);
+        List<Long> group = read.entries().stream().map(Leaderboard.Entry::userId).toList();
+
+        int position = tiebreakService.positionOf(1L, board, 5L);
+        assertTrue(read.offset() < position && position <= read.offset() + group.size());
+        tiebreakService.positionOf(1L, board, group.get(group.size() - 1));
+
+        Mockito.verify(board, Mockito.never()).top(ArgumentMatchers.anyInt());
+        Mockito.verify(matchRepository, Mockito.never()).findFinishedResultViews(ArgumentMatchers.anyLong());
+        Mockito.verify(matchRepository, Mockito.times(1)).findFinishedResultViewsOfPlayers(ArgumentMatchers.eq(1L),
+                ArgumentMatchers.argThat(userIds -> userIds.size() == group.size() && userIds.containsAll(group)));
+
+        board.addPoints(5L, 0, 1);
+        tiebreakService.positionOf(1L, board, 5L);
+        Mockito.verify(matchRepository, Mockito.times(2)).findFinishedResultViewsOfPlayers(ArgumentMatchers.eq(1L), ArgumentMatchers.anyCollection());
+    }
+}
@@ -15,20 +15,32 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.core.Authentication;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
 import com.equipo2.bytestournament.DTO.RankingDTO;
+import com.equipo2.bytestournament.DTO.RankingPageDTO;
+import com.equipo2.bytestournament.DTO.RankingPositionDTO;
 import com.equipo2.bytestournament.DTO.RankingDetailsDTO;
+import com.equipo2.bytestournament.DTO.TiebreakStandingDTO;
 import com.equipo2.bytestournament.DTO.TournamentDTO;
+import com.equipo2.bytestournament.DTO.TournamentSummaryDTO;
 import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.enums.Role;
 import com.equipo2.bytestournament.enums.Status;
+import com.equipo2.bytestournament.enums.TournamentFormat;
 import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.TournamentMapper;
 import com.equipo2.bytestournament.model.Match;
 import com.equipo2.bytestournament.model.Tournament;
 import com.equipo2.bytestournament.model.User;
+import com.equipo2.bytestournament.repository.StandingView;
 import com.equipo2.bytestournament.repository.TournamentRepository;
+import com.equipo2.bytestournament.repository.TournamentStandingRepository;
+import com.equipo2.bytestournament.repository.TournamentSummaryView;
 import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.tiebreak.TiebreakStanding;
 
 /**
  * Clase de prueba para TournamentService utilizando Mockito.
@@ -50,6 +62,27 @@ public class TournamentServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private BracketService bracketService;
+
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private StandingsService standingsService;
+
+    @Mock
+    private TournamentStandingRepository standingRepository;
+
+    @Mock
+    private TiebreakService tiebreakService;
+
+    @Mock
+    private RankingRenderService rankingRenderService;
+
+    @Mock
+    private StandingsHistoryService standingsHistoryService;
+
     @Mock
     private Logger logger;
 
@@ -83,13 +116,14 @@ public class TournamentServiceTest {
                 .build();
 
         // Mockea el mapeo de DTO a entidad y viceversa
-        Mockito.when(tournamentMapper.tournamentDtoToTournament(tournamentDTO)).thenReturn(tournament);
+        Mockito.when(tournamentMapper.tournamentDtoToTournamentReferences(tournamentDTO)).thenReturn(tournament);
         Mockito.when(tournamentMapper.tournamentToTournamentDTO(tournament)).thenReturn(tournamentDTO);
 
         TournamentDTO result = tournamentService.createTournament(tournamentDTO);
 
         Mockito.verify(tournamentRepository, Mockito.times(1)).save(Mockito.any(Tournament.class));
         Mockito.verify(tournamentMapper, Mockito.times(1)).tournamentToTournamentDTO(Mockito.any(Tournament.class));
+        Mockito.verify(standingsService).syncPlayers(tournament.getId());
         assertEquals(tournamentDTO, result);
     }
 
@@ -111,12 +145,12 @@ public class TournamentServiceTest {
                 .build();
 
         // Mockea el comportamiento del repositorio y el mapeo
-        Mockito.when(tournamentRepository.findById(tournamentId)).thenReturn(java.util.Optional.of(tournament));
+        Mockito.when(tournamentRepository.findDetailById(tournamentId)).thenReturn(java.util.Optional.of(tournament));
         Mockito.when(tournamentMapper.tournamentToTournamentDTO(tournament)).thenReturn(tournamentDTO);
 
         TournamentDTO result = tournamentService.findTournamentById(tournamentId);
 
-        Mockito.verify(tournamentRepository, Mockito.times(1)).findById(Mockito.any(Long.class));
+        Mockito.verify(tournamentRepository, Mockito.times(1)).findDetailById(Mockito.any(Long.class));
         Mockito.verify(tournamentMapper, Mockito.times(1)).tournamentToTournamentDTO(Mockito.any(Tournament.class));
         assertEquals(tournamentDTO, result);
     }
@@ -190,6 +224,8 @@ public class TournamentServiceTest {
 
         assertTrue(tournament.getPlayers().contains(user));
         assertTrue(user.getTournaments().contains(tournament));
+        // El nuevo jugador tiene su fila en la clasificación del torneo
+        Mockito.verify(standingsService).syncPlayers(tournamentId);
     }
 
     /**
@@ -200,53 +236,160 @@ public class TournamentServiceTest {
     @Test
     public void getClassification() {
         Long tournamentId = 1L;
-       Mockito.when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.empty());
+        Mockito.when(leaderboardService.board(tournamentId)).thenReturn(Optional.empty());
         assertThrows(RequestException.class, () -> tournamentService.getClassification(tournamentId));
 
-        Tournament tournament = new Tournament().builder()
-                .id(1L)
-                .name("Test Tournament")
-                .maxPlayers(5)
-                .status(Status.PENDING)
-                .rounds(0)
-                .maxRounds(3)
-                .matches(new ArrayList<>())
-                .players(new ArrayList<>())
-                .build();
-
-                
-        // Caso: torneo existe y jugadores ordenados por puntos
-        User user1 = new User().builder()
-        .id(1L)
-        .username("user1")
-        .rank(Rank.BRONZE)
-        .points(10)
-        .build();
-        User user2 = new User().builder()
-        .id(2L)
-        .username("user2")
-        .rank(Rank.SILVER)
-        .points(30)
-        .build();
-        User user3 = new User().builder()
-        .id(3L)
-        .username("user3")
-        .rank(Rank.GOLD)
-        .points(20)
-        .build();
-                
-        tournament.getPlayers().add(user1);
-        tournament.getPlayers().add(user2);
-        tournament.getPlayers().add(user3);
-        Mockito.when(tournamentRepository.findById(1L)).thenReturn(Optional.of(tournament));
+        // Caso: torneo existe y jugadores ordenados por puntos y desempates
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(1L, "user1", Rank.BRONZE, 20, 1));
+        board.put(new Leaderboard.Entry(2L, "user2", Rank.SILVER, 30, 3));
+        board.put(new Leaderboard.Entry(3L, "user3", Rank.GOLD, 20, 2));
+        Mockito.when(leaderboardService.board(tournamentId)).thenReturn(Optional.of(board));
+        Mockito.when(tiebreakService.standings(tournamentId, board)).thenReturn(List.of(
+                new TiebreakStanding(2L, 30, 40, 40, 40.0, 0.0),
+                new TiebreakStanding(1L, 20, 50, 50, 30.0, 0.0),
+                new TiebreakStanding(3L, 20, 50, 50, 30.0, 0.0)));
     
         RankingDTO ranking = tournamentService.getClassification(tournamentId);
 
-        // Verifica que los jugadores están ordenados por puntos descendente
-        assertEquals(3, ranking.getPlayers().size());
+        // Verifica que los jugadores siguen el orden de los desempates sin cargar el torneo
         assertNotNull(ranking);
+        assertEquals(3, ranking.getPlayers().size());
+        assertEquals(List.of("user2", "user1", "user3"), ranking.getPlayers().stream().map(player -> player.playerName).toList());
+        Mockito.verify(tournamentRepository, Mockito.never()).findById(tournamentId);
+
+        List<TiebreakStandingDTO> tiebreaks = tournamentService.getTiebreaks(tournamentId);
+        assertEquals(List.of(1, 2, 3), tiebreaks.stream().map(TiebreakStandingDTO::getPosition).toList());
+        assertEquals("user1", tiebreaks.get(1).getPlayerName());
+        assertEquals(Rank.BRONZE, tiebreaks.get(1).getRank());
+        assertEquals(50L, tiebreaks.get(1).getBuchholz());
   }
 
+    /**
+     * Clasificación en memoria de jugadores empatados de dos en dos, en la que a igualdad de puntos va primero
+     * el id menor, y desempates que ponen primero el id mayor, como haría el Buchholz.
+     */
+    private Leaderboard tiedBoard(Long tournamentId, int players) {
+        Leaderboard board = new Leaderboard();
+        for (long id = 1; id <= players; id++)
+            board.put(new Leaderboard.Entry(id, "user" + id, Rank.BRONZE, (int) (id + 1) / 2 * 10, 0));
+        Mockito.when(leaderboardService.board(tournamentId)).thenReturn(Optional.of(board));
+
+        List<TiebreakStanding> standings = new ArrayList<>();
+        for (long id = players; id >= 1; id--)
+            standings.add(new TiebreakStanding(id, board.get(id).points(), id, id, 0.0, 0.0));
+        Mockito.when(tiebreakService.standings(tournamentId, board)).thenReturn(standings);
+        Mockito.when(tiebreakService.positionOf(Mockito.eq(tournamentId), Mockito.eq(board), Mockito.anyLong()))
+                .thenAnswer(invocation -> players - invocation.<Long>getArgument(2).intValue() + 1);
+        Mockito.when(tiebreakService.window(Mockito.eq(tournamentId), Mockito.eq(board), Mockito.anyInt(), Mockito.anyInt()))
+                .thenAnswer(invocation -> {
+                    int offset = Math.min(invocation.<Integer>getArgument(2), players);
+                    int limit = invocation.<Integer>getArgument(3);
+                    return new TiebreakService.Window(players, offset, standings.subList(offset, Math.min(offset + limit, players)));
+                });
+        return board;
+    }
+
+  /**
+   * Prueba unitaria para la clasificación por tramos de TournamentService.
+   * Verifica las páginas, los primeros puestos y la posición de un jugador con sus vecinos en el orden de los desempates,
+   * y que los parámetros fuera de rango o un jugador que no está en el torneo lanzan una excepción.
+   */
+    @Test
+    public void getClassificationPageTest() {
+        Long tournamentId = 1L;
+        this.tiedBoard(tournamentId, 20);
+
+        RankingPageDTO page = tournamentService.getClassificationPage(tournamentId, 5, 3);
+        assertEquals(20, page.getTotal());
+        assertEquals(List.of(6, 7, 8), page.getPlayers().stream().map(RankingPositionDTO::getPosition).toList());
+        assertEquals(List.of("user15", "user14", "user13"), page.getPlayers().stream().map(RankingPositionDTO::getPlayerName).toList());
+        assertEquals(List.of(80, 70, 70), page.getPlayers().stream().map(RankingPositionDTO::getPoints).toList());
+
+        assertEquals("user20", tournamentService.getTopClassification(tournamentId, 1).getPlayers().get(0).getPlayerName());
+        assertThrows(RequestException.class, () -> tournamentService.getClassificationPage(tournamentId, -1, 3));
+        assertThrows(RequestException.class, () -> tournamentService.getTopClassification(tournamentId, TournamentService.MAX_RANKING_PAGE + 1));
+
+        // user19 es segundo: solo tiene un jugador por delante
+        RankingPageDTO around = tournamentService.getPlayerPosition(tournamentId, "user19", 2);
+        assertEquals(2, around.getPosition());
+        assertEquals(List.of("user20", "user19", "user18", "user17"), around.getPlayers().stream().map(RankingPositionDTO::getPlayerName).toList());
+
+        RankingPageDTO last = tournamentService.getPlayerPosition(tournamentId, "user1", 1);
+        assertEquals(20, last.getPosition());
+        assertEquals(List.of(19, 20), last.getPlayers().stream().map(RankingPositionDTO::getPosition).toList());
+
+        assertThrows(RequestException.class, () -> tournamentService.getPlayerPosition(tournamentId, "missing", 2));
+        Mockito.when(leaderboardService.board(2L)).thenReturn(Optional.empty());
+        assertThrows(RequestException.class, () -> tournamentService.getPlayerPosition(2L, "user1", 2));
+    }
+
+  /**
+   * Prueba unitaria para los detalles del ranking por páginas de TournamentService.
+   * Verifica que los jugadores de la página salen de la clasificación en memoria, sus filas se leen por clave
+   * y el resultado mantiene el orden de la clasificación.
+   */
+    @Test
+    public void getRankingDetailsPageTest() {
+        Long tournamentId = 1L;
+        this.tiedBoard(tournamentId, 10);
+
+        // La base de datos devuelve las filas sin orden
+        List<StandingView> rows = List.of(standing(8L, 2, 80), standing(10L, 4, 100), standing(9L, 3, 90));
+        Mockito.when(standingRepository.findStandingViews(tournamentId, List.of(10L, 9L, 8L))).thenReturn(rows);
+
+        List<RankingDetailsDTO> page = tournamentService.getRankingDetailsPage(tournamentId, 0, 3);
+        assertEquals(List.of("user10", "user9", "user8"), page.stream().map(RankingDetailsDTO::getUsername).toList());
+        assertEquals(4, page.get(0).getWins());
+        assertEquals(List.of(), tournamentService.getRankingDetailsPage(tournamentId, 50, 3));
+        assertThrows(RequestException.class, () -> tournamentService.getRankingDetailsPage(tournamentId, 0, 0));
+    }
+
+  /**
+   * Prueba unitaria para el listado resumido de torneos de TournamentService.
+   * Verifica que se pide un torneo más del tramo para saber si hay otro, que ese torneo no se devuelve
+   * y que el siguiente tramo empieza en el último torneo devuelto.
+   */
+    @Test
+    public void getTournamentSummariesTest() {
+        List<TournamentSummaryView> rows = List.of(summary(3L, 12), summary(5L, 0), summary(8L, 4));
+        Mockito.when(tournamentRepository.findSummaries(2L, Limit.of(3))).thenReturn(rows);
+
+        KeysetPageDTO<TournamentSummaryDTO> page = tournamentService.getTournamentSummaries(2L, 2);
+        assertEquals(List.of(3L, 5L), page.getItems().stream().map(TournamentSummaryDTO::getId).toList());
+        assertEquals(12, page.getItems().get(0).getPlayers());
+        assertEquals(5L, page.getNext());
+
+        // El último tramo no tiene siguiente
+        Mockito.when(tournamentRepository.findSummaries(5L, Limit.of(3))).thenReturn(rows.subList(2, 3));
+        page = tournamentService.getTournamentSummaries(5L, 2);
+        assertEquals(List.of(8L), page.getItems().stream().map(TournamentSummaryDTO::getId).toList());
+        assertEquals(null, page.getNext());
+
+        assertThrows(RequestException.class, () -> tournamentService.getTournamentSummaries(0L, KeysetPageDTO.MAX_LIMIT + 1));
+        assertThrows(RequestException.class, () -> tournamentService.getTournamentSummaries(-1L, 10));
+    }
+
+    private static TournamentSummaryView summary(Long id, int players) {
+        TournamentSummaryView view = Mockito.mock(TournamentSummaryView.class);
+        Mockito.when(view.getId()).thenReturn(id);
+        Mockito.when(view.getName()).thenReturn("Torneo " + id);
+        Mockito.when(view.getStatus()).thenReturn(Status.PENDING);
+        Mockito.when(view.getPlayers()).thenReturn(players);
+        return view;
+    }
+
+    private static StandingView standing(Long userId, int wins, int points) {
+        StandingView view = Mockito.mock(StandingView.class);
+        Mockito.when(view.getUserId()).thenReturn(userId);
+        Mockito.when(view.getUsername()).thenReturn("user" + userId);
+        Mockito.when(view.getWins()).thenReturn(wins);
+        Mockito.when(view.getLosses()).thenReturn(0);
+        Mockito.when(view.getDraws()).thenReturn(0);
+        Mockito.when(view.getPoints()).thenReturn(points);
+        return view;
+    }
+
   /**
    * Prueba unitaria para el método getRankingDetails de TournamentService.
    * Esta prueba verifica que el método obtiene los detalles del ranking de un torneo,
@@ -255,61 +398,30 @@ public class TournamentServiceTest {
     @Test
     public void getRankingDetailsTest() {
         Long tournamentId = 1L;
-        Mockito.when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.empty());
+        Mockito.when(standingRepository.findRankingDetails(tournamentId)).thenReturn(List.of());
+        Mockito.when(tournamentRepository.existsById(tournamentId)).thenReturn(false);
         assertThrows(RequestException.class, () -> tournamentService.getRankingDetails(tournamentId));
 
-        Tournament tournament = new Tournament().builder()
-                .id(1L)
-                .name("Test Tournament")
-                .maxPlayers(5)
-                .status(Status.PENDING)
-                .rounds(0)
-                .maxRounds(3)
-                .matches(new ArrayList<>())
-                .players(new ArrayList<>())
-                .build();
-
-        Mockito.when(tournamentRepository.findById(tournamentId)).thenReturn(Optional.of(tournament));
-
-        // Caso: torneo existe pero los jugadores no, al utilizarse en un bucle que recorre los jugadores es necessario que al menos no esté vacía
-        tournament.getPlayers().add(new User().builder()
-                .id(1L)
-                .username("user1")
-                .rank(Rank.BRONZE)
-                .points(10)
-                .build());
-        Mockito.when(userRepository.findByUsername(Mockito.anyString())).thenReturn(Optional.empty());
-        assertThrows(RequestException.class, () -> tournamentService.getRankingDetails(tournamentId));
-        tournament.getPlayers().clear();
+        // Caso: torneo existe pero aún no tiene jugadores
+        Mockito.when(tournamentRepository.existsById(tournamentId)).thenReturn(true);
+        assertEquals(List.of(), tournamentService.getRankingDetails(tournamentId));
 
-        // Caso: torneo existe y jugadores existen
-        User user1 = new User().builder()
-                .id(1L)
-                .username("user1")
-                .rank(Rank.BRONZE)
-                .points(10)
-                .build();
-        User user2 = new User().builder()
-                .id(2L)
-                .username("user2")
-                .rank(Rank.SILVER)
-                .points(30)
-                .build();
-        Match match = new Match().builder()
-                .id(1L)
-                .player1(user1)
-                .player2(user2)
-                .build();
-        user1.getMatchesAsPlayer1().add(match);
-        user2.getMatchesAsPlayer2().add(match);
-        tournament.getPlayers().add(user1);
-        tournament.getPlayers().add(user2);     
-        Mockito.when(userRepository.findByUsername("user1")).thenReturn(Optional.of(user1));
-        Mockito.when(userRepository.findByUsername("user2")).thenReturn(Optional.of(user2));
+        // Caso: los detalles salen de la tabla de clasificación, sin cargar usuarios ni matches
+        List<RankingDetailsDTO> details = List.of(
+                new RankingDetailsDTO("user2", 1, 0, 0, 30),
+                new RankingDetailsDTO("user1", 0, 1, 0, 10));
+        Mockito.when(standingRepository.findRankingDetails(tournamentId)).thenReturn(details);
 
         List<RankingDetailsDTO> rankingDetails = tournamentService.getRankingDetails(tournamentId);
-        assertEquals(2, rankingDetails.size());
-        assertNotNull(rankingDetails);
+        assertEquals(details, rankingDetails);
+
+        // Caso: el orden es el de la tabla, que guarda los desempates, sin calcularlos en memoria
+        this.tiedBoard(tournamentId, 2);
+        Mockito.when(standingRepository.findRankingDetails(tournamentId)).thenReturn(List.of(details.get(1), details.get(0)));
+        assertEquals(List.of("user1", "user2"), tournamentService.getRankingDetails(tournamentId).stream().map(RankingDetailsDTO::getUsername).toList());
+        Mockito.verifyNoInteractions(tiebreakService);
+        Mockito.verify(tournamentRepository, Mockito.never()).findById(tournamentId);
+        Mockito.verify(userRepository, Mockito.never()).findByUsername(Mockito.anyString());
    }
 
    /**
@@ -362,6 +474,42 @@ public class TournamentServiceTest {
             () -> assertEquals(Status.FINISHED, updatedTournament.getStatus())
         );
     }
-}
 
+    /**
+     * Prueba unitaria para comprobar que un torneo de eliminatoria genera su cuadro
+     * únicamente al pasar de PENDING a IN_PROGRESS.
+     */
+    @Test
+    public void updateTournamentStartsBracketTest() {
+        Tournament stored = Tournament.builder()
+                .id(7L)
+                .name("Eliminatoria")
+                .status(Status.PENDING)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .build();
+        TournamentDTO tournamentDTO = TournamentDTO.builder()
+                .id(7L)
+                .name("Eliminatoria")
+                .status(Status.IN_PROGRESS)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .build();
+        Tournament started = Tournament.builder()
+                .id(7L)
+                .name("Eliminatoria")
+                .status(Status.IN_PROGRESS)
+                .format(TournamentFormat.SINGLE_ELIMINATION)
+                .build();
+
+        Mockito.when(tournamentRepository.findById(7L)).thenReturn(Optional.of(stored));
+        Mockito.when(tournamentMapper.tournamentDtoToTournament(tournamentDTO)).thenReturn(started);
+        Mockito.when(tournamentRepository.save(started)).thenReturn(started);
+
+        tournamentService.updateTournament(7L, tournamentDTO);
+        Mockito.verify(bracketService, Mockito.times(1)).startBracket(started);
 
+        // Si ya estaba en curso no se vuelve a generar el cuadro
+        stored.setStatus(Status.IN_PROGRESS);
+        tournamentService.updateTournament(7L, tournamentDTO);
+        Mockito.verify(bracketService, Mockito.times(1)).startBracket(Mockito.any(Tournament.class));
+    }
+}
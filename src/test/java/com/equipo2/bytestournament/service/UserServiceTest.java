@@ -2,15 +2,26 @@ package com.equipo2.bytestournament.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import com.equipo2.bytestournament.DTO.GlobalPositionDTO;
+import com.equipo2.bytestournament.DTO.KeysetPageDTO;
+import com.equipo2.bytestournament.DTO.RankTierDTO;
+import com.equipo2.bytestournament.DTO.RankingPageDTO;
+import com.equipo2.bytestournament.DTO.RankingPositionDTO;
 import com.equipo2.bytestournament.DTO.UserDTO;
+import com.equipo2.bytestournament.DTO.UserSummaryDTO;
 import com.equipo2.bytestournament.enums.Rank;
 import com.equipo2.bytestournament.model.User;
 import com.equipo2.bytestournament.repository.UserRepository;
+import com.equipo2.bytestournament.repository.UserSummaryView;
+import com.equipo2.bytestournament.service.leaderboard.Leaderboard;
+import com.equipo2.bytestournament.service.leaderboard.RankHistogram;
+import com.equipo2.bytestournament.exceptions.RequestException;
 import com.equipo2.bytestournament.mapper.UserMapper;
 import com.equipo2.bytestournament.config.JwtUtil;
 import org.junit.jupiter.api.Test;
@@ -18,11 +29,17 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import com.equipo2.bytestournament.enums.Role;
 import org.springframework.security.core.Authentication;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.Optional;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Clase de prueba para UserService utilizando Mockito.
@@ -45,6 +62,17 @@ class UserServiceTest {
     private JwtUtil jwtUtil;
     @Mock
     private PasswordEncoder passwordEncoder;
+    @Mock
+    private LeaderboardService leaderboardService;
+
+    @Mock
+    private StandingsService standingsService;
+
+    @Mock
+    private GlobalLeaderboardService globalLeaderboardService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
 
     // Datos de prueba, cremos un UserDTO y un User para simular el registro y el inicio de sesión
     private final UserDTO userDTO;
@@ -125,8 +153,9 @@ class UserServiceTest {
         // Verifica que el resultado no sea nulo y que el token sea el esperado
         assertNotNull(result);
         assertEquals("mocked-jwt-token", result);
-        // Verifica que el usuario se haya guardado exactamente una vez
+        // Verifica que el usuario se haya guardado exactamente una vez y que entra en la clasificación global
         Mockito.verify(userRepository, times(1)).save(any(User.class));
+        Mockito.verify(globalLeaderboardService).updatePlayer(user);
     }
 
     /**
@@ -189,7 +218,7 @@ class UserServiceTest {
         // Simula que el email del usuario autenticado es "test@gmail.com"
         when(authentication.getName()).thenReturn("testUser");
         // Simula que el repositorio devuelve un usuario al buscar por email
-        when(userRepository.findByUsername("testUser")).thenReturn(Optional.of(user));
+        when(userRepository.findProfileByUsername("testUser")).thenReturn(Optional.of(user));
         // Simula el mapeo de User a UserDTO
         when(userMapper.userToUserDTO(user)).thenReturn(userDTO);
 
@@ -206,7 +235,7 @@ class UserServiceTest {
     @Test
     void testProfileUser() {
         // Simula que el repositorio devuelve un usuario al buscar por ID
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userRepository.findProfileById(1L)).thenReturn(Optional.of(user));
         // Simula el mapeo de User a UserDTO
         when(userMapper.userToUserDTO(user)).thenReturn(userDTO);
         // Ejecuta el método a probar
@@ -240,4 +269,90 @@ class UserServiceTest {
         assertNotNull(result);
         verify(userRepository, times(1)).save(any(User.class)); 
    }
-}
\ No newline at end of file
+
+    /**
+     * Verifica la clasificación global por páginas, la posición y el percentil de un usuario
+     * y los usuarios de cada rango, leídos de la clasificación en memoria sin consultar la base de datos.
+     */
+    @Test
+    void testGlobalRanking() {
+        Leaderboard board = new Leaderboard();
+        RankHistogram tiers = new RankHistogram();
+        for (long id = 1; id <= 4; id++) {
+            Rank rank = id == 1 ? Rank.GOLD : Rank.BRONZE;
+            board.put(new Leaderboard.Entry(id, "user" + id, rank, (int) id * 100, 0));
+            tiers.add(rank);
+        }
+        when(globalLeaderboardService.board()).thenReturn(board);
+        when(globalLeaderboardService.tiers()).thenReturn(tiers);
+
+        RankingPageDTO page = userService.getGlobalRanking(1, 2);
+        assertEquals(4, page.getTotal());
+        assertEquals(List.of("user3", "user2"), page.getPlayers().stream().map(RankingPositionDTO::getPlayerName).toList());
+        assertEquals(2, page.getPlayers().get(0).getPosition());
+        assertThrows(RequestException.class, () -> userService.getGlobalRanking(0, 0));
+
+        GlobalPositionDTO position = userService.getGlobalPosition("user3");
+        assertEquals(2, position.getPosition());
+        assertEquals(50.0, position.getPercentile());
+        assertEquals(3, position.getRankPlayers());
+        assertEquals(1, position.getHigherRankPlayers());
+        assertThrows(RequestException.class, () -> userService.getGlobalPosition("missing"));
+
+        List<RankTierDTO> rankTiers = userService.getRankTiers();
+        assertEquals(Rank.values().length, rankTiers.size());
+        assertEquals(75.0, rankTiers.get(Rank.BRONZE.ordinal()).getPercentage());
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test del listado de usuarios por tramos.
+     * Verifica que los filtros llegan a la consulta, que se pide un usuario más del tramo para saber si hay otro
+     * y que el siguiente tramo empieza en el último usuario devuelto.
+     */
+    @Test
+    void testListUsers() {
+        List<UserSummaryView> rows = List.of(summary(4L, Rank.GOLD), summary(7L, Rank.GOLD), summary(9L, Rank.GOLD));
+        when(userRepository.findSummaries(0L, Rank.GOLD, Role.PLAYER, Limit.of(3))).thenReturn(rows);
+
+        KeysetPageDTO<UserSummaryDTO> page = userService.listUsers(0L, 2, Rank.GOLD, Role.PLAYER);
+        assertEquals(List.of(4L, 7L), page.getItems().stream().map(UserSummaryDTO::getId).toList());
+        assertEquals("user4", page.getItems().get(0).getUsername());
+        assertEquals(7L, page.getNext());
+        assertThrows(RequestException.class, () -> userService.listUsers(0L, 0, null, null));
+        assertThrows(RequestException.class, () -> userService.listUsers(0L, KeysetPageDTO.MAX_LIMIT + 1, null, null));
+        Mockito.verifyNoInteractions(userMapper);
+    }
+
+    /**
+     * Test de la exportación de usuarios.
+     * Verifica que se escribe un objeto JSON por línea en el orden del cursor y que la salida no se cierra.
+     */
+    @Test
+    void testExportUsers() throws Exception {
+        List<UserSummaryView> rows = List.of(summary(1L, Rank.BRONZE), summary(2L, Rank.SILVER));
+        when(userRepository.streamSummaries(null, Role.PLAYER)).thenReturn(rows.stream());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertEquals(2, userService.exportUsers(null, Role.PLAYER, output));
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        UserSummaryDTO first = objectMapper.readValue(lines[0], UserSummaryDTO.class);
+        assertEquals(1L, first.getId());
+        assertEquals(Rank.BRONZE, first.getRank());
+        assertEquals("user2", objectMapper.readValue(lines[1], UserSummaryDTO.class).getUsername());
+        assertEquals('\n', output.toString(StandardCharsets.UTF_8).charAt(output.size() - 1));
+    }
+
+    private static UserSummaryView summary(Long id, Rank rank) {
+        UserSummaryView view = mock(UserSummaryView.class);
+        when(view.getId()).thenReturn(id);
+        when(view.getUsername()).thenReturn("user" + id);
+        when(view.getEmail()).thenReturn("user" + id + "@bytes.com");
+        when(view.getRole()).thenReturn(Role.PLAYER);
+        when(view.getRank()).thenReturn(rank);
+        when(view.getPoints()).thenReturn(0);
+        return view;
+    }
+}
@@ -0,0 +1,120 @@
+package com.equipo2.bytestournament.service.leaderboard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.enums.Rank;
+
+/**
+ * Clase de prueba para Leaderboard.
+ * Compara la clasificación incremental con la misma clasificación ordenada desde cero tras muchas operaciones.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class LeaderboardTest {
+
+    private static final Comparator<Leaderboard.Entry> ORDER = Comparator.comparingInt(Leaderboard.Entry::points).reversed()
+            .thenComparing(Comparator.comparingInt(Leaderboard.Entry::wins).reversed())
+            .thenComparing(Leaderboard.Entry::userId);
+
+    /**
+     * Los jugadores se ordenan por puntos de mayor a menor, a igualdad por victorias y después por id.
+     */
+    @Test
+    public void orderAndPositionTest() {
+        Leaderboard board = new Leaderboard();
+        board.put(new Leaderboard.Entry(3L, "c", Rank.BRONZE, 50, 2));
+        board.put(new Leaderboard.Entry(1L, "a", Rank.BRONZE, 50, 3));
+        board.put(new Leaderboard.Entry(2L, "b", Rank.BRONZE, 80, 4));
+
+        // 1 y 3 empatan a puntos, 1 tiene más victorias
+        assertEquals(List.of(2L, 1L, 3L), board.top(10).stream().map(Leaderboard.Entry::userId).toList());
+        assertEquals(1, board.positionOf(2L));
+        assertEquals(3, board.positionOf(3L));
+        assertEquals(-1, board.positionOf(4L));
+
+        // Sumar puntos recoloca al jugador y cambia la versión, salvo si el jugador no está
+        long version = board.version();
+        assertTrue(board.addPoints(3L, 40, 1));
+        assertEquals(List.of(3L, 2L), board.top(2).stream().map(Leaderboard.Entry::userId).toList());
+        assertFalse(board.addPoints(4L, 10, 1));
+        assertEquals(version + 1, board.version());
+
+        // Tramo alrededor del jugador y búsqueda por nombre
+        assertEquals(1L, board.idOf("a"));
+        Leaderboard.Window window = board.around(2L, 1);
+        assertEquals(3, window.total());
+        assertEquals(0, window.offset());
+        assertEquals(List.of(3L, 2L, 1L), window.entries().stream().map(Leaderboard.Entry::userId).toList());
+
+        board.put(new Leaderboard.Entry(1L, "renamed", Rank.SILVER, 50, 3));
+        assertEquals(null, board.idOf("a"));
+        assertEquals(1L, board.idOf("renamed"));
+
+        assertTrue(board.remove(2L));
+        assertEquals(2, board.size());
+        assertEquals(List.of(1L), board.range(1, 5).stream().map(Leaderboard.Entry::userId).toList());
+    }
+
+    /**
+     * Tras miles de altas, bajas y cambios de puntos aleatorios, cualquier tramo de la clasificación
+     * y la posición de cada jugador coinciden con los de ordenar todos los jugadores.
+     */
+    @Test
+    public void matchesFullSortTest() {
+        Leaderboard board = new Leaderboard();
+        Map<Long, Leaderboard.Entry> expected = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int i = 0; i < 20_000; i++) {
+            long userId = random.nextInt(2_000);
+            int operation = random.nextInt(10);
+            if (operation < 6) {
+                Leaderboard.Entry entry = new Leaderboard.Entry(userId, "u" + userId, Rank.BRONZE, random.nextInt(500), random.nextInt(5));
+                board.put(entry);
+                expected.put(userId, entry);
+            } else if (operation < 9) {
+                int delta = random.nextInt(-20, 21);
+                int wins = random.nextInt(-1, 2);
+                boolean present = board.addPoints(userId, delta, wins);
+                assertEquals(expected.containsKey(userId), present);
+                expected.computeIfPresent(userId, (id, entry) -> new Leaderboard.Entry(id, entry.username(), entry.rank(), entry.points() + delta, entry.wins() + wins));
+            } else {
+                assertEquals(expected.remove(userId) != null, board.remove(userId));
+            }
+        }
+
+        List<Leaderboard.Entry> sorted = new ArrayList<>(expected.values());
+        sorted.sort(ORDER);
+        assertEquals(sorted.size(), board.size());
+        assertEquals(sorted, board.top(Integer.MAX_VALUE));
+        assertEquals(sorted.subList(100, 150), board.range(100, 50));
+        for (int i = 0; i < sorted.size(); i += 37)
+            assertEquals(i + 1, board.positionOf(sorted.get(i).userId()));
+
+        // Los grupos de puntos de un tramo y el de un jugador están completos: empiezan y terminan donde cambian los puntos
+        for (int i = 0; i < sorted.size(); i += 41) {
+            Leaderboard.Window groups = board.groups(i, 20);
+            int end = groups.offset() + groups.entries().size();
+            assertEquals(sorted.subList(groups.offset(), end), groups.entries());
+            assertTrue(groups.offset() <= i && end >= Math.min(i + 20, sorted.size()));
+            assertTrue(groups.offset() == 0 || sorted.get(groups.offset() - 1).points() != sorted.get(groups.offset()).points());
+            assertTrue(end == sorted.size() || sorted.get(end).points() != sorted.get(end - 1).points());
+
+            int points = sorted.get(i).points();
+            Leaderboard.Window group = board.groupOf(sorted.get(i).userId());
+            assertTrue(group.entries().stream().allMatch(entry -> entry.points() == points));
+            assertEquals(sorted.stream().filter(entry -> entry.points() > points).count(), group.offset());
+            assertEquals(sorted.stream().filter(entry -> entry.points() == points).count(), group.entries().size());
+        }
+        assertTrue(board.groups(sorted.size(), 10).entries().isEmpty());
+        assertEquals(null, board.groupOf(-1L));
+    }
+}
@@ -0,0 +1,85 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.enums.PairingGroup;
+import com.equipo2.bytestournament.enums.Rank;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Clase de prueba para ParallelGroupPairing.
+ * Verifica que con la misma semilla el resultado no depende del paralelismo ni del orden de entrada,
+ * y que los jugadores solo salen de su grupo cuando quedan como sobrantes.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class ParallelGroupPairingTest {
+
+    private final UmbralPairingEngine engine = new UmbralPairingEngine();
+
+    private static List<User> players(int size) {
+        List<User> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int points = (i * 37) % 3000;
+            players.add(User.builder().id((long) i + 1).username("p" + i).points(points).rank(Rank.fromPoints(points)).build());
+        }
+        return players;
+    }
+
+    /**
+     * Misma semilla, mismo resultado con 1 o 8 hilos y con la lista de entrada desordenada.
+     */
+    @Test
+    public void sameSeedSameResultTest() {
+        List<User> players = players(10_000);
+        List<User> shuffled = new ArrayList<>(players);
+        Collections.shuffle(shuffled, new Random(5));
+
+        List<Pairing> single = new ParallelGroupPairing(1).pair(engine, players, PairingGroup.RANK, new SplittableRandom(99));
+        List<Pairing> parallel = new ParallelGroupPairing(8).pair(engine, shuffled, PairingGroup.RANK, new SplittableRandom(99));
+
+        assertEquals(5_000, single.size());
+        assertEquals(single, parallel);
+    }
+
+    /**
+     * Todos los jugadores aparecen una vez y, agrupando por franja de puntos, como mucho un emparejamiento
+     * por grupo mezcla jugadores de grupos distintos.
+     */
+    @Test
+    public void groupsArePairedIndependentlyTest() {
+        List<User> players = players(1_001);
+        players.remove(players.size() - 1);
+        List<Pairing> pairings = new ParallelGroupPairing(4).pair(engine, players, PairingGroup.POINTS_BAND, new SplittableRandom(1));
+
+        Set<Long> seen = new HashSet<>();
+        long crossGroup = 0;
+        for (Pairing pairing : pairings) {
+            assertTrue(seen.add(pairing.player1().getId()));
+            assertTrue(seen.add(pairing.player2().getId()));
+            if (pairing.player1().getPoints() / 1000 != pairing.player2().getPoints() / 1000)
+                crossGroup++;
+        }
+        assertEquals(1_000, seen.size());
+        assertTrue(crossGroup <= 3, "Emparejamientos entre grupos: " + crossGroup);
+    }
+
+    /**
+     * Con un número impar de jugadores no se puede emparejar.
+     */
+    @Test
+    public void oddPlayersTest() {
+        assertThrows(RequestException.class,
+                () -> new ParallelGroupPairing(2).pair(engine, players(3), PairingGroup.RANK, new SplittableRandom(1)));
+    }
+}
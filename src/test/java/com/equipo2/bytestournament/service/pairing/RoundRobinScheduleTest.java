@@ -0,0 +1,73 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Clase de prueba para RoundRobinSchedule.
+ * Verifica que cada pareja se enfrenta exactamente una vez y que nadie juega dos veces en la misma ronda.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class RoundRobinScheduleTest {
+
+    private static List<User> players(int size) {
+        List<User> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            players.add(User.builder().id((long) i).username("p" + i).points(0).build());
+        return players;
+    }
+
+    /**
+     * Recorre el calendario comprobando parejas únicas y una sola aparición por ronda.
+     */
+    private static long checkSchedule(int size) {
+        RoundRobinSchedule schedule = new RoundRobinSchedule(players(size));
+        BitSet pairs = new BitSet(size * size);
+        int[] lastRound = new int[size];
+        Arrays.fill(lastRound, 0);
+        long[] count = { 0 };
+
+        schedule.forEachPairing((round, player1, player2) -> {
+            int a = player1.getId().intValue(), b = player2.getId().intValue();
+            int key = Math.min(a, b) * size + Math.max(a, b);
+            assertFalse(pairs.get(key), "Enfrentamiento repetido " + a + "-" + b);
+            pairs.set(key);
+            assertFalse(lastRound[a] == round || lastRound[b] == round, "Jugador repetido en la ronda " + round);
+            lastRound[a] = round;
+            lastRound[b] = round;
+            count[0]++;
+        });
+
+        assertEquals(schedule.matches(), count[0]);
+        return count[0];
+    }
+
+    /**
+     * Con número par hay n-1 rondas; con impar n rondas y un descanso por ronda.
+     */
+    @Test
+    public void evenAndOddPlayersTest() {
+        assertEquals(6, checkSchedule(4));
+        assertEquals(10, checkSchedule(5));
+        assertEquals(3, new RoundRobinSchedule(players(4)).rounds());
+        assertEquals(5, new RoundRobinSchedule(players(5)).rounds());
+        assertThrows(RequestException.class, () -> new RoundRobinSchedule(players(1)));
+    }
+
+    /**
+     * Una liga de 2.000 jugadores produce los 1.999.000 enfrentamientos sin repetir ninguno.
+     */
+    @Test
+    public void twoThousandPlayersLeagueTest() {
+        assertEquals(1_999_000L, checkSchedule(2_000));
+    }
+}
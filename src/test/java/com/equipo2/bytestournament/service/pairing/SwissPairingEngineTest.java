@@ -0,0 +1,154 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.enums.Result;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Clase de prueba para SwissPairingEngine.
+ * Simula torneos completos sin base de datos, construyendo el historial a partir de los matches de rondas anteriores.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class SwissPairingEngineTest {
+
+    private final SwissPairingEngine engine = new SwissPairingEngine();
+
+    private static List<User> players(int size) {
+        List<User> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            players.add(User.builder().id((long) i + 1).username("p" + i).points(size - i).build());
+        return players;
+    }
+
+    /**
+     * Juega una ronda dando la victoria siempre al jugador 1 y devuelve sus matches.
+     */
+    private static List<Match> play(List<Pairing> pairings) {
+        List<Match> matches = new ArrayList<>();
+        for (Pairing pairing : pairings)
+            matches.add(Match.builder().player1(pairing.player1()).player2(pairing.player2()).result(Result.PLAYER1_WIN).build());
+        return matches;
+    }
+
+    /**
+     * En la primera ronda la mitad superior se enfrenta a la inferior.
+     */
+    @Test
+    public void firstRoundPairsTopHalfAgainstBottomHalfTest() {
+        List<Pairing> pairings = engine.pair(players(8), PairingHistory.EMPTY, new SplittableRandom(1));
+
+        assertEquals(4, pairings.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i + 1L, pairings.get(i).player1().getId());
+            assertEquals(i + 5L, pairings.get(i).player2().getId());
+        }
+    }
+
+    /**
+     * Durante varias rondas nadie repite rival ni recibe dos byes, y cada ronda incluye a todos los jugadores.
+     */
+    @Test
+    public void noRematchesAndOneByePerPlayerTest() {
+        List<User> players = players(9);
+        List<Match> matches = new ArrayList<>();
+        Set<Long> pairs = new HashSet<>();
+
+        for (int round = 0; round < 5; round++) {
+            List<Pairing> pairings = engine.pair(players, PairingHistory.fromMatches(matches), new SplittableRandom(round));
+            assertEquals(5, pairings.size());
+
+            Set<Long> seen = new HashSet<>();
+            for (Pairing pairing : pairings) {
+                assertTrue(seen.add(pairing.player1().getId()));
+                if (pairing.player2() == null)
+                    continue;
+                assertTrue(seen.add(pairing.player2().getId()));
+                long low = Math.min(pairing.player1().getId(), pairing.player2().getId());
+                long high = Math.max(pairing.player1().getId(), pairing.player2().getId());
+                assertTrue(pairs.add(low * 100 + high), "Enfrentamiento repetido " + low + "-" + high);
+            }
+            assertEquals(9, seen.size());
+            matches.addAll(play(pairings));
+        }
+
+        long byes = matches.stream().filter(match -> match.getPlayer2() == null).count();
+        long distinctByes = matches.stream().filter(match -> match.getPlayer2() == null)
+                .map(match -> match.getPlayer1().getId()).distinct().count();
+        assertEquals(5, byes);
+        assertEquals(byes, distinctByes);
+    }
+
+    /**
+     * El bye va al peor clasificado y puntúa como una victoria en el historial.
+     */
+    @Test
+    public void byeGoesToLowestRankedTest() {
+        List<User> players = players(5);
+        List<Pairing> pairings = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(1));
+
+        Pairing bye = pairings.get(pairings.size() - 1);
+        assertNull(bye.player2());
+        assertEquals(5L, bye.player1().getId());
+
+        PairingHistory history = PairingHistory.fromMatches(play(pairings));
+        assertTrue(history.hadBye(bye.player1()));
+        assertEquals(2, history.score(bye.player1()));
+        assertFalse(history.hadBye(players.get(0)));
+    }
+
+    /**
+     * Una ronda de 10.000 jugadores con historial de varias rondas se empareja en poco tiempo.
+     */
+    @Test
+    public void pairTenThousandPlayersTest() {
+        List<User> players = players(10_000);
+        List<Match> matches = new ArrayList<>();
+        for (int round = 0; round < 5; round++)
+            matches.addAll(play(engine.pair(players, PairingHistory.fromMatches(matches), new SplittableRandom(round))));
+
+        PairingHistory history = PairingHistory.fromMatches(matches);
+        long start = System.nanoTime();
+        List<Pairing> pairings = engine.pair(players, history, new SplittableRandom(5));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(5_000, pairings.size());
+        assertTrue(pairings.stream().noneMatch(pairing -> history.havePlayed(pairing.player1(), pairing.player2())));
+        assertTrue(elapsedMillis < 1_000, "El emparejamiento tardó " + elapsedMillis + " ms");
+    }
+
+    /**
+     * Con ids que no caben en 32 bits el historial no confunde parejas distintas con revanchas:
+     * (1, 2^32 + 1) y (0, 1) empaquetadas con desplazamiento y xor daban la misma clave.
+     */
+    @Test
+    public void wideIdsDoNotCollideTest() {
+        long wide = (1L << 32) + 1;
+        User player0 = User.builder().id(0L).build();
+        User player1 = User.builder().id(1L).build();
+        User player2 = User.builder().id(2L).build();
+        User playerWide = User.builder().id(wide).build();
+        User playerWider = User.builder().id(wide + 1).build();
+        PairingHistory history = PairingHistory.fromMatches(List.of(
+                Match.builder().player1(player1).player2(playerWide).result(Result.PLAYER1_WIN).build(),
+                Match.builder().player1(playerWider).player2(player2).result(Result.DRAW).build()));
+
+        assertTrue(history.havePlayed(playerWide, player1));
+        assertTrue(history.havePlayed(player2, playerWider));
+        assertFalse(history.havePlayed(player0, player1));
+        assertFalse(history.havePlayed(player1, playerWider));
+        assertFalse(history.havePlayed(player2, playerWide));
+        assertEquals(2, history.score(player1));
+        assertEquals(1, history.score(playerWider));
+    }
+}
@@ -0,0 +1,117 @@
+package com.equipo2.bytestournament.service.pairing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.exceptions.RequestException;
+import com.equipo2.bytestournament.model.Match;
+import com.equipo2.bytestournament.model.User;
+
+/**
+ * Clase de prueba para UmbralPairingEngine.
+ * Verifica que el motor respeta la semántica del umbral de puntos de MatchService.matchUsers
+ * y que empareja rondas muy grandes en poco tiempo.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class UmbralPairingEngineTest {
+
+    private final UmbralPairingEngine engine = new UmbralPairingEngine();
+
+    private static List<User> players(int size, int pointsStep) {
+        List<User> players = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            players.add(User.builder().id((long) i + 1).username("p" + i).points(i * pointsStep).build());
+        return players;
+    }
+
+    /**
+     * Con menos de 2 jugadores no se puede emparejar.
+     */
+    @Test
+    public void pairRequiresTwoPlayersTest() {
+        assertThrows(RequestException.class, () -> engine.pair(players(1, 10), PairingHistory.EMPTY, new SplittableRandom(1)));
+    }
+
+    /**
+     * Todos los jugadores aparecen exactamente una vez y, si hay candidatos dentro del umbral,
+     * la diferencia de puntos no lo supera.
+     */
+    @Test
+    public void pairRespectsUmbralTest() {
+        List<User> players = players(200, 10);
+        List<Pairing> pairings = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(42));
+
+        assertEquals(100, pairings.size());
+        Set<Long> seen = new HashSet<>();
+        for (Pairing pairing : pairings) {
+            assertTrue(seen.add(pairing.player1().getId()));
+            assertTrue(seen.add(pairing.player2().getId()));
+        }
+        assertEquals(200, seen.size());
+
+        // Con jugadores separados 10 puntos siempre hay alguien dentro del umbral salvo en el último par
+        long outside = pairings.stream()
+                .filter(p -> Math.abs(p.player1().getPoints() - p.player2().getPoints()) > Match.UMBRAL)
+                .count();
+        assertTrue(outside <= 1);
+    }
+
+    /**
+     * Si nadie está dentro del umbral se elige al jugador más cercano en puntos.
+     */
+    @Test
+    public void pairFallsBackToClosestTest() {
+        List<User> players = List.of(
+                User.builder().id(1L).points(0).build(),
+                User.builder().id(2L).points(5000).build(),
+                User.builder().id(3L).points(10000).build(),
+                User.builder().id(4L).points(10100).build());
+
+        for (int seed = 0; seed < 20; seed++) {
+            List<Pairing> pairings = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(seed));
+            assertEquals(2, pairings.size());
+            for (Pairing pairing : pairings) {
+                long ids = pairing.player1().getId() + pairing.player2().getId();
+                // 3 y 4 están dentro del umbral; 1 y 2 quedan juntos por ser los más cercanos entre sí
+                assertTrue(ids == 7L || ids == 3L);
+            }
+        }
+    }
+
+    /**
+     * La lista original no se modifica y la misma semilla produce el mismo emparejamiento.
+     */
+    @Test
+    public void pairIsReproducibleWithSameSeedTest() {
+        List<User> players = players(50, 37);
+        List<User> copy = new ArrayList<>(players);
+
+        List<Pairing> first = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(7));
+        List<Pairing> second = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(7));
+
+        assertEquals(copy, players);
+        assertEquals(first, second);
+    }
+
+    /**
+     * Empareja 100.000 jugadores en milisegundos.
+     */
+    @Test
+    public void pairHundredThousandPlayersTest() {
+        List<User> players = players(100_000, 3);
+
+        long start = System.nanoTime();
+        List<Pairing> pairings = engine.pair(players, PairingHistory.EMPTY, new SplittableRandom(3));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(50_000, pairings.size());
+        assertTrue(elapsedMillis < 2_000, "El emparejamiento tardó " + elapsedMillis + " ms");
+    }
+}
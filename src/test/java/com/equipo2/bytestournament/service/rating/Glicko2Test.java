@@ -0,0 +1,113 @@
+package com.equipo2.bytestournament.service.rating;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Clase de prueba para Glicko2.
+ * Comprueba el ejemplo del artículo de Glickman y mide cuántos resultados por segundo procesa un periodo en un hilo.
+ * La medida está etiquetada como benchmark y solo se ejecuta con el perfil benchmark (mvn test -Pbenchmark).
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ * {@link Tag} se utiliza para separar las pruebas de rendimiento de las que se ejecutan siempre.
+ */
+public class Glicko2Test {
+
+    private final Glicko2 glicko2 = new Glicko2(0.5);
+
+    /**
+     * Ejemplo de "Example of the Glicko-2 system": un jugador de 1500 (RD 200) gana a uno de 1400 (RD 30)
+     * y pierde contra uno de 1550 (RD 100) y otro de 1700 (RD 300).
+     */
+    @Test
+    public void glickmanExampleTest() {
+        double[] rating = { 1500, 1400, 1550, 1700 };
+        double[] deviation = { 200, 30, 100, 300 };
+        double[] volatility = { 0.06, 0.06, 0.06, 0.06 };
+
+        glicko2.ratePeriod(rating, deviation, volatility, 4, new int[] { 0, 2, 3 }, new int[] { 1, 0, 0 }, new double[] { 1, 1, 1 }, 3);
+
+        assertEquals(1464.06, rating[0], 0.01);
+        assertEquals(151.52, deviation[0], 0.01);
+        assertEquals(0.05999, volatility[0], 0.00001);
+        // El rival derrotado baja y los que ganan suben
+        assertTrue(rating[1] < 1400 && rating[2] > 1550 && rating[3] > 1700);
+    }
+
+    /**
+     * Un jugador sin resultados en el periodo conserva su rating y su desviación crece, sin pasar de la inicial.
+     */
+    @Test
+    public void inactivePlayerTest() {
+        double[] rating = { 1500, 1500, 1800, 1500 };
+        double[] deviation = { 50, 50, 80, 349.9 };
+        double[] volatility = { 0.06, 0.06, 0.06, 0.06 };
+
+        glicko2.ratePeriod(rating, deviation, volatility, 4, new int[] { 0 }, new int[] { 1 }, new double[] { 0.5 }, 1);
+
+        // Un empate entre iguales no cambia los ratings
+        assertEquals(1500, rating[0], 0.000001);
+        assertEquals(1500, rating[1], 0.000001);
+        assertEquals(1800, rating[2]);
+        assertEquals(Math.sqrt(80 * 80 + Math.pow(0.06 * 173.7178, 2)), deviation[2], 0.001);
+        assertEquals(350, deviation[3]);
+    }
+
+    /**
+     * Una ronda de 200.000 jugadores, 100.000 resultados, en un solo periodo.
+     * Se descartan las primeras repeticiones para que el JIT compile el bucle y se toma la mejor de las siguientes.
+     */
+    @Test
+    @Tag("benchmark")
+    public void ratePeriodThroughputTest() {
+        int players = 200_000;
+        int games = players / 2;
+        SplittableRandom random = new SplittableRandom(42);
+        int[] order = new int[players];
+        for (int i = 0; i < players; i++)
+            order[i] = i;
+        int[] first = new int[games];
+        int[] second = new int[games];
+        double[] score = new double[games];
+        for (int i = players - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = order[i];
+            order[i] = order[j];
+            order[j] = swap;
+        }
+        for (int k = 0; k < games; k++) {
+            first[k] = order[2 * k];
+            second[k] = order[2 * k + 1];
+            score[k] = random.nextInt(3) / 2.0;
+        }
+        double[] initialRating = new double[players];
+        double[] initialDeviation = new double[players];
+        for (int p = 0; p < players; p++) {
+            initialRating[p] = 1000 + random.nextDouble(1000);
+            initialDeviation[p] = 50 + random.nextDouble(300);
+        }
+
+        long best = Long.MAX_VALUE;
+        double[] rating = null;
+        for (int iteration = 0; iteration < 15; iteration++) {
+            rating = initialRating.clone();
+            double[] deviation = initialDeviation.clone();
+            double[] volatility = new double[players];
+            Arrays.fill(volatility, Glicko2.DEFAULT_VOLATILITY);
+
+            long start = System.nanoTime();
+            glicko2.ratePeriod(rating, deviation, volatility, players, first, second, score, games);
+            long elapsed = System.nanoTime() - start;
+            if (iteration >= 5)
+                best = Math.min(best, elapsed);
+        }
+
+        double perSecond = games / (best / 1_000_000_000.0);
+        assertTrue(Arrays.stream(rating).allMatch(Double::isFinite));
+        assertTrue(perSecond >= 100_000, "Se esperaban al menos 100.000 resultados por segundo pero fueron " + (long) perSecond);
+    }
+}
@@ -0,0 +1,68 @@
+package com.equipo2.bytestournament.service.standings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Clase de prueba para SnapshotCodec.
+ * Comprueba que una instantánea completa y una diferencia reconstruyen la misma clasificación que se codificó.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class SnapshotCodecTest {
+
+    /**
+     * Una instantánea completa es la diferencia con una clasificación vacía y la reconstruye entera.
+     */
+    @Test
+    public void fullSnapshotTest() {
+        List<StandingRow> rows = List.of(
+                new StandingRow(3L, 1, 0, 0, 3),
+                new StandingRow(7L, 0, 1, 0, 0),
+                new StandingRow(1_000_000L, 0, 0, 1, 1));
+
+        Map<Long, StandingRow> state = new HashMap<>();
+        SnapshotCodec.apply(state, SnapshotCodec.encode(Map.of(), rows));
+
+        assertEquals(Map.of(3L, rows.get(0), 7L, rows.get(1), 1_000_000L, rows.get(2)), state);
+    }
+
+    /**
+     * Una diferencia solo guarda los jugadores que cambian, con valores que también pueden bajar,
+     * y quita a los jugadores que ya no están.
+     */
+    @Test
+    public void deltaSnapshotTest() {
+        Map<Long, StandingRow> previous = new HashMap<>(Map.of(
+                1L, new StandingRow(1L, 2, 0, 0, 6),
+                2L, new StandingRow(2L, 1, 1, 0, 3),
+                3L, new StandingRow(3L, 0, 2, 0, 0),
+                4L, new StandingRow(4L, 0, 0, 0, 0)));
+        List<StandingRow> current = List.of(
+                new StandingRow(1L, 2, 0, 0, 6),
+                new StandingRow(2L, 1, 2, 0, 3),
+                new StandingRow(3L, 0, 2, 1, -5),
+                new StandingRow(9L, 1, 0, 0, 3));
+
+        byte[] delta = SnapshotCodec.encode(previous, current);
+        byte[] full = SnapshotCodec.encode(Map.of(), current);
+        SnapshotCodec.apply(previous, delta);
+
+        assertEquals(Map.of(1L, current.get(0), 2L, current.get(1), 3L, current.get(2), 9L, current.get(3)), previous);
+        assertTrue(delta.length < full.length);
+    }
+
+    /**
+     * Si nada cambia, la diferencia solo guarda que no hay cambios.
+     */
+    @Test
+    public void emptyDeltaTest() {
+        List<StandingRow> rows = List.of(new StandingRow(5L, 3, 1, 0, 9));
+
+        assertEquals(2, SnapshotCodec.encode(Map.of(5L, rows.get(0)), rows).length);
+    }
+}
@@ -0,0 +1,56 @@
+package com.equipo2.bytestournament.service.standings;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import com.equipo2.bytestournament.enums.Result;
+
+/**
+ * Clase de prueba para StandingChanges.
+ * Comprueba el reparto de un resultado en victorias, derrotas, empates y puntos, y la agrupación por torneo y jugador.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class StandingChangesTest {
+
+    /**
+     * Varios resultados del mismo jugador en el mismo torneo se agrupan en una fila,
+     * y los puntos globales suman los de todos sus torneos.
+     */
+    @Test
+    public void addResultTest() {
+        StandingChanges changes = new StandingChanges()
+                .addResult(1L, 10L, 11L, Result.PLAYER1_WIN, 15)
+                .addResult(1L, 12L, 10L, Result.DRAW, 15)
+                .addResult(2L, 10L, null, Result.PLAYER1_WIN, 0)
+                .addResult(1L, 13L, 14L, Result.PENDING, 20);
+
+        assertEquals(List.of(
+                new StandingDelta(1L, 10L, 1, 0, 1, 22),
+                new StandingDelta(1L, 11L, 0, 1, 0, 0),
+                new StandingDelta(1L, 12L, 0, 0, 1, 7),
+                new StandingDelta(2L, 10L, 1, 0, 0, 0)), List.copyOf(changes.deltas()));
+        assertEquals(Map.of(10L, 22, 12L, 7), changes.pointsByUser());
+    }
+
+    /**
+     * Deshacer un resultado descuenta sus victorias, derrotas o empates y los puntos que repartió, con el mismo reparto,
+     * así que deshacer y volver a añadir el mismo resultado no cambia nada.
+     */
+    @Test
+    public void removeResultTest() {
+        StandingChanges changes = new StandingChanges().removeResult(1L, 10L, 11L, Result.PLAYER2_WIN, 14);
+
+        assertEquals(List.of(new StandingDelta(1L, 11L, -1, 0, 0, -14), new StandingDelta(1L, 10L, 0, -1, 0, 0)), List.copyOf(changes.deltas()));
+        assertEquals(Map.of(11L, -14), changes.pointsByUser());
+        assertTrue(new StandingChanges().removeResult(1L, 10L, 11L, Result.PENDING, 14).isEmpty());
+
+        StandingChanges replaced = new StandingChanges()
+                .removeResult(1L, 10L, 11L, Result.DRAW, 15)
+                .addResult(1L, 10L, 11L, Result.DRAW, 15);
+        assertEquals(List.of(new StandingDelta(1L, 10L, 0, 0, 0, 0), new StandingDelta(1L, 11L, 0, 0, 0, 0)), List.copyOf(replaced.deltas()));
+        assertTrue(replaced.pointsByUser().isEmpty());
+    }
+}
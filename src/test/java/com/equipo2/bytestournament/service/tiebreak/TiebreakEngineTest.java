@@ -0,0 +1,58 @@
+package com.equipo2.bytestournament.service.tiebreak;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Clase de prueba para TiebreakEngine.
+ * Comprueba cada desempate con resultados calculados a mano y el orden final de la clasificación.
+ *
+ * {@link Test} se utiliza para marcar los métodos de prueba.
+ */
+public class TiebreakEngineTest {
+
+    /**
+     * Buchholz, Buchholz mediano y Sonneborn-Berger de cada jugador. Los jugadores 1 y 2 empatan a puntos,
+     * Buchholz y mediano, y los separa el Sonneborn-Berger. El resultado contra un jugador que no está
+     * en la clasificación, como un bye, no cuenta.
+     */
+    @Test
+    public void tiebreaksTest() {
+        long[] userIds = { 5L, 3L, 1L, 4L, 2L };
+        int[] points = { 0, 20, 30, 10, 30 };
+        long[] first = { 1L, 1L, 1L, 2L, 2L, 5L, 3L };
+        long[] second = { 3L, 4L, 5L, 3L, 4L, 2L, 99L };
+        byte[] firstScore = { 2, 2, 1, 1, 2, 0, 2 };
+
+        List<TiebreakStanding> standings = TiebreakEngine.compute(userIds, points, userIds.length, first, second, firstScore, first.length);
+
+        assertEquals(List.of(
+                new TiebreakStanding(1L, 30, 30, 10, 30.0, 0.0),
+                new TiebreakStanding(2L, 30, 30, 10, 20.0, 0.0),
+                new TiebreakStanding(3L, 20, 60, 60, 15.0, 0.0),
+                new TiebreakStanding(4L, 10, 60, 60, 0.0, 0.0),
+                new TiebreakStanding(5L, 0, 60, 60, 15.0, 0.0)), standings);
+    }
+
+    /**
+     * Dos jugadores empatados en todo lo demás se ordenan por su encuentro directo,
+     * aunque el ganador tenga un id mayor.
+     */
+    @Test
+    public void directEncounterTest() {
+        long[] userIds = { 6L, 7L, 8L, 9L };
+        int[] points = { 20, 20, 20, 20 };
+        long[] first = { 7L, 9L, 6L };
+        long[] second = { 6L, 7L, 8L };
+        byte[] firstScore = { 2, 2, 2 };
+
+        List<TiebreakStanding> standings = TiebreakEngine.compute(userIds, points, userIds.length, first, second, firstScore, first.length);
+
+        assertEquals(List.of(7L, 6L, 9L, 8L), standings.stream().map(TiebreakStanding::userId).toList());
+        assertEquals(1.0, standings.get(0).directEncounter());
+        assertEquals(0.0, standings.get(1).directEncounter());
+        assertEquals(20.0, standings.get(0).sonnebornBerger());
+        assertEquals(20.0, standings.get(1).sonnebornBerger());
+    }
+}